@@ -0,0 +1,37 @@
+package com.booking.system.config;
+
+import com.booking.system.domain.event.EventIdGenerator;
+import com.booking.system.domain.event.EventIds;
+import com.booking.system.domain.event.UlidEventIdGenerator;
+import com.booking.system.domain.shared.DomainClock;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 领域时钟与事件ID生成器配置
+ * 聚合和领域事件无法注入依赖，启动时把容器中的Clock和EventIdGenerator安装到DomainClock和EventIds
+ */
+@Configuration
+public class DomainEventConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    @Bean
+    public EventIdGenerator eventIdGenerator(Clock clock) {
+        return new UlidEventIdGenerator(clock);
+    }
+
+    @Bean
+    public InitializingBean domainEventSettingsInstaller(Clock clock, EventIdGenerator eventIdGenerator) {
+        return () -> {
+            DomainClock.use(clock);
+            EventIds.use(eventIdGenerator);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.booking.system.config;
+
+import com.booking.system.infrastructure.persistence.jpa.SharedTableCacheInvalidator;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 二级缓存配置
+ * 区域定义见ehcache.xml；这里注册领域聚合写入共享表时的缓存失效
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sharedTableCacheInvalidation() {
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+            (IntegratorProvider) () -> List.of(new SharedTableCacheInvalidator()));
+    }
+
+    /**
+     * 每个应用上下文按ehcache.xml创建独立的CacheManager
+     * JCache按URI共享CacheManager，同一JVM中的另一个上下文（测试、devtools重启）关闭时会连带关闭它；
+     * 区域仍以ehcache.xml为准，缺失时按missing_cache_strategy启动失败。上下文关闭时随之关闭，释放全部区域
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${spring.jpa.properties.hibernate.javax.cache.uri:ehcache.xml}") String location) {
+        URL config = HibernateCacheConfig.class.getClassLoader().getResource(location);
+        if (config == null) {
+            throw new IllegalStateException("找不到二级缓存配置: " + location);
+        }
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(
+            URI.create("urn:booking:hibernate-cache:" + UUID.randomUUID()), new XmlConfiguration(config));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contextScopedCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
@@ -0,0 +1,70 @@
+package com.booking.system.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 二级缓存统计端点：/actuator/hibernatecache
+ * 读取各区域的命中、未命中、写入次数和内存中的条目数；DELETE /actuator/hibernatecache/{region} 清空指定区域
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class HibernateCacheEndpoint {
+
+    private final SessionFactory sessionFactory;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        Map<String, Object> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, regionStatistics(region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("total", regionStatistics(statistics.getSecondLevelCacheHitCount(),
+            statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount(), -1));
+        result.put("naturalIdHits", statistics.getNaturalIdCacheHitCount());
+        result.put("naturalIdMisses", statistics.getNaturalIdCacheMissCount());
+        result.put("regions", regions);
+        return result;
+    }
+
+    @DeleteOperation
+    public void evictRegion(@Selector String region) {
+        sessionFactory.getCache().evictRegion(region);
+    }
+
+    private static Map<String, Object> regionStatistics(long hits, long misses, long puts, long elements) {
+        Map<String, Object> region = new LinkedHashMap<>();
+        region.put("hits", hits);
+        region.put("misses", misses);
+        region.put("puts", puts);
+        long requests = hits + misses;
+        region.put("hitRatio", requests == 0 ? 0d : (double) hits / requests);
+        if (elements >= 0) {
+            region.put("elementsInMemory", elements);
+        }
+        return region;
+    }
+}
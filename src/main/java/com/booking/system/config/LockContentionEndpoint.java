@@ -0,0 +1,32 @@
+package com.booking.system.config;
+
+import com.booking.system.infrastructure.diagnostics.LockContentionProfiler;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 课程行锁争用端点：/actuator/lockcontention
+ * 读取总体锁等待分位数和等待最久的课程；DELETE清空统计，便于在开放报名前后对比
+ */
+@Component
+@Endpoint(id = "lockcontention")
+public class LockContentionEndpoint {
+
+    private final LockContentionProfiler lockContentionProfiler;
+
+    public LockContentionEndpoint(LockContentionProfiler lockContentionProfiler) {
+        this.lockContentionProfiler = lockContentionProfiler;
+    }
+
+    @ReadOperation
+    public LockContentionProfiler.Snapshot contention() {
+        return lockContentionProfiler.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        lockContentionProfiler.reset();
+    }
+}
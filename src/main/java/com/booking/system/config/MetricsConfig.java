@@ -0,0 +1,65 @@
+package com.booking.system.config;
+
+import com.booking.system.infrastructure.tracing.Tracer;
+import com.booking.system.security.UserDetailsCache;
+import com.booking.system.service.UserBookingIntervalCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 缓存指标
+ * 按Micrometer的缓存约定发布cache.gets（result=hit|miss）和cache.size，命中率由监控系统按计数器计算；
+ * 另发布链路追踪丢弃的span数
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(UserDetailsCache userDetailsCache,
+                                    UserBookingIntervalCache userBookingIntervalCache,
+                                    EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            bindCache(registry, "user-details", userDetailsCache,
+                cache -> cache.stats().getHits(), cache -> cache.stats().getMisses(), cache -> cache.stats().getSize());
+            bindCache(registry, "user-booking-intervals", userBookingIntervalCache,
+                UserBookingIntervalCache::hitCount, UserBookingIntervalCache::missCount,
+                UserBookingIntervalCache::size);
+            bindCache(registry, "hibernate-second-level", statistics,
+                Statistics::getSecondLevelCacheHitCount, Statistics::getSecondLevelCacheMissCount, null);
+        };
+    }
+
+    @Bean
+    public MeterBinder tracingMetrics(Tracer tracer) {
+        return registry -> FunctionCounter.builder("tracing.spans.dropped", tracer, Tracer::droppedSpans)
+            .description("Sampled spans dropped because the export buffer was full or the export failed")
+            .register(registry);
+    }
+
+    private static <C> void bindCache(MeterRegistry registry, String name, C cache, ToDoubleFunction<C> hits,
+                                      ToDoubleFunction<C> misses, ToDoubleFunction<C> size) {
+        FunctionCounter.builder("cache.gets", cache, hits)
+            .tag("cache", name)
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", cache, misses)
+            .tag("cache", name)
+            .tag("result", "miss")
+            .register(registry);
+        if (size != null) {
+            Gauge.builder("cache.size", cache, size)
+                .tag("cache", name)
+                .register(registry);
+        }
+    }
+}
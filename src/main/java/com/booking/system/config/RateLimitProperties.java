@@ -0,0 +1,77 @@
+package com.booking.system.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置
+ * 路由组按声明顺序匹配，第一个匹配的组生效；每个组可分别配置按IP和按用户的令牌桶。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 计数器总数上限，超过后淘汰最久未访问的键
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * 锁分段数量，向上取整为2的幂
+     */
+    private int stripes = 64;
+
+    /**
+     * 键空闲超过该时长即可被淘汰（此时令牌桶必然已经回满）
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    /**
+     * 是否信任X-Forwarded-For头（仅在可信反向代理之后开启）
+     */
+    private boolean trustForwardedFor = false;
+
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        private String name;
+
+        /**
+         * Ant风格路径，如 /api/v1/auth/**
+         */
+        private String pattern;
+
+        /**
+         * 适用的HTTP方法，为空表示全部
+         */
+        private List<String> methods = new ArrayList<>();
+
+        private Limit ip;
+
+        private Limit principal;
+    }
+
+    @Data
+    public static class Limit {
+
+        /**
+         * 桶容量（允许的突发请求数）
+         */
+        private int capacity;
+
+        /**
+         * 每秒补充的令牌数
+         */
+        private double refillPerSecond;
+    }
+}
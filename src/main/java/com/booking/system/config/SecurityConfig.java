@@ -1,7 +1,13 @@
 package com.booking.system.config;
 
+import com.booking.system.infrastructure.tracing.Tracer;
 import com.booking.system.security.JwtAuthenticationFilter;
+import com.booking.system.security.RateLimitFilter;
+import com.booking.system.security.RateLimiter;
+import com.booking.system.security.TimedPasswordEncoder;
 import com.booking.system.security.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,9 +35,21 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Tracer tracer;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry, tracer);
     }
 
     @Bean
@@ -56,6 +74,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/classes/**").permitAll()
                         .requestMatchers("/api/v1/users/**").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/v1/classes/**").hasAnyRole("ADMIN", "INSTRUCTOR")
@@ -64,7 +84,12 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // IP限流在解析令牌之前，用户限流在认证之后
+                .addFilterBefore(new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, objectMapper),
+                        JwtAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, RateLimiter.Scope.PRINCIPAL, objectMapper),
+                        JwtAuthenticationFilter.class);
 
         http.headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
 
@@ -0,0 +1,34 @@
+package com.booking.system.config;
+
+import com.booking.system.infrastructure.diagnostics.SqlGuardFilter;
+import com.booking.system.infrastructure.tracing.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * SQL护栏过滤器的注册
+ * 排在TracingFilter之后、安全过滤器链之前；与TracingFilter一样不走组件扫描，@WebMvcTest切片不会加载
+ */
+@Configuration
+public class SqlGuardConfig {
+
+    @Bean
+    public FilterRegistrationBean<SqlGuardFilter> sqlGuardFilter(
+            MeterRegistry meterRegistry, Tracer tracer,
+            @Value("${sql-guard.enabled:true}") boolean enabled,
+            @Value("${sql-guard.max-statements:30}") int maxStatements,
+            @Value("${sql-guard.max-time:500ms}") Duration maxTime,
+            @Value("${sql-guard.slow-statement:200ms}") Duration slowStatement,
+            @Value("${sql-guard.max-captured-statements:50}") int maxCapturedStatements) {
+        FilterRegistrationBean<SqlGuardFilter> registration = new FilterRegistrationBean<>(new SqlGuardFilter(
+            meterRegistry, tracer, enabled, maxStatements, maxTime, slowStatement, maxCapturedStatements));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
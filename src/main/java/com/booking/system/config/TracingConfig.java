@@ -0,0 +1,24 @@
+package com.booking.system.config;
+
+import com.booking.system.infrastructure.tracing.Tracer;
+import com.booking.system.infrastructure.tracing.TracingFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 请求级诊断过滤器的注册
+ * 过滤器排在安全过滤器链之前；通过FilterRegistrationBean注册而不是@Component，
+ * 这样@WebMvcTest切片不会加载它们及其依赖
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
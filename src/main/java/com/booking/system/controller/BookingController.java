@@ -1,7 +1,9 @@
 package com.booking.system.controller;
 
 import com.booking.system.dto.request.BookingRequest;
+import com.booking.system.dto.request.BookingValidationRequest;
 import com.booking.system.dto.response.BookingResponse;
+import com.booking.system.dto.response.BookingValidationResponse;
 import com.booking.system.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -35,6 +37,15 @@ public class BookingController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/validate")
+    @Operation(summary = "Check whether a batch of classes can be booked")
+    public ResponseEntity<List<BookingValidationResponse>> validateBookings(
+            Authentication authentication,
+            @Valid @RequestBody BookingValidationRequest request) {
+        String userEmail = authentication.getName();
+        return ResponseEntity.ok(bookingService.validateBookings(userEmail, request));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Cancel a booking")
     public ResponseEntity<Void> cancelBooking(
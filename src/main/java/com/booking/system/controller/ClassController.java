@@ -2,18 +2,25 @@ package com.booking.system.controller;
 
 import com.booking.system.dto.request.CreateClassRequest;
 import com.booking.system.dto.request.UpdateClassRequest;
+import com.booking.system.dto.response.ClassImportResponse;
 import com.booking.system.dto.response.ClassResponse;
+import com.booking.system.dto.response.ScheduleConflictResponse;
+import com.booking.system.service.ClassImportService;
 import com.booking.system.service.ClassScheduleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,6 +31,9 @@ public class ClassController {
     @Autowired
     private ClassScheduleService classScheduleService;
 
+    @Autowired
+    private ClassImportService classImportService;
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -33,6 +43,33 @@ public class ClassController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Bulk import classes from a CSV timetable (Admin/Instructor only)")
+    public ResponseEntity<ClassImportResponse> importClassesFromCsv(InputStream body) {
+        return ResponseEntity.ok(classImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Bulk import classes from a JSON array (Admin/Instructor only)")
+    public ResponseEntity<ClassImportResponse> importClassesFromJson(InputStream body) {
+        return ResponseEntity.ok(classImportService.importJson(body));
+    }
+
+    @GetMapping("/conflicts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Report overlapping classes of an instructor within a term (Admin/Instructor only)")
+    public ResponseEntity<List<ScheduleConflictResponse>> getInstructorConflicts(
+            @RequestParam Long instructorId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(classScheduleService.getInstructorConflicts(instructorId, from, to));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get class by ID")
     public ResponseEntity<ClassResponse> getClassById(@PathVariable Long id) {
@@ -0,0 +1,61 @@
+package com.booking.system.controller;
+
+import com.booking.system.dto.request.CreateClassSeriesRequest;
+import com.booking.system.dto.response.ClassOccurrenceResponse;
+import com.booking.system.dto.response.ClassSeriesResponse;
+import com.booking.system.service.ClassSeriesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/classes/series")
+@Tag(name = "Class Series", description = "Recurring class series APIs")
+public class ClassSeriesController {
+
+    @Autowired
+    private ClassSeriesService classSeriesService;
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Create a recurring class series (Admin/Instructor only)")
+    public ResponseEntity<ClassSeriesResponse> createSeries(@Valid @RequestBody CreateClassSeriesRequest request) {
+        ClassSeriesResponse response = classSeriesService.createSeries(request);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get class series by ID")
+    public ResponseEntity<ClassSeriesResponse> getSeriesById(@PathVariable Long id) {
+        return ResponseEntity.ok(classSeriesService.getSeriesById(id));
+    }
+
+    @GetMapping("/{id}/occurrences")
+    @Operation(summary = "List occurrences of a series starting within a time range")
+    public ResponseEntity<List<ClassOccurrenceResponse>> getOccurrences(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(classSeriesService.getOccurrences(id, from, to));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Cancel a series and its upcoming classes (Admin/Instructor only)")
+    public ResponseEntity<Void> cancelSeries(@PathVariable Long id) {
+        classSeriesService.cancelSeries(id);
+        return ResponseEntity.noContent().build();
+    }
+}
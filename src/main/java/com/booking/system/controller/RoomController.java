@@ -0,0 +1,46 @@
+package com.booking.system.controller;
+
+import com.booking.system.dto.response.RoomResponse;
+import com.booking.system.dto.response.RoomUtilizationResponse;
+import com.booking.system.service.RoomService;
+import com.booking.system.service.RoomUtilizationAggregator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/rooms")
+@Tag(name = "Rooms", description = "Room and utilization APIs")
+@SecurityRequirement(name = "Bearer Authentication")
+public class RoomController {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomUtilizationAggregator roomUtilizationAggregator;
+
+    @GetMapping
+    @Operation(summary = "List rooms derived from class locations")
+    public ResponseEntity<List<RoomResponse>> getAllRooms() {
+        return ResponseEntity.ok(roomService.getAllRooms());
+    }
+
+    @GetMapping("/utilization")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INSTRUCTOR')")
+    @Operation(summary = "Weekly room occupancy between two dates (Admin/Instructor only)")
+    public ResponseEntity<List<RoomUtilizationResponse>> getWeeklyUtilization(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long roomId) {
+        return ResponseEntity.ok(roomUtilizationAggregator.getWeeklyUtilization(from, to, roomId));
+    }
+}
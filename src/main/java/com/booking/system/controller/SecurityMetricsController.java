@@ -0,0 +1,40 @@
+package com.booking.system.controller;
+
+import com.booking.system.security.LoginAttemptTracker;
+import com.booking.system.security.UserDetailsCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/metrics")
+@Tag(name = "Security Metrics", description = "Authentication cache and protection metrics")
+@SecurityRequirement(name = "Bearer Authentication")
+public class SecurityMetricsController {
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @GetMapping("/user-details-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get user details cache statistics (Admin only)")
+    public ResponseEntity<UserDetailsCache.Stats> getUserDetailsCacheStats() {
+        return ResponseEntity.ok(userDetailsCache.stats());
+    }
+
+    @GetMapping("/login-attempts")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get brute-force login protection statistics (Admin only)")
+    public ResponseEntity<LoginAttemptTracker.Stats> getLoginAttemptStats() {
+        return ResponseEntity.ok(loginAttemptTracker.stats());
+    }
+}
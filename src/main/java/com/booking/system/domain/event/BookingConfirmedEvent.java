@@ -0,0 +1,80 @@
+package com.booking.system.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 预订确认事件
+ * 用户成功预订课程后发布
+ */
+public class BookingConfirmedEvent extends DomainEvent {
+
+    private final Long bookingId;
+    private final Long classScheduleId;
+    private final Long userId;
+    private final String className;
+    private final LocalDateTime startTime;
+
+    public BookingConfirmedEvent(Long bookingId, Long classScheduleId, Long userId, String className,
+                                 LocalDateTime startTime) {
+        super();
+        this.bookingId = bookingId;
+        this.classScheduleId = classScheduleId;
+        this.userId = userId;
+        this.className = className;
+        this.startTime = startTime;
+    }
+
+    /**
+     * 从发件箱还原事件
+     */
+    public BookingConfirmedEvent(String eventId, LocalDateTime occurredOn, Long bookingId, Long classScheduleId,
+                                 Long userId, String className, LocalDateTime startTime) {
+        super(eventId, occurredOn);
+        this.bookingId = bookingId;
+        this.classScheduleId = classScheduleId;
+        this.userId = userId;
+        this.className = className;
+        this.startTime = startTime;
+    }
+
+    /**
+     * 获取预订ID
+     */
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    /**
+     * 获取课程ID
+     */
+    public Long getClassScheduleId() {
+        return classScheduleId;
+    }
+
+    /**
+     * 获取预订用户ID
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * 获取课程名称
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * 获取课程开始时间
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BookingConfirmedEvent{bookingId=%d, classScheduleId=%d, userId=%d, className='%s'}",
+            bookingId, classScheduleId, userId, className);
+    }
+}
@@ -21,6 +21,18 @@ public class ClassBookedEvent extends DomainEvent {
         this.capacity = capacity;
     }
 
+    /**
+     * 从发件箱还原事件
+     */
+    public ClassBookedEvent(String eventId, LocalDateTime occurredOn, Long classScheduleId, String className,
+                            int currentBookings, int capacity) {
+        super(eventId, occurredOn);
+        this.classScheduleId = classScheduleId;
+        this.className = className;
+        this.currentBookings = currentBookings;
+        this.capacity = capacity;
+    }
+
     /**
      * 获取课程ID
      */
@@ -25,6 +25,18 @@ public class ClassCancelledEvent extends DomainEvent {
         this.reason = reason;
     }
 
+    /**
+     * 从发件箱还原事件
+     */
+    public ClassCancelledEvent(String eventId, LocalDateTime occurredOn, Long classScheduleId, String className,
+                               int currentBookings, String reason) {
+        super(eventId, occurredOn);
+        this.classScheduleId = classScheduleId;
+        this.className = className;
+        this.currentBookings = currentBookings;
+        this.reason = reason;
+    }
+
     /**
      * 获取课程ID
      */
@@ -24,6 +24,19 @@ public class ClassCompletedEvent extends DomainEvent {
         this.endTime = endTime;
     }
 
+    /**
+     * 从发件箱还原事件
+     */
+    public ClassCompletedEvent(String eventId, LocalDateTime occurredOn, Long classScheduleId, String className,
+                               int finalBookings, LocalDateTime startTime, LocalDateTime endTime) {
+        super(eventId, occurredOn);
+        this.classScheduleId = classScheduleId;
+        this.className = className;
+        this.finalBookings = finalBookings;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
     /**
      * 获取课程ID
      */
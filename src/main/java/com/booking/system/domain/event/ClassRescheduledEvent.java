@@ -0,0 +1,59 @@
+package com.booking.system.domain.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 课程改期事件
+ * 课程开始时间变化时发布
+ */
+public class ClassRescheduledEvent extends DomainEvent {
+
+    private final Long classScheduleId;
+    private final String className;
+    private final LocalDateTime startTime;
+
+    public ClassRescheduledEvent(Long classScheduleId, String className, LocalDateTime startTime) {
+        super();
+        this.classScheduleId = classScheduleId;
+        this.className = className;
+        this.startTime = startTime;
+    }
+
+    /**
+     * 从发件箱还原事件
+     */
+    public ClassRescheduledEvent(String eventId, LocalDateTime occurredOn, Long classScheduleId, String className,
+                                 LocalDateTime startTime) {
+        super(eventId, occurredOn);
+        this.classScheduleId = classScheduleId;
+        this.className = className;
+        this.startTime = startTime;
+    }
+
+    /**
+     * 获取课程ID
+     */
+    public Long getClassScheduleId() {
+        return classScheduleId;
+    }
+
+    /**
+     * 获取课程名称
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * 获取新的开始时间
+     */
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ClassRescheduledEvent{classScheduleId=%d, className='%s', startTime=%s}",
+            classScheduleId, className, startTime);
+    }
+}
@@ -1,11 +1,13 @@
 package com.booking.system.domain.event;
 
+import com.booking.system.domain.shared.DomainClock;
+
 import java.time.LocalDateTime;
-import java.util.UUID;
 
 /**
  * 领域事件基类
  * 所有领域事件应该继承此类
+ * 事件ID取自EventIds（默认单调ULID，可按ID排序），发生时间取自DomainClock
  */
 public abstract class DomainEvent {
 
@@ -14,8 +16,17 @@ public abstract class DomainEvent {
     private final String eventType;
 
     protected DomainEvent() {
-        this.eventId = UUID.randomUUID().toString();
-        this.occurredOn = LocalDateTime.now();
+        this.eventId = EventIds.next();
+        this.occurredOn = DomainClock.now();
+        this.eventType = this.getClass().getSimpleName();
+    }
+
+    /**
+     * 还原已持久化的事件，保留原事件ID和发生时间
+     */
+    protected DomainEvent(String eventId, LocalDateTime occurredOn) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
         this.eventType = this.getClass().getSimpleName();
     }
 
@@ -0,0 +1,11 @@
+package com.booking.system.domain.event;
+
+/**
+ * 领域事件ID生成器
+ * 生成的ID按字典序与生成顺序一致，发件箱和事件日志可按ID范围扫描
+ */
+@FunctionalInterface
+public interface EventIdGenerator {
+
+    String nextId();
+}
@@ -0,0 +1,28 @@
+package com.booking.system.domain.event;
+
+/**
+ * 领域事件ID生成器的全局入口
+ * 领域事件通过new创建，由此获取ID；默认使用单调ULID，启动时可替换为容器中的EventIdGenerator
+ */
+public final class EventIds {
+
+    private static volatile EventIdGenerator generator = new UlidEventIdGenerator();
+
+    private EventIds() {
+    }
+
+    public static String next() {
+        return generator.nextId();
+    }
+
+    public static void use(EventIdGenerator newGenerator) {
+        generator = newGenerator;
+    }
+
+    /**
+     * 恢复为默认的ULID生成器
+     */
+    public static void reset() {
+        generator = new UlidEventIdGenerator();
+    }
+}
@@ -0,0 +1,85 @@
+package com.booking.system.domain.event;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 单调ULID生成器
+ * 48位毫秒时间戳 + 80位随机数，编码为26位Crockford Base32，字典序即时间顺序。
+ * 同一毫秒内（或时钟回拨时）沿用上一个ID的时间戳并将随机部分加一，保证进程内严格递增；
+ * 随机数取自ThreadLocalRandom，不经过SecureRandom
+ */
+public class UlidEventIdGenerator implements EventIdGenerator {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final long RANDOM_HIGH_MASK = 0xFFFFL;
+
+    private final Clock clock;
+
+    private long lastMillis = -1;
+    // 80位随机部分：高16位 + 低64位
+    private long randomHigh;
+    private long randomLow;
+
+    public UlidEventIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    public UlidEventIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public String nextId() {
+        long millis = clock.millis();
+        long high;
+        long low;
+        synchronized (this) {
+            if (millis > lastMillis) {
+                lastMillis = millis;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                randomHigh = random.nextLong() & RANDOM_HIGH_MASK;
+                randomLow = random.nextLong();
+            } else if (++randomLow == 0 && (randomHigh = (randomHigh + 1) & RANDOM_HIGH_MASK) == 0) {
+                // 同一毫秒内随机部分溢出，借用下一毫秒
+                lastMillis++;
+            }
+            high = (lastMillis << 16) | randomHigh;
+            low = randomLow;
+        }
+        return encode(high, low);
+    }
+
+    /**
+     * 解析ULID中的毫秒时间戳
+     */
+    public static long timestampOf(String ulid) {
+        long millis = 0;
+        for (int i = 0; i < 10; i++) {
+            millis = (millis << 5) | decode(ulid.charAt(i));
+        }
+        return millis;
+    }
+
+    /**
+     * 将128位按5位一组从高到低编码，首字符只承载最高3位
+     */
+    private static String encode(long high, long low) {
+        char[] chars = new char[26];
+        for (int i = 25; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (low & 0x1F)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Invalid ULID character: " + c);
+    }
+}
@@ -0,0 +1,41 @@
+package com.booking.system.domain.event;
+
+import java.util.List;
+
+/**
+ * 用户账户变更事件基类
+ * 影响认证结果的变更（启用、停用、删除、改密、改邮箱）都继承此类，
+ * 订阅方据此失效按邮箱缓存的认证信息。
+ */
+public abstract class UserAccountEvent extends DomainEvent {
+
+    private final Long userId;
+    private final String email;
+
+    protected UserAccountEvent(Long userId, String email) {
+        super();
+        this.userId = userId;
+        this.email = email;
+    }
+
+    /**
+     * 获取用户ID
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * 获取用户当前邮箱
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * 获取受影响的登录名（邮箱）
+     */
+    public List<String> getAffectedEmails() {
+        return List.of(email);
+    }
+}
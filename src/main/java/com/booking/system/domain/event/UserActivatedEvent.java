@@ -0,0 +1,17 @@
+package com.booking.system.domain.event;
+
+/**
+ * 用户账户被激活事件
+ * 当停用的账户重新启用时发布
+ */
+public class UserActivatedEvent extends UserAccountEvent {
+
+    public UserActivatedEvent(Long userId, String email) {
+        super(userId, email);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserActivatedEvent{userId=%d, email='%s'}", getUserId(), getEmail());
+    }
+}
@@ -0,0 +1,17 @@
+package com.booking.system.domain.event;
+
+/**
+ * 用户账户被停用事件
+ * 当账户被停用时发布
+ */
+public class UserDeactivatedEvent extends UserAccountEvent {
+
+    public UserDeactivatedEvent(Long userId, String email) {
+        super(userId, email);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserDeactivatedEvent{userId=%d, email='%s'}", getUserId(), getEmail());
+    }
+}
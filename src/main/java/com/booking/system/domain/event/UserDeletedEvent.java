@@ -0,0 +1,17 @@
+package com.booking.system.domain.event;
+
+/**
+ * 用户账户被删除事件
+ * 当账户被删除时发布
+ */
+public class UserDeletedEvent extends UserAccountEvent {
+
+    public UserDeletedEvent(Long userId, String email) {
+        super(userId, email);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserDeletedEvent{userId=%d, email='%s'}", getUserId(), getEmail());
+    }
+}
@@ -0,0 +1,35 @@
+package com.booking.system.domain.event;
+
+import java.util.List;
+
+/**
+ * 用户邮箱被修改事件
+ * 新旧邮箱对应的认证信息都需要失效
+ */
+public class UserEmailChangedEvent extends UserAccountEvent {
+
+    private final String previousEmail;
+
+    public UserEmailChangedEvent(Long userId, String previousEmail, String newEmail) {
+        super(userId, newEmail);
+        this.previousEmail = previousEmail;
+    }
+
+    /**
+     * 获取修改前的邮箱
+     */
+    public String getPreviousEmail() {
+        return previousEmail;
+    }
+
+    @Override
+    public List<String> getAffectedEmails() {
+        return previousEmail != null ? List.of(previousEmail, getEmail()) : List.of(getEmail());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserEmailChangedEvent{userId=%d, previousEmail='%s', newEmail='%s'}",
+            getUserId(), previousEmail, getEmail());
+    }
+}
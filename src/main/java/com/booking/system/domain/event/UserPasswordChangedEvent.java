@@ -0,0 +1,17 @@
+package com.booking.system.domain.event;
+
+/**
+ * 用户密码被修改事件
+ * 当用户修改密码时发布
+ */
+public class UserPasswordChangedEvent extends UserAccountEvent {
+
+    public UserPasswordChangedEvent(Long userId, String email) {
+        super(userId, email);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("UserPasswordChangedEvent{userId=%d, email='%s'}", getUserId(), getEmail());
+    }
+}
@@ -0,0 +1,18 @@
+package com.booking.system.domain.exception;
+
+import com.booking.system.domain.shared.DomainException;
+
+/**
+ * 资源重复异常
+ * 当违反唯一性约束（如邮箱、用户名已存在）时抛出
+ */
+public class DuplicateResourceException extends DomainException {
+
+    public DuplicateResourceException(String message) {
+        super("DUPLICATE_RESOURCE", message);
+    }
+
+    public DuplicateResourceException(String message, Throwable cause) {
+        super("DUPLICATE_RESOURCE", message, cause);
+    }
+}
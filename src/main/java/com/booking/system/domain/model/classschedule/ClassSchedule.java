@@ -5,11 +5,15 @@ import com.booking.system.domain.model.shared.TimeRange;
 import com.booking.system.domain.model.shared.Location;
 import com.booking.system.domain.shared.AggregateRoot;
 import com.booking.system.domain.model.instructor.Instructor;
+import com.booking.system.domain.model.instructor.InstructorRef;
+import com.booking.system.domain.shared.DomainClock;
 import com.booking.system.domain.shared.DomainException;
 import com.booking.system.domain.event.ClassBookedEvent;
 import com.booking.system.domain.event.ClassCancelledEvent;
 import com.booking.system.domain.event.ClassCompletedEvent;
+import com.booking.system.domain.event.ClassRescheduledEvent;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -21,31 +25,45 @@ import java.time.LocalDateTime;
  * 封装课程调度相关业务逻辑
  */
 @Entity(name = "DomainClassSchedule")
-@Table(name = "domain_class_schedules")
+@Table(name = "class_schedules")
+@DynamicUpdate
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ClassSchedule extends AggregateRoot<Long> {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "class_schedules_seq")
+    @SequenceGenerator(name = "class_schedules_seq", sequenceName = "class_schedules_seq", allocationSize = 50)
+    private Long id;
+
     @Column(nullable = false, length = 200)
     private String name;
 
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instructor_id")
     private Instructor instructor;
 
+    /**
+     * 列表查询附带的讲师引用（ID和展示名），避免为列表加载完整的讲师聚合
+     */
+    @Transient
+    private InstructorRef instructorRef;
+
     @Embedded
     private TimeRange timeRange;
 
     @Embedded
+    @AttributeOverride(name = "value", column = @Column(name = "capacity", nullable = false))
     private Capacity capacity;
 
     @Column(name = "current_bookings")
     private Integer currentBookings = 0;
 
     @Embedded
+    @AttributeOverride(name = "value", column = @Column(name = "location", length = 200))
     private Location location;
 
     @Column(length = 20)
@@ -73,8 +91,8 @@ public class ClassSchedule extends AggregateRoot<Long> {
         classSchedule.location = location;
         classSchedule.currentBookings = 0;
         classSchedule.status = "SCHEDULED";
-        classSchedule.createdAt = LocalDateTime.now();
-        classSchedule.updatedAt = LocalDateTime.now();
+        classSchedule.createdAt = DomainClock.now();
+        classSchedule.updatedAt = DomainClock.now();
 
         // 可以在这里发布领域事件：ClassCreatedEvent
         // classSchedule.registerEvent(new ClassCreatedEvent(classSchedule));
@@ -96,7 +114,7 @@ public class ClassSchedule extends AggregateRoot<Long> {
         this.name = name;
         this.description = description;
         this.location = location;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
     }
 
     /**
@@ -110,8 +128,13 @@ public class ClassSchedule extends AggregateRoot<Long> {
             throw new DomainException("Cannot change time for a class that has already started");
         }
 
+        boolean startChanged = !newTimeRange.getStartTime().equals(timeRange.getStartTime());
         this.timeRange = newTimeRange;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+
+        if (startChanged) {
+            registerEvent(new ClassRescheduledEvent(getId(), name, newTimeRange.getStartTime()));
+        }
     }
 
     /**
@@ -126,7 +149,7 @@ public class ClassSchedule extends AggregateRoot<Long> {
         }
 
         this.capacity = newCapacity;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
     }
 
     /**
@@ -136,7 +159,7 @@ public class ClassSchedule extends AggregateRoot<Long> {
         validateBooking();
 
         currentBookings++;
-        updatedAt = LocalDateTime.now();
+        updatedAt = DomainClock.now();
 
         // 发布领域事件：ClassBookedEvent
         registerEvent(new ClassBookedEvent(getId(), name, currentBookings, capacity.getValue()));
@@ -154,7 +177,7 @@ public class ClassSchedule extends AggregateRoot<Long> {
         }
 
         currentBookings--;
-        updatedAt = LocalDateTime.now();
+        updatedAt = DomainClock.now();
 
         // 可以在这里发布领域事件：BookingCancelledEvent
         // registerEvent(new BookingCancelledEvent(this));
@@ -172,7 +195,7 @@ public class ClassSchedule extends AggregateRoot<Long> {
         }
 
         status = "CANCELLED";
-        updatedAt = LocalDateTime.now();
+        updatedAt = DomainClock.now();
 
         // 发布领域事件：ClassCancelledEvent
         registerEvent(new ClassCancelledEvent(getId(), name, currentBookings));
@@ -190,13 +213,24 @@ public class ClassSchedule extends AggregateRoot<Long> {
         }
 
         status = "COMPLETED";
-        updatedAt = LocalDateTime.now();
+        updatedAt = DomainClock.now();
 
         // 发布领域事件：ClassCompletedEvent
         registerEvent(new ClassCompletedEvent(getId(), name, currentBookings,
             timeRange.getStartTime(), timeRange.getEndTime()));
     }
 
+    /**
+     * 获取讲师引用
+     * 列表查询已附带引用时直接返回，不加载讲师聚合；否则由已关联的讲师构建
+     */
+    public InstructorRef getInstructorRef() {
+        if (instructorRef == null && instructor != null) {
+            instructorRef = InstructorRef.of(instructor);
+        }
+        return instructorRef;
+    }
+
     /**
      * 检查课程是否已满
      */
@@ -289,8 +323,16 @@ public class ClassSchedule extends AggregateRoot<Long> {
     // ========== Public setters for infrastructure layer ==========
     // 这些setter仅供基础设施层（如JPA适配器）使用，领域逻辑不应直接调用
 
+    /**
+     * 附加列表查询得到的讲师引用（仅限Repository使用）
+     */
+    public void attachInstructorRef(InstructorRef instructorRef) {
+        this.instructorRef = instructorRef;
+    }
+
+    @Override
     public void setId(Long id) {
-        super.setId(id);
+        this.id = id;
     }
 
     public void setCurrentBookings(Integer currentBookings) {
@@ -338,12 +380,17 @@ public class ClassSchedule extends AggregateRoot<Long> {
             throw new DomainException("Location cannot be null");
         }
 
+        boolean startChanged = !timeRange.getStartTime().equals(this.timeRange.getStartTime());
         this.name = name;
         this.description = description;
         this.timeRange = timeRange;
         this.capacity = capacity;
         this.location = location;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+
+        if (startChanged) {
+            registerEvent(new ClassRescheduledEvent(getId(), name, timeRange.getStartTime()));
+        }
     }
 
     /**
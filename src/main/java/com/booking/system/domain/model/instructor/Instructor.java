@@ -2,6 +2,7 @@ package com.booking.system.domain.model.instructor;
 
 import com.booking.system.domain.shared.AggregateRoot;
 import com.booking.system.domain.model.user.User;
+import com.booking.system.domain.shared.DomainClock;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -14,11 +15,15 @@ import java.time.LocalDateTime;
  * 封装讲师相关业务逻辑
  */
 @Entity(name = "DomainInstructor")
-@Table(name = "domain_instructors")
+@Table(name = "instructors")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Instructor extends AggregateRoot<Long> {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
     @OneToOne
     @JoinColumn(name = "user_id", unique = true)
     private User user;
@@ -50,8 +55,8 @@ public class Instructor extends AggregateRoot<Long> {
         instructor.user = user;
         instructor.bio = bio;
         instructor.specialization = specialization != null ? specialization : "";
-        instructor.createdAt = LocalDateTime.now();
-        instructor.updatedAt = LocalDateTime.now();
+        instructor.createdAt = DomainClock.now();
+        instructor.updatedAt = DomainClock.now();
 
         return instructor;
     }
@@ -66,7 +71,7 @@ public class Instructor extends AggregateRoot<Long> {
 
         this.bio = bio;
         this.specialization = specialization != null ? specialization : "";
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
     }
 
     /**
@@ -93,8 +98,9 @@ public class Instructor extends AggregateRoot<Long> {
     // ========== Public setters for infrastructure layer ==========
     // 这些setter仅供基础设施层（如JPA适配器）使用，领域逻辑不应直接调用
 
+    @Override
     public void setId(Long id) {
-        super.setId(id);
+        this.id = id;
     }
 
     public void setUser(User user) {
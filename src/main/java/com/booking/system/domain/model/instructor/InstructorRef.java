@@ -0,0 +1,92 @@
+package com.booking.system.domain.model.instructor;
+
+import com.booking.system.domain.shared.ValueObject;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 讲师引用值对象
+ * 只携带列表展示所需的讲师ID和展示名，完整的讲师聚合在首次调用hydrate()时才加载
+ */
+public final class InstructorRef extends ValueObject {
+
+    private final Long id;
+    private final String displayName;
+    private Supplier<Instructor> loader;
+    private Instructor instructor;
+
+    private InstructorRef(Long id, String displayName, Supplier<Instructor> loader, Instructor instructor) {
+        if (id == null) {
+            throw new IllegalArgumentException("Instructor id cannot be null");
+        }
+        this.id = id;
+        this.displayName = displayName;
+        this.loader = loader;
+        this.instructor = instructor;
+    }
+
+    /**
+     * 工厂方法：创建延迟加载的讲师引用
+     *
+     * @param loader 首次hydrate()时调用，返回完整的讲师聚合
+     */
+    public static InstructorRef of(Long id, String displayName, Supplier<Instructor> loader) {
+        if (loader == null) {
+            throw new IllegalArgumentException("Loader cannot be null");
+        }
+        return new InstructorRef(id, displayName, loader, null);
+    }
+
+    /**
+     * 工厂方法：从已加载的讲师聚合创建引用
+     */
+    public static InstructorRef of(Instructor instructor) {
+        if (instructor == null) {
+            throw new IllegalArgumentException("Instructor cannot be null");
+        }
+        return new InstructorRef(instructor.getId(), instructor.getFullName(), null, instructor);
+    }
+
+    /**
+     * 获取讲师ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * 获取讲师展示名（姓名）
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 讲师聚合是否已加载
+     */
+    public boolean isHydrated() {
+        return instructor != null;
+    }
+
+    /**
+     * 获取完整的讲师聚合，首次调用时加载
+     */
+    public Instructor hydrate() {
+        if (instructor == null) {
+            instructor = loader.get();
+            loader = null;
+        }
+        return instructor;
+    }
+
+    @Override
+    protected List<Object> getEqualityComponents() {
+        return asList(id, displayName);
+    }
+
+    @Override
+    public String toString() {
+        return "InstructorRef{id=" + id + ", displayName='" + displayName + "'}";
+    }
+}
@@ -4,6 +4,7 @@ import com.booking.system.domain.shared.ValueObject;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * 位置值对象
@@ -65,6 +66,13 @@ public class Location extends ValueObject {
         return !isVirtual();
     }
 
+    /**
+     * 获取规范化的场地键：小写并合并连续空白，"Studio  A"与"studio a"视为同一场地
+     */
+    public String getKey() {
+        return value.replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
     /**
      * 获取位置的简短描述（前50个字符）
      */
@@ -0,0 +1,270 @@
+package com.booking.system.domain.model.shared;
+
+import com.booking.system.domain.shared.ValueObject;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 重复规则值对象
+ * 支持iCalendar RRULE的子集：FREQ=DAILY|WEEKLY、INTERVAL、BYDAY（仅WEEKLY）、UNTIL、COUNT，
+ * 例如 "FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20270430"。
+ * 可以直接计算任意时间范围内的发生时间，无需从首次发生逐个展开
+ */
+public class RecurrenceRule extends ValueObject {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    /**
+     * 频率
+     */
+    public enum Frequency {
+        DAILY(1),
+        WEEKLY(7);
+
+        private final int periodDays;
+
+        Frequency(int periodDays) {
+            this.periodDays = periodDays;
+        }
+    }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final LocalDateTime until;
+    private final Integer count;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay,
+                           LocalDateTime until, Integer count) {
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence frequency is required");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be at least 1");
+        }
+        if (frequency == Frequency.DAILY && !byDay.isEmpty()) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly recurrence");
+        }
+        if (until != null && count != null) {
+            throw new IllegalArgumentException("UNTIL and COUNT cannot both be set");
+        }
+        if (count != null && count < 1) {
+            throw new IllegalArgumentException("Recurrence count must be at least 1");
+        }
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * 工厂方法：解析RRULE字符串（可带"RRULE:"前缀）
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule cannot be empty");
+        }
+        String body = rule.trim();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        LocalDateTime until = null;
+        Integer count = null;
+
+        for (String part : body.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid recurrence rule part: " + part);
+            }
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = Frequency.valueOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "BYDAY" -> {
+                        for (String day : value.split(",")) {
+                            byDay.add(parseDay(day.trim()));
+                        }
+                    }
+                    case "UNTIL" -> until = parseUntil(value);
+                    case "COUNT" -> count = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+            } catch (IllegalArgumentException e) {
+                if (e.getMessage() != null && e.getMessage().startsWith("Unsupported")) {
+                    throw e;
+                }
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value);
+            }
+        }
+        return new RecurrenceRule(frequency, interval, byDay, until, count);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public Set<DayOfWeek> getByDay() {
+        return EnumSet.copyOf(byDay.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : byDay);
+    }
+
+    public LocalDateTime getUntil() {
+        return until;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    /**
+     * 规则是否有终点（UNTIL或COUNT）
+     */
+    public boolean isBounded() {
+        return until != null || count != null;
+    }
+
+    /**
+     * 计算开始时间落在[from, to)内的发生时间
+     * 直接跳到from所在周期并用算术方式推算之前已发生的次数（用于COUNT），
+     * 计算量只与结果数量有关，与规则开始至今的跨度无关
+     *
+     * @param start 首次发生的时间（DTSTART），决定每次发生的时刻
+     */
+    public List<LocalDateTime> occurrencesBetween(LocalDateTime start, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        if (start == null || from == null || to == null || !from.isBefore(to)) {
+            return occurrences;
+        }
+
+        LocalDate startDate = start.toLocalDate();
+        int[] offsets = dayOffsets(startDate);
+        LocalDate anchor = frequency == Frequency.WEEKLY
+            ? startDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+            : startDate;
+        int periodDays = frequency.periodDays;
+
+        // 首个周期中早于开始日期的日子不算发生
+        int skippedInFirstPeriod = 0;
+        for (int offset : offsets) {
+            if (anchor.plusDays(offset).isBefore(startDate)) {
+                skippedInFirstPeriod++;
+            }
+        }
+
+        long period = 0;
+        if (from.isAfter(start)) {
+            long elapsedPeriods = ChronoUnit.DAYS.between(anchor, from.toLocalDate()) / periodDays;
+            period = elapsedPeriods - elapsedPeriods % interval;
+        }
+        long index = period == 0 ? 0 : (period / interval) * offsets.length - skippedInFirstPeriod;
+
+        while (true) {
+            LocalDate periodStart = anchor.plusDays(period * periodDays);
+            for (int offset : offsets) {
+                LocalDateTime occurrence = periodStart.plusDays(offset).atTime(start.toLocalTime());
+                if (occurrence.isBefore(start)) {
+                    continue;
+                }
+                index++;
+                if ((count != null && index > count)
+                        || (until != null && occurrence.isAfter(until))
+                        || !occurrence.isBefore(to)) {
+                    return occurrences;
+                }
+                if (!occurrence.isBefore(from)) {
+                    occurrences.add(occurrence);
+                }
+            }
+            period += interval;
+        }
+    }
+
+    /**
+     * 周期内发生日相对周期起点的天数偏移，按时间先后排列
+     */
+    private int[] dayOffsets(LocalDate startDate) {
+        if (frequency == Frequency.DAILY) {
+            return new int[] {0};
+        }
+        Set<DayOfWeek> days = byDay.isEmpty() ? EnumSet.of(startDate.getDayOfWeek()) : byDay;
+        return days.stream().mapToInt(day -> day.getValue() - 1).sorted().toArray();
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        return switch (day) {
+            case "MO" -> DayOfWeek.MONDAY;
+            case "TU" -> DayOfWeek.TUESDAY;
+            case "WE" -> DayOfWeek.WEDNESDAY;
+            case "TH" -> DayOfWeek.THURSDAY;
+            case "FR" -> DayOfWeek.FRIDAY;
+            case "SA" -> DayOfWeek.SATURDAY;
+            case "SU" -> DayOfWeek.SUNDAY;
+            default -> throw new IllegalArgumentException("Invalid day: " + day);
+        };
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String trimmed = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        if (trimmed.contains("T")) {
+            return LocalDateTime.parse(trimmed, DATE_TIME);
+        }
+        // 仅给出日期时包含当天全部发生
+        return LocalDate.parse(trimmed, DATE).atTime(23, 59, 59);
+    }
+
+    @Override
+    protected List<Object> getEqualityComponents() {
+        return asList(frequency, interval, byDay, until, count);
+    }
+
+    /**
+     * 规范化的RRULE字符串
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                .map(day -> day.name().substring(0, 2))
+                .collect(Collectors.joining(",")));
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(until.format(DATE_TIME));
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        return rule.toString();
+    }
+}
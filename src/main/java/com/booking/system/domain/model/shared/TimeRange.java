@@ -1,5 +1,6 @@
 package com.booking.system.domain.model.shared;
 
+import com.booking.system.domain.shared.DomainClock;
 import com.booking.system.domain.shared.ValueObject;
 import jakarta.persistence.Column;
 import jakarta.persistence.Embeddable;
@@ -15,6 +16,11 @@ import java.util.List;
 @Embeddable
 public class TimeRange extends ValueObject {
 
+    /**
+     * 课程最长持续时间；重叠查询据此把开始时间限定在有界区间内，只需扫描索引的一小段
+     */
+    public static final Duration MAX_DURATION = Duration.ofHours(8);
+
     @Column(name = "start_time", nullable = false)
     private final LocalDateTime startTime;
 
@@ -40,7 +46,7 @@ public class TimeRange extends ValueObject {
         if (Duration.between(startTime, endTime).toMinutes() < 30) {
             throw new IllegalArgumentException("Class duration must be at least 30 minutes");
         }
-        if (Duration.between(startTime, endTime).toMinutes() > 8 * 60) {
+        if (Duration.between(startTime, endTime).compareTo(MAX_DURATION) > 0) {
             throw new IllegalArgumentException("Class duration cannot exceed 8 hours");
         }
         this.startTime = startTime;
@@ -77,30 +83,31 @@ public class TimeRange extends ValueObject {
 
     /**
      * 检查时间范围是否重叠
+     * 按半开区间[start, end)比较，首尾相接的两节课不算重叠
      */
     public boolean overlaps(TimeRange other) {
-        return !(endTime.isBefore(other.startTime) || startTime.isAfter(other.endTime));
+        return startTime.isBefore(other.endTime) && other.startTime.isBefore(endTime);
     }
 
     /**
      * 检查课程是否已经开始
      */
     public boolean hasStarted() {
-        return LocalDateTime.now().isAfter(startTime) || LocalDateTime.now().isEqual(startTime);
+        return DomainClock.now().isAfter(startTime) || DomainClock.now().isEqual(startTime);
     }
 
     /**
      * 检查课程是否已经结束
      */
     public boolean hasEnded() {
-        return LocalDateTime.now().isAfter(endTime);
+        return DomainClock.now().isAfter(endTime);
     }
 
     /**
      * 检查课程是否正在进行中
      */
     public boolean isInProgress() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = DomainClock.now();
         return (now.isAfter(startTime) || now.isEqual(startTime)) && now.isBefore(endTime);
     }
 
@@ -108,7 +115,7 @@ public class TimeRange extends ValueObject {
      * 检查课程是否即将开始（在指定分钟内）
      */
     public boolean isStartingSoon(int minutes) {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = DomainClock.now();
         LocalDateTime startThreshold = startTime.minusMinutes(minutes);
         return (now.isAfter(startThreshold) || now.isEqual(startThreshold)) && now.isBefore(startTime);
     }
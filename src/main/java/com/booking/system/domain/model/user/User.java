@@ -1,7 +1,12 @@
 package com.booking.system.domain.model.user;
 
+import com.booking.system.domain.event.UserActivatedEvent;
+import com.booking.system.domain.event.UserDeactivatedEvent;
+import com.booking.system.domain.event.UserEmailChangedEvent;
+import com.booking.system.domain.event.UserPasswordChangedEvent;
 import com.booking.system.domain.model.shared.Email;
 import com.booking.system.domain.shared.AggregateRoot;
+import com.booking.system.domain.shared.DomainClock;
 import com.booking.system.domain.shared.DomainException;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
@@ -15,15 +20,20 @@ import java.time.LocalDateTime;
  * 封装用户相关业务逻辑
  */
 @Entity(name = "DomainUser")
-@Table(name = "domain_users")
+@Table(name = "users")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class User extends AggregateRoot<Long> {
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
     @Column(unique = true, nullable = false, length = 50)
     private String username;
 
     @Embedded
+    @AttributeOverride(name = "value", column = @Column(name = "email", unique = true, nullable = false, length = 100))
     private Email email;
 
     @Column(name = "password_hash", nullable = false)
@@ -62,8 +72,8 @@ public class User extends AggregateRoot<Long> {
         user.passwordHash = passwordHash;
         user.role = role;
         user.isActive = true;
-        user.createdAt = LocalDateTime.now();
-        user.updatedAt = LocalDateTime.now();
+        user.createdAt = DomainClock.now();
+        user.updatedAt = DomainClock.now();
 
         return user;
     }
@@ -81,7 +91,7 @@ public class User extends AggregateRoot<Long> {
 
         this.firstName = firstName;
         this.lastName = lastName;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
     }
 
     /**
@@ -92,8 +102,12 @@ public class User extends AggregateRoot<Long> {
             throw new DomainException("Email cannot be null");
         }
 
+        Email previousEmail = this.email;
         this.email = newEmail;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+
+        registerEvent(new UserEmailChangedEvent(getId(),
+            previousEmail != null ? previousEmail.getValue() : null, newEmail.getValue()));
     }
 
     /**
@@ -105,7 +119,9 @@ public class User extends AggregateRoot<Long> {
         }
 
         this.passwordHash = newPasswordHash;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+
+        registerEvent(new UserPasswordChangedEvent(getId(), email.getValue()));
     }
 
     /**
@@ -117,7 +133,9 @@ public class User extends AggregateRoot<Long> {
         }
 
         this.isActive = true;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+
+        registerEvent(new UserActivatedEvent(getId(), email.getValue()));
     }
 
     /**
@@ -129,7 +147,9 @@ public class User extends AggregateRoot<Long> {
         }
 
         this.isActive = false;
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = DomainClock.now();
+
+        registerEvent(new UserDeactivatedEvent(getId(), email.getValue()));
     }
 
     /**
@@ -160,6 +180,14 @@ public class User extends AggregateRoot<Long> {
         return firstName + " " + lastName;
     }
 
+    /**
+     * 设置用户ID（仅限Repository和特殊场景使用）
+     */
+    @Override
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     private static void validateCreationParameters(String username, Email email,
                                                   String firstName, String lastName,
                                                   String passwordHash, String role) {
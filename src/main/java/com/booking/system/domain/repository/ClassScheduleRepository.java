@@ -1,6 +1,7 @@
 package com.booking.system.domain.repository;
 
 import com.booking.system.domain.model.classschedule.ClassSchedule;
+import com.booking.system.domain.model.shared.TimeRange;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -46,6 +47,13 @@ public interface ClassScheduleRepository {
      */
     List<ClassSchedule> findUpcomingClassesByStatus(String status, LocalDateTime now);
 
+    /**
+     * 查找讲师在指定时间范围内有重叠的未取消课程
+     *
+     * @param excludeClassId 更新课程时排除其自身，新建时为null
+     */
+    List<ClassSchedule> findInstructorConflicts(Long instructorId, TimeRange timeRange, Long excludeClassId);
+
     /**
      * 使用悲观锁根据ID查找课程（用于并发控制）
      */
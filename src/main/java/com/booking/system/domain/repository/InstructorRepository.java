@@ -14,6 +14,11 @@ public interface InstructorRepository {
      */
     Optional<Instructor> findById(Long id);
 
+    /**
+     * 根据ID查找讲师并加悲观写锁，用于串行化同一讲师的排课
+     */
+    Optional<Instructor> findByIdWithLock(Long id);
+
     /**
      * 根据用户ID查找讲师
      */
@@ -26,19 +26,10 @@ public class AuthDomainService {
 
     /**
      * 注册新用户
+     * 邮箱和用户名的唯一性由数据库唯一约束保证，冲突时仓储抛出DuplicateResourceException
      */
     public User register(String username, String email, String password,
                         String firstName, String lastName) {
-        // 检查邮箱是否已存在
-        if (userRepository.existsByEmail(email)) {
-            throw new DomainException("Email already exists");
-        }
-
-        // 检查用户名是否已存在
-        if (userRepository.existsByUsername(username)) {
-            throw new DomainException("Username already exists");
-        }
-
         // 创建Email值对象
         Email emailObj = Email.of(email);
 
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 课程调度领域服务
@@ -50,6 +51,9 @@ public class ClassSchedulingService {
         Capacity capacityObj = Capacity.of(capacity);
         Location locationObj = Location.of(location);
 
+        // 讲师不能同时教授时间重叠的课程
+        ensureInstructorAvailable(instructor.getId(), timeRange, null);
+
         // 创建课程聚合根
         ClassSchedule classSchedule = ClassSchedule.create(
             name,
@@ -84,6 +88,10 @@ public class ClassSchedulingService {
         Capacity capacityObj = Capacity.of(capacity);
         Location locationObj = Location.of(location);
 
+        if (classSchedule.getInstructor() != null) {
+            ensureInstructorAvailable(classSchedule.getInstructor().getId(), timeRange, classId);
+        }
+
         // 更新课程属性
         classSchedule.update(name, description, timeRange, capacityObj, locationObj);
 
@@ -129,6 +137,21 @@ public class ClassSchedulingService {
         classScheduleRepository.save(classSchedule);
     }
 
+    /**
+     * 检查讲师在时间范围内是否已有其他课程
+     * 先锁定讲师，同一讲师的并发排课串行执行，检查与写入之间不会插入其他课程
+     */
+    private void ensureInstructorAvailable(Long instructorId, TimeRange timeRange, Long excludeClassId) {
+        instructorRepository.findByIdWithLock(instructorId);
+        List<ClassSchedule> conflicts =
+            classScheduleRepository.findInstructorConflicts(instructorId, timeRange, excludeClassId);
+        if (!conflicts.isEmpty()) {
+            ClassSchedule conflict = conflicts.get(0);
+            throw new DomainException("Instructor is already teaching class " + conflict.getId()
+                + " (" + conflict.getTimeRange() + ")");
+        }
+    }
+
     /**
      * 获取课程详情
      */
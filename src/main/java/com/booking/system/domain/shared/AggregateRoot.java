@@ -17,26 +17,19 @@ import java.util.List;
 @Getter
 public abstract class AggregateRoot<ID> extends AbstractAggregateRoot<AggregateRoot<ID>> {
 
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private ID id;
-
     @Version
     private Long version;
 
     /**
      * 获取聚合根ID
+     * ID字段及其生成策略（自增列或序列）由各聚合根自行映射
      */
-    public ID getId() {
-        return id;
-    }
+    public abstract ID getId();
 
     /**
      * 设置聚合根ID（仅限Repository和特殊场景使用）
      */
-    public void setId(ID id) {
-        this.id = id;
-    }
+    public abstract void setId(ID id);
 
     /**
      * 获取版本号（乐观锁）
@@ -76,12 +69,21 @@ public abstract class AggregateRoot<ID> extends AbstractAggregateRoot<AggregateR
         return new ArrayList<>(super.domainEvents());
     }
 
+    /**
+     * 取出并清除所有领域事件（供仓储保存后发布）
+     */
+    public List<Object> pullEvents() {
+        List<Object> events = getEvents();
+        clearEvents();
+        return events;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AggregateRoot<?> that = (AggregateRoot<?>) o;
-        return id != null && id.equals(that.id);
+        return getId() != null && getId().equals(that.getId());
     }
 
     @Override
@@ -0,0 +1,36 @@
+package com.booking.system.domain.shared;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * 领域时钟
+ * 聚合和领域事件通过new创建，无法注入依赖，因此时间统一从这里读取；
+ * 启动时由配置替换为容器中的Clock，测试可替换为固定时钟
+ */
+public final class DomainClock {
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private DomainClock() {
+    }
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public static Clock get() {
+        return clock;
+    }
+
+    public static void use(Clock newClock) {
+        clock = newClock;
+    }
+
+    /**
+     * 恢复为系统时钟
+     */
+    public static void reset() {
+        clock = Clock.systemDefaultZone();
+    }
+}
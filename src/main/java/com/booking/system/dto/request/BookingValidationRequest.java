@@ -0,0 +1,20 @@
+package com.booking.system.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingValidationRequest {
+
+    @NotEmpty(message = "At least one class schedule ID is required")
+    @Size(max = 50, message = "Cannot validate more than 50 classes at once")
+    private List<@NotNull(message = "Class schedule ID is required") Long> classScheduleIds;
+}
@@ -0,0 +1,43 @@
+package com.booking.system.dto.request;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateClassSeriesRequest {
+
+    @NotBlank(message = "Class name is required")
+    private String name;
+
+    private String description;
+
+    private Long instructorId;
+
+    @NotNull(message = "Start time is required")
+    @Future(message = "Start time must be in the future")
+    private LocalDateTime firstStartTime;
+
+    @NotNull(message = "Duration is required")
+    @Positive(message = "Duration must be positive")
+    @Max(value = 480, message = "Duration cannot exceed 8 hours")
+    private Integer durationMinutes;
+
+    @NotNull(message = "Capacity is required")
+    @Positive(message = "Capacity must be positive")
+    private Integer capacity;
+
+    private String location;
+
+    @NotBlank(message = "Recurrence rule is required")
+    private String recurrenceRule;
+}
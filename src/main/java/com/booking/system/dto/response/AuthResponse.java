@@ -14,6 +14,8 @@ public class AuthResponse {
     private String email;
     private String username;
     private String role;
+    private String refreshToken;
+    private Long expiresIn;
 
     public AuthResponse(String token, String email, String username, String role) {
         this.token = token;
@@ -21,4 +23,11 @@ public class AuthResponse {
         this.username = username;
         this.role = role;
     }
+
+    public AuthResponse(String token, String email, String username, String role,
+                        String refreshToken, Long expiresIn) {
+        this(token, email, username, role);
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
 }
@@ -0,0 +1,19 @@
+package com.booking.system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量预订校验中单节课程的结果，不可预订时给出原因和冲突的课程
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingValidationResponse {
+
+    private Long classScheduleId;
+    private boolean bookable;
+    private String reason;
+    private Long conflictingClassId;
+}
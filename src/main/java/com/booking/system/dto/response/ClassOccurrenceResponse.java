@@ -0,0 +1,22 @@
+package com.booking.system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 系列中的一次发生；未物化的发生没有classId，状态取自系列
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassOccurrenceResponse {
+
+    private Long classId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean materialized;
+    private String status;
+}
@@ -22,6 +22,7 @@ public class ClassResponse {
     private Integer currentBookings;
     private Integer availableSpots;
     private String location;
+    private Long roomId;
     private String status;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,27 @@
+package com.booking.system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassSeriesResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Long instructorId;
+    private String instructorName;
+    private LocalDateTime firstStartTime;
+    private Integer durationMinutes;
+    private Integer capacity;
+    private String location;
+    private String recurrenceRule;
+    private LocalDateTime materializedUntil;
+    private String status;
+    private LocalDateTime createdAt;
+}
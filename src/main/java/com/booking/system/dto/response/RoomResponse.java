@@ -0,0 +1,16 @@
+package com.booking.system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomResponse {
+
+    private Long id;
+    private String key;
+    private String name;
+    private Integer weeklyOpenMinutes;
+}
@@ -0,0 +1,21 @@
+package com.booking.system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomUtilizationResponse {
+
+    private Long roomId;
+    private String roomName;
+    private LocalDate weekStart;
+    private Integer classCount;
+    private Long scheduledMinutes;
+    private Integer availableMinutes;
+    private Double occupancyPercent;
+}
@@ -0,0 +1,26 @@
+package com.booking.system.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 同一讲师两节时间重叠的课程，classId开始较早
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictResponse {
+
+    private Long instructorId;
+    private Long classId;
+    private String className;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private Long conflictingClassId;
+    private String conflictingClassName;
+    private LocalDateTime conflictingStartTime;
+    private LocalDateTime conflictingEndTime;
+}
@@ -5,19 +5,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "class_schedules")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ClassSchedule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "class_schedules_seq")
+    @SequenceGenerator(name = "class_schedules_seq", sequenceName = "class_schedules_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -45,9 +48,21 @@ public class ClassSchedule {
     @Column(length = 200)
     private String location;
 
+    /**
+     * 规范化后的线下场地，线上课程或未填写地点时为空
+     */
+    @Column(name = "room_id")
+    private Long roomId;
+
     @Column(length = 20)
     private String status = "SCHEDULED";
 
+    /**
+     * 所属周期系列，单次课程为空
+     */
+    @Column(name = "series_id")
+    private Long seriesId;
+
     @Column(name = "created_at", updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -0,0 +1,74 @@
+package com.booking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 周期课程系列
+ * 重复规则是事实来源，class_schedules中的课程只是物化到materializedUntil为止的发生
+ */
+@Entity
+@Table(name = "class_series")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassSeries {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @ManyToOne
+    @JoinColumn(name = "instructor_id")
+    private Instructor instructor;
+
+    /**
+     * 首次发生的开始时间（DTSTART），之后每次发生沿用同一时刻
+     */
+    @Column(name = "first_start_time", nullable = false)
+    private LocalDateTime firstStartTime;
+
+    @Column(name = "duration_minutes", nullable = false)
+    private Integer durationMinutes;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(length = 200)
+    private String location;
+
+    @Column(name = "recurrence_rule", nullable = false)
+    private String recurrenceRule;
+
+    /**
+     * 已物化的范围上界（不含），此后的发生只能从规则推算
+     */
+    @Column(name = "materialized_until", nullable = false)
+    private LocalDateTime materializedUntil;
+
+    @Column(length = 20)
+    private String status = "ACTIVE";
+
+    @Column(name = "created_at", updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,65 @@
+package com.booking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 待发送或已发送的通知
+ * 每条消息每个收件人一行；去重键（事件ID或提醒标识）与用户唯一，重复投递的事件不会再次登记
+ */
+@Entity
+@Table(name = "notification_deliveries",
+       uniqueConstraints = @UniqueConstraint(name = "idx_notification_deliveries_dedupe",
+                                             columnNames = {"dedupe_key", "user_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDelivery {
+
+    public static final String PENDING = "PENDING";
+    public static final String SENT = "SENT";
+    public static final String DROPPED = "DROPPED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_delivery_seq")
+    @SequenceGenerator(name = "notification_delivery_seq", sequenceName = "notification_delivery_seq",
+                       allocationSize = 50)
+    private Long id;
+
+    @Column(name = "dedupe_key", nullable = false, length = 100)
+    private String dedupeKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = 1000)
+    private String line;
+
+    @Column(nullable = false, length = 20)
+    private String status = PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * 最早发送时间，发送失败后推迟为下次重试时间
+     */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,32 @@
+package com.booking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 发件箱聚合流
+ * 每个聚合一行：追加事件时锁定该行分配聚合内序号，序号顺序即提交顺序；中继认领时以SKIP LOCKED锁定该行，同一聚合同时只由一个中继认领
+ */
+@Entity
+@Table(name = "outbox_aggregates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxAggregate {
+
+    /**
+     * 聚合类型与聚合id，格式为type:id
+     */
+    @Id
+    @Column(name = "aggregate_key", length = 100)
+    private String aggregateKey;
+
+    @Column(name = "last_sequence", nullable = false)
+    private Long lastSequence;
+
+    public static String keyOf(String aggregateType, Long aggregateId) {
+        return aggregateType + ":" + aggregateId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.booking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 线下场地
+ * 由课程的自由文本地点规范化而来，roomKey为小写并合并空白后的地点
+ */
+@Entity
+@Table(name = "rooms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Room {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_key", nullable = false, unique = true, length = 200)
+    private String roomKey;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    /**
+     * 每周可排课时长（分钟），作为利用率的分母，默认每天12小时
+     */
+    @Column(name = "weekly_open_minutes", nullable = false)
+    private Integer weeklyOpenMinutes = 5040;
+
+    @Column(name = "created_at", updatable = false)
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.booking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 场地每周已排课时长的增量汇总，课程计入其开始时间所在的ISO周
+ */
+@Entity
+@Table(name = "room_weekly_utilization",
+       uniqueConstraints = @UniqueConstraint(name = "uk_room_week", columnNames = {"room_id", "week_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomWeeklyUtilization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    @Column(name = "scheduled_minutes", nullable = false)
+    private Long scheduledMinutes = 0L;
+
+    @Column(name = "class_count", nullable = false)
+    private Integer classCount = 0;
+}
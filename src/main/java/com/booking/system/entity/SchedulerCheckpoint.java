@@ -0,0 +1,32 @@
+package com.booking.system.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 定时任务检查点
+ * 记录任务已处理到的时间，重启后从检查点继续
+ */
+@Entity
+@Table(name = "scheduler_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerCheckpoint {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "checkpoint_time", nullable = false)
+    private LocalDateTime checkpointTime;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
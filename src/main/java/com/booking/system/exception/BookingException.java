@@ -2,11 +2,26 @@ package com.booking.system.exception;
 
 public class BookingException extends RuntimeException {
 
+    /**
+     * 拒绝原因代码，用作指标标签；未分类时为空
+     */
+    private final String reason;
+
     public BookingException(String message) {
+        this(message, (String) null);
+    }
+
+    public BookingException(String message, String reason) {
         super(message);
+        this.reason = reason;
     }
 
     public BookingException(String message, Throwable cause) {
         super(message, cause);
+        this.reason = null;
+    }
+
+    public String getReason() {
+        return reason;
     }
 }
@@ -0,0 +1,143 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * class_schedules行锁的争用分析
+ * 记录每次PESSIMISTIC_WRITE获取的等待时间：总体一份直方图，按课程的直方图只保留在Space-Saving草图中，
+ * 草图按累计等待时间加权，因此排在前面的是让请求等得最久的课程，而不只是访问最多的课程。
+ * 锁获取失败（超时、死锁）也计入等待时间。
+ * 记录按课程ID分到固定数量的分段，每段有自己的锁、草图和总体直方图，不同课程的记录不争用同一把锁；
+ * 同一课程总落在同一分段，草图的误差上界在段内成立，快照时合并各段。
+ */
+@Component
+public class LockContentionProfiler {
+
+    static final int STRIPES = 16;
+
+    private final boolean enabled;
+    private final int topN;
+    private final LongSupplier nanoClock;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    @Autowired
+    public LockContentionProfiler(@Value("${lock-profiler.enabled:true}") boolean enabled,
+                                  @Value("${lock-profiler.capacity:64}") int capacity,
+                                  @Value("${lock-profiler.top:10}") int topN) {
+        this(enabled, capacity, topN, System::nanoTime);
+    }
+
+    LockContentionProfiler(boolean enabled, int capacity, int topN, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.topN = topN;
+        this.nanoClock = nanoClock;
+        // 每段跟踪capacity / STRIPES个课程，至少能容纳报告的前topN个
+        int stripeCapacity = Math.max(topN, (capacity + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * 执行加锁查询并记录等待时间
+     */
+    public <T> T profile(Long classScheduleId, Supplier<T> lockQuery) {
+        if (!enabled || classScheduleId == null) {
+            return lockQuery.get();
+        }
+        long start = nanoClock.getAsLong();
+        try {
+            return lockQuery.get();
+        } finally {
+            record(classScheduleId, nanoClock.getAsLong() - start);
+        }
+    }
+
+    void record(Long classScheduleId, long waitNanos) {
+        // 至少计1微秒，无等待的获取也会进入草图
+        long waitMicros = Math.max(1L, waitNanos / 1_000L);
+        Stripe stripe = stripeFor(classScheduleId);
+        synchronized (stripe) {
+            stripe.overall.record(waitMicros);
+            stripe.sketch.offer(classScheduleId, waitMicros).record(waitMicros);
+        }
+    }
+
+    public Snapshot snapshot() {
+        LockWaitHistogram overall = new LockWaitHistogram();
+        List<ClassLockStats> candidates = new ArrayList<>();
+        int trackedClasses = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                overall.merge(stripe.overall);
+                trackedClasses += stripe.sketch.size();
+                for (SpaceSavingSketch.Entry<Long, LockWaitHistogram> entry : stripe.sketch.top(topN)) {
+                    candidates.add(new ClassLockStats(entry.key(), entry.value().count(),
+                        millis(entry.count()), millis(entry.error()), millis(entry.value().maxMicros()),
+                        millis(entry.value().percentileMicros(0.5)), millis(entry.value().percentileMicros(0.95)),
+                        millis(entry.value().percentileMicros(0.99))));
+                }
+            }
+        }
+        candidates.sort(Comparator.comparingDouble(ClassLockStats::totalWaitMs).reversed());
+        List<ClassLockStats> top = List.copyOf(candidates.subList(0, Math.min(topN, candidates.size())));
+        return new Snapshot(enabled, overall.count(), millis(overall.totalMicros()), millis(overall.maxMicros()),
+            millis(overall.percentileMicros(0.5)), millis(overall.percentileMicros(0.95)),
+            millis(overall.percentileMicros(0.99)), trackedClasses, top);
+    }
+
+    public void reset() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.sketch.clear();
+                stripe.overall.reset();
+            }
+        }
+    }
+
+    private Stripe stripeFor(Long classScheduleId) {
+        int h = classScheduleId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000d;
+    }
+
+    /**
+     * 一个分段的草图和总体直方图，由分段自身的监视器保护
+     */
+    private static final class Stripe {
+
+        private final SpaceSavingSketch<Long, LockWaitHistogram> sketch;
+        private final LockWaitHistogram overall = new LockWaitHistogram();
+
+        private Stripe(int capacity) {
+            this.sketch = new SpaceSavingSketch<>(capacity, LockWaitHistogram::new);
+        }
+    }
+
+    /**
+     * 总体等待统计和争用最多的课程，时间单位为毫秒
+     */
+    public record Snapshot(boolean enabled, long acquisitions, double totalWaitMs, double maxWaitMs,
+                           double p50Ms, double p95Ms, double p99Ms, int trackedClasses,
+                           List<ClassLockStats> topContended) {
+    }
+
+    /**
+     * 单个课程的等待统计
+     * totalWaitMs是草图计数，可能高估至多errorMs；acquisitions和分位数从该课程进入草图时开始统计
+     */
+    public record ClassLockStats(Long classScheduleId, long acquisitions, double totalWaitMs, double errorMs,
+                                 double maxWaitMs, double p50Ms, double p95Ms, double p99Ms) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * 锁等待时间直方图
+ * 固定的对数分桶（微秒），记录时只做一次查找和计数；分位数取所在桶的上界，超出最大桶时取最大值。
+ * 非线程安全，由LockContentionProfiler的分段锁同步。
+ */
+public class LockWaitHistogram {
+
+    static final long[] BOUNDS_MICROS = {
+        100, 250, 500,
+        1_000, 2_500, 5_000,
+        10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000,
+        1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+
+    private final long[] buckets = new long[BOUNDS_MICROS.length + 1];
+    private long count;
+    private long totalMicros;
+    private long maxMicros;
+
+    public void record(long waitMicros) {
+        int index = 0;
+        while (index < BOUNDS_MICROS.length && waitMicros > BOUNDS_MICROS[index]) {
+            index++;
+        }
+        buckets[index]++;
+        count++;
+        totalMicros += waitMicros;
+        maxMicros = Math.max(maxMicros, waitMicros);
+    }
+
+    /**
+     * 累加另一个直方图的计数
+     */
+    public void merge(LockWaitHistogram other) {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        count += other.count;
+        totalMicros += other.totalMicros;
+        maxMicros = Math.max(maxMicros, other.maxMicros);
+    }
+
+    public void reset() {
+        Arrays.fill(buckets, 0L);
+        count = 0;
+        totalMicros = 0;
+        maxMicros = 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long totalMicros() {
+        return totalMicros;
+    }
+
+    public long maxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * 近似分位数（微秒）
+     */
+    public long percentileMicros(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_MICROS.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(BOUNDS_MICROS[i], maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+}
@@ -0,0 +1,111 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 加权Space-Saving重击者草图
+ * 最多跟踪capacity个键；新键在满员时顶替当前计数最小的条目，并继承其计数作为误差上界。
+ * 真实权重落在[count - error, count]内，总权重超过1/capacity的键一定在草图中。
+ * 每个条目附带一个value，键被顶替时value随之重建。非线程安全，由调用方同步。
+ */
+public class SpaceSavingSketch<K, V> {
+
+    private final int capacity;
+    private final Supplier<V> valueFactory;
+    private final Map<K, Entry<K, V>> entries;
+
+    public SpaceSavingSketch(int capacity, Supplier<V> valueFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Sketch capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.valueFactory = valueFactory;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * 为键累加权重，返回该键的附带值
+     */
+    public V offer(K key, long weight) {
+        Entry<K, V> entry = entries.get(key);
+        if (entry == null) {
+            if (entries.size() < capacity) {
+                entry = new Entry<>(key, 0L, valueFactory.get());
+            } else {
+                // 满员时只在新键进入时线性查找最小值，容量通常只有几十
+                Entry<K, V> min = minimum();
+                entries.remove(min.key);
+                entry = new Entry<>(key, min.count, valueFactory.get());
+            }
+            entries.put(key, entry);
+        }
+        entry.count += weight;
+        return entry.value;
+    }
+
+    /**
+     * 按计数从大到小返回前n个条目
+     */
+    public List<Entry<K, V>> top(int n) {
+        List<Entry<K, V>> sorted = new ArrayList<>(entries.values());
+        sorted.sort(Comparator.comparingLong((Entry<K, V> entry) -> entry.count).reversed());
+        return sorted.subList(0, Math.min(n, sorted.size()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private Entry<K, V> minimum() {
+        Entry<K, V> min = null;
+        for (Entry<K, V> entry : entries.values()) {
+            if (min == null || entry.count < min.count) {
+                min = entry;
+            }
+        }
+        return min;
+    }
+
+    public static final class Entry<K, V> {
+
+        private final K key;
+        private final long error;
+        private final V value;
+        private long count;
+
+        private Entry(K key, long error, V value) {
+            this.key = key;
+            this.error = error;
+            this.count = error;
+            this.value = value;
+        }
+
+        public K key() {
+            return key;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * 计数的高估上界，来自被顶替条目的计数
+         */
+        public long error() {
+            return error;
+        }
+
+        public V value() {
+            return value;
+        }
+    }
+}
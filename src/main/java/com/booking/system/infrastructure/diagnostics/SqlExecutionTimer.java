@@ -0,0 +1,43 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * 记录JDBC执行时间，由hibernate.session.events.auto为每个会话实例化
+ */
+public class SqlExecutionTimer implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        ended();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        ended();
+    }
+
+    private static void started() {
+        SqlStatementStats stats = SqlStatementRecorder.current();
+        if (stats != null) {
+            stats.executionStarted();
+        }
+    }
+
+    private static void ended() {
+        SqlStatementStats stats = SqlStatementRecorder.current();
+        if (stats != null) {
+            stats.executionEnded();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import com.booking.system.infrastructure.tracing.Span;
+import com.booking.system.infrastructure.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个HTTP请求的SQL语句数和执行时间护栏
+ * 统计覆盖整个请求，包括安全过滤器链中的用户加载。按路由模板发布http.sql.statements和http.sql.time，
+ * 超过max-statements、max-time或单条语句超过slow-statement时计入http.sql.guardrail并记录警告日志。
+ * 统计结果放在请求属性STATS_ATTRIBUTE中，供测试断言每个端点的语句上限。
+ * 不参与组件扫描，由SqlGuardConfig注册。
+ */
+public class SqlGuardFilter extends OncePerRequestFilter {
+
+    public static final String STATS_ATTRIBUTE = SqlGuardFilter.class.getName() + ".STATS";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlGuardFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final boolean enabled;
+    private final int maxStatements;
+    private final long maxTimeNanos;
+    private final long slowStatementNanos;
+    private final int maxCapturedStatements;
+
+    public SqlGuardFilter(MeterRegistry meterRegistry, Tracer tracer, boolean enabled, int maxStatements,
+                          Duration maxTime, Duration slowStatement, int maxCapturedStatements) {
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.maxTimeNanos = maxTime.toNanos();
+        this.slowStatementNanos = slowStatement.toNanos();
+        this.maxCapturedStatements = maxCapturedStatements;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = new SqlStatementStats(slowStatementNanos, maxCapturedStatements);
+        SqlStatementRecorder.bind(stats);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementRecorder.unbind();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Span span = tracer.currentSpan();
+        if (span != null) {
+            span.tag("sql.statements", stats.statementCount())
+                .tag("sql.time_ms", TimeUnit.NANOSECONDS.toMillis(stats.executionNanos()));
+        }
+        if (stats.statementCount() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+        DistributionSummary.builder("http.sql.statements")
+            .description("SQL statements issued per HTTP request")
+            .tag("route", route)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(stats.statementCount());
+        Timer.builder("http.sql.time")
+            .description("JDBC execution time per HTTP request")
+            .tag("route", route)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)
+            .record(stats.executionNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statementCount() > maxStatements) {
+            violation(route, "statements");
+            log.warn("{} issued {} SQL statements (limit {}): {}", route, stats.statementCount(), maxStatements,
+                stats.statements());
+        }
+        if (stats.executionNanos() > maxTimeNanos) {
+            violation(route, "time");
+            log.warn("{} spent {} ms in SQL (limit {} ms)", route,
+                TimeUnit.NANOSECONDS.toMillis(stats.executionNanos()), TimeUnit.NANOSECONDS.toMillis(maxTimeNanos));
+        }
+        for (SqlStatementStats.SlowStatement slow : stats.slowStatements()) {
+            violation(route, "slow-statement");
+            log.warn("{} ran a slow SQL statement ({} ms): {}", route, slow.millis(), slow.sql());
+        }
+    }
+
+    private void violation(String route, String limit) {
+        Counter.builder("http.sql.guardrail")
+            .description("HTTP requests exceeding an SQL guardrail")
+            .tag("route", route)
+            .tag("limit", limit)
+            .register(meterRegistry)
+            .increment();
+    }
+}
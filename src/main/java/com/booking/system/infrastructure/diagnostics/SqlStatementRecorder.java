@@ -0,0 +1,34 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 把Hibernate准备的语句计入当前请求的SqlStatementStats
+ * 由hibernate.session_factory.statement_inspector按类名实例化，统计对象通过线程本地变量绑定，
+ * 请求之外（定时任务、事件处理器）没有绑定时不做任何事。
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    static void bind(SqlStatementStats stats) {
+        CURRENT.set(stats);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.prepared(sql);
+        }
+        return sql;
+    }
+}
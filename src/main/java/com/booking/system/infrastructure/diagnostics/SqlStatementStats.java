@@ -0,0 +1,72 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一次HTTP请求发出的SQL语句统计
+ * 语句数按Hibernate准备的语句计，批量插入每批计一次；时间只计JDBC执行，不含结果集映射。
+ * 只在处理请求的线程上访问。
+ */
+public class SqlStatementStats {
+
+    private final long slowStatementNanos;
+    private final int maxCapturedStatements;
+    private final List<String> statements = new ArrayList<>();
+    private final List<SlowStatement> slowStatements = new ArrayList<>();
+    private int statementCount;
+    private long executionNanos;
+    private String lastStatement;
+    private long executionStartedAt;
+
+    public SqlStatementStats(long slowStatementNanos, int maxCapturedStatements) {
+        this.slowStatementNanos = slowStatementNanos;
+        this.maxCapturedStatements = maxCapturedStatements;
+    }
+
+    void prepared(String sql) {
+        statementCount++;
+        lastStatement = sql;
+        if (statements.size() < maxCapturedStatements) {
+            statements.add(sql);
+        }
+    }
+
+    void executionStarted() {
+        executionStartedAt = System.nanoTime();
+    }
+
+    void executionEnded() {
+        if (executionStartedAt == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - executionStartedAt;
+        executionStartedAt = 0;
+        executionNanos += elapsed;
+        if (elapsed >= slowStatementNanos && slowStatements.size() < maxCapturedStatements) {
+            slowStatements.add(new SlowStatement(lastStatement, elapsed / 1_000_000L));
+        }
+    }
+
+    public int statementCount() {
+        return statementCount;
+    }
+
+    public long executionNanos() {
+        return executionNanos;
+    }
+
+    /**
+     * 按发出顺序记录的语句，最多max-captured-statements条
+     */
+    public List<String> statements() {
+        return statements;
+    }
+
+    public List<SlowStatement> slowStatements() {
+        return slowStatements;
+    }
+
+    public record SlowStatement(String sql, long millis) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.booking.system.infrastructure.event;
+
+import com.booking.system.domain.event.DomainEvent;
+
+/**
+ * 领域事件处理器
+ * 注册为Spring Bean后由PartitionedEventBus在事务提交后异步调用；同一聚合的事件按发生顺序串行处理。
+ * 投递至少一次，处理器应按eventId幂等；抛出的异常记录日志和指标，不影响其他处理器，发件箱消息随后按退避重新投递。
+ */
+public interface DomainEventHandler<E extends DomainEvent> {
+
+    /**
+     * 处理的事件类型（含子类）
+     */
+    Class<E> eventType();
+
+    void handle(E event);
+}
@@ -0,0 +1,15 @@
+package com.booking.system.infrastructure.event;
+
+import com.booking.system.domain.event.DomainEvent;
+
+/**
+ * 领域事件处理器执行失败
+ * 由PartitionedEventBus.publish返回的完成结果携带，多个处理器失败时其余失败作为suppressed附加
+ */
+public class EventHandlingException extends RuntimeException {
+
+    public EventHandlingException(String handlerName, DomainEvent event, Throwable cause) {
+        super(handlerName + " failed on " + event.getEventType() + " " + event.getEventId() + ": " + cause.getMessage(),
+            cause);
+    }
+}
@@ -0,0 +1,293 @@
+package com.booking.system.infrastructure.event;
+
+import com.booking.system.domain.event.DomainEvent;
+import com.booking.system.infrastructure.tracing.Span;
+import com.booking.system.infrastructure.tracing.TraceContext;
+import com.booking.system.infrastructure.tracing.Tracer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按聚合分区的进程内异步事件总线
+ * 每个分区由一个工作线程按FIFO处理有界队列，同一分区键（聚合）的事件保持顺序，不同聚合并行处理。
+ * 队列满时发布方最多阻塞offer-timeout，仍无法入队则抛出RejectedExecutionException，由调用方（发件箱中继）稍后重试。
+ * 事务内发布的事件推迟到提交后入队，回滚则丢弃。
+ * publish返回的结果在全部处理器执行完后完成，任一处理器失败则以EventHandlingException异常完成，
+ * 发件箱中继据此确认或重试消息。
+ * 入队时记下发布方的链路上下文，每次处理器调用作为它的子span。
+ */
+@Component
+public class PartitionedEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedEventBus.class);
+
+    private final List<DomainEventHandler<?>> handlers;
+    private final Map<Class<?>, List<DomainEventHandler<?>>> handlersByType = new ConcurrentHashMap<>();
+    private final Partition[] partitions;
+    private final long offerTimeoutNanos;
+    private final AtomicLong pending = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final Tracer tracer;
+    private final Counter rejected;
+    private volatile boolean accepting = true;
+
+    @Autowired
+    public PartitionedEventBus(List<DomainEventHandler<?>> handlers, MeterRegistry meterRegistry, Tracer tracer,
+                               @Value("${event-bus.partitions:8}") int partitionCount,
+                               @Value("${event-bus.queue-capacity:1000}") int queueCapacity,
+                               @Value("${event-bus.offer-timeout:2s}") Duration offerTimeout) {
+        this.handlers = List.copyOf(handlers);
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.rejected = Counter.builder("domain.events.rejected")
+            .description("Events rejected because the partition queue stayed full")
+            .register(meterRegistry);
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(i, queueCapacity);
+        }
+    }
+
+    /**
+     * 发布事件；在事务内调用时推迟到提交后入队
+     *
+     * @param partitionKey 分区键，同一键的事件按发布顺序处理
+     * @return 全部处理器执行完后完成；任一处理器失败时以EventHandlingException异常完成，事务回滚时取消
+     */
+    public CompletableFuture<Void> publish(Object partitionKey, DomainEvent event) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(partitionKey, event, completion);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        completion.cancel(false);
+                    }
+                }
+            });
+            return completion;
+        }
+        enqueue(partitionKey, event, completion);
+        return completion;
+    }
+
+    /**
+     * 等待已入队的事件处理完毕
+     *
+     * @return 超时前是否已全部处理
+     */
+    public boolean awaitIdle(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (pending.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long pendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * 停止接收新事件，处理完已入队的事件后结束工作线程
+     */
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        for (Partition partition : partitions) {
+            partition.worker.interrupt();
+        }
+        for (Partition partition : partitions) {
+            try {
+                partition.worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void enqueue(Object partitionKey, DomainEvent event, CompletableFuture<Void> completion) {
+        if (!accepting) {
+            rejected.increment();
+            RejectedExecutionException e = new RejectedExecutionException("Event bus is shut down");
+            completion.completeExceptionally(e);
+            throw e;
+        }
+        Partition partition = partitions[partitionOf(partitionKey)];
+        pending.incrementAndGet();
+        boolean offered;
+        try {
+            offered = partition.queue.offer(new QueuedEvent(event, tracer.currentContext(), completion),
+                offerTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        }
+        if (!offered) {
+            pending.decrementAndGet();
+            rejected.increment();
+            RejectedExecutionException e =
+                new RejectedExecutionException("Event queue of partition " + partition.index + " is full");
+            completion.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private int partitionOf(Object partitionKey) {
+        int hash = partitionKey.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), partitions.length);
+    }
+
+    /**
+     * 依次调用匹配的处理器，单个处理器失败不影响其他处理器
+     *
+     * @return 第一个处理器失败，其余失败附加为suppressed；全部成功时为null
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private EventHandlingException deliver(DomainEvent event, TraceContext traceContext) {
+        EventHandlingException failure = null;
+        for (DomainEventHandler handler : handlersFor(event.getClass())) {
+            String handlerName = ClassUtils.getUserClass(handler).getSimpleName();
+            long start = System.nanoTime();
+            String outcome = "success";
+            try (Span span = tracer.startSpan(handlerName + ".handle", traceContext)
+                    .tag("component", "event-handler")
+                    .tag("event.type", event.getEventType())
+                    .tag("event.id", event.getEventId())) {
+                try {
+                    handler.handle(event);
+                } catch (RuntimeException e) {
+                    outcome = "failure";
+                    span.error(e);
+                    log.warn("Handler {} failed on {} event {}", handlerName, event.getEventType(),
+                        event.getEventId(), e);
+                    EventHandlingException handlingException = new EventHandlingException(handlerName, event, e);
+                    if (failure == null) {
+                        failure = handlingException;
+                    } else {
+                        failure.addSuppressed(handlingException);
+                    }
+                }
+            }
+            Timer.builder("domain.events.handler")
+                .description("Domain event handler latency")
+                .tag("handler", handlerName)
+                .tag("event", event.getEventType())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return failure;
+    }
+
+    private List<DomainEventHandler<?>> handlersFor(Class<?> eventClass) {
+        return handlersByType.computeIfAbsent(eventClass, type -> {
+            List<DomainEventHandler<?>> matching = new ArrayList<>();
+            for (DomainEventHandler<?> handler : handlers) {
+                if (handler.eventType().isAssignableFrom(type)) {
+                    matching.add(handler);
+                }
+            }
+            return List.copyOf(matching);
+        });
+    }
+
+    private final class Partition {
+
+        private final int index;
+        private final BlockingQueue<QueuedEvent> queue;
+        private final Thread worker;
+
+        private Partition(int index, int capacity) {
+            this.index = index;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            Gauge.builder("domain.events.queue.depth", queue, BlockingQueue::size)
+                .description("Events waiting in the partition queue")
+                .tag("partition", String.valueOf(index))
+                .register(meterRegistry);
+            this.worker = new Thread(this::run, "domain-events-" + index);
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        private void run() {
+            while (true) {
+                QueuedEvent event;
+                try {
+                    event = queue.take();
+                } catch (InterruptedException e) {
+                    // 关闭时处理完队列中剩余的事件
+                    if (!accepting) {
+                        drainRemaining();
+                        return;
+                    }
+                    continue;
+                }
+                process(event);
+            }
+        }
+
+        private void drainRemaining() {
+            QueuedEvent event;
+            while ((event = queue.poll()) != null) {
+                process(event);
+            }
+        }
+
+        private void process(QueuedEvent event) {
+            try {
+                EventHandlingException failure = deliver(event.event(), event.traceContext());
+                if (failure == null) {
+                    event.completion().complete(null);
+                } else {
+                    event.completion().completeExceptionally(failure);
+                }
+            } catch (RuntimeException e) {
+                event.completion().completeExceptionally(e);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private record QueuedEvent(DomainEvent event, TraceContext traceContext, CompletableFuture<Void> completion) {
+    }
+}
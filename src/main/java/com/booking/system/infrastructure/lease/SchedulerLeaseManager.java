@@ -0,0 +1,76 @@
+package com.booking.system.infrastructure.lease;
+
+import com.booking.system.entity.SchedulerLease;
+import com.booking.system.repository.SchedulerLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 定时任务租约管理
+ * 多个实例都运行同一定时任务时，只有取得租约的实例执行；持有者在租约内可续期，崩溃后租约到期由其他实例接手。
+ * 租约依赖各实例时钟大致同步，租约时长应远大于时钟偏差。每次操作在独立的短事务内提交。
+ */
+@Component
+public class SchedulerLeaseManager {
+
+    private final SchedulerLeaseRepository schedulerLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public SchedulerLeaseManager(SchedulerLeaseRepository schedulerLeaseRepository,
+                                 PlatformTransactionManager transactionManager, Clock clock) {
+        this.schedulerLeaseRepository = schedulerLeaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+    }
+
+    /**
+     * 取得或续期租约
+     *
+     * @return 本实例持有租约时返回true
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Integer updated = transactionTemplate.execute(status ->
+            schedulerLeaseRepository.acquire(name, instanceId, now, now.plus(duration)));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        // 首次使用该租约时插入；并发插入时主键冲突的一方失败
+        try {
+            Boolean created = transactionTemplate.execute(status -> {
+                if (schedulerLeaseRepository.existsById(name)) {
+                    return false;
+                }
+                schedulerLeaseRepository.saveAndFlush(
+                    new SchedulerLease(name, instanceId, now.plus(duration), null));
+                return true;
+            });
+            return Boolean.TRUE.equals(created);
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 提前释放本实例持有的租约
+     */
+    public void release(String name) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        transactionTemplate.executeWithoutResult(status -> schedulerLeaseRepository.release(name, instanceId, now));
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+}
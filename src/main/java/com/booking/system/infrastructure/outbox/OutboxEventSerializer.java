@@ -0,0 +1,93 @@
+package com.booking.system.infrastructure.outbox;
+
+import com.booking.system.domain.event.BookingConfirmedEvent;
+import com.booking.system.domain.event.ClassBookedEvent;
+import com.booking.system.domain.event.ClassCancelledEvent;
+import com.booking.system.domain.event.ClassCompletedEvent;
+import com.booking.system.domain.event.ClassRescheduledEvent;
+import com.booking.system.domain.event.DomainEvent;
+import com.booking.system.entity.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 发件箱事件的JSON编解码
+ * 领域事件没有无参构造，按事件类型显式还原，并保留原事件ID和发生时间（载荷中的发生时间不受列精度截断）
+ */
+@Component
+public class OutboxEventSerializer {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, EventReader> readers;
+
+    public OutboxEventSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.readers = Map.of(
+            "ClassBookedEvent", (message, payload) -> new ClassBookedEvent(message.getEventId(),
+                occurredOn(message, payload), payload.path("classScheduleId").asLong(), text(payload, "className"),
+                payload.path("currentBookings").asInt(), payload.path("capacity").asInt()),
+            "ClassCancelledEvent", (message, payload) -> new ClassCancelledEvent(message.getEventId(),
+                occurredOn(message, payload), payload.path("classScheduleId").asLong(), text(payload, "className"),
+                payload.path("currentBookings").asInt(), text(payload, "reason")),
+            "ClassCompletedEvent", (message, payload) -> new ClassCompletedEvent(message.getEventId(),
+                occurredOn(message, payload), payload.path("classScheduleId").asLong(), text(payload, "className"),
+                payload.path("finalBookings").asInt(), dateTime(payload, "startTime"), dateTime(payload, "endTime")),
+            "BookingConfirmedEvent", (message, payload) -> new BookingConfirmedEvent(message.getEventId(),
+                occurredOn(message, payload), payload.path("bookingId").asLong(),
+                payload.path("classScheduleId").asLong(), payload.path("userId").asLong(),
+                text(payload, "className"), dateTime(payload, "startTime")),
+            "ClassRescheduledEvent", (message, payload) -> new ClassRescheduledEvent(message.getEventId(),
+                occurredOn(message, payload), payload.path("classScheduleId").asLong(), text(payload, "className"),
+                dateTime(payload, "startTime"))
+        );
+    }
+
+    public boolean supports(String eventType) {
+        return readers.containsKey(eventType);
+    }
+
+    public String serialize(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getEventType(), e);
+        }
+    }
+
+    public DomainEvent deserialize(OutboxMessage message) {
+        EventReader reader = readers.get(message.getEventType());
+        if (reader == null) {
+            throw new IllegalStateException("Unknown outbox event type: " + message.getEventType());
+        }
+        try {
+            return reader.read(message, objectMapper.readTree(message.getPayload()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed payload for outbox message " + message.getId(), e);
+        }
+    }
+
+    private static String text(JsonNode payload, String field) {
+        JsonNode node = payload.path(field);
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    private LocalDateTime occurredOn(OutboxMessage message, JsonNode payload) {
+        LocalDateTime occurredOn = dateTime(payload, "occurredOn");
+        return occurredOn != null ? occurredOn : message.getOccurredOn();
+    }
+
+    private LocalDateTime dateTime(JsonNode payload, String field) {
+        JsonNode node = payload.path(field);
+        return node.isMissingNode() || node.isNull() ? null : objectMapper.convertValue(node, LocalDateTime.class);
+    }
+
+    @FunctionalInterface
+    private interface EventReader {
+        DomainEvent read(OutboxMessage message, JsonNode payload);
+    }
+}
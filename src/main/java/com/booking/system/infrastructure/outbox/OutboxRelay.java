@@ -0,0 +1,291 @@
+package com.booking.system.infrastructure.outbox;
+
+import com.booking.system.entity.OutboxAggregate;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.infrastructure.event.PartitionedEventBus;
+import com.booking.system.repository.OutboxAggregateRepository;
+import com.booking.system.repository.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 发件箱中继
+ * 每批在一个短事务内以SKIP LOCKED锁定聚合流，按聚合内序号认领队首已到期的聚合的待投递消息并写入租约，随后在事务外按聚合分区交给PartitionedEventBus，
+ * 等处理器执行完后在另一个短事务内标记结果：全部处理器成功才标记为已发布，处理器失败或事件总线队列已满时按失败退避重试，
+ * 超过delivery-timeout仍未处理完的消息保持认领，租约到期后重新投递。同一聚合的消息逐条投递，前一条确认后才投递下一条。
+ * 多个实例可并行中继；实例崩溃时租约到期，消息被重新认领。投递语义为至少一次，监听器应按eventId幂等处理。
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxAggregateRepository outboxAggregateRepository;
+    private final OutboxEventSerializer serializer;
+    private final PartitionedEventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.lease:30s}")
+    private Duration lease;
+
+    @Value("${outbox.relay.delivery-timeout:20s}")
+    private Duration deliveryTimeout;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.retry-backoff:1s}")
+    private Duration retryBackoff;
+
+    @Value("${outbox.relay.max-retry-backoff:5m}")
+    private Duration maxRetryBackoff;
+
+    @Value("${outbox.retention:7d}")
+    private Duration retention;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+                       OutboxAggregateRepository outboxAggregateRepository, OutboxEventSerializer serializer,
+                       PartitionedEventBus eventBus, PlatformTransactionManager transactionManager) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxAggregateRepository = outboxAggregateRepository;
+        this.serializer = serializer;
+        this.eventBus = eventBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms:1000}")
+    public void scheduledRelay() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * 连续中继直到没有可认领的消息
+     *
+     * @return 发布成功的消息数量
+     */
+    public int drain() {
+        int published = 0;
+        RelayResult result;
+        do {
+            result = relayBatch();
+            published += result.published();
+        } while (result.claimed() == batchSize);
+        return published;
+    }
+
+    /**
+     * 认领并投递一批消息
+     * 按轮投递：每轮取各聚合的下一条消息交给事件总线并等待处理完成，不同聚合在同一轮内并行处理
+     */
+    public RelayResult relayBatch() {
+        List<OutboxMessage> claimed = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (claimed == null || claimed.isEmpty()) {
+            return new RelayResult(0, 0);
+        }
+
+        Map<String, Deque<OutboxMessage>> byAggregate = new LinkedHashMap<>();
+        for (OutboxMessage message : claimed) {
+            byAggregate.computeIfAbsent(OutboxAggregate.keyOf(message.getAggregateType(), message.getAggregateId()),
+                key -> new ArrayDeque<>()).add(message);
+        }
+
+        List<Long> published = new ArrayList<>();
+        List<Long> deferred = new ArrayList<>();
+        Map<Long, RuntimeException> failures = new HashMap<>();
+        long deadline = System.nanoTime() + deliveryTimeout.toNanos();
+        while (!byAggregate.isEmpty()) {
+            Map<String, CompletableFuture<Void>> round = new LinkedHashMap<>();
+            Map<String, OutboxMessage> inFlight = new HashMap<>();
+            Iterator<Map.Entry<String, Deque<OutboxMessage>>> aggregates = byAggregate.entrySet().iterator();
+            while (aggregates.hasNext()) {
+                Map.Entry<String, Deque<OutboxMessage>> entry = aggregates.next();
+                OutboxMessage message = entry.getValue().poll();
+                try {
+                    round.put(entry.getKey(), eventBus.publish(entry.getKey(), serializer.deserialize(message)));
+                    inFlight.put(entry.getKey(), message);
+                } catch (RuntimeException e) {
+                    failures.put(message.getId(), e);
+                    // 同一聚合的后续消息排在失败消息之后，本批中不再投递
+                    entry.getValue().forEach(later -> deferred.add(later.getId()));
+                    aggregates.remove();
+                }
+            }
+            for (Map.Entry<String, CompletableFuture<Void>> entry : round.entrySet()) {
+                String aggregateKey = entry.getKey();
+                OutboxMessage message = inFlight.get(aggregateKey);
+                DeliveryOutcome outcome = await(entry.getValue(), deadline);
+                if (outcome.delivered()) {
+                    published.add(message.getId());
+                    if (byAggregate.get(aggregateKey).isEmpty()) {
+                        byAggregate.remove(aggregateKey);
+                    }
+                    continue;
+                }
+                if (outcome.error() != null) {
+                    failures.put(message.getId(), outcome.error());
+                }
+                // 超时的消息保持认领直到租约到期；无论失败还是超时，同一聚合的后续消息都推迟到下次认领
+                byAggregate.remove(aggregateKey).forEach(later -> deferred.add(later.getId()));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> complete(published, deferred, failures));
+        return new RelayResult(claimed.size(), published.size());
+    }
+
+    private DeliveryOutcome await(CompletableFuture<Void> delivery, long deadline) {
+        try {
+            delivery.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return new DeliveryOutcome(true, null);
+        } catch (ExecutionException e) {
+            return new DeliveryOutcome(false, e.getCause() instanceof RuntimeException runtime
+                ? runtime : new IllegalStateException(e.getCause()));
+        } catch (TimeoutException e) {
+            return new DeliveryOutcome(false, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new DeliveryOutcome(false, null);
+        }
+    }
+
+    /**
+     * 删除超过保留期的已发布消息
+     */
+    @Scheduled(cron = "${outbox.cleanup-cron:0 30 3 * * *}")
+    public int purgePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+            outboxMessageRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * 认领一批消息
+     * 候选聚合不加锁地查出，锁定聚合流后重新读取其待投递消息：队首仍已到期才认领，
+     * 其他中继已提交的租约或失败退避在此时可见，因此同一聚合不会被两个中继同时认领
+     */
+    private List<OutboxMessage> claim(LocalDateTime now) {
+        Map<String, List<Long>> candidates = new LinkedHashMap<>();
+        for (OutboxMessageRepository.AggregateRef aggregate :
+                outboxMessageRepository.findClaimableAggregates(now, PageRequest.of(0, batchSize))) {
+            candidates.computeIfAbsent(aggregate.getAggregateType(), type -> new ArrayList<>())
+                .add(aggregate.getAggregateId());
+        }
+
+        List<OutboxMessage> claimed = new ArrayList<>();
+        LocalDateTime leaseUntil = now.plus(lease);
+        for (Map.Entry<String, List<Long>> entry : candidates.entrySet()) {
+            String aggregateType = entry.getKey();
+            List<String> keys = entry.getValue().stream()
+                .map(aggregateId -> OutboxAggregate.keyOf(aggregateType, aggregateId))
+                .toList();
+            Set<String> locked = new HashSet<>();
+            outboxAggregateRepository.lockForClaim(keys).forEach(stream -> locked.add(stream.getAggregateKey()));
+            if (locked.isEmpty()) {
+                continue;
+            }
+            List<Long> lockedIds = entry.getValue().stream()
+                .filter(aggregateId -> locked.contains(OutboxAggregate.keyOf(aggregateType, aggregateId)))
+                .toList();
+
+            Map<Long, List<OutboxMessage>> pending = new LinkedHashMap<>();
+            for (OutboxMessage message : outboxMessageRepository.findPendingByAggregates(aggregateType, lockedIds)) {
+                pending.computeIfAbsent(message.getAggregateId(), id -> new ArrayList<>()).add(message);
+            }
+            for (List<OutboxMessage> messages : pending.values()) {
+                if (messages.get(0).getAvailableAt().isAfter(now)) {
+                    // 队首正被其他中继认领或等待重试
+                    continue;
+                }
+                for (OutboxMessage message : messages) {
+                    if (claimed.size() == batchSize) {
+                        return claimed;
+                    }
+                    message.setClaimedBy(instanceId);
+                    message.setAvailableAt(leaseUntil);
+                    claimed.add(message);
+                }
+            }
+        }
+        return claimed;
+    }
+
+    private void complete(List<Long> published, List<Long> deferred, Map<Long, RuntimeException> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!published.isEmpty()) {
+            outboxMessageRepository.markPublished(published, instanceId, now);
+        }
+        if (!deferred.isEmpty()) {
+            outboxMessageRepository.release(deferred, instanceId, now.plus(retryBackoff));
+        }
+        failures.forEach((id, error) -> outboxMessageRepository.findById(id)
+            .filter(message -> instanceId.equals(message.getClaimedBy()) && OutboxMessage.PENDING.equals(message.getStatus()))
+            .ifPresent(message -> recordFailure(message, error, now)));
+    }
+
+    /**
+     * 记录投递失败：按指数退避安排重试，超过最大尝试次数后转为FAILED，不再投递
+     */
+    private void recordFailure(OutboxMessage message, RuntimeException error, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setClaimedBy(null);
+        message.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+        if (attempts >= maxAttempts) {
+            message.setStatus(OutboxMessage.FAILED);
+            log.error("Outbox message {} ({}) moved to FAILED after {} attempts: {}", message.getEventId(),
+                message.getEventType(), attempts, message.getLastError());
+            return;
+        }
+        log.warn("Outbox message {} ({}) failed attempt {}: {}", message.getEventId(), message.getEventType(),
+            attempts, message.getLastError());
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        message.setAvailableAt(now.plus(backoff.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : backoff));
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+
+    private record DeliveryOutcome(boolean delivered, RuntimeException error) {
+    }
+
+    /**
+     * 一批中继的结果
+     */
+    public record RelayResult(int claimed, int published) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.booking.system.infrastructure.outbox;
+
+import com.booking.system.domain.event.DomainEvent;
+import com.booking.system.entity.OutboxAggregate;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.repository.OutboxAggregateRepository;
+import com.booking.system.repository.OutboxMessageRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 事务性发件箱
+ * 聚合事件序列化后与聚合写入同一事务落库，事务回滚则事件一并丢弃，提交后由OutboxRelay投递。
+ * 追加时锁定聚合流分配聚合内序号，锁持有到提交，因此同一聚合的序号顺序与提交顺序一致。
+ */
+@Component
+public class TransactionalOutbox {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxAggregateRepository outboxAggregateRepository;
+    private final OutboxEventSerializer serializer;
+    private final TransactionTemplate requiresNew;
+
+    public TransactionalOutbox(OutboxMessageRepository outboxMessageRepository,
+                               OutboxAggregateRepository outboxAggregateRepository,
+                               OutboxEventSerializer serializer, PlatformTransactionManager transactionManager) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxAggregateRepository = outboxAggregateRepository;
+        this.serializer = serializer;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 追加聚合事件，必须在聚合写入所在的事务内调用
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Long aggregateId, List<?> events) {
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        addMessages(messages, aggregateType, aggregateId, events);
+        outboxMessageRepository.saveAll(messages);
+    }
+
+    /**
+     * 一次追加多个聚合的事件，由一次saveAll交给JDBC批处理写入
+     * 按聚合id顺序锁定聚合流，避免并发追加之间死锁
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(String aggregateType, Map<Long, ? extends List<?>> eventsByAggregate) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        new TreeMap<>(eventsByAggregate).forEach((aggregateId, events) ->
+            addMessages(messages, aggregateType, aggregateId, events));
+        outboxMessageRepository.saveAll(messages);
+    }
+
+    private void addMessages(List<OutboxMessage> messages, String aggregateType, Long aggregateId, List<?> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        OutboxAggregate stream = lockStream(OutboxAggregate.keyOf(aggregateType, aggregateId));
+        for (Object event : events) {
+            if (!(event instanceof DomainEvent domainEvent) || !serializer.supports(domainEvent.getEventType())) {
+                throw new IllegalArgumentException("Unsupported outbox event: " + event);
+            }
+            OutboxMessage message = new OutboxMessage();
+            message.setEventId(domainEvent.getEventId());
+            message.setAggregateType(aggregateType);
+            message.setAggregateId(aggregateId);
+            stream.setLastSequence(stream.getLastSequence() + 1);
+            message.setAggregateSequence(stream.getLastSequence());
+            message.setEventType(domainEvent.getEventType());
+            message.setPayload(serializer.serialize(domainEvent));
+            message.setOccurredOn(domainEvent.getOccurredOn());
+            message.setAvailableAt(domainEvent.getOccurredOn());
+            messages.add(message);
+        }
+    }
+
+    private OutboxAggregate lockStream(String aggregateKey) {
+        return outboxAggregateRepository.findForUpdate(aggregateKey).orElseGet(() -> {
+            createStream(aggregateKey);
+            return outboxAggregateRepository.findForUpdate(aggregateKey).orElseThrow();
+        });
+    }
+
+    /**
+     * 聚合首次追加事件时在独立事务内创建聚合流，并发创建时主键冲突的一方忽略冲突，不影响调用方事务
+     */
+    private void createStream(String aggregateKey) {
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                if (!outboxAggregateRepository.existsById(aggregateKey)) {
+                    outboxAggregateRepository.saveAndFlush(new OutboxAggregate(aggregateKey, 0L));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 另一事务已创建
+        }
+    }
+}
@@ -1,129 +1,165 @@
 package com.booking.system.infrastructure.persistence.jpa;
 
 import com.booking.system.domain.model.classschedule.ClassSchedule;
+import com.booking.system.domain.model.instructor.Instructor;
+import com.booking.system.domain.model.instructor.InstructorRef;
+import com.booking.system.domain.model.shared.TimeRange;
 import com.booking.system.domain.repository.ClassScheduleRepository;
-import com.booking.system.infrastructure.adapters.ClassScheduleAdapter;
+import com.booking.system.infrastructure.diagnostics.LockContentionProfiler;
+import com.booking.system.infrastructure.outbox.TransactionalOutbox;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
-import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.Hibernate;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * ClassSchedule仓储的JPA实现
  * 实现领域层定义的ClassScheduleRepository接口
+ * 聚合直接映射到class_schedules表，查询结果即托管实体，无需再经适配器转换
  */
 @Repository("domainClassScheduleRepository")
 public class JpaClassScheduleRepository implements ClassScheduleRepository {
 
-    private final SimpleJpaRepository<com.booking.system.entity.ClassSchedule, Long> jpaRepository;
-    private final ClassScheduleAdapter classScheduleAdapter;
+    /**
+     * 列表查询只随课程取回讲师ID和姓名，讲师聚合保持为延迟代理，按需再加载
+     */
+    private static final String SELECT_WITH_INSTRUCTOR_REF =
+        "SELECT c, i.id, u.firstName, u.lastName FROM DomainClassSchedule c "
+            + "LEFT JOIN c.instructor i LEFT JOIN i.user u ";
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    private static final String AGGREGATE_TYPE = "ClassSchedule";
 
-    public JpaClassScheduleRepository(EntityManager entityManager, ClassScheduleAdapter classScheduleAdapter) {
-        this.jpaRepository = new SimpleJpaRepository<>(com.booking.system.entity.ClassSchedule.class, entityManager);
-        this.classScheduleAdapter = classScheduleAdapter;
+    private final SimpleJpaRepository<ClassSchedule, Long> jpaRepository;
+    private final EntityManager entityManager;
+    private final TransactionalOutbox outbox;
+    private final LockContentionProfiler lockContentionProfiler;
+
+    public JpaClassScheduleRepository(EntityManager entityManager, TransactionalOutbox outbox,
+                                      LockContentionProfiler lockContentionProfiler) {
+        this.jpaRepository = new SimpleJpaRepository<>(ClassSchedule.class, entityManager);
+        this.entityManager = entityManager;
+        this.outbox = outbox;
+        this.lockContentionProfiler = lockContentionProfiler;
     }
 
     @Override
     public Optional<ClassSchedule> findById(Long id) {
-        return jpaRepository.findById(id)
-            .map(classScheduleAdapter::toDomain);
+        return jpaRepository.findById(id);
     }
 
     @Override
     public ClassSchedule save(ClassSchedule classSchedule) {
-        // 检查是新增还是更新
-        if (classSchedule.getId() == null) {
-            // 新增
-            com.booking.system.entity.ClassSchedule legacyClassSchedule = classScheduleAdapter.toLegacy(classSchedule);
-            com.booking.system.entity.ClassSchedule saved = jpaRepository.save(legacyClassSchedule);
-            // 设置生成的ID和其他字段
-            classSchedule.setId(saved.getId());
-            classSchedule.setCreatedAt(saved.getCreatedAt());
-            classSchedule.setUpdatedAt(saved.getUpdatedAt());
-            classSchedule.setVersion(saved.getVersion());
-            return classSchedule;
-        } else {
-            // 更新：先查找现有实体，然后更新
-            com.booking.system.entity.ClassSchedule legacyClassSchedule = jpaRepository.findById(classSchedule.getId())
-                .orElseThrow(() -> new RuntimeException("ClassSchedule not found with id: " + classSchedule.getId()));
-            classScheduleAdapter.updateLegacy(legacyClassSchedule, classSchedule);
-            jpaRepository.save(legacyClassSchedule);
-            return classSchedule;
+        // 新建聚合直接persist；本事务加载的聚合已是托管实体，由脏检查在flush时写入变化的列；
+        // 跨事务传入的聚合则merge回持久化上下文
+        ClassSchedule saved = jpaRepository.save(classSchedule);
+        // 聚合事件写入发件箱，与聚合同一事务提交，由OutboxRelay在事务外投递
+        List<Object> events = classSchedule.pullEvents();
+        if (!events.isEmpty()) {
+            outbox.append(AGGREGATE_TYPE, saved.getId(), events);
         }
+        return saved;
     }
 
     @Override
     public void delete(ClassSchedule classSchedule) {
-        jpaRepository.findById(classSchedule.getId())
-            .ifPresent(jpaRepository::delete);
+        jpaRepository.delete(classSchedule);
     }
 
     @Override
     public List<ClassSchedule> findByStatus(String status) {
-        return jpaRepository.findAll().stream()
-            .filter(classSchedule -> status.equals(classSchedule.getStatus()))
-            .map(classScheduleAdapter::toDomain)
-            .collect(Collectors.toList());
+        return toClassSchedules(entityManager.createQuery(
+                SELECT_WITH_INSTRUCTOR_REF + "WHERE c.status = :status", Object[].class)
+            .setParameter("status", status)
+            .getResultList());
     }
 
     @Override
     public List<ClassSchedule> findByInstructorId(Long instructorId) {
-        return jpaRepository.findAll().stream()
-            .filter(classSchedule -> {
-                com.booking.system.entity.Instructor instructor = classSchedule.getInstructor();
-                return instructor != null && instructorId.equals(instructor.getId());
-            })
-            .map(classScheduleAdapter::toDomain)
-            .collect(Collectors.toList());
+        return toClassSchedules(entityManager.createQuery(
+                SELECT_WITH_INSTRUCTOR_REF + "WHERE i.id = :instructorId", Object[].class)
+            .setParameter("instructorId", instructorId)
+            .getResultList());
     }
 
     @Override
     public List<ClassSchedule> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return jpaRepository.findAll().stream()
-            .filter(classSchedule -> {
-                LocalDateTime startTime = classSchedule.getStartTime();
-                return startTime != null && !startTime.isBefore(startDate) && !startTime.isAfter(endDate);
-            })
-            .map(classScheduleAdapter::toDomain)
-            .collect(Collectors.toList());
+        return toClassSchedules(entityManager.createQuery(
+                SELECT_WITH_INSTRUCTOR_REF + "WHERE c.timeRange.startTime BETWEEN :startDate AND :endDate",
+                Object[].class)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .getResultList());
     }
 
     @Override
     public List<ClassSchedule> findUpcomingClassesByStatus(String status, LocalDateTime now) {
-        return jpaRepository.findAll().stream()
-            .filter(classSchedule -> {
-                LocalDateTime startTime = classSchedule.getStartTime();
-                return status.equals(classSchedule.getStatus()) &&
-                       startTime != null && startTime.isAfter(now);
-            })
-            .sorted((cs1, cs2) -> cs1.getStartTime().compareTo(cs2.getStartTime()))
-            .map(classScheduleAdapter::toDomain)
-            .collect(Collectors.toList());
+        return toClassSchedules(entityManager.createQuery(
+                SELECT_WITH_INSTRUCTOR_REF + "WHERE c.status = :status AND c.timeRange.startTime > :now "
+                    + "ORDER BY c.timeRange.startTime", Object[].class)
+            .setParameter("status", status)
+            .setParameter("now", now)
+            .getResultList());
+    }
+
+    @Override
+    public List<ClassSchedule> findInstructorConflicts(Long instructorId, TimeRange timeRange, Long excludeClassId) {
+        // 课程时长不超过TimeRange.MAX_DURATION，开始时间早于start - MAX_DURATION的课程不可能重叠，
+        // 因此只需扫描(instructor_id, start_time)索引上的有界区间
+        String jpql = "SELECT c FROM DomainClassSchedule c WHERE c.instructor.id = :instructorId "
+            + "AND c.status <> 'CANCELLED' "
+            + "AND c.timeRange.startTime > :lowerBound AND c.timeRange.startTime < :endTime "
+            + "AND c.timeRange.endTime > :startTime"
+            + (excludeClassId != null ? " AND c.id <> :excludeClassId" : "")
+            + " ORDER BY c.timeRange.startTime";
+        TypedQuery<ClassSchedule> query = entityManager.createQuery(jpql, ClassSchedule.class)
+            .setParameter("instructorId", instructorId)
+            .setParameter("lowerBound", timeRange.getStartTime().minus(TimeRange.MAX_DURATION))
+            .setParameter("startTime", timeRange.getStartTime())
+            .setParameter("endTime", timeRange.getEndTime());
+        if (excludeClassId != null) {
+            query.setParameter("excludeClassId", excludeClassId);
+        }
+        return query.getResultList();
     }
 
     @Override
     public Optional<ClassSchedule> findByIdWithLock(Long id) {
-        // 使用悲观锁查找
-        com.booking.system.entity.ClassSchedule legacyClassSchedule = entityManager.find(
-            com.booking.system.entity.ClassSchedule.class,
-            id,
-            LockModeType.PESSIMISTIC_WRITE
-        );
-        return Optional.ofNullable(legacyClassSchedule)
-            .map(classScheduleAdapter::toDomain);
+        // 使用悲观锁查找，等待时间计入锁争用分析
+        return lockContentionProfiler.profile(id, () ->
+            Optional.ofNullable(entityManager.find(ClassSchedule.class, id, LockModeType.PESSIMISTIC_WRITE)));
     }
 
     @Override
     public boolean existsById(Long id) {
         return jpaRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * 将(课程, 讲师ID, 名, 姓)行转换为附带讲师引用的课程聚合
+     */
+    private List<ClassSchedule> toClassSchedules(List<Object[]> rows) {
+        List<ClassSchedule> classSchedules = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ClassSchedule classSchedule = (ClassSchedule) row[0];
+            Long instructorId = (Long) row[1];
+            if (instructorId != null) {
+                classSchedule.attachInstructorRef(InstructorRef.of(instructorId,
+                    row[2] + " " + row[3], () -> initialized(classSchedule.getInstructor())));
+            }
+            classSchedules.add(classSchedule);
+        }
+        return classSchedules;
+    }
+
+    private static Instructor initialized(Instructor instructor) {
+        Hibernate.initialize(instructor);
+        return instructor;
+    }
+}
@@ -2,72 +2,57 @@ package com.booking.system.infrastructure.persistence.jpa;
 
 import com.booking.system.domain.model.instructor.Instructor;
 import com.booking.system.domain.repository.InstructorRepository;
-import com.booking.system.infrastructure.adapters.InstructorAdapter;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Instructor仓储的JPA实现
  * 实现领域层定义的InstructorRepository接口
+ * 聚合直接映射到instructors表，查询结果即托管实体，无需再经适配器转换
  */
 @Repository("domainInstructorRepository")
 public class JpaInstructorRepository implements InstructorRepository {
 
-    private final SimpleJpaRepository<com.booking.system.entity.Instructor, Long> jpaRepository;
-    private final InstructorAdapter instructorAdapter;
+    private final SimpleJpaRepository<Instructor, Long> jpaRepository;
+    private final EntityManager entityManager;
 
-    public JpaInstructorRepository(EntityManager entityManager, InstructorAdapter instructorAdapter) {
-        this.jpaRepository = new SimpleJpaRepository<>(com.booking.system.entity.Instructor.class, entityManager);
-        this.instructorAdapter = instructorAdapter;
+    public JpaInstructorRepository(EntityManager entityManager) {
+        this.jpaRepository = new SimpleJpaRepository<>(Instructor.class, entityManager);
+        this.entityManager = entityManager;
     }
 
     @Override
     public Optional<Instructor> findById(Long id) {
-        return jpaRepository.findById(id)
-            .map(instructorAdapter::toDomain);
+        return jpaRepository.findById(id);
+    }
+
+    @Override
+    public Optional<Instructor> findByIdWithLock(Long id) {
+        return Optional.ofNullable(entityManager.find(Instructor.class, id, LockModeType.PESSIMISTIC_WRITE));
     }
 
     @Override
     public Optional<Instructor> findByUserId(Long userId) {
-        return jpaRepository.findAll().stream()
-            .filter(instructor -> {
-                com.booking.system.entity.User user = instructor.getUser();
-                return user != null && userId.equals(user.getId());
-            })
-            .findFirst()
-            .map(instructorAdapter::toDomain);
+        return entityManager.createQuery(
+                "SELECT i FROM DomainInstructor i JOIN FETCH i.user u WHERE u.id = :userId", Instructor.class)
+            .setParameter("userId", userId)
+            .getResultStream()
+            .findFirst();
     }
 
     @Override
     public Instructor save(Instructor instructor) {
-        // 检查是新增还是更新
-        if (instructor.getId() == null) {
-            // 新增
-            com.booking.system.entity.Instructor legacyInstructor = instructorAdapter.toLegacy(instructor);
-            com.booking.system.entity.Instructor saved = jpaRepository.save(legacyInstructor);
-            // 设置生成的ID和其他字段
-            instructor.setId(saved.getId());
-            instructor.setCreatedAt(saved.getCreatedAt());
-            instructor.setUpdatedAt(saved.getUpdatedAt());
-            return instructor;
-        } else {
-            // 更新：先查找现有实体，然后更新
-            com.booking.system.entity.Instructor legacyInstructor = jpaRepository.findById(instructor.getId())
-                .orElseThrow(() -> new RuntimeException("Instructor not found with id: " + instructor.getId()));
-            instructorAdapter.updateLegacy(legacyInstructor, instructor);
-            jpaRepository.save(legacyInstructor);
-            return instructor;
-        }
+        // 新建聚合直接persist；已托管的聚合由脏检查写入，跨事务传入的聚合则merge
+        return jpaRepository.save(instructor);
     }
 
     @Override
     public void delete(Instructor instructor) {
-        jpaRepository.findById(instructor.getId())
-            .ifPresent(jpaRepository::delete);
+        jpaRepository.delete(instructor);
     }
 
     @Override
@@ -77,10 +62,11 @@ public class JpaInstructorRepository implements InstructorRepository {
 
     @Override
     public boolean existsByUserId(Long userId) {
-        return jpaRepository.findAll().stream()
-            .anyMatch(instructor -> {
-                com.booking.system.entity.User user = instructor.getUser();
-                return user != null && userId.equals(user.getId());
-            });
+        return !entityManager.createQuery(
+                "SELECT i.id FROM DomainInstructor i WHERE i.user.id = :userId", Long.class)
+            .setParameter("userId", userId)
+            .setMaxResults(1)
+            .getResultList()
+            .isEmpty();
     }
-}
\ No newline at end of file
+}
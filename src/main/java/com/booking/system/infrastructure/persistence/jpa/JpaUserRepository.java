@@ -1,86 +1,126 @@
 package com.booking.system.infrastructure.persistence.jpa;
 
+import com.booking.system.domain.event.UserDeletedEvent;
+import com.booking.system.domain.exception.DuplicateResourceException;
 import com.booking.system.domain.model.user.User;
 import com.booking.system.domain.repository.UserRepository;
-import com.booking.system.infrastructure.adapters.UserAdapter;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.EntityManager;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * User仓储的JPA实现
  * 实现领域层定义的UserRepository接口
+ * 聚合直接映射到users表，查询结果即托管实体，无需再经适配器转换
  */
 @Repository("domainUserRepository")
 public class JpaUserRepository implements UserRepository {
 
-    private final SimpleJpaRepository<com.booking.system.entity.User, Long> jpaRepository;
-    private final UserAdapter userAdapter;
+    /**
+     * 从唯一约束冲突信息中提取冲突列
+     * H2: "... ON PUBLIC.USERS(EMAIL NULLS FIRST) ..."，PostgreSQL: "Key (email)=(...) already exists"
+     */
+    private static final Pattern UNIQUE_COLUMN_PATTERN =
+        Pattern.compile("(?i)(?:users\\s*\\(|key\\s*\\()\\s*\"?(email|username)\\b");
 
-    public JpaUserRepository(EntityManager entityManager, UserAdapter userAdapter) {
-        this.jpaRepository = new SimpleJpaRepository<>(com.booking.system.entity.User.class, entityManager);
-        this.userAdapter = userAdapter;
+    private final SimpleJpaRepository<User, Long> jpaRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public JpaUserRepository(EntityManager entityManager, ApplicationEventPublisher eventPublisher) {
+        this.entityManager = entityManager;
+        this.jpaRepository = new SimpleJpaRepository<>(User.class, entityManager);
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public Optional<User> findById(Long id) {
-        return jpaRepository.findById(id)
-            .map(userAdapter::toDomain);
+        return jpaRepository.findById(id);
     }
 
     @Override
     public Optional<User> findByEmail(String email) {
-        return jpaRepository.findAll().stream()
-            .filter(user -> email.equals(user.getEmail()))
-            .findFirst()
-            .map(userAdapter::toDomain);
+        return entityManager.createQuery("SELECT u FROM DomainUser u WHERE u.email.value = :email", User.class)
+            .setParameter("email", email)
+            .getResultStream()
+            .findFirst();
     }
 
     @Override
     public Optional<User> findByUsername(String username) {
-        return jpaRepository.findAll().stream()
-            .filter(user -> username.equals(user.getUsername()))
-            .findFirst()
-            .map(userAdapter::toDomain);
+        return entityManager.createQuery("SELECT u FROM DomainUser u WHERE u.username = :username", User.class)
+            .setParameter("username", username)
+            .getResultStream()
+            .findFirst();
     }
 
     @Override
     public User save(User user) {
         // 检查是新增还是更新
         if (user.getId() == null) {
-            // 新增
-            com.booking.system.entity.User legacyUser = userAdapter.toLegacy(user);
-            com.booking.system.entity.User saved = jpaRepository.save(legacyUser);
-            // 设置生成的ID
-            user.setId(saved.getId());
+            // 新增：立即flush，使唯一约束冲突在此处暴露
+            try {
+                jpaRepository.saveAndFlush(user);
+            } catch (ConstraintViolationException e) {
+                // 失败的插入会残留在持久化上下文中（id为null，无法单独detach），
+                // 当前事务必然回滚，因此清空上下文，避免后续flush再次触发异常
+                entityManager.clear();
+                throw toDuplicateResourceException(e);
+            }
             return user;
         } else {
-            // 更新：先查找现有实体，然后更新
-            com.booking.system.entity.User legacyUser = jpaRepository.findById(user.getId())
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + user.getId()));
-            userAdapter.updateLegacy(legacyUser, user);
-            jpaRepository.save(legacyUser);
-            return user;
+            // 更新：已托管的聚合由脏检查写入，跨事务传入的聚合则merge
+            User saved = jpaRepository.save(user);
+            // 手工构造的SimpleJpaRepository不会发布聚合事件，这里显式发布
+            user.pullEvents().forEach(eventPublisher::publishEvent);
+            return saved;
         }
     }
 
     @Override
     public void delete(User user) {
-        jpaRepository.findById(user.getId())
-            .ifPresent(jpaRepository::delete);
+        jpaRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(user.getId(), user.getEmail().getValue()));
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        return jpaRepository.findAll().stream()
-            .anyMatch(user -> email.equals(user.getEmail()));
+        return exists("SELECT u.id FROM DomainUser u WHERE u.email.value = :value", email);
     }
 
     @Override
     public boolean existsByUsername(String username) {
-        return jpaRepository.findAll().stream()
-            .anyMatch(user -> username.equals(user.getUsername()));
+        return exists("SELECT u.id FROM DomainUser u WHERE u.username = :value", username);
+    }
+
+    /**
+     * 只取一行主键判断是否存在
+     */
+    private boolean exists(String jpql, String value) {
+        return !entityManager.createQuery(jpql, Long.class)
+            .setParameter("value", value)
+            .setMaxResults(1)
+            .getResultList()
+            .isEmpty();
+    }
+
+    /**
+     * 将唯一约束冲突转换为领域异常
+     */
+    private DuplicateResourceException toDuplicateResourceException(ConstraintViolationException e) {
+        String detail = e.getSQLException().getMessage();
+        Matcher matcher = UNIQUE_COLUMN_PATTERN.matcher(detail != null ? detail : "");
+        if (matcher.find()) {
+            String column = matcher.group(1).toLowerCase();
+            return new DuplicateResourceException(
+                "email".equals(column) ? "Email already exists" : "Username already exists", e);
+        }
+        return new DuplicateResourceException("User already exists", e);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package com.booking.system.infrastructure.persistence.jpa;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import java.util.Map;
+
+/**
+ * 共享表的二级缓存失效
+ * 领域聚合（DomainUser、DomainInstructor）与旧实体（entity.User、entity.Instructor）映射到同一张表，
+ * 只有旧实体进入二级缓存，Hibernate不会因领域聚合的写入而失效旧实体的缓存条目。
+ * 聚合写入后立即失效一次，事务结束（提交或回滚）后再失效一次，
+ * 避免并发事务在提交前把旧行重新放回缓存。
+ * 新增同样需要处理：同一事务内按邮箱查询会把新行的邮箱 -> id 映射放入缓存，事务回滚后该映射即失效。
+ */
+public class SharedTableCacheInvalidator implements Integrator,
+        PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    /**
+     * 领域聚合 -> 共享同一张表、带二级缓存的旧实体
+     */
+    private static final Map<Class<?>, Class<?>> CACHED_COUNTERPARTS = Map.of(
+        com.booking.system.domain.model.user.User.class, com.booking.system.entity.User.class,
+        com.booking.system.domain.model.instructor.Instructor.class, com.booking.system.entity.Instructor.class
+    );
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+                          SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        evict(event.getPersister(), event.getId(), event.getSession().getFactory());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        onPostInsert(event);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        evict(event.getPersister(), event.getId(), event.getSession().getFactory());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        onPostUpdate(event);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        evict(event.getPersister(), event.getId(), event.getSession().getFactory());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        onPostDelete(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CACHED_COUNTERPARTS.containsKey(persister.getMappedClass());
+    }
+
+    private void evict(EntityPersister persister, Object id, SessionFactoryImplementor sessionFactory) {
+        Class<?> counterpart = CACHED_COUNTERPARTS.get(persister.getMappedClass());
+        if (counterpart == null) {
+            return;
+        }
+        CacheImplementor cache = sessionFactory.getCache();
+        // 插入失败（如唯一约束冲突）时没有id
+        if (id != null) {
+            cache.evictEntityData(counterpart, id);
+        }
+        // 邮箱可能已变更或新行已回滚，失效的邮箱 -> id 映射无法按键定位，整体清空自然主键区域
+        if (counterpart == com.booking.system.entity.User.class) {
+            cache.evictNaturalIdData(counterpart);
+        }
+    }
+}
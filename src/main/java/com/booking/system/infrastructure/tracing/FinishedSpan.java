@@ -0,0 +1,11 @@
+package com.booking.system.infrastructure.tracing;
+
+import java.util.Map;
+
+/**
+ * 已结束的span，交给SpanExporter导出；时间单位为微秒
+ */
+public record FinishedSpan(String traceId, String spanId, String parentSpanId, String name,
+                           long startEpochMicros, long durationMicros, Map<String, String> attributes,
+                           String error) {
+}
@@ -0,0 +1,50 @@
+package com.booking.system.infrastructure.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 内存span导出器，只保留最近导出的span，用于测试和本地开发
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "memory")
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final Deque<FinishedSpan> exported = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemorySpanExporter(@Value("${tracing.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void export(List<FinishedSpan> batch) {
+        for (FinishedSpan span : batch) {
+            if (exported.size() == capacity) {
+                exported.removeFirst();
+            }
+            exported.addLast(span);
+        }
+    }
+
+    public synchronized List<FinishedSpan> spans() {
+        return new ArrayList<>(exported);
+    }
+
+    /**
+     * 指定链路的span，按结束顺序
+     */
+    public synchronized List<FinishedSpan> trace(String traceId) {
+        return exported.stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    public synchronized void clear() {
+        exported.clear();
+    }
+}
@@ -0,0 +1,18 @@
+package com.booking.system.infrastructure.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 默认的span导出器，丢弃所有span；需要落地时配置tracing.exporter=file或memory
+ */
+@Component
+@ConditionalOnProperty(name = "tracing.exporter", havingValue = "none", matchIfMissing = true)
+public class NoopSpanExporter implements SpanExporter {
+
+    @Override
+    public void export(List<FinishedSpan> batch) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.booking.system.infrastructure.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 一段计时的操作
+ * 开始时成为当前线程的当前span，结束时恢复上一个；必须在开始它的线程上结束，通常用try-with-resources。
+ * 未采样的span只维护上下文，不记录属性也不导出，子span沿用同一采样决定。
+ */
+public final class Span implements AutoCloseable {
+
+    private final Tracer tracer;
+    private final TraceContext context;
+    private final String parentSpanId;
+    private final Span previous;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private String name;
+    private Map<String, String> attributes;
+    private String error;
+    private boolean ended;
+
+    Span(Tracer tracer, String name, TraceContext context, String parentSpanId, Span previous) {
+        this.tracer = tracer;
+        this.name = name;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.previous = previous;
+        this.startEpochMicros = System.currentTimeMillis() * 1_000L;
+        this.startNanos = System.nanoTime();
+    }
+
+    public TraceContext context() {
+        return context;
+    }
+
+    public boolean isSampled() {
+        return context.sampled();
+    }
+
+    public Span name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Span tag(String key, Object value) {
+        if (context.sampled() && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>();
+            }
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    public Span error(Throwable failure) {
+        if (context.sampled()) {
+            error = failure.getClass().getSimpleName()
+                + (failure.getMessage() != null ? ": " + failure.getMessage() : "");
+        }
+        return this;
+    }
+
+    public void end() {
+        if (ended) {
+            return;
+        }
+        ended = true;
+        tracer.finish(this, previous);
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    FinishedSpan toFinishedSpan() {
+        return new FinishedSpan(context.traceId(), context.spanId(), parentSpanId, name, startEpochMicros,
+            (System.nanoTime() - startNanos) / 1_000L, attributes != null ? Collections.unmodifiableMap(attributes) : Map.of(), error);
+    }
+}
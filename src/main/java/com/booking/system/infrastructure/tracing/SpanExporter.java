@@ -0,0 +1,12 @@
+package com.booking.system.infrastructure.tracing;
+
+import java.util.List;
+
+/**
+ * span导出器
+ * 由Tracer在后台按批调用，不在请求线程上执行；导出失败时整批丢弃，不重试
+ */
+public interface SpanExporter {
+
+    void export(List<FinishedSpan> batch);
+}
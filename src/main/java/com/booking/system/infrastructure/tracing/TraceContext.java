@@ -0,0 +1,60 @@
+package com.booking.system.infrastructure.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 链路上下文，按W3C traceparent格式（00-traceId-spanId-flags）传播
+ */
+public record TraceContext(String traceId, String spanId, boolean sampled) {
+
+    private static final String VERSION = "00";
+
+    /**
+     * 解析traceparent请求头，格式不合法时返回null
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null || traceparent.length() != 55) {
+            return null;
+        }
+        String[] parts = traceparent.split("-");
+        if (parts.length != 4 || !VERSION.equals(parts[0]) || parts[3].length() != 2
+                || !isHex(parts[1], 32) || !isHex(parts[2], 16) || !isHex(parts[3], 2)) {
+            return null;
+        }
+        return new TraceContext(parts[1], parts[2], (Integer.parseInt(parts[3], 16) & 1) == 1);
+    }
+
+    public String traceparent() {
+        return VERSION + '-' + traceId + '-' + spanId + (sampled ? "-01" : "-00");
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return hex(random.nextLong() | 1L) + hex(random.nextLong());
+    }
+
+    static String newSpanId() {
+        return hex(ThreadLocalRandom.current().nextLong() | 1L);
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return digits.length() == 16 ? digits : "0".repeat(16 - digits.length()) + digits;
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        boolean nonZero = false;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        // 全零的trace id和span id无效；flags允许为00
+        return nonZero || length == 2;
+    }
+}
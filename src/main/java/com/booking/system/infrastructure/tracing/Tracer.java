@@ -0,0 +1,131 @@
+package com.booking.system.infrastructure.tracing;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 进程内链路追踪
+ * 当前span保存在线程本地变量中；没有父span时开启新链路，并按sampling-probability决定是否采样，
+ * 子span继承父span的采样决定。结束的采样span进入有界缓冲，由flush()按批交给SpanExporter，
+ * 缓冲满或导出失败时丢弃并计数，请求线程不做任何I/O。
+ */
+@Component
+public class Tracer {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+    private final boolean enabled;
+    private final double samplingProbability;
+    private final SpanExporter exporter;
+    private final BlockingQueue<FinishedSpan> buffer;
+    private final int batchSize;
+    private final LongAdder dropped = new LongAdder();
+
+    @Autowired
+    public Tracer(SpanExporter exporter,
+                  @Value("${tracing.enabled:true}") boolean enabled,
+                  @Value("${tracing.sampling-probability:0.1}") double samplingProbability,
+                  @Value("${tracing.buffer-capacity:10000}") int bufferCapacity,
+                  @Value("${tracing.batch-size:500}") int batchSize) {
+        this.exporter = exporter;
+        this.enabled = enabled;
+        this.samplingProbability = samplingProbability;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+    }
+
+    public Tracer(SpanExporter exporter, double samplingProbability) {
+        this(exporter, true, samplingProbability, 10_000, 500);
+    }
+
+    /**
+     * 开始当前span的子span；没有当前span时开启新链路
+     */
+    public Span startSpan(String name) {
+        Span parent = current.get();
+        return start(name, parent != null ? parent.context() : null, parent);
+    }
+
+    /**
+     * 以指定上下文为父开始span，用于跨线程或来自请求头的上下文；parent为null时开启新链路
+     */
+    public Span startSpan(String name, TraceContext parent) {
+        return start(name, parent, current.get());
+    }
+
+    /**
+     * 当前线程的链路上下文，没有时返回null
+     */
+    public TraceContext currentContext() {
+        Span span = current.get();
+        return span != null ? span.context() : null;
+    }
+
+    /**
+     * 当前线程的当前span，没有时返回null
+     */
+    public Span currentSpan() {
+        return current.get();
+    }
+
+    /**
+     * 把缓冲中的span按批交给导出器
+     */
+    @Scheduled(fixedDelayString = "${tracing.flush-delay-ms:1000}")
+    public void flush() {
+        List<FinishedSpan> batch = new ArrayList<>(Math.min(batchSize, buffer.size()));
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                exporter.export(batch);
+            } catch (RuntimeException e) {
+                dropped.add(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 因缓冲已满或导出失败丢弃的span数
+     */
+    public long droppedSpans() {
+        return dropped.sum();
+    }
+
+    void finish(Span span, Span previous) {
+        if (previous != null) {
+            current.set(previous);
+        } else {
+            current.remove();
+        }
+        if (span.isSampled() && !buffer.offer(span.toFinishedSpan())) {
+            dropped.increment();
+        }
+    }
+
+    private Span start(String name, TraceContext parent, Span previous) {
+        TraceContext context;
+        if (parent != null) {
+            context = new TraceContext(parent.traceId(), TraceContext.newSpanId(), parent.sampled());
+        } else {
+            boolean sampled = enabled && ThreadLocalRandom.current().nextDouble() < samplingProbability;
+            context = new TraceContext(TraceContext.newTraceId(), TraceContext.newSpanId(), sampled);
+        }
+        Span span = new Span(this, name, context, parent != null ? parent.spanId() : null, previous);
+        current.set(span);
+        return span;
+    }
+}
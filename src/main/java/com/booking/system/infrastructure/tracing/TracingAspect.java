@@ -0,0 +1,78 @@
+package com.booking.system.infrastructure.tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 控制器、服务和仓储方法的span
+ * 只拦截经过Spring代理的调用，类内部的自调用不产生span。
+ * span名为"类型.方法"，Spring Data仓储使用仓储接口名而不是SimpleJpaRepository。
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    private final Tracer tracer;
+    private final Map<SpanKey, String> spanNames = new ConcurrentHashMap<>();
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "controller");
+    }
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "service");
+    }
+
+    @Around("@within(org.springframework.stereotype.Repository) "
+            + "|| execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "repository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String component) throws Throwable {
+        try (Span span = tracer.startSpan(spanName(joinPoint)).tag("component", component)) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    private String spanName(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return spanNames.computeIfAbsent(new SpanKey(proxy.getClass(), method),
+            key -> typeName(proxy, joinPoint.getTarget()) + "." + method.getName());
+    }
+
+    private static String typeName(Object proxy, Object target) {
+        if (proxy instanceof org.springframework.data.repository.Repository<?, ?>) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(proxy);
+            if (interfaces.length > 0) {
+                return interfaces[0].getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(AopUtils.getTargetClass(target)).getSimpleName();
+    }
+
+    private record SpanKey(Class<?> proxyType, Method method) {
+    }
+}
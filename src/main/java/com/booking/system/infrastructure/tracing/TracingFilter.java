@@ -0,0 +1,52 @@
+package com.booking.system.infrastructure.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 每个HTTP请求的根span
+ * 排在安全过滤器链之前，限流、JWT认证和控制器的span都是它的子span；
+ * 请求头带有traceparent时沿用调用方的链路和采样决定，响应头返回本次请求的traceparent。
+ * span名使用路由模板而不是原始路径，如"POST /api/v1/bookings"。
+ * 不参与组件扫描，由TracingConfig注册，控制器切片测试不需要Tracer。
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        TraceContext parent = TraceContext.parse(request.getHeader(TRACEPARENT_HEADER));
+        Span span = tracer.startSpan(request.getMethod(), parent)
+                .tag("component", "http")
+                .tag("http.method", request.getMethod())
+                .tag("http.target", request.getRequestURI());
+        response.setHeader(TRACEPARENT_HEADER, span.context().traceparent());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            span.name(request.getMethod() + " " + (route != null ? route : request.getRequestURI()))
+                    .tag("http.route", route)
+                    .tag("http.status_code", response.getStatus())
+                    .end();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.booking.system.notification;
+
+import com.booking.system.entity.Booking;
+import com.booking.system.notification.NotificationDispatcher.Recipient;
+import com.booking.system.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 向课程所有已确认预订的用户登记通知
+ * 按页展开收件人，避免一次加载整节课的预订；每页一次写入，同一去重键重复调用时不会重复登记
+ */
+@Component
+public class AttendeeNotifier {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Value("${notifications.recipient-page-size:200}")
+    private int pageSize;
+
+    /**
+     * @param dedupeKey 触发通知的事件ID或提醒标识
+     * @return 新登记的收件人数量
+     */
+    public int notifyConfirmed(String dedupeKey, Long classScheduleId, String subject, String line) {
+        int recipients = 0;
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+        Slice<Booking> page;
+        do {
+            page = bookingRepository.findByClassScheduleIdAndBookingStatus(classScheduleId, "CONFIRMED", pageable);
+            List<Recipient> attendees = page.stream()
+                .map(booking -> new Recipient(booking.getUser().getId(), booking.getUser().getEmail()))
+                .toList();
+            recipients += notificationDispatcher.enqueue(dedupeKey, attendees, subject, line);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+        return recipients;
+    }
+}
@@ -0,0 +1,36 @@
+package com.booking.system.notification;
+
+import com.booking.system.domain.event.BookingConfirmedEvent;
+import com.booking.system.infrastructure.event.DomainEventHandler;
+import com.booking.system.notification.NotificationDispatcher.Recipient;
+import com.booking.system.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 预订成功后向用户发送确认，按事件ID去重
+ */
+@Component
+public class BookingConfirmationNotifier implements DomainEventHandler<BookingConfirmedEvent> {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Override
+    public Class<BookingConfirmedEvent> eventType() {
+        return BookingConfirmedEvent.class;
+    }
+
+    @Override
+    public void handle(BookingConfirmedEvent event) {
+        userRepository.findById(event.getUserId()).ifPresent(user -> notificationDispatcher.enqueue(
+            event.getEventId(), List.of(new Recipient(user.getId(), user.getEmail())),
+            "Booking confirmed: " + event.getClassName(),
+            "You are booked for " + event.getClassName() + " starting at " + event.getStartTime() + "."));
+    }
+}
@@ -0,0 +1,29 @@
+package com.booking.system.notification;
+
+import com.booking.system.domain.event.ClassCancelledEvent;
+import com.booking.system.infrastructure.event.DomainEventHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 课程取消后通知所有已确认预订的用户，按事件ID去重
+ */
+@Component
+public class ClassCancellationNotifier implements DomainEventHandler<ClassCancelledEvent> {
+
+    @Autowired
+    private AttendeeNotifier attendeeNotifier;
+
+    @Override
+    public Class<ClassCancelledEvent> eventType() {
+        return ClassCancelledEvent.class;
+    }
+
+    @Override
+    public void handle(ClassCancelledEvent event) {
+        String subject = "Class cancelled: " + event.getClassName();
+        String line = "Your booking for " + event.getClassName() + " has been cancelled"
+            + (event.getReason() != null ? " (" + event.getReason() + ")" : "") + ".";
+        attendeeNotifier.notifyConfirmed(event.getEventId(), event.getClassScheduleId(), subject, line);
+    }
+}
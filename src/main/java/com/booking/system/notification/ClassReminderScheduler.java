@@ -0,0 +1,336 @@
+package com.booking.system.notification;
+
+import com.booking.system.domain.event.ClassCancelledEvent;
+import com.booking.system.domain.event.ClassRescheduledEvent;
+import com.booking.system.domain.event.DomainEvent;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.SchedulerCheckpoint;
+import com.booking.system.infrastructure.event.DomainEventHandler;
+import com.booking.system.infrastructure.lease.SchedulerLeaseManager;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.ClassScheduleRepository.ClassStartView;
+import com.booking.system.repository.SchedulerCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 课前提醒调度器
+ * 提醒按课程登记（每节课每个提前量一条），发送时再按页展开已确认预订的用户，预订变化无需维护提醒。
+ * 定期把提醒时间落在未来lookahead内的课程装入分层时间轮，课程改期和取消事件实时调整时间轮；
+ * 定期重新扫描以补上新建的课程和丢失的事件。到期提醒成批校验课程仍按原时间排期后交给NotificationDispatcher。
+ * 时间轮已处理到的tick持久化为检查点，重启后补发停机期间到期的提醒；被更晚的提醒取代的提醒不再补发。
+ * 发现时已过提醒时间的课程（如开课前半小时新建的课程）不补发1小时提醒。
+ * 多实例部署时只有持有租约的实例推进时间轮；取得租约时从检查点重建时间轮，失去租约时丢弃。
+ */
+@Component
+public class ClassReminderScheduler implements DomainEventHandler<DomainEvent> {
+
+    static final String CHECKPOINT_NAME = "class-reminders";
+    static final String LEASE_NAME = "class-reminders";
+
+    private final ClassScheduleRepository classScheduleRepository;
+    private final SchedulerCheckpointRepository checkpointRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final AttendeeNotifier attendeeNotifier;
+    private final Clock clock;
+    private final boolean enabled;
+    private final List<Duration> offsets;
+    private final Duration tick;
+    private final Duration lookahead;
+    private final Duration rescanInterval;
+    private final Duration lease;
+
+    private final Map<ReminderKey, HierarchicalTimingWheel.Timeout<Reminder>> scheduled = new HashMap<>();
+    private final Counter sent;
+    private final Counter skipped;
+
+    private HierarchicalTimingWheel<Reminder> wheel;
+    /**
+     * 提醒时间不晚于它的提醒都已处理
+     */
+    private LocalDateTime firedThrough;
+    private LocalDateTime lastScan;
+    private boolean started;
+    private boolean leaseHeld;
+    private long nextLeaseCheckMillis;
+
+    @Autowired
+    public ClassReminderScheduler(ClassScheduleRepository classScheduleRepository,
+                                  SchedulerCheckpointRepository checkpointRepository,
+                                  SchedulerLeaseManager leaseManager,
+                                  AttendeeNotifier attendeeNotifier, Clock clock, MeterRegistry meterRegistry,
+                                  @Value("${reminders.enabled:true}") boolean enabled,
+                                  @Value("${reminders.offsets:24h,1h}") List<Duration> offsets,
+                                  @Value("${reminders.tick:1s}") Duration tick,
+                                  @Value("${reminders.lookahead:30m}") Duration lookahead,
+                                  @Value("${reminders.rescan-interval:5m}") Duration rescanInterval,
+                                  @Value("${reminders.lease:1m}") Duration lease) {
+        if (lookahead.compareTo(rescanInterval) <= 0) {
+            throw new IllegalArgumentException("Reminder lookahead must be longer than the rescan interval");
+        }
+        this.classScheduleRepository = classScheduleRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.leaseManager = leaseManager;
+        this.attendeeNotifier = attendeeNotifier;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.offsets = offsets.stream().sorted().toList();
+        this.tick = tick;
+        this.lookahead = lookahead;
+        this.rescanInterval = rescanInterval;
+        this.lease = lease;
+        this.sent = Counter.builder("reminders.sent").register(meterRegistry);
+        this.skipped = Counter.builder("reminders.skipped").register(meterRegistry);
+    }
+
+    /**
+     * 开始调度；取得租约后从检查点恢复并装入第一个窗口
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        started = true;
+        holdsLease();
+    }
+
+    /**
+     * 推进时间轮并发送到期的提醒
+     *
+     * @return 发送提醒的收件人数量
+     */
+    @Scheduled(fixedDelayString = "${reminders.advance-delay-ms:1000}")
+    public int advance() {
+        List<Reminder> due;
+        LocalDateTime now;
+        LocalDateTime processedThrough;
+        boolean rescanned = false;
+        synchronized (this) {
+            if (!started || !holdsLease()) {
+                return 0;
+            }
+            long nowMillis = clock.millis();
+            now = toLocalDateTime(nowMillis);
+            if (!now.isBefore(lastScan.plus(rescanInterval))) {
+                rescan(now);
+                rescanned = true;
+            }
+            due = wheel.advance(nowMillis);
+            // 到期时间向上取整到tick，now所在tick内的提醒尚未触发，检查点只能推进到已处理的tick
+            processedThrough = toLocalDateTime(wheel.getProcessedThroughMillis());
+            for (Reminder reminder : due) {
+                scheduled.remove(reminder.key());
+            }
+        }
+
+        int recipients = 0;
+        if (!due.isEmpty()) {
+            try {
+                recipients = send(due, now);
+            } catch (RuntimeException e) {
+                // 数据库不可用等情况：放回时间轮在下一次推进时重试，检查点不前移；已失去租约时由新持有者从检查点补发
+                synchronized (this) {
+                    if (wheel != null) {
+                        for (Reminder reminder : due) {
+                            schedule(reminder);
+                        }
+                    }
+                }
+                throw e;
+            }
+        }
+
+        synchronized (this) {
+            if (wheel == null) {
+                return recipients;
+            }
+            firedThrough = processedThrough;
+        }
+        // 空闲时只在重新扫描时持久化检查点
+        if (!due.isEmpty() || rescanned) {
+            checkpointRepository.save(new SchedulerCheckpoint(CHECKPOINT_NAME, processedThrough, null));
+        }
+        return recipients;
+    }
+
+    @Override
+    public Class<DomainEvent> eventType() {
+        return DomainEvent.class;
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        if (event instanceof ClassCancelledEvent cancelled) {
+            unschedule(cancelled.getClassScheduleId());
+        } else if (event instanceof ClassRescheduledEvent rescheduled) {
+            reschedule(rescheduled.getClassScheduleId(), rescheduled.getClassName(), rescheduled.getStartTime());
+        }
+    }
+
+    /**
+     * 时间轮中待发送的提醒数量
+     */
+    public synchronized int pendingCount() {
+        return wheel == null ? 0 : wheel.size();
+    }
+
+    /**
+     * 每隔三分之一租约时长续期一次；刚取得租约时从检查点重建时间轮，失去租约时丢弃时间轮
+     */
+    private boolean holdsLease() {
+        long nowMillis = clock.millis();
+        if (nowMillis < nextLeaseCheckMillis) {
+            return leaseHeld;
+        }
+        boolean acquired = leaseManager.tryAcquire(LEASE_NAME, lease);
+        nextLeaseCheckMillis = nowMillis + lease.toMillis() / 3;
+        if (acquired && !leaseHeld) {
+            recover(toLocalDateTime(nowMillis));
+        } else if (!acquired && leaseHeld) {
+            wheel = null;
+            scheduled.clear();
+        }
+        leaseHeld = acquired;
+        return acquired;
+    }
+
+    /**
+     * 从检查点恢复并装入第一个窗口
+     */
+    private void recover(LocalDateTime now) {
+        LocalDateTime checkpoint = checkpointRepository.findById(CHECKPOINT_NAME)
+            .map(SchedulerCheckpoint::getCheckpointTime)
+            .filter(time -> time.isBefore(now))
+            .orElse(now);
+        wheel = new HierarchicalTimingWheel<>(tick.toMillis(), clock.millis());
+        scheduled.clear();
+        firedThrough = checkpoint;
+        rescan(now);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), clock.getZone());
+    }
+
+    private synchronized void unschedule(Long classScheduleId) {
+        for (Duration offset : offsets) {
+            HierarchicalTimingWheel.Timeout<Reminder> timeout =
+                scheduled.remove(new ReminderKey(classScheduleId, offset));
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    private synchronized void reschedule(Long classScheduleId, String className, LocalDateTime startTime) {
+        if (wheel == null) {
+            return;
+        }
+        unschedule(classScheduleId);
+        LocalDateTime horizon = LocalDateTime.now(clock).plus(lookahead);
+        for (Duration offset : offsets) {
+            Reminder reminder = new Reminder(classScheduleId, className, startTime, offset);
+            if (reminder.fireTime().isAfter(firedThrough) && !reminder.fireTime().isAfter(horizon)) {
+                schedule(reminder);
+            }
+        }
+    }
+
+    /**
+     * 装入提醒时间落在(firedThrough, now + lookahead]内的课程；已登记且开始时间未变的提醒保持不变
+     */
+    private void rescan(LocalDateTime now) {
+        LocalDateTime horizon = now.plus(lookahead);
+        for (Duration offset : offsets) {
+            for (ClassStartView view : classScheduleRepository.findScheduledStartsBetween(
+                    firedThrough.plus(offset), horizon.plus(offset))) {
+                Reminder reminder = new Reminder(view.getId(), view.getName(), view.getStartTime(), offset);
+                HierarchicalTimingWheel.Timeout<Reminder> existing = scheduled.get(reminder.key());
+                if (existing != null && existing.getItem().startTime().equals(reminder.startTime())) {
+                    continue;
+                }
+                if (existing != null) {
+                    existing.cancel();
+                }
+                schedule(reminder);
+            }
+        }
+        lastScan = now;
+    }
+
+    private void schedule(Reminder reminder) {
+        long deadline = reminder.fireTime().atZone(clock.getZone()).toInstant().toEpochMilli();
+        scheduled.put(reminder.key(), wheel.schedule(deadline, reminder));
+    }
+
+    /**
+     * 成批校验课程状态后按课程展开收件人
+     */
+    private int send(List<Reminder> due, LocalDateTime now) {
+        Map<Long, ClassSchedule> classes = classScheduleRepository
+            .findAllById(due.stream().map(Reminder::classScheduleId).distinct().toList()).stream()
+            .collect(Collectors.toMap(ClassSchedule::getId, Function.identity()));
+
+        int recipients = 0;
+        for (Reminder reminder : due) {
+            ClassSchedule classSchedule = classes.get(reminder.classScheduleId());
+            if (classSchedule == null || !"SCHEDULED".equals(classSchedule.getStatus())
+                    || !classSchedule.getStartTime().equals(reminder.startTime())
+                    || !classSchedule.getStartTime().isAfter(now) || isSuperseded(reminder, now)) {
+                skipped.increment();
+                continue;
+            }
+            recipients += attendeeNotifier.notifyConfirmed(reminder.dedupeKey(), classSchedule.getId(),
+                "Class reminder: " + classSchedule.getName(),
+                "Reminder: " + classSchedule.getName() + " starts at " + classSchedule.getStartTime() + ".");
+            sent.increment();
+        }
+        return recipients;
+    }
+
+    /**
+     * 提前量更小的提醒也已到期时（如停机后补发），该提醒已被取代，只发提前量最小的一条
+     */
+    private boolean isSuperseded(Reminder reminder, LocalDateTime now) {
+        return offsets.stream().anyMatch(offset -> offset.compareTo(reminder.offset()) < 0
+            && !reminder.startTime().minus(offset).isAfter(now));
+    }
+
+    record ReminderKey(Long classScheduleId, Duration offset) {
+    }
+
+    record Reminder(Long classScheduleId, String className, LocalDateTime startTime, Duration offset) {
+
+        LocalDateTime fireTime() {
+            return startTime.minus(offset);
+        }
+
+        ReminderKey key() {
+            return new ReminderKey(classScheduleId, offset);
+        }
+
+        /**
+         * 同一节课同一开始时间的同一提前量只通知一次，租约易主或重启后补发时不会重复发送
+         */
+        String dedupeKey() {
+            return "reminder:" + classScheduleId + ":" + offset + ":" + startTime;
+        }
+    }
+}
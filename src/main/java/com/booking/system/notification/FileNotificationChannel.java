@@ -0,0 +1,49 @@
+package com.booking.system.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 文件通知渠道，每条通知追加为一行JSON，作为真实邮件/短信渠道接入前的落地方式
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.channel", havingValue = "file")
+public class FileNotificationChannel implements NotificationChannel {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public FileNotificationChannel(ObjectMapper objectMapper,
+                                   @Value("${notifications.file.path:notifications.jsonl}") String path) {
+        this.objectMapper = objectMapper;
+        this.path = Path.of(path);
+    }
+
+    @Override
+    public synchronized void send(List<Notification> batch) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Notification notification : batch) {
+                    writer.write(objectMapper.writeValueAsString(notification));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new NotificationDeliveryException("Cannot write notifications to " + path, e);
+        }
+    }
+}
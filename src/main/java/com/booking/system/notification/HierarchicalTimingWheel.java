@@ -0,0 +1,202 @@
+package com.booking.system.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分层时间轮
+ * 共4层、每层64个槽，第L层每槽跨度为64^L个tick；tick为1秒时可容纳约194天内的到期时间。
+ * 远期任务放在高层的粗粒度槽中，时间推进到该槽时逐层下放，最终在第0层按tick精度触发。
+ * 插入和取消为O(1)，推进成本与经过的tick数成正比，与任务总数无关；取消为惰性删除，在下放或触发时跳过。
+ * 非线程安全，由调用方同步。
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<Timeout<T>>[][] wheels;
+    private final List<Timeout<T>> overdue = new ArrayList<>();
+
+    /**
+     * 已处理到的tick，到期tick不大于它的任务都已触发
+     */
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheels = new List[LEVELS][SLOTS];
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * 登记在deadlineMillis到期的任务，向上取整到tick，不会提前触发；已过期的任务在下一次推进时触发
+     *
+     * @throws IllegalArgumentException 到期时间超出时间轮范围
+     */
+    public Timeout<T> schedule(long deadlineMillis, T item) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        if ((deadlineTick >>> (SLOT_BITS * (LEVELS - 1))) - (currentTick >>> (SLOT_BITS * (LEVELS - 1))) >= SLOTS) {
+            throw new IllegalArgumentException("Deadline is beyond the range of the timing wheel");
+        }
+        Timeout<T> timeout = new Timeout<>(this, item, deadlineMillis, deadlineTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * 推进到nowMillis，返回期间到期且未取消的任务，按到期tick排序
+     */
+    public List<T> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        drain(overdue, expired);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick++;
+            // 到达高层槽的边界时，自上而下把该槽的任务下放到低层
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, expired);
+                }
+            }
+            List<Timeout<T>> slot = wheels[0][(int) (currentTick & SLOT_MASK)];
+            if (slot != null) {
+                drain(slot, expired);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 未触发且未取消的任务数量
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * 已处理到的时间，到期时间不晚于它的任务都已触发；推进时只处理到nowMillis所在tick的起点
+     */
+    public long getProcessedThroughMillis() {
+        return currentTick * tickMillis;
+    }
+
+    private void cascade(int level, List<T> expired) {
+        int index = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        List<Timeout<T>> slot = wheels[level][index];
+        if (slot == null || slot.isEmpty()) {
+            return;
+        }
+        wheels[level][index] = null;
+        for (Timeout<T> timeout : slot) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (timeout.deadlineTick <= currentTick) {
+                fire(timeout, expired);
+            } else {
+                place(timeout);
+            }
+        }
+    }
+
+    private void drain(List<Timeout<T>> timeouts, List<T> expired) {
+        for (Timeout<T> timeout : timeouts) {
+            if (!timeout.cancelled) {
+                fire(timeout, expired);
+            }
+        }
+        timeouts.clear();
+    }
+
+    private void fire(Timeout<T> timeout, List<T> expired) {
+        timeout.expired = true;
+        size--;
+        expired.add(timeout.item);
+    }
+
+    /**
+     * 放入与当前tick的槽距离小于64的最低一层；同层槽号相同但距离为0的任务会放到更低层
+     */
+    private void place(Timeout<T> timeout) {
+        if (timeout.deadlineTick <= currentTick) {
+            overdue.add(timeout);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((timeout.deadlineTick >>> shift) - (currentTick >>> shift) < SLOTS) {
+                int index = (int) ((timeout.deadlineTick >>> shift) & SLOT_MASK);
+                List<Timeout<T>> slot = wheels[level][index];
+                if (slot == null) {
+                    slot = new ArrayList<>();
+                    wheels[level][index] = slot;
+                }
+                slot.add(timeout);
+                return;
+            }
+        }
+        throw new IllegalStateException("Deadline is beyond the range of the timing wheel");
+    }
+
+    /**
+     * 已登记任务的句柄
+     */
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineMillis;
+        private final long deadlineTick;
+        private boolean cancelled;
+        private boolean expired;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T item, long deadlineMillis, long deadlineTick) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * 取消任务，已触发或已取消时返回false
+         */
+        public boolean cancel() {
+            if (cancelled || expired) {
+                return false;
+            }
+            cancelled = true;
+            wheel.size--;
+            return true;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.booking.system.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 内存通知渠道，只保留最近发送的通知，用于测试和本地开发
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.channel", havingValue = "memory")
+public class InMemoryNotificationChannel implements NotificationChannel {
+
+    private final Deque<Notification> sent = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemoryNotificationChannel(@Value("${notifications.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void send(List<Notification> batch) {
+        for (Notification notification : batch) {
+            if (sent.size() == capacity) {
+                sent.removeFirst();
+            }
+            sent.addLast(notification);
+        }
+    }
+
+    public synchronized List<Notification> sent() {
+        return new ArrayList<>(sent);
+    }
+
+    public synchronized void clear() {
+        sent.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.booking.system.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 默认的通知渠道，只记录日志不落地；接入真实渠道前可配置notifications.channel=file写入文件
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.channel", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationChannel implements NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationChannel.class);
+
+    @Override
+    public void send(List<Notification> batch) {
+        for (Notification notification : batch) {
+            log.info("Notification to user {} <{}>: {}", notification.userId(), notification.recipient(),
+                notification.subject());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.booking.system.notification;
+
+import java.util.List;
+
+/**
+ * 发给单个用户的通知，同一刷新周期内的多条消息合并为一条
+ */
+public record Notification(Long userId, String recipient, String subject, List<String> lines) {
+
+    public String body() {
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,12 @@
+package com.booking.system.notification;
+
+import java.util.List;
+
+/**
+ * 通知发送渠道
+ * 一次调用发送一批通知，失败时抛出NotificationDeliveryException，整批由NotificationDispatcher退避重试
+ */
+public interface NotificationChannel {
+
+    void send(List<Notification> batch);
+}
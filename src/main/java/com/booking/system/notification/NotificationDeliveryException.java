@@ -0,0 +1,11 @@
+package com.booking.system.notification;
+
+/**
+ * 通知渠道发送失败
+ */
+public class NotificationDeliveryException extends RuntimeException {
+
+    public NotificationDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
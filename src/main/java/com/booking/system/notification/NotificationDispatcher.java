@@ -0,0 +1,243 @@
+package com.booking.system.notification;
+
+import com.booking.system.entity.NotificationDelivery;
+import com.booking.system.infrastructure.lease.SchedulerLeaseManager;
+import com.booking.system.repository.NotificationDeliveryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 通知分发器
+ * 事件处理器把消息按收件人写入notification_deliveries表，去重键（事件ID或提醒标识）与用户唯一，
+ * 重复投递的事件不会再登记；写入后事件即可确认，进程崩溃不会丢失待发送的通知。
+ * 定时刷新时取出到期的通知，每个用户合并为一条，按批交给渠道发送；整批失败后按指数退避重试，
+ * 超过最大尝试次数后标记为丢弃并计数。多实例部署时只有持有租约的实例刷新。
+ */
+@Component
+public class NotificationDispatcher {
+
+    static final String LEASE_NAME = "notification-dispatch";
+
+    private final NotificationChannel channel;
+    private final NotificationDeliveryRepository deliveryRepository;
+    private final SchedulerLeaseManager leaseManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+
+    private final Counter sent;
+    private final Counter failedAttempts;
+    private final Counter dropped;
+
+    @Value("${notifications.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notifications.retention:7d}")
+    private Duration retention;
+
+    @Autowired
+    public NotificationDispatcher(NotificationChannel channel, NotificationDeliveryRepository deliveryRepository,
+                                  SchedulerLeaseManager leaseManager, PlatformTransactionManager transactionManager,
+                                  Clock clock, MeterRegistry meterRegistry,
+                                  @Value("${notifications.batch-size:100}") int batchSize,
+                                  @Value("${notifications.max-attempts:5}") int maxAttempts,
+                                  @Value("${notifications.retry-backoff:5s}") Duration retryBackoff,
+                                  @Value("${notifications.lease:1m}") Duration lease) {
+        this.channel = channel;
+        this.deliveryRepository = deliveryRepository;
+        this.leaseManager = leaseManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+        this.sent = Counter.builder("notifications.sent").register(meterRegistry);
+        this.failedAttempts = Counter.builder("notifications.failed.attempts").register(meterRegistry);
+        this.dropped = Counter.builder("notifications.dropped").register(meterRegistry);
+    }
+
+    /**
+     * 登记一条发给多个收件人的消息，已按同一去重键登记过的收件人跳过
+     * 并发重复投递时唯一约束冲突的一方失败，事件由发件箱重试时再跳过已登记的收件人
+     *
+     * @return 新登记的收件人数量
+     */
+    public int enqueue(String dedupeKey, Collection<Recipient> recipients, String subject, String line) {
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+        Integer recorded = transactionTemplate.execute(status -> {
+            Set<Long> existing = new HashSet<>(deliveryRepository.findRecordedUserIds(dedupeKey,
+                recipients.stream().map(Recipient::userId).toList()));
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<NotificationDelivery> deliveries = new ArrayList<>();
+            for (Recipient recipient : recipients) {
+                if (existing.add(recipient.userId())) {
+                    NotificationDelivery delivery = new NotificationDelivery();
+                    delivery.setDedupeKey(dedupeKey);
+                    delivery.setUserId(recipient.userId());
+                    delivery.setRecipient(recipient.address());
+                    delivery.setSubject(subject);
+                    delivery.setLine(line);
+                    delivery.setAvailableAt(now);
+                    deliveries.add(delivery);
+                }
+            }
+            deliveryRepository.saveAll(deliveries);
+            return deliveries.size();
+        });
+        return recorded == null ? 0 : recorded;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.flush-delay-ms:2000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * 逐批发送到期的通知，直到没有到期通知或整批发送失败
+     *
+     * @return 发送成功的通知数量；未取得租约时返回0
+     */
+    public int flush() {
+        if (!leaseManager.tryAcquire(LEASE_NAME, lease)) {
+            return 0;
+        }
+        try {
+            int delivered = 0;
+            List<NotificationDelivery> due;
+            int batchDelivered;
+            do {
+                LocalDateTime now = LocalDateTime.now(clock);
+                due = transactionTemplate.execute(status ->
+                    deliveryRepository.findDue(now, PageRequest.of(0, batchSize)));
+                if (due == null || due.isEmpty()) {
+                    break;
+                }
+                batchDelivered = send(coalesce(due), now);
+                delivered += batchDelivered;
+            } while (due.size() == batchSize && batchDelivered > 0 && leaseManager.tryAcquire(LEASE_NAME, lease));
+            return delivered;
+        } finally {
+            leaseManager.release(LEASE_NAME);
+        }
+    }
+
+    @Scheduled(cron = "${notifications.cleanup-cron:0 45 3 * * *}")
+    public int purgeFinished() {
+        Integer deleted = transactionTemplate.execute(status ->
+            deliveryRepository.deleteFinishedBefore(LocalDateTime.now(clock).minus(retention)));
+        return deleted == null ? 0 : deleted;
+    }
+
+    public long pendingCount() {
+        return deliveryRepository.countByStatus(NotificationDelivery.PENDING);
+    }
+
+    /**
+     * 同一用户的消息合并为一条通知
+     */
+    private List<PendingNotification> coalesce(List<NotificationDelivery> deliveries) {
+        Map<Long, PendingNotification> byUser = new LinkedHashMap<>();
+        for (NotificationDelivery delivery : deliveries) {
+            byUser.computeIfAbsent(delivery.getUserId(), id -> new PendingNotification(id, delivery.getRecipient()))
+                .add(delivery);
+        }
+        return new ArrayList<>(byUser.values());
+    }
+
+    private int send(List<PendingNotification> batch, LocalDateTime now) {
+        try {
+            channel.send(batch.stream().map(PendingNotification::toNotification).toList());
+        } catch (RuntimeException e) {
+            failedAttempts.increment();
+            recordFailure(batch, now);
+            return 0;
+        }
+        List<Long> ids = batch.stream().flatMap(notification -> notification.deliveryIds.stream()).toList();
+        transactionTemplate.executeWithoutResult(status -> deliveryRepository.markSent(ids, now));
+        sent.increment(batch.size());
+        return batch.size();
+    }
+
+    /**
+     * 按每条通知已尝试的次数退避；达到最大尝试次数的通知标记为丢弃
+     */
+    private void recordFailure(List<PendingNotification> batch, LocalDateTime now) {
+        List<Long> droppedIds = new ArrayList<>();
+        Map<LocalDateTime, List<Long>> retries = new LinkedHashMap<>();
+        for (PendingNotification notification : batch) {
+            int attempts = notification.attempts + 1;
+            if (attempts >= maxAttempts) {
+                droppedIds.addAll(notification.deliveryIds);
+                dropped.increment();
+            } else {
+                LocalDateTime retryAt = now.plus(retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 16)));
+                retries.computeIfAbsent(retryAt, time -> new ArrayList<>()).addAll(notification.deliveryIds);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!droppedIds.isEmpty()) {
+                deliveryRepository.markDropped(droppedIds);
+            }
+            retries.forEach((retryAt, ids) -> deliveryRepository.retryAt(ids, retryAt));
+        });
+    }
+
+    /**
+     * 通知的收件人
+     */
+    public record Recipient(Long userId, String address) {
+    }
+
+    private static final class PendingNotification {
+
+        private final Long userId;
+        private final String recipient;
+        private final List<Long> deliveryIds = new ArrayList<>();
+        private final List<String> subjects = new ArrayList<>();
+        private final List<String> lines = new ArrayList<>();
+        private int attempts;
+
+        private PendingNotification(Long userId, String recipient) {
+            this.userId = userId;
+            this.recipient = recipient;
+        }
+
+        private void add(NotificationDelivery delivery) {
+            deliveryIds.add(delivery.getId());
+            subjects.add(delivery.getSubject());
+            lines.add(delivery.getLine());
+            attempts = Math.max(attempts, delivery.getAttempts());
+        }
+
+        private Notification toNotification() {
+            String subject = subjects.size() == 1 ? subjects.get(0) : "You have " + subjects.size() + " booking updates";
+            return new Notification(userId, recipient, subject, List.copyOf(lines));
+        }
+    }
+}
@@ -1,14 +1,30 @@
 package com.booking.system.repository;
 
 import com.booking.system.entity.Booking;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * 已确认预订所占用的时间段，只取标量列
+     */
+    interface BookedIntervalView {
+        Long getClassScheduleId();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+    }
+
     List<Booking> findByUserId(Long userId);
 
     List<Booking> findByClassScheduleId(Long classScheduleId);
@@ -18,4 +34,22 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByUserIdAndBookingStatus(Long userId, String bookingStatus);
 
     List<Booking> findByClassScheduleIdAndBookingStatus(Long classScheduleId, String bookingStatus);
+
+    /**
+     * 分页读取课程的预订并一并取回用户，供通知按页展开收件人
+     */
+    @EntityGraph(attributePaths = "user")
+    Slice<Booking> findByClassScheduleIdAndBookingStatus(Long classScheduleId, String bookingStatus,
+                                                         Pageable pageable);
+
+    @Query("SELECT cs.id AS classScheduleId, cs.startTime AS startTime, cs.endTime AS endTime " +
+           "FROM Booking b JOIN b.classSchedule cs WHERE b.user.id = :userId " +
+           "AND b.bookingStatus = 'CONFIRMED' AND cs.status = 'SCHEDULED' AND cs.endTime > :after")
+    List<BookedIntervalView> findConfirmedIntervalsEndingAfter(@Param("userId") Long userId,
+                                                               @Param("after") LocalDateTime after);
+
+    @Query("SELECT b.classSchedule.id FROM Booking b " +
+           "WHERE b.user.id = :userId AND b.classSchedule.id IN :classScheduleIds")
+    List<Long> findBookedClassScheduleIds(@Param("userId") Long userId,
+                                          @Param("classScheduleIds") Collection<Long> classScheduleIds);
 }
@@ -1,19 +1,44 @@
 package com.booking.system.repository;
 
 import com.booking.system.entity.ClassSchedule;
-import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface ClassScheduleRepository extends JpaRepository<ClassSchedule, Long> {
+public interface ClassScheduleRepository extends JpaRepository<ClassSchedule, Long>, ClassScheduleRepositoryCustom {
+
+    /**
+     * 课程开始时间，只取标量列
+     */
+    interface ClassStartView {
+        Long getId();
+        String getName();
+        LocalDateTime getStartTime();
+    }
+
+    /**
+     * 已结束待完成的课程，只取生成完成事件所需的列
+     */
+    interface EndedClassView {
+        Long getId();
+        String getName();
+        Integer getCurrentBookings();
+        LocalDateTime getStartTime();
+        LocalDateTime getEndTime();
+        Long getVersion();
+    }
+
+    interface ClassVersionView {
+        Long getId();
+        Long getVersion();
+    }
 
     List<ClassSchedule> findByStatus(String status);
 
@@ -23,11 +48,78 @@ public interface ClassScheduleRepository extends JpaRepository<ClassSchedule, Lo
     List<ClassSchedule> findByDateRange(@Param("startDate") LocalDateTime startDate,
                                         @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * 开始时间落在(from, to]内的已排期课程，走start_time索引的有界区间
+     */
+    @Query("SELECT cs.id AS id, cs.name AS name, cs.startTime AS startTime FROM ClassSchedule cs " +
+           "WHERE cs.status = 'SCHEDULED' AND cs.startTime > :from AND cs.startTime <= :to")
+    List<ClassStartView> findScheduledStartsBetween(@Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
     @Query("SELECT cs FROM ClassSchedule cs WHERE cs.status = :status AND cs.startTime >= :now ORDER BY cs.startTime")
     List<ClassSchedule> findUpcomingClassesByStatus(@Param("status") String status,
                                                      @Param("now") LocalDateTime now);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT cs FROM ClassSchedule cs WHERE cs.id = :id")
-    Optional<ClassSchedule> findByIdWithLock(@Param("id") Long id);
+    /**
+     * 讲师在[startTime, endTime)内有重叠的未取消课程
+     * lowerBound为startTime减去最长课程时长，使查询只扫描(instructor_id, start_time)索引上的有界区间
+     */
+    @Query("SELECT cs FROM ClassSchedule cs WHERE cs.instructor.id = :instructorId " +
+           "AND cs.status <> 'CANCELLED' " +
+           "AND cs.startTime > :lowerBound AND cs.startTime < :endTime AND cs.endTime > :startTime " +
+           "AND (:excludeId IS NULL OR cs.id <> :excludeId) ORDER BY cs.startTime")
+    List<ClassSchedule> findInstructorConflicts(@Param("instructorId") Long instructorId,
+                                                @Param("lowerBound") LocalDateTime lowerBound,
+                                                @Param("startTime") LocalDateTime startTime,
+                                                @Param("endTime") LocalDateTime endTime,
+                                                @Param("excludeId") Long excludeId);
+
+    /**
+     * 场地在[startTime, endTime)内有重叠的未取消课程，lowerBound的含义同findInstructorConflicts
+     */
+    @Query("SELECT cs FROM ClassSchedule cs WHERE cs.roomId = :roomId " +
+           "AND cs.status <> 'CANCELLED' " +
+           "AND cs.startTime > :lowerBound AND cs.startTime < :endTime AND cs.endTime > :startTime " +
+           "AND (:excludeId IS NULL OR cs.id <> :excludeId) ORDER BY cs.startTime")
+    List<ClassSchedule> findRoomConflicts(@Param("roomId") Long roomId,
+                                          @Param("lowerBound") LocalDateTime lowerBound,
+                                          @Param("startTime") LocalDateTime startTime,
+                                          @Param("endTime") LocalDateTime endTime,
+                                          @Param("excludeId") Long excludeId);
+
+    @Query("SELECT cs FROM ClassSchedule cs WHERE cs.instructor.id = :instructorId " +
+           "AND cs.status <> 'CANCELLED' AND cs.startTime >= :from AND cs.startTime < :to " +
+           "ORDER BY cs.startTime")
+    List<ClassSchedule> findActiveByInstructorIdAndStartTimeRange(@Param("instructorId") Long instructorId,
+                                                                  @Param("from") LocalDateTime from,
+                                                                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT cs FROM ClassSchedule cs WHERE cs.seriesId = :seriesId " +
+           "AND cs.startTime >= :from AND cs.startTime < :to ORDER BY cs.startTime")
+    List<ClassSchedule> findBySeriesIdAndStartTimeRange(@Param("seriesId") Long seriesId,
+                                                        @Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to);
+
+    /**
+     * 已结束但仍为SCHEDULED的课程，按开始时间取一批
+     * start_time <= now限定idx_class_start_time上的范围，status过滤可走idx_class_status
+     */
+    @Query("SELECT cs.id AS id, cs.name AS name, cs.currentBookings AS currentBookings, " +
+           "cs.startTime AS startTime, cs.endTime AS endTime, cs.version AS version FROM ClassSchedule cs " +
+           "WHERE cs.status = 'SCHEDULED' AND cs.startTime <= :now AND cs.endTime <= :now " +
+           "ORDER BY cs.startTime, cs.id")
+    List<EndedClassView> findEndedScheduled(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 以一条UPDATE完成一批课程；期间被并发修改的课程不再满足条件，不会被完成
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ClassSchedule cs SET cs.status = 'COMPLETED', cs.version = cs.version + 1, " +
+           "cs.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE cs.id IN :ids AND cs.status = 'SCHEDULED' AND cs.endTime <= :now")
+    int completeEnded(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT cs.id AS id, cs.version AS version FROM ClassSchedule cs " +
+           "WHERE cs.id IN :ids AND cs.status = 'COMPLETED'")
+    List<ClassVersionView> findCompletedVersions(@Param("ids") List<Long> ids);
 }
@@ -0,0 +1,16 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.ClassSchedule;
+
+import java.util.Optional;
+
+/**
+ * ClassScheduleRepository的自定义片段
+ */
+public interface ClassScheduleRepositoryCustom {
+
+    /**
+     * 以PESSIMISTIC_WRITE加载课程，等待时间计入锁争用分析
+     */
+    Optional<ClassSchedule> findByIdWithLock(Long id);
+}
@@ -0,0 +1,28 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.infrastructure.diagnostics.LockContentionProfiler;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Optional;
+
+/**
+ * 加锁查询与领域仓储共用同一个LockContentionProfiler，两条路径的争用汇总在一起
+ */
+public class ClassScheduleRepositoryCustomImpl implements ClassScheduleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private LockContentionProfiler lockContentionProfiler;
+
+    @Override
+    public Optional<ClassSchedule> findByIdWithLock(Long id) {
+        return lockContentionProfiler.profile(id, () ->
+            Optional.ofNullable(entityManager.find(ClassSchedule.class, id, LockModeType.PESSIMISTIC_WRITE)));
+    }
+}
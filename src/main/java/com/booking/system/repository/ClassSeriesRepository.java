@@ -0,0 +1,17 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.ClassSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClassSeriesRepository extends JpaRepository<ClassSeries, Long> {
+
+    @Query("SELECT s.id FROM ClassSeries s WHERE s.status = 'ACTIVE' AND s.materializedUntil < :horizon")
+    List<Long> findActiveIdsMaterializedBefore(@Param("horizon") LocalDateTime horizon);
+}
@@ -1,13 +1,25 @@
 package com.booking.system.repository;
 
 import com.booking.system.entity.Instructor;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface InstructorRepository extends JpaRepository<Instructor, Long> {
 
     Optional<Instructor> findByUserId(Long userId);
+
+    @Query("SELECT i.id FROM Instructor i")
+    List<Long> findAllIds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Instructor i WHERE i.id = :id")
+    Optional<Instructor> findByIdWithLock(@Param("id") Long id);
 }
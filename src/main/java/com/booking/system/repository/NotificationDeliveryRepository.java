@@ -0,0 +1,55 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.NotificationDelivery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    /**
+     * 已按该去重键登记过的用户
+     */
+    @Query("SELECT d.userId FROM NotificationDelivery d WHERE d.dedupeKey = :dedupeKey AND d.userId IN :userIds")
+    List<Long> findRecordedUserIds(@Param("dedupeKey") String dedupeKey,
+                                   @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 已到期的待发送通知，同一用户的消息相邻，便于合并
+     */
+    @Query("SELECT d FROM NotificationDelivery d WHERE d.status = 'PENDING' AND d.availableAt <= :now " +
+           "ORDER BY d.userId, d.id")
+    List<NotificationDelivery> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.status = 'SENT', d.sentAt = :now, d.attempts = d.attempts + 1 " +
+           "WHERE d.id IN :ids AND d.status = 'PENDING'")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.availableAt = :availableAt, d.attempts = d.attempts + 1 " +
+           "WHERE d.id IN :ids AND d.status = 'PENDING'")
+    int retryAt(@Param("ids") Collection<Long> ids, @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.status = 'DROPPED', d.attempts = d.attempts + 1 " +
+           "WHERE d.id IN :ids AND d.status = 'PENDING'")
+    int markDropped(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(String status);
+
+    /**
+     * 删除已发送或已丢弃的通知，按最后一次发送尝试的时间判断
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationDelivery d WHERE d.status <> 'PENDING' AND d.availableAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,34 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.OutboxAggregate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxAggregateRepository extends JpaRepository<OutboxAggregate, String> {
+
+    /**
+     * 锁定聚合流以分配序号，锁持有到事务提交，同一聚合的追加按提交顺序串行
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM OutboxAggregate a WHERE a.aggregateKey = :aggregateKey")
+    Optional<OutboxAggregate> findForUpdate(@Param("aggregateKey") String aggregateKey);
+
+    /**
+     * 锁定一批聚合流，跳过其他中继正在认领或正在追加事件的聚合（lock.timeout = -2即SKIP LOCKED）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM OutboxAggregate a WHERE a.aggregateKey IN :aggregateKeys")
+    List<OutboxAggregate> lockForClaim(@Param("aggregateKeys") Collection<String> aggregateKeys);
+}
@@ -0,0 +1,65 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * 待投递聚合的标识
+     */
+    interface AggregateRef {
+        String getAggregateType();
+        Long getAggregateId();
+    }
+
+    /**
+     * 队首消息（聚合内序号最小的待投递消息）已到期的聚合，按队首到期时间排序
+     * 结果未加锁，只作为候选；认领前须锁定聚合流并重新检查队首
+     */
+    @Query("SELECT m.aggregateType AS aggregateType, m.aggregateId AS aggregateId FROM OutboxMessage m " +
+           "WHERE m.status = 'PENDING' AND m.availableAt <= :now " +
+           "AND NOT EXISTS (SELECT 1 FROM OutboxMessage p WHERE p.aggregateType = m.aggregateType " +
+           "AND p.aggregateId = m.aggregateId AND p.status = 'PENDING' AND p.aggregateSequence < m.aggregateSequence) " +
+           "ORDER BY m.availableAt, m.id")
+    List<AggregateRef> findClaimableAggregates(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 一组聚合的全部待投递消息，按聚合内序号排序
+     */
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = 'PENDING' AND m.aggregateType = :aggregateType " +
+           "AND m.aggregateId IN :aggregateIds ORDER BY m.aggregateId, m.aggregateSequence")
+    List<OutboxMessage> findPendingByAggregates(@Param("aggregateType") String aggregateType,
+                                                @Param("aggregateIds") Collection<Long> aggregateIds);
+
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = 'PUBLISHED', m.publishedAt = :now, m.claimedBy = NULL " +
+           "WHERE m.id IN :ids AND m.claimedBy = :claimedBy AND m.status = 'PENDING'")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * 释放认领但未投递的消息（排在同一聚合失败消息之后），不计入尝试次数
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.availableAt = :availableAt, m.claimedBy = NULL " +
+           "WHERE m.id IN :ids AND m.claimedBy = :claimedBy AND m.status = 'PENDING'")
+    int release(@Param("ids") Collection<Long> ids, @Param("claimedBy") String claimedBy,
+                @Param("availableAt") LocalDateTime availableAt);
+
+    long countByStatus(String status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = 'PUBLISHED' AND m.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,41 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.RoomWeeklyUtilization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RoomWeeklyUtilizationRepository extends JpaRepository<RoomWeeklyUtilization, Long> {
+
+    /**
+     * 报表视图，只取标量列，始终读取数据库中的最新汇总
+     */
+    interface WeeklyUtilizationView {
+        Long getRoomId();
+        String getRoomName();
+        Integer getWeeklyOpenMinutes();
+        LocalDate getWeekStart();
+        Long getScheduledMinutes();
+        Integer getClassCount();
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RoomWeeklyUtilization u SET u.scheduledMinutes = u.scheduledMinutes + :minutes, " +
+           "u.classCount = u.classCount + :classes WHERE u.roomId = :roomId AND u.weekStart = :weekStart")
+    int addToWeek(@Param("roomId") Long roomId, @Param("weekStart") LocalDate weekStart,
+                  @Param("minutes") long minutes, @Param("classes") int classes);
+
+    @Query("SELECT u.roomId AS roomId, r.name AS roomName, r.weeklyOpenMinutes AS weeklyOpenMinutes, " +
+           "u.weekStart AS weekStart, u.scheduledMinutes AS scheduledMinutes, u.classCount AS classCount " +
+           "FROM RoomWeeklyUtilization u JOIN Room r ON r.id = u.roomId " +
+           "WHERE u.weekStart >= :from AND u.weekStart <= :to AND (:roomId IS NULL OR u.roomId = :roomId) " +
+           "AND u.classCount > 0 ORDER BY u.weekStart, u.roomId")
+    List<WeeklyUtilizationView> findWeeklyUtilization(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                      @Param("roomId") Long roomId);
+}
@@ -0,0 +1,9 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.SchedulerCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchedulerCheckpointRepository extends JpaRepository<SchedulerCheckpoint, String> {
+}
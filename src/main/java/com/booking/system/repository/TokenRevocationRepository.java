@@ -0,0 +1,29 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    boolean existsByRevocationKeyAndRevocationType(String revocationKey, String revocationType);
+
+    Optional<TokenRevocation> findTopByRevocationKeyAndRevocationTypeOrderByRevokedAtDesc(String revocationKey,
+                                                                                          String revocationType);
+
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    List<TokenRevocation> findByRevokedAtGreaterThanEqual(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation tr WHERE tr.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
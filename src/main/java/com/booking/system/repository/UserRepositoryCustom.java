@@ -0,0 +1,16 @@
+package com.booking.system.repository;
+
+import com.booking.system.entity.User;
+
+import java.util.Optional;
+
+/**
+ * UserRepository的自定义片段
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * 按邮箱（自然主键）加载用户，命中二级缓存时不访问数据库
+     */
+    Optional<User> findByEmail(String email);
+}
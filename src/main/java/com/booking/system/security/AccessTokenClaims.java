@@ -0,0 +1,36 @@
+package com.booking.system.security;
+
+/**
+ * 访问令牌中过滤器需要的声明
+ * 只解析一次，供吊销检查和用户加载共用
+ */
+public class AccessTokenClaims {
+
+    private final String subject;
+    private final String tokenId;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+
+    public AccessTokenClaims(String subject, String tokenId, long issuedAtMillis, long expiresAtMillis) {
+        this.subject = subject;
+        this.tokenId = tokenId;
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -0,0 +1,31 @@
+package com.booking.system.security;
+
+import com.booking.system.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * 客户端IP解析
+ * 仅在配置信任反向代理时才读取X-Forwarded-For，否则使用连接的远端地址。
+ */
+@Component
+public class ClientIpResolver {
+
+    private final boolean trustForwardedFor;
+
+    public ClientIpResolver(RateLimitProperties properties) {
+        this.trustForwardedFor = properties.isTrustForwardedFor();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
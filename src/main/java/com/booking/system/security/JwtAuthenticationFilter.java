@@ -1,5 +1,7 @@
 package com.booking.system.security;
 
+import com.booking.system.infrastructure.tracing.Span;
+import com.booking.system.infrastructure.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,24 +26,42 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private Tracer tracer;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        try {
+        try (Span span = tracer.startSpan("JwtAuthenticationFilter.authenticate").tag("component", "security")) {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            // 一次解析同时完成签名校验和声明提取，吊销检查先走布隆过滤器
+            AccessTokenClaims claims = StringUtils.hasText(jwt) ? tokenProvider.parseToken(jwt) : null;
+            String outcome = jwt == null ? "anonymous" : "invalid";
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (claims != null) {
+                outcome = "revoked";
+                if (!tokenRevocationService.isRevoked(claims)) {
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                    outcome = "disabled";
+                    // 令牌签发后账户被停用，未过期的令牌也不再生效
+                    if (userDetails.isEnabled()) {
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(userDetails, null,
+                                        userDetails.getAuthorities());
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        outcome = "authenticated";
+                    }
+                }
             }
+            span.tag("outcome", outcome);
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
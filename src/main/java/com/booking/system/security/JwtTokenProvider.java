@@ -2,12 +2,18 @@ package com.booking.system.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -18,17 +24,33 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer validTokenTimer;
+    private Timer invalidTokenTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        validTokenTimer = verificationTimer("valid");
+        invalidTokenTimer = verificationTimer("invalid");
+    }
+
     private SecretKey getSigningKey() {
         byte[] keyBytes = jwtSecret.getBytes();
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
     public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
+        return generateToken(authentication.getName());
+    }
+
+    public String generateToken(String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -36,6 +58,13 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * 访问令牌有效期（毫秒）
+     */
+    public long getExpirationMillis() {
+        return jwtExpiration;
+    }
+
     public String getUsernameFromToken(String token) {
         Claims claims = Jwts.parser()
                 .verifyWith(getSigningKey())
@@ -57,4 +86,42 @@ public class JwtTokenProvider {
             return false;
         }
     }
+
+    /**
+     * 校验并解析令牌，只做一次签名验证
+     *
+     * @return 令牌声明；令牌无效时返回null
+     */
+    public AccessTokenClaims parseToken(String token) {
+        long start = System.nanoTime();
+        try {
+            Claims claims = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build()
+                    .parseSignedClaims(token)
+                    .getPayload();
+            AccessTokenClaims accessTokenClaims = new AccessTokenClaims(
+                    claims.getSubject(),
+                    claims.getId(),
+                    toEpochMillis(claims.getIssuedAt()),
+                    toEpochMillis(claims.getExpiration())
+            );
+            validTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return accessTokenClaims;
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTokenTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static long toEpochMillis(Date date) {
+        return date != null ? date.getTime() : 0L;
+    }
 }
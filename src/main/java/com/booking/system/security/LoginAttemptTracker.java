@@ -0,0 +1,306 @@
+package com.booking.system.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 登录失败跟踪器
+ * 分别按邮箱和IP记录连续失败次数，超过阈值后按指数递增锁定时长。
+ * 锁定检查发生在密码比对之前，被锁定的请求不消耗bcrypt。
+ * 记录保存在分段加锁、容量固定的LRU表中，伪造的邮箱或IP只会挤掉最久未活动的记录。
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final int STRIPES = 32;
+
+    private final boolean enabled;
+    private final int emailThreshold;
+    private final int ipThreshold;
+    private final long baseLockoutMillis;
+    private final long maxLockoutMillis;
+    private final long failureWindowMillis;
+    private final LongSupplier clock;
+
+    private final FailureTable emailFailures;
+    private final FailureTable ipFailures;
+
+    private final LongAdder blockedAttempts = new LongAdder();
+    private final LongAdder recordedFailures = new LongAdder();
+    private final LongAdder lockouts = new LongAdder();
+
+    @Autowired
+    public LoginAttemptTracker(@Value("${login-protection.enabled:true}") boolean enabled,
+                               @Value("${login-protection.max-keys:50000}") int maxKeys,
+                               @Value("${login-protection.email-threshold:5}") int emailThreshold,
+                               @Value("${login-protection.ip-threshold:20}") int ipThreshold,
+                               @Value("${login-protection.base-lockout:30s}") Duration baseLockout,
+                               @Value("${login-protection.max-lockout:15m}") Duration maxLockout,
+                               @Value("${login-protection.failure-window:15m}") Duration failureWindow) {
+        this(enabled, maxKeys, emailThreshold, ipThreshold, baseLockout, maxLockout, failureWindow,
+                System::currentTimeMillis);
+    }
+
+    LoginAttemptTracker(boolean enabled, int maxKeys, int emailThreshold, int ipThreshold,
+                        Duration baseLockout, Duration maxLockout, Duration failureWindow, LongSupplier clock) {
+        this.enabled = enabled;
+        this.emailThreshold = emailThreshold;
+        this.ipThreshold = ipThreshold;
+        this.baseLockoutMillis = baseLockout.toMillis();
+        this.maxLockoutMillis = maxLockout.toMillis();
+        this.failureWindowMillis = failureWindow.toMillis();
+        this.clock = clock;
+        this.emailFailures = new FailureTable(maxKeys);
+        this.ipFailures = new FailureTable(maxKeys);
+    }
+
+    /**
+     * 检查本次登录是否被锁定
+     *
+     * @return 0表示放行；否则为剩余锁定毫秒数
+     */
+    public long checkBlocked(String email, String ip) {
+        if (!enabled) {
+            return 0L;
+        }
+        long now = clock.getAsLong();
+        long remaining = Math.max(
+                emailFailures.remainingLockout(normalize(email), now),
+                ipFailures.remainingLockout(ip, now)
+        );
+        if (remaining > 0) {
+            blockedAttempts.increment();
+        }
+        return remaining;
+    }
+
+    /**
+     * 记录一次失败的登录
+     */
+    public void recordFailure(String email, String ip) {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        recordedFailures.increment();
+        if (emailFailures.recordFailure(normalize(email), now, emailThreshold)) {
+            lockouts.increment();
+        }
+        if (ipFailures.recordFailure(ip, now, ipThreshold)) {
+            lockouts.increment();
+        }
+    }
+
+    /**
+     * 登录成功后清除该邮箱的失败记录（IP记录保留，防止用一个有效账户洗白IP）
+     */
+    public void recordSuccess(String email) {
+        if (enabled) {
+            emailFailures.reset(normalize(email));
+        }
+    }
+
+    public Stats stats() {
+        long now = clock.getAsLong();
+        return new Stats(
+                blockedAttempts.sum(),
+                recordedFailures.sum(),
+                lockouts.sum(),
+                emailFailures.countLocked(now),
+                ipFailures.countLocked(now),
+                emailFailures.size() + ipFailures.size()
+        );
+    }
+
+    private long lockoutFor(int failures, int threshold) {
+        int exponent = Math.min(failures - threshold, 30);
+        long lockout = baseLockoutMillis << exponent;
+        return lockout <= 0 || lockout > maxLockoutMillis ? maxLockoutMillis : lockout;
+    }
+
+    private static String normalize(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private final class FailureTable {
+
+        private final Stripe[] stripes = new Stripe[STRIPES];
+
+        private FailureTable(int maxKeys) {
+            int perStripe = Math.max(1, maxKeys / STRIPES);
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe(perStripe);
+            }
+        }
+
+        private long remainingLockout(String key, long now) {
+            if (key == null) {
+                return 0L;
+            }
+            Stripe stripe = stripeFor(key);
+            stripe.lock.lock();
+            try {
+                Record record = stripe.records.get(key);
+                return record != null && record.lockedUntil > now ? record.lockedUntil - now : 0L;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        /**
+         * @return 本次失败是否触发了新的锁定
+         */
+        private boolean recordFailure(String key, long now, int threshold) {
+            if (key == null || threshold <= 0) {
+                return false;
+            }
+            Stripe stripe = stripeFor(key);
+            stripe.lock.lock();
+            try {
+                Record record = stripe.records.get(key);
+                if (record == null) {
+                    record = new Record();
+                    stripe.records.put(key, record);
+                } else if (now - record.lastFailure > failureWindowMillis && record.lockedUntil <= now) {
+                    // 长时间没有失败，重新计数
+                    record.failures = 0;
+                }
+                record.failures++;
+                record.lastFailure = now;
+                if (record.failures >= threshold) {
+                    record.lockedUntil = now + lockoutFor(record.failures, threshold);
+                    return true;
+                }
+                return false;
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        private void reset(String key) {
+            if (key == null) {
+                return;
+            }
+            Stripe stripe = stripeFor(key);
+            stripe.lock.lock();
+            try {
+                stripe.records.remove(key);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        private int countLocked(long now) {
+            int locked = 0;
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    for (Record record : stripe.records.values()) {
+                        if (record.lockedUntil > now) {
+                            locked++;
+                        }
+                    }
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            return locked;
+        }
+
+        private int size() {
+            int total = 0;
+            for (Stripe stripe : stripes) {
+                stripe.lock.lock();
+                try {
+                    total += stripe.records.size();
+                } finally {
+                    stripe.lock.unlock();
+                }
+            }
+            return total;
+        }
+
+        private Stripe stripeFor(String key) {
+            int h = key.hashCode();
+            return stripes[(h ^ (h >>> 16)) & (STRIPES - 1)];
+        }
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Record> records;
+
+        private Stripe(int capacity) {
+            this.records = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Record> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+
+    private static final class Record {
+
+        private int failures;
+        private long lastFailure;
+        private long lockedUntil;
+    }
+
+    /**
+     * 登录保护统计
+     */
+    public static class Stats {
+
+        private final long blockedAttempts;
+        private final long recordedFailures;
+        private final long lockouts;
+        private final int lockedEmails;
+        private final int lockedIps;
+        private final int trackedKeys;
+
+        public Stats(long blockedAttempts, long recordedFailures, long lockouts,
+                     int lockedEmails, int lockedIps, int trackedKeys) {
+            this.blockedAttempts = blockedAttempts;
+            this.recordedFailures = recordedFailures;
+            this.lockouts = lockouts;
+            this.lockedEmails = lockedEmails;
+            this.lockedIps = lockedIps;
+            this.trackedKeys = trackedKeys;
+        }
+
+        public long getBlockedAttempts() {
+            return blockedAttempts;
+        }
+
+        public long getRecordedFailures() {
+            return recordedFailures;
+        }
+
+        public long getLockouts() {
+            return lockouts;
+        }
+
+        public int getLockedEmails() {
+            return lockedEmails;
+        }
+
+        public int getLockedIps() {
+            return lockedIps;
+        }
+
+        public int getTrackedKeys() {
+            return trackedKeys;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.booking.system.security;
+
+import com.booking.system.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * 请求限流器
+ * 根据配置的路由组为请求选择令牌桶，按IP和按认证用户分别计数。
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * 限流维度
+     */
+    public enum Scope {
+        IP,
+        PRINCIPAL
+    }
+
+    private final RateLimitProperties properties;
+    private final List<RouteGroup> routeGroups;
+    private final TokenBucketStore store;
+    private final ClientIpResolver clientIpResolver;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, ClientIpResolver clientIpResolver) {
+        this(properties, clientIpResolver, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, ClientIpResolver clientIpResolver, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.clientIpResolver = clientIpResolver;
+        this.nanoClock = nanoClock;
+        this.store = new TokenBucketStore(
+                properties.getMaxKeys(),
+                properties.getStripes(),
+                properties.getIdleTimeout().toNanos()
+        );
+        this.routeGroups = new ArrayList<>();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routeGroups.add(new RouteGroup(route));
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 检查请求是否超限
+     *
+     * @param key 维度对应的标识（IP或用户名）
+     * @return 0表示放行；否则为建议的重试等待秒数
+     */
+    public long check(HttpServletRequest request, Scope scope, String key) {
+        if (!properties.isEnabled() || !StringUtils.hasText(key)) {
+            return 0L;
+        }
+        RouteGroup group = match(request);
+        if (group == null) {
+            return 0L;
+        }
+        RateLimitProperties.Limit limit = scope == Scope.IP ? group.route.getIp() : group.route.getPrincipal();
+        if (limit == null || limit.getCapacity() <= 0) {
+            return 0L;
+        }
+        long waitNanos = store.tryAcquire(
+                group.keyPrefix(scope) + key,
+                limit.getCapacity(),
+                limit.getRefillPerSecond(),
+                nanoClock.getAsLong()
+        );
+        if (waitNanos == 0L) {
+            return 0L;
+        }
+        return Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    /**
+     * 解析客户端IP
+     */
+    public String resolveClientIp(HttpServletRequest request) {
+        return clientIpResolver.resolve(request);
+    }
+
+    int trackedKeys() {
+        return store.size();
+    }
+
+    private RouteGroup match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        for (RouteGroup group : routeGroups) {
+            if (group.matches(method, path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static final class RouteGroup {
+
+        private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+        private final RateLimitProperties.Route route;
+        private final List<String> methods;
+        private final String ipPrefix;
+        private final String principalPrefix;
+
+        private RouteGroup(RateLimitProperties.Route route) {
+            this.route = route;
+            this.methods = new ArrayList<>();
+            for (String method : route.getMethods()) {
+                methods.add(method.toUpperCase(Locale.ROOT));
+            }
+            String name = StringUtils.hasText(route.getName()) ? route.getName() : route.getPattern();
+            this.ipPrefix = name + "|ip|";
+            this.principalPrefix = name + "|user|";
+        }
+
+        private boolean matches(String method, String path) {
+            return (methods.isEmpty() || methods.contains(method)) && PATH_MATCHER.match(route.getPattern(), path);
+        }
+
+        private String keyPrefix(Scope scope) {
+            return scope == Scope.IP ? ipPrefix : principalPrefix;
+        }
+    }
+}
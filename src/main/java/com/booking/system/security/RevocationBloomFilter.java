@@ -0,0 +1,124 @@
+package com.booking.system.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 吊销记录的布隆过滤器
+ * 过滤器热路径上只做位运算，不分配对象；未命中即可确定令牌未被吊销，命中时再回表确认。
+ * 吊销记录最多存活一个访问令牌有效期，因此采用两代轮换：写入当前代，查询两代，
+ * 每过一个有效期丢弃最老的一代，保证内存固定且已过期的吊销不会永久占用位。
+ * 过滤器只包含写入过的键：多实例部署时由TokenRevocationService定期从数据库同步其他实例的吊销，
+ * 同步过期时不能依据未命中放行。
+ */
+public class RevocationBloomFilter {
+
+    public static final int KIND_TOKEN = 1;
+    public static final int KIND_SUBJECT = 2;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int bitCount;
+    private final int hashCount;
+    private final long generationMillis;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long currentStartedAt;
+
+    public RevocationBloomFilter(int bitCount, int hashCount, long generationMillis, long nowMillis) {
+        if (bitCount <= 0 || hashCount <= 0 || generationMillis <= 0) {
+            throw new IllegalArgumentException("Bloom filter parameters must be positive");
+        }
+        // 向上取整到64的倍数，按long存储
+        this.bitCount = ((bitCount + 63) >>> 6) << 6;
+        this.hashCount = hashCount;
+        this.generationMillis = generationMillis;
+        this.current = new AtomicLongArray(this.bitCount >>> 6);
+        this.previous = new AtomicLongArray(this.bitCount >>> 6);
+        this.currentStartedAt = nowMillis;
+    }
+
+    /**
+     * 记录一个吊销键
+     */
+    public void put(int kind, CharSequence key, long nowMillis) {
+        rotateIfNeeded(nowMillis);
+        long h1 = hash(kind, key);
+        long h2 = mix(h1);
+        AtomicLongArray bits = current;
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1 + i * h2);
+            long mask = 1L << index;
+            int word = index >>> 6;
+            long old;
+            do {
+                old = bits.get(word);
+                if ((old & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, old, old | mask));
+        }
+    }
+
+    /**
+     * 判断吊销键是否可能存在
+     *
+     * @return false表示一定未被吊销；true需要进一步确认
+     */
+    public boolean mightContain(int kind, CharSequence key, long nowMillis) {
+        rotateIfNeeded(nowMillis);
+        long h1 = hash(kind, key);
+        long h2 = mix(h1);
+        return contains(current, h1, h2) || contains(previous, h1, h2);
+    }
+
+    private boolean contains(AtomicLongArray bits, long h1, long h2) {
+        for (int i = 0; i < hashCount; i++) {
+            int index = index(h1 + i * h2);
+            if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfNeeded(long nowMillis) {
+        if (nowMillis - currentStartedAt < generationMillis) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = nowMillis - currentStartedAt;
+            if (elapsed < generationMillis) {
+                return;
+            }
+            // 超过两代未写入时两代都已过期
+            previous = elapsed >= 2 * generationMillis ? new AtomicLongArray(bitCount >>> 6) : current;
+            current = new AtomicLongArray(bitCount >>> 6);
+            currentStartedAt = nowMillis;
+        }
+    }
+
+    private int index(long combined) {
+        return (int) ((combined & Long.MAX_VALUE) % bitCount);
+    }
+
+    private static long hash(int kind, CharSequence key) {
+        long h = FNV_OFFSET_BASIS ^ kind;
+        h *= FNV_PRIME;
+        for (int i = 0, n = key.length(); i < n; i++) {
+            h ^= key.charAt(i);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1L;
+    }
+}
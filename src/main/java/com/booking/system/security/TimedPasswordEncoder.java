@@ -0,0 +1,54 @@
+package com.booking.system.security;
+
+import com.booking.system.infrastructure.tracing.Span;
+import com.booking.system.infrastructure.tracing.Tracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 记录耗时的密码编码器
+ * bcrypt是登录和注册的主要CPU开销，按operation（encode、matches）记录到auth.password.hash，
+ * 并在链路中记为单独的span
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Tracer tracer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry, Tracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+        this.encodeTimer = timer(meterRegistry, "encode");
+        this.matchesTimer = timer(meterRegistry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        try (Span span = tracer.startSpan("PasswordEncoder.encode").tag("component", "security")) {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        try (Span span = tracer.startSpan("PasswordEncoder.matches").tag("component", "security")) {
+            Boolean matched = matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+            return Boolean.TRUE.equals(matched);
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hash")
+            .tag("operation", operation)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,129 @@
+package com.booking.system.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段加锁、容量有界的令牌桶表
+ * 每个分段是一个按访问顺序排列的LinkedHashMap，超过分段容量时淘汰最久未访问的键，
+ * 访问时顺带清理队首已空闲超时的键，因此内存占用不会随攻击者伪造的键无限增长。
+ */
+public class TokenBucketStore {
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long idleTimeoutNanos;
+
+    public TokenBucketStore(int maxKeys, int stripeCount, long idleTimeoutNanos) {
+        if (maxKeys <= 0 || stripeCount <= 0 || idleTimeoutNanos <= 0) {
+            throw new IllegalArgumentException("Token bucket store parameters must be positive");
+        }
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        int perStripe = Math.max(1, maxKeys / size);
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.idleTimeoutNanos = idleTimeoutNanos;
+    }
+
+    /**
+     * 尝试从键对应的令牌桶中取出一个令牌
+     *
+     * @return 0表示放行；否则为需要等待的纳秒数
+     */
+    public long tryAcquire(String key, int capacity, double refillPerSecond, long nowNanos) {
+        Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(nowNanos, idleTimeoutNanos);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, nowNanos);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(capacity, refillPerSecond, nowNanos);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 当前跟踪的键数量
+     */
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                total += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        private Stripe(int capacity) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        private void evictIdle(long nowNanos, long idleTimeoutNanos) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext()) {
+                Bucket eldest = iterator.next();
+                if (nowNanos - eldest.lastAccessNanos < idleTimeoutNanos) {
+                    return;
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+        private long lastAccessNanos;
+
+        private Bucket(int capacity, long nowNanos) {
+            this.tokens = capacity;
+            this.lastRefillNanos = nowNanos;
+            this.lastAccessNanos = nowNanos;
+        }
+
+        private long tryConsume(int capacity, double refillPerSecond, long nowNanos) {
+            long elapsed = nowNanos - lastRefillNanos;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + elapsed * refillPerSecond / 1_000_000_000d);
+                lastRefillNanos = nowNanos;
+            }
+            lastAccessNanos = nowNanos;
+            if (tokens >= 1d) {
+                tokens -= 1d;
+                return 0L;
+            }
+            if (refillPerSecond <= 0) {
+                return Long.MAX_VALUE;
+            }
+            return (long) Math.ceil((1d - tokens) * 1_000_000_000d / refillPerSecond);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.booking.system.security;
+
+import com.booking.system.entity.TokenRevocation;
+import com.booking.system.repository.TokenRevocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 访问令牌吊销服务
+ * 支持按令牌ID（登出）和按用户（全部下线、刷新令牌被重放）吊销。
+ * 过滤器先查询布隆过滤器，只有可能命中时才访问数据库。
+ * 其他实例的吊销只写入数据库，本实例每隔sync-interval按吊销时间增量同步到布隆过滤器；
+ * 只有最近一次同步在max-staleness之内时才信任过滤器的未命中，否则直接查询数据库。
+ * 因此其他实例的吊销最迟在一个同步间隔后生效，本实例的吊销立即生效。
+ */
+@Service
+public class TokenRevocationService {
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Value("${jwt.revocation.bloom-bits:1048576}")
+    private int bloomBits;
+
+    @Value("${jwt.revocation.bloom-hashes:5}")
+    private int bloomHashes;
+
+    /**
+     * 增量同步向前多读的时长，覆盖晚提交的事务和实例间的时钟偏差
+     */
+    @Value("${jwt.revocation.sync-overlap-ms:30000}")
+    private long syncOverlapMillis;
+
+    @Value("${jwt.revocation.max-staleness-ms:15000}")
+    private long maxStalenessMillis;
+
+    private volatile RevocationBloomFilter bloomFilter;
+    /**
+     * 过滤器已包含此刻之前提交的所有吊销（减去同步重叠窗口内的晚提交）；0表示尚未从数据库加载
+     */
+    private volatile long syncedAtMillis;
+
+    /**
+     * 吊销单个访问令牌，记录保留到令牌过期
+     */
+    @Transactional
+    public void revokeToken(String tokenId, long expiresAtMillis) {
+        if (tokenId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        tokenRevocationRepository.save(new TokenRevocation(
+                null, tokenId, TokenRevocation.TYPE_TOKEN, toLocalDateTime(now), toLocalDateTime(expiresAtMillis)));
+        getBloomFilter().put(RevocationBloomFilter.KIND_TOKEN, tokenId, now);
+    }
+
+    /**
+     * 吊销用户在此刻之前签发的所有访问令牌
+     */
+    @Transactional
+    public void revokeSubject(String subject) {
+        long now = System.currentTimeMillis();
+        tokenRevocationRepository.save(new TokenRevocation(
+                null, subject, TokenRevocation.TYPE_SUBJECT,
+                toLocalDateTime(now), toLocalDateTime(now + tokenProvider.getExpirationMillis())));
+        getBloomFilter().put(RevocationBloomFilter.KIND_SUBJECT, subject, now);
+    }
+
+    /**
+     * 判断访问令牌是否已被吊销
+     */
+    public boolean isRevoked(AccessTokenClaims claims) {
+        long now = System.currentTimeMillis();
+        RevocationBloomFilter filter = getBloomFilter();
+        // 过滤器过期时未命中不可信，两类吊销都回表
+        boolean complete = now - syncedAtMillis <= maxStalenessMillis;
+
+        String tokenId = claims.getTokenId();
+        if (tokenId != null && (!complete || filter.mightContain(RevocationBloomFilter.KIND_TOKEN, tokenId, now))
+                && tokenRevocationRepository.existsByRevocationKeyAndRevocationType(tokenId, TokenRevocation.TYPE_TOKEN)) {
+            return true;
+        }
+
+        String subject = claims.getSubject();
+        if (subject != null && (!complete || filter.mightContain(RevocationBloomFilter.KIND_SUBJECT, subject, now))) {
+            return tokenRevocationRepository
+                    .findTopByRevocationKeyAndRevocationTypeOrderByRevokedAtDesc(subject, TokenRevocation.TYPE_SUBJECT)
+                    .map(revocation -> isIssuedBefore(claims, revocation))
+                    .orElse(false);
+        }
+        return false;
+    }
+
+    /**
+     * 启动时从数据库重建布隆过滤器并清理过期记录
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reload() {
+        long now = System.currentTimeMillis();
+        LocalDateTime nowTime = toLocalDateTime(now);
+        tokenRevocationRepository.deleteExpired(nowTime);
+
+        RevocationBloomFilter filter = newBloomFilter(now);
+        putAll(filter, tokenRevocationRepository.findByExpiresAtAfter(nowTime), now);
+        bloomFilter = filter;
+        syncedAtMillis = now;
+    }
+
+    /**
+     * 把上次同步以来其他实例写入的吊销合并进布隆过滤器
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    @Transactional
+    public void sync() {
+        long previous = syncedAtMillis;
+        if (previous == 0) {
+            reload();
+            return;
+        }
+        long now = System.currentTimeMillis();
+        putAll(getBloomFilter(), tokenRevocationRepository.findByRevokedAtGreaterThanEqual(
+                toLocalDateTime(previous - syncOverlapMillis)), now);
+        syncedAtMillis = now;
+    }
+
+    private static void putAll(RevocationBloomFilter filter, Iterable<TokenRevocation> revocations, long now) {
+        for (TokenRevocation revocation : revocations) {
+            int kind = TokenRevocation.TYPE_SUBJECT.equals(revocation.getRevocationType())
+                    ? RevocationBloomFilter.KIND_SUBJECT
+                    : RevocationBloomFilter.KIND_TOKEN;
+            filter.put(kind, revocation.getRevocationKey(), now);
+        }
+    }
+
+    private boolean isIssuedBefore(AccessTokenClaims claims, TokenRevocation revocation) {
+        // iat精度为秒，同一秒内签发的令牌按已吊销处理
+        long revokedAtSeconds = toEpochMillis(revocation.getRevokedAt()) / 1000;
+        return claims.getIssuedAtMillis() / 1000 <= revokedAtSeconds;
+    }
+
+    private RevocationBloomFilter getBloomFilter() {
+        RevocationBloomFilter filter = bloomFilter;
+        if (filter == null) {
+            synchronized (this) {
+                filter = bloomFilter;
+                if (filter == null) {
+                    filter = newBloomFilter(System.currentTimeMillis());
+                    bloomFilter = filter;
+                }
+            }
+        }
+        return filter;
+    }
+
+    private RevocationBloomFilter newBloomFilter(long now) {
+        return new RevocationBloomFilter(bloomBits, bloomHashes, tokenProvider.getExpirationMillis(), now);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,197 @@
+package com.booking.system.security;
+
+import com.booking.system.domain.event.UserAccountEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 认证信息缓存
+ * 按邮箱缓存UserPrincipal，条目数量有上限并带TTL；用户账户变更事件到达时立即失效，
+ * 事务提交后再失效一次，避免并发登录在提交前把旧数据重新放回缓存。
+ * 每次读取都返回副本：认证成功后Spring Security会擦除主体中的密码，不能共享缓存实例。
+ */
+@Component
+public class UserDetailsCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public UserDetailsCache(@Value("${user-details-cache.max-size:10000}") int maxSize,
+                            @Value("${user-details-cache.ttl:5m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    UserDetailsCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 读取缓存，未命中时通过loader加载
+     * loader抛出的异常（如用户不存在）直接向上传递，不做负缓存
+     */
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        if (maxSize <= 0) {
+            return loader.apply(email);
+        }
+
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(email);
+        if (entry != null && now - entry.loadedAtNanos < ttlNanos) {
+            hits.increment();
+            return copyOf(entry.principal);
+        }
+
+        misses.increment();
+        long epoch = invalidations.get();
+        UserPrincipal loaded = loader.apply(email);
+        // 加载期间发生过失效则不回填，下次请求重新加载
+        if (invalidations.get() == epoch) {
+            entries.put(email, new Entry(copyOf(loaded), now));
+            if (entries.size() > maxSize) {
+                evictOverflow(now);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 失效指定邮箱的缓存
+     */
+    public void invalidate(String email) {
+        invalidations.incrementAndGet();
+        if (email != null && entries.remove(email) != null) {
+            evictions.increment();
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    @EventListener
+    public void onUserAccountChanged(UserAccountEvent event) {
+        event.getAffectedEmails().forEach(this::invalidate);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    event.getAffectedEmails().forEach(UserDetailsCache.this::invalidate);
+                }
+            });
+        }
+    }
+
+    /**
+     * 缓存统计
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evictOverflow(long now) {
+        // 先清理过期条目，仍超限时按迭代顺序淘汰
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > maxSize) {
+            Map.Entry<String, Entry> candidate = iterator.next();
+            if (now - candidate.getValue().loadedAtNanos >= ttlNanos) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > maxSize) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+
+    private static UserPrincipal copyOf(UserPrincipal principal) {
+        return new UserPrincipal(
+                principal.getId(),
+                principal.getEmail(),
+                principal.getDisplayUsername(),
+                principal.getPassword(),
+                principal.getRole(),
+                principal.isEnabled()
+        );
+    }
+
+    private static final class Entry {
+
+        private final UserPrincipal principal;
+        private final long loadedAtNanos;
+
+        private Entry(UserPrincipal principal, long loadedAtNanos) {
+            this.principal = principal;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    /**
+     * 缓存命中统计
+     */
+    public static class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+
+        public Stats(long hits, long misses, long evictions, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0d : (double) hits / total;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.booking.system.security;
+
+import com.booking.system.entity.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * 认证主体
+ * 在Spring Security的User基础上携带已加载的用户信息，避免认证成功后再次查询数据库；
+ * 停用的账户映射为enabled=false，登录和令牌认证都会拒绝
+ */
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final String displayUsername;
+    private final String role;
+
+    public UserPrincipal(Long id, String email, String displayUsername, String passwordHash, String role) {
+        this(id, email, displayUsername, passwordHash, role, true);
+    }
+
+    public UserPrincipal(Long id, String email, String displayUsername, String passwordHash, String role,
+                         boolean enabled) {
+        super(email, passwordHash, enabled, true, true, true,
+                Collections.singletonList(new SimpleGrantedAuthority(role)));
+        this.id = id;
+        this.displayUsername = displayUsername;
+        this.role = role;
+    }
+
+    /**
+     * 从用户实体创建认证主体
+     */
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getUsername(),
+                user.getPasswordHash(),
+                user.getRole(),
+                Boolean.TRUE.equals(user.getIsActive())
+        );
+    }
+
+    /**
+     * 获取用户ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * 获取邮箱（Spring Security中的username即邮箱）
+     */
+    public String getEmail() {
+        return getUsername();
+    }
+
+    /**
+     * 获取用户名（展示用）
+     */
+    public String getDisplayUsername() {
+        return displayUsername;
+    }
+
+    /**
+     * 获取角色
+     */
+    public String getRole() {
+        return role;
+    }
+}
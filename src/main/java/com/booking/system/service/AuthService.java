@@ -5,38 +5,51 @@ import com.booking.system.dto.request.RegisterRequest;
 import com.booking.system.dto.response.AuthResponse;
 import com.booking.system.entity.User;
 import com.booking.system.exception.AuthenticationException;
+import com.booking.system.exception.TooManyRequestsException;
 import com.booking.system.repository.UserRepository;
+import com.booking.system.security.AccessTokenClaims;
 import com.booking.system.security.JwtTokenProvider;
+import com.booking.system.security.LoginAttemptTracker;
+import com.booking.system.security.TokenRevocationService;
+import com.booking.system.security.UserPrincipal;
 import com.booking.system.domain.service.AuthDomainService;
-import com.booking.system.infrastructure.adapters.UserAdapter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
 @Service
 public class AuthService {
 
     @Autowired
-    private UserRepository userRepository;
+    private AuthenticationManager authenticationManager;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private JwtTokenProvider tokenProvider;
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private AuthDomainService authDomainService;
 
     @Autowired
-    private JwtTokenProvider tokenProvider;
+    private RefreshTokenService refreshTokenService;
 
     @Autowired
-    private AuthDomainService authDomainService;
+    private TokenRevocationService tokenRevocationService;
 
     @Autowired
-    private UserAdapter userAdapter;
+    private UserRepository userRepository;
+
+    @Autowired
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -55,28 +68,89 @@ public class AuthService {
             throw new AuthenticationException(e.getMessage());
         }
 
-        // 通过UserAdapter转换为旧实体User以进行后续处理
-        User legacyUser = userAdapter.toLegacy(domainUser);
-
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        // 直接基于刚保存的聚合签发令牌，无需再次认证（避免重复查询和第二次bcrypt）
+        String email = domainUser.getEmail().getValue();
+        String token = tokenProvider.generateToken(email);
+        RefreshTokenService.IssuedToken refreshToken =
+                refreshTokenService.issue(userRepository.getReferenceById(domainUser.getId()));
 
-        String token = tokenProvider.generateToken(authentication);
-
-        return new AuthResponse(token, legacyUser.getEmail(), legacyUser.getUsername(), legacyUser.getRole());
+        return new AuthResponse(token, email, domainUser.getUsername(), domainUser.getRole(),
+                refreshToken.getToken(), expiresInSeconds());
     }
 
     public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-        );
+        return login(request, null);
+    }
+
+    /**
+     * 锁定检查和bcrypt比对都在事务之外，比对期间不占用连接池中的连接；
+     * 认证通过后才开启短事务签发刷新令牌
+     */
+    public AuthResponse login(LoginRequest request, String clientIp) {
+        // 锁定检查在密码比对之前，被锁定的请求不消耗bcrypt
+        long lockedMillis = loginAttemptTracker.checkBlocked(request.getEmail(), clientIp);
+        if (lockedMillis > 0) {
+            long retryAfterSeconds = (lockedMillis + 999) / 1000;
+            throw new TooManyRequestsException(
+                    "Too many failed login attempts, retry after " + retryAfterSeconds + " seconds",
+                    retryAfterSeconds);
+        }
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
+            );
+        } catch (BadCredentialsException e) {
+            loginAttemptTracker.recordFailure(request.getEmail(), clientIp);
+            throw e;
+        }
+        loginAttemptTracker.recordSuccess(request.getEmail());
 
         String token = tokenProvider.generateToken(authentication);
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new AuthenticationException("User not found"));
+        // 认证过程中已加载用户，直接从认证结果中读取
+        if (!(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            throw new AuthenticationException("User not found");
+        }
+
+        RefreshTokenService.IssuedToken refreshToken = new TransactionTemplate(transactionManager).execute(status ->
+                refreshTokenService.issue(userRepository.getReferenceById(principal.getId())));
+
+        return new AuthResponse(token, principal.getEmail(), principal.getDisplayUsername(), principal.getRole(),
+                refreshToken.getToken(), expiresInSeconds());
+    }
+
+    /**
+     * 使用刷新令牌换取新的访问令牌，刷新令牌同时轮换
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public AuthResponse refresh(String rawRefreshToken) {
+        RefreshTokenService.IssuedToken refreshToken = refreshTokenService.rotate(rawRefreshToken);
+        User user = refreshToken.getUser();
+        String token = tokenProvider.generateToken(user.getEmail());
+
+        return new AuthResponse(token, user.getEmail(), user.getUsername(), user.getRole(),
+                refreshToken.getToken(), expiresInSeconds());
+    }
+
+    /**
+     * 登出：吊销当前访问令牌，并作废提交的刷新令牌
+     */
+    @Transactional
+    public void logout(String accessToken, String rawRefreshToken) {
+        if (StringUtils.hasText(accessToken)) {
+            AccessTokenClaims claims = tokenProvider.parseToken(accessToken);
+            if (claims != null) {
+                tokenRevocationService.revokeToken(claims.getTokenId(), claims.getExpiresAtMillis());
+            }
+        }
+        if (StringUtils.hasText(rawRefreshToken)) {
+            refreshTokenService.revoke(rawRefreshToken);
+        }
+    }
 
-        return new AuthResponse(token, user.getEmail(), user.getUsername(), user.getRole());
+    private long expiresInSeconds() {
+        return tokenProvider.getExpirationMillis() / 1000;
     }
 }
@@ -0,0 +1,109 @@
+package com.booking.system.service;
+
+import com.booking.system.exception.BookingException;
+import com.booking.system.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 预订指标
+ * booking.requests：预订和取消的耗时，按operation和outcome（success、rejected、error）打标签，发布分位数和直方图；
+ * 成功的请求在事务完成后记录，包含提交时间。
+ * booking.rejections：被业务规则拒绝的次数，按operation和reason打标签。
+ * db.lock.wait：悲观锁查询的等待时间，按表打标签。
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String CREATE = "create";
+    public static final String CANCEL = "cancel";
+
+    public static final String FULL = "full";
+    public static final String DUPLICATE = "duplicate";
+    public static final String NOT_SCHEDULED = "not-scheduled";
+    public static final String STARTED = "started";
+    public static final String OVERLAP = "overlap";
+    public static final String NOT_OWNER = "not-owner";
+    public static final String ALREADY_CANCELLED = "already-cancelled";
+    public static final String NOT_FOUND = "not-found";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * 记录成功的请求；在事务中调用时推迟到事务完成，回滚记为error
+     */
+    public void recordSuccess(Timer.Sample sample, String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sample.stop(timer(operation, "success"));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sample.stop(timer(operation, status == STATUS_COMMITTED ? "success" : "error"));
+            }
+        });
+    }
+
+    /**
+     * 记录失败的请求，业务拒绝按原因计数
+     */
+    public void recordFailure(Timer.Sample sample, String operation, RuntimeException failure) {
+        String reason = null;
+        if (failure instanceof BookingException bookingException) {
+            reason = bookingException.getReason() != null ? bookingException.getReason() : "other";
+        } else if (failure instanceof ResourceNotFoundException) {
+            reason = NOT_FOUND;
+        }
+        if (reason == null) {
+            sample.stop(timer(operation, "error"));
+            return;
+        }
+        sample.stop(timer(operation, "rejected"));
+        rejection(operation, reason).increment();
+    }
+
+    /**
+     * 记录悲观锁查询的等待时间
+     */
+    public <T> T timeLockWait(String table, Supplier<T> lockQuery) {
+        return timers.computeIfAbsent("lock:" + table, key -> Timer.builder("db.lock.wait")
+            .tag("table", table)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry)).record(lockQuery);
+    }
+
+    private Counter rejection(String operation, String reason) {
+        return rejections.computeIfAbsent(operation + ':' + reason, key -> Counter.builder("booking.rejections")
+            .tag("operation", operation)
+            .tag("reason", reason)
+            .register(meterRegistry));
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.computeIfAbsent(operation + ':' + outcome, key -> Timer.builder("booking.requests")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+}
@@ -1,21 +1,34 @@
 package com.booking.system.service;
 
+import com.booking.system.domain.event.BookingConfirmedEvent;
 import com.booking.system.dto.request.BookingRequest;
+import com.booking.system.dto.request.BookingValidationRequest;
 import com.booking.system.dto.response.BookingResponse;
+import com.booking.system.dto.response.BookingValidationResponse;
 import com.booking.system.entity.Booking;
 import com.booking.system.entity.ClassSchedule;
 import com.booking.system.entity.User;
 import com.booking.system.exception.BookingException;
 import com.booking.system.exception.ResourceNotFoundException;
+import com.booking.system.infrastructure.outbox.TransactionalOutbox;
 import com.booking.system.repository.BookingRepository;
 import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.UserRepository;
+import com.booking.system.service.UserBookingIntervalCache.BookedIntervals;
+import com.booking.system.service.UserBookingIntervalCache.Interval;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,29 +43,73 @@ public class BookingService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserBookingIntervalCache userBookingIntervalCache;
+
+    @Autowired
+    private TransactionalOutbox outbox;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
     @Transactional
     public BookingResponse createBooking(String userEmail, BookingRequest request) {
+        Timer.Sample sample = bookingMetrics.start();
+        try {
+            BookingResponse response = book(userEmail, request);
+            bookingMetrics.recordSuccess(sample, BookingMetrics.CREATE);
+            return response;
+        } catch (RuntimeException e) {
+            bookingMetrics.recordFailure(sample, BookingMetrics.CREATE, e);
+            throw e;
+        }
+    }
+
+    @Transactional
+    public void cancelBooking(String userEmail, Long bookingId) {
+        Timer.Sample sample = bookingMetrics.start();
+        try {
+            cancel(userEmail, bookingId);
+            bookingMetrics.recordSuccess(sample, BookingMetrics.CANCEL);
+        } catch (RuntimeException e) {
+            bookingMetrics.recordFailure(sample, BookingMetrics.CANCEL, e);
+            throw e;
+        }
+    }
+
+    private BookingResponse book(String userEmail, BookingRequest request) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        // 同一用户的预订和取消串行执行，时间段缓存与数据库保持一致
+        bookingMetrics.timeLockWait("users", () -> userRepository.findByIdWithLock(user.getId()));
 
-        ClassSchedule classSchedule = classScheduleRepository
-                .findByIdWithLock(request.getClassScheduleId())
+        ClassSchedule classSchedule = bookingMetrics.timeLockWait("class_schedules",
+                () -> classScheduleRepository.findByIdWithLock(request.getClassScheduleId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found"));
 
         if (!"SCHEDULED".equals(classSchedule.getStatus())) {
-            throw new BookingException("Class is not available for booking");
+            throw new BookingException("Class is not available for booking", BookingMetrics.NOT_SCHEDULED);
         }
 
         if (classSchedule.getStartTime().isBefore(LocalDateTime.now())) {
-            throw new BookingException("Cannot book a class that has already started or passed");
+            throw new BookingException("Cannot book a class that has already started or passed",
+                BookingMetrics.STARTED);
         }
 
         if (classSchedule.getCurrentBookings() >= classSchedule.getCapacity()) {
-            throw new BookingException("Class is full");
+            throw new BookingException("Class is full", BookingMetrics.FULL);
         }
 
         if (bookingRepository.existsByUserIdAndClassScheduleId(user.getId(), classSchedule.getId())) {
-            throw new BookingException("You have already booked this class");
+            throw new BookingException("You have already booked this class", BookingMetrics.DUPLICATE);
+        }
+
+        Interval interval = new Interval(classSchedule.getId(), classSchedule.getStartTime(),
+            classSchedule.getEndTime());
+        Optional<Interval> overlap = userBookingIntervalCache.get(user.getId(), this::loadBookedIntervals)
+                .findOverlap(interval.startTime(), interval.endTime());
+        if (overlap.isPresent()) {
+            throw new BookingException(overlapMessage(overlap.get()), BookingMetrics.OVERLAP);
         }
 
         Booking booking = new Booking();
@@ -65,27 +122,31 @@ public class BookingService {
         classScheduleRepository.save(classSchedule);
 
         booking = bookingRepository.save(booking);
+        userBookingIntervalCache.add(user.getId(), interval);
+        outbox.append("ClassSchedule", classSchedule.getId(), List.of(new BookingConfirmedEvent(booking.getId(),
+            classSchedule.getId(), user.getId(), classSchedule.getName(), classSchedule.getStartTime())));
 
         return convertToResponse(booking);
     }
 
-    @Transactional
-    public void cancelBooking(String userEmail, Long bookingId) {
+    private void cancel(String userEmail, Long bookingId) {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        bookingMetrics.timeLockWait("users", () -> userRepository.findByIdWithLock(user.getId()));
 
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found"));
 
         if (!booking.getUser().getId().equals(user.getId())) {
-            throw new BookingException("You can only cancel your own bookings");
+            throw new BookingException("You can only cancel your own bookings", BookingMetrics.NOT_OWNER);
         }
 
         if ("CANCELLED".equals(booking.getBookingStatus())) {
-            throw new BookingException("Booking is already cancelled");
+            throw new BookingException("Booking is already cancelled", BookingMetrics.ALREADY_CANCELLED);
         }
 
-        ClassSchedule classSchedule = classScheduleRepository.findByIdWithLock(booking.getClassSchedule().getId())
+        ClassSchedule classSchedule = bookingMetrics.timeLockWait("class_schedules",
+                () -> classScheduleRepository.findByIdWithLock(booking.getClassSchedule().getId()))
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found"));
 
         booking.setBookingStatus("CANCELLED");
@@ -94,6 +155,63 @@ public class BookingService {
 
         classSchedule.setCurrentBookings(Math.max(0, classSchedule.getCurrentBookings() - 1));
         classScheduleRepository.save(classSchedule);
+        userBookingIntervalCache.remove(user.getId(), new Interval(classSchedule.getId(),
+            classSchedule.getStartTime(), classSchedule.getEndTime()));
+    }
+
+    /**
+     * 批量预订前的校验，按请求顺序逐节检查，不做任何修改
+     * 排在前面且可预订的课程视为已预订，后面与之重叠的课程判为批内冲突
+     */
+    @Transactional(readOnly = true)
+    public List<BookingValidationResponse> validateBookings(String userEmail, BookingValidationRequest request) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        List<Long> classScheduleIds = request.getClassScheduleIds();
+        Map<Long, ClassSchedule> classes = classScheduleRepository.findAllById(classScheduleIds).stream()
+                .collect(Collectors.toMap(ClassSchedule::getId, Function.identity()));
+        Set<Long> alreadyBooked = new HashSet<>(
+                bookingRepository.findBookedClassScheduleIds(user.getId(), classScheduleIds));
+        BookedIntervals booked = userBookingIntervalCache.snapshot(user.getId(), this::loadBookedIntervals);
+        Set<Long> accepted = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingValidationResponse> results = new ArrayList<>();
+        for (Long classScheduleId : classScheduleIds) {
+            ClassSchedule classSchedule = classes.get(classScheduleId);
+            String reason = null;
+            Long conflictingClassId = null;
+            if (classSchedule == null) {
+                reason = "Class not found";
+            } else if (!"SCHEDULED".equals(classSchedule.getStatus())) {
+                reason = "Class is not available for booking";
+            } else if (classSchedule.getStartTime().isBefore(now)) {
+                reason = "Cannot book a class that has already started or passed";
+            } else if (classSchedule.getCurrentBookings() >= classSchedule.getCapacity()) {
+                reason = "Class is full";
+            } else if (alreadyBooked.contains(classScheduleId)) {
+                reason = "You have already booked this class";
+            } else if (accepted.contains(classScheduleId)) {
+                reason = "Class is listed more than once";
+            } else {
+                Optional<Interval> overlap = booked.findOverlap(classSchedule.getStartTime(),
+                    classSchedule.getEndTime());
+                if (overlap.isPresent()) {
+                    conflictingClassId = overlap.get().classScheduleId();
+                    reason = accepted.contains(conflictingClassId)
+                        ? "Overlaps with class " + conflictingClassId + " in this batch"
+                        : overlapMessage(overlap.get());
+                }
+            }
+
+            if (reason == null) {
+                accepted.add(classScheduleId);
+                booked.add(new Interval(classScheduleId, classSchedule.getStartTime(), classSchedule.getEndTime()));
+            }
+            results.add(new BookingValidationResponse(classScheduleId, reason == null, reason, conflictingClassId));
+        }
+        return results;
     }
 
     public BookingResponse getBookingById(Long id) {
@@ -132,6 +250,17 @@ public class BookingService {
                 .collect(Collectors.toList());
     }
 
+    private List<Interval> loadBookedIntervals(Long userId) {
+        return bookingRepository.findConfirmedIntervalsEndingAfter(userId, LocalDateTime.now()).stream()
+                .map(view -> new Interval(view.getClassScheduleId(), view.getStartTime(), view.getEndTime()))
+                .collect(Collectors.toList());
+    }
+
+    private String overlapMessage(Interval overlap) {
+        return "You have already booked class " + overlap.classScheduleId() + " from "
+            + overlap.startTime() + " to " + overlap.endTime();
+    }
+
     private BookingResponse convertToResponse(Booking booking) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
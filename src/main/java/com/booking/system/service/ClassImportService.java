@@ -0,0 +1,448 @@
+package com.booking.system.service;
+
+import com.booking.system.domain.model.shared.Capacity;
+import com.booking.system.domain.model.shared.Location;
+import com.booking.system.domain.model.shared.TimeRange;
+import com.booking.system.dto.request.CreateClassRequest;
+import com.booking.system.dto.response.ClassImportResponse;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.Room;
+import com.booking.system.exception.BookingException;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.InstructorRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 课程批量导入服务
+ * 流式解析CSV/JSON上传，按块并行校验、批量写入，并逐行报告错误；
+ * 内存占用只与块大小和错误上报上限有关，与上传文件大小无关
+ */
+@Service
+public class ClassImportService {
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "starttime", "endtime", "capacity");
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ClassScheduleService classScheduleService;
+
+    @Autowired
+    private RoomUtilizationAggregator roomUtilizationAggregator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${class-import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${class-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * 导入CSV课表，首行为列名（name, description, instructorId, startTime, endTime, capacity, location）
+     */
+    public ClassImportResponse importCsv(InputStream input) {
+        CsvRecordReader reader = new CsvRecordReader(
+            new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+        Map<String, Integer> columns = readCsvHeader(reader);
+        return runImport(() -> {
+            List<String> record = reader.next();
+            return record == null ? null : parseCsvRecord(record, columns);
+        });
+    }
+
+    /**
+     * 导入JSON课表，内容为课程对象数组，字段与创建课程请求一致
+     */
+    public ClassImportResponse importJson(InputStream input) {
+        JsonParser parser;
+        try {
+            parser = objectMapper.getFactory().createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BookingException("JSON import must be an array of classes");
+            }
+        } catch (IOException e) {
+            throw new BookingException("Malformed JSON import: " + e.getMessage());
+        }
+        return runImport(() -> {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            // 每次只把一个数组元素读成树，类型错误只影响该行
+            JsonNode node = parser.readValueAsTree();
+            try {
+                return ParsedRow.of(objectMapper.treeToValue(node, CreateClassRequest.class));
+            } catch (JsonProcessingException e) {
+                return ParsedRow.failed("Invalid class: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private ClassImportResponse runImport(RowSource source) {
+        ClassImportResponse response = new ClassImportResponse();
+        // 一次性预加载讲师ID，逐行校验只做内存查找；写入时用引用代替实体加载
+        Set<Long> instructorIds = new HashSet<>(instructorRepository.findAllIds());
+        // 地点键到场地ID的缓存，整个导入过程中每个地点只解析一次
+        Map<String, Optional<Long>> roomIds = new HashMap<>();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        try {
+            ParsedRow parsed;
+            while ((parsed = source.next()) != null) {
+                chunk.add(parsed.withRow(++rowNumber));
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, instructorIds, roomIds, transactionTemplate, response);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // 输入已损坏，无法定位后续行：保留已解析的行，剩余部分记为一条错误
+            processChunk(chunk, instructorIds, roomIds, transactionTemplate, response);
+            chunk.clear();
+            recordError(response, rowNumber + 1, "Malformed input, import stopped: " + e.getMessage());
+        }
+        processChunk(chunk, instructorIds, roomIds, transactionTemplate, response);
+        response.setTotalRows(rowNumber);
+        return response;
+    }
+
+    private void processChunk(List<ParsedRow> chunk, Set<Long> instructorIds, Map<String, Optional<Long>> roomIds,
+                              TransactionTemplate transactionTemplate, ClassImportResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // 校验不访问持久化上下文，可以并行执行；结果保持原有行序
+        List<ValidatedRow> validated = chunk.parallelStream()
+            .map(row -> validate(row, instructorIds))
+            .toList();
+
+        List<ValidatedRow> valid = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.error() != null) {
+                recordError(response, row.row(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<ValidatedRow> accepted = new ArrayList<>(valid.size());
+        List<ValidatedRow> conflicts = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                accepted.clear();
+                conflicts.clear();
+                // 同一块内已接受的课程按讲师和场地分组，块内互相冲突的行也要拒绝；与单条排课相同，先锁讲师再锁场地
+                Map<Long, List<ClassSchedule>> acceptedByInstructor = new HashMap<>();
+                Map<Long, List<ClassSchedule>> acceptedByRoom = new HashMap<>();
+                List<ClassSchedule> classSchedules = new ArrayList<>(valid.size());
+                for (ValidatedRow row : valid) {
+                    ClassSchedule classSchedule = row.classSchedule();
+                    Long roomId = resolveRoomId(classSchedule.getLocation(), roomIds);
+                    try {
+                        if (row.instructorId() != null) {
+                            classScheduleService.ensureInstructorAvailable(row.instructorId(),
+                                classSchedule.getStartTime(), classSchedule.getEndTime(), null);
+                        }
+                        if (roomId != null) {
+                            roomService.ensureRoomAvailable(roomId, classSchedule.getStartTime(),
+                                classSchedule.getEndTime(), null);
+                        }
+                    } catch (BookingException e) {
+                        conflicts.add(row.withError(e.getMessage()));
+                        continue;
+                    }
+                    ClassSchedule sameInstructor = row.instructorId() == null ? null
+                        : findOverlapping(acceptedByInstructor, row.instructorId(), classSchedule);
+                    if (sameInstructor != null) {
+                        conflicts.add(row.withError("Instructor is already teaching " + sameInstructor.getName()
+                            + " from " + sameInstructor.getStartTime() + " to " + sameInstructor.getEndTime()));
+                        continue;
+                    }
+                    ClassSchedule sameRoom = roomId == null ? null
+                        : findOverlapping(acceptedByRoom, roomId, classSchedule);
+                    if (sameRoom != null) {
+                        conflicts.add(row.withError("Room is already booked by " + sameRoom.getName()
+                            + " from " + sameRoom.getStartTime() + " to " + sameRoom.getEndTime()));
+                        continue;
+                    }
+                    if (row.instructorId() != null) {
+                        classSchedule.setInstructor(instructorRepository.getReferenceById(row.instructorId()));
+                        acceptedByInstructor.computeIfAbsent(row.instructorId(), id -> new ArrayList<>())
+                            .add(classSchedule);
+                    }
+                    if (roomId != null) {
+                        classSchedule.setRoomId(roomId);
+                        acceptedByRoom.computeIfAbsent(roomId, id -> new ArrayList<>()).add(classSchedule);
+                    }
+                    classSchedules.add(classSchedule);
+                    accepted.add(row);
+                }
+                classScheduleRepository.saveAll(classSchedules);
+                roomUtilizationAggregator.recordAll(classSchedules);
+                // 写出本块后清空持久化上下文，避免已导入的实体在整个请求期间累积
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (ValidatedRow row : conflicts) {
+                recordError(response, row.row(), row.error());
+            }
+            response.setImportedRows(response.getImportedRows() + accepted.size());
+        } catch (DataAccessException | TransactionException | PersistenceException | BookingException e) {
+            // 本块已回滚，新登记的场地也随之撤销
+            roomIds.clear();
+            String message = "Failed to save: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (ValidatedRow row : valid) {
+                recordError(response, row.row(), message);
+            }
+        }
+    }
+
+    /**
+     * 本块中已接受的、与课程时间重叠的同一讲师或同一场地的课程
+     */
+    private static ClassSchedule findOverlapping(Map<Long, List<ClassSchedule>> accepted, Long key,
+                                                 ClassSchedule classSchedule) {
+        return accepted.getOrDefault(key, List.of()).stream()
+            .filter(other -> other.getStartTime().isBefore(classSchedule.getEndTime())
+                && classSchedule.getStartTime().isBefore(other.getEndTime()))
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * 解析地点对应的场地ID，线上地点或空地点返回null
+     */
+    private Long resolveRoomId(String location, Map<String, Optional<Long>> roomIds) {
+        if (location == null) {
+            return null;
+        }
+        String key = Location.of(location).getKey();
+        Optional<Long> roomId = roomIds.get(key);
+        if (roomId == null) {
+            Room room = roomService.resolveRoom(location);
+            roomId = Optional.ofNullable(room != null ? room.getId() : null);
+            roomIds.put(key, roomId);
+        }
+        return roomId.orElse(null);
+    }
+
+    private ValidatedRow validate(ParsedRow row, Set<Long> instructorIds) {
+        if (row.error() != null) {
+            return ValidatedRow.failed(row.row(), row.error());
+        }
+
+        CreateClassRequest request = row.request();
+        Set<ConstraintViolation<CreateClassRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return ValidatedRow.failed(row.row(), violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+        }
+
+        TimeRange timeRange;
+        Capacity capacity;
+        Location location;
+        try {
+            timeRange = TimeRange.of(request.getStartTime(), request.getEndTime());
+            capacity = Capacity.of(request.getCapacity());
+            location = Location.of(request.getLocation());
+        } catch (IllegalArgumentException e) {
+            return ValidatedRow.failed(row.row(), e.getMessage());
+        }
+
+        if (request.getInstructorId() != null && !instructorIds.contains(request.getInstructorId())) {
+            return ValidatedRow.failed(row.row(), "Instructor not found: " + request.getInstructorId());
+        }
+
+        ClassSchedule classSchedule = new ClassSchedule();
+        classSchedule.setName(request.getName());
+        classSchedule.setDescription(request.getDescription());
+        classSchedule.setStartTime(timeRange.getStartTime());
+        classSchedule.setEndTime(timeRange.getEndTime());
+        classSchedule.setCapacity(capacity.getValue());
+        classSchedule.setCurrentBookings(0);
+        classSchedule.setLocation(location.getValue());
+        classSchedule.setStatus("SCHEDULED");
+        return new ValidatedRow(row.row(), classSchedule, request.getInstructorId(), null);
+    }
+
+    private void recordError(ClassImportResponse response, long row, String message) {
+        response.setFailedRows(response.getFailedRows() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new ClassImportResponse.RowError(row, message));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * 读取CSV表头，列名不区分大小写，忽略下划线（startTime与start_time等价）
+     */
+    private Map<String, Integer> readCsvHeader(CsvRecordReader reader) {
+        List<String> header;
+        try {
+            header = reader.next();
+        } catch (IOException e) {
+            throw new BookingException("Malformed CSV import: " + e.getMessage());
+        }
+        if (header == null) {
+            throw new BookingException("CSV import is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeColumn(header.get(i)), i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new BookingException("Missing required CSV column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private ParsedRow parseCsvRecord(List<String> record, Map<String, Integer> columns) {
+        try {
+            CreateClassRequest request = new CreateClassRequest();
+            request.setName(column(record, columns, "name"));
+            request.setDescription(column(record, columns, "description"));
+            request.setInstructorId(parseLong(column(record, columns, "instructorid"), "instructorId"));
+            request.setStartTime(parseDateTime(column(record, columns, "starttime"), "startTime"));
+            request.setEndTime(parseDateTime(column(record, columns, "endtime"), "endTime"));
+            Long capacity = parseLong(column(record, columns, "capacity"), "capacity");
+            request.setCapacity(capacity != null ? Math.toIntExact(capacity) : null);
+            request.setLocation(column(record, columns, "location"));
+            return ParsedRow.of(request);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ParsedRow.failed(e.getMessage());
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long parseLong(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in column " + column + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String value, String column) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date-time in column " + column + ": " + value);
+        }
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 逐行读取上传内容，结束时返回null
+     */
+    @FunctionalInterface
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long row, CreateClassRequest request, String error) {
+
+        static ParsedRow of(CreateClassRequest request) {
+            return new ParsedRow(0, request, null);
+        }
+
+        static ParsedRow failed(String error) {
+            return new ParsedRow(0, null, error);
+        }
+
+        ParsedRow withRow(long row) {
+            return new ParsedRow(row, request, error);
+        }
+    }
+
+    private record ValidatedRow(long row, ClassSchedule classSchedule, Long instructorId, String error) {
+
+        static ValidatedRow failed(long row, String error) {
+            return new ValidatedRow(row, null, null, error);
+        }
+
+        ValidatedRow withError(String error) {
+            return new ValidatedRow(row, classSchedule, instructorId, error);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.booking.system.service;
+
+import com.booking.system.domain.event.ClassCompletedEvent;
+import com.booking.system.infrastructure.lease.SchedulerLeaseManager;
+import com.booking.system.infrastructure.outbox.TransactionalOutbox;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.ClassScheduleRepository.EndedClassView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 课程生命周期服务
+ * 定时把已结束的SCHEDULED课程标记为COMPLETED：每批读取一块已结束课程的标量列，以一条UPDATE完成，
+ * 并在同一事务内把这批ClassCompletedEvent一次写入发件箱。任务在租约下运行，集群中同一时间只有一个实例执行。
+ */
+@Service
+public class ClassLifecycleService {
+
+    static final String LEASE_NAME = "class-lifecycle";
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private TransactionalOutbox outbox;
+
+    @Autowired
+    private SchedulerLeaseManager leaseManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Clock clock;
+
+    @Value("${class-lifecycle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${class-lifecycle.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${class-lifecycle.lease:5m}")
+    private Duration lease;
+
+    @Scheduled(fixedDelayString = "${class-lifecycle.fixed-delay-ms:60000}")
+    public void scheduledSweep() {
+        if (enabled) {
+            completeEndedClasses();
+        }
+    }
+
+    /**
+     * 完成所有已结束的课程，每块在独立事务中提交，块之间续期租约
+     *
+     * @return 完成的课程数量；未取得租约时返回0
+     */
+    public int completeEndedClasses() {
+        if (!leaseManager.tryAcquire(LEASE_NAME, lease)) {
+            return 0;
+        }
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            LocalDateTime now = LocalDateTime.now(clock);
+            int completed = 0;
+            ChunkResult result;
+            do {
+                result = transactionTemplate.execute(status -> completeChunk(now));
+                completed += result.completed();
+            } while (result.read() == chunkSize && result.completed() > 0
+                && leaseManager.tryAcquire(LEASE_NAME, lease));
+            return completed;
+        } finally {
+            leaseManager.release(LEASE_NAME);
+        }
+    }
+
+    private ChunkResult completeChunk(LocalDateTime now) {
+        List<EndedClassView> ended = classScheduleRepository.findEndedScheduled(now, PageRequest.of(0, chunkSize));
+        if (ended.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+        List<Long> ids = ended.stream().map(EndedClassView::getId).toList();
+        int updated = classScheduleRepository.completeEnded(ids, now);
+
+        List<EndedClassView> completed = ended;
+        if (updated != ended.size()) {
+            // 读取后有课程被并发修改：只有版本恰好加一的课程是本次UPDATE完成的
+            Set<String> ours = classScheduleRepository.findCompletedVersions(ids).stream()
+                .map(view -> view.getId() + ":" + view.getVersion())
+                .collect(Collectors.toSet());
+            completed = ended.stream()
+                .filter(view -> ours.contains(view.getId() + ":" + (view.getVersion() + 1)))
+                .toList();
+        }
+
+        Map<Long, List<ClassCompletedEvent>> events = new LinkedHashMap<>();
+        for (EndedClassView view : completed) {
+            events.put(view.getId(), List.of(new ClassCompletedEvent(view.getId(), view.getName(),
+                view.getCurrentBookings(), view.getStartTime(), view.getEndTime())));
+        }
+        if (!events.isEmpty()) {
+            outbox.appendAll("ClassSchedule", events);
+        }
+        return new ChunkResult(ended.size(), completed.size());
+    }
+
+    private record ChunkResult(int read, int completed) {
+    }
+}
@@ -1,20 +1,31 @@
 package com.booking.system.service;
 
+import com.booking.system.domain.event.ClassCancelledEvent;
+import com.booking.system.domain.event.ClassRescheduledEvent;
+import com.booking.system.domain.model.shared.TimeRange;
 import com.booking.system.dto.request.CreateClassRequest;
 import com.booking.system.dto.request.UpdateClassRequest;
 import com.booking.system.dto.response.ClassResponse;
+import com.booking.system.dto.response.ScheduleConflictResponse;
 import com.booking.system.entity.ClassSchedule;
 import com.booking.system.entity.Instructor;
+import com.booking.system.entity.Room;
 import com.booking.system.exception.BookingException;
 import com.booking.system.exception.ResourceNotFoundException;
+import com.booking.system.infrastructure.outbox.TransactionalOutbox;
 import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.InstructorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,12 +37,25 @@ public class ClassScheduleService {
     @Autowired
     private InstructorRepository instructorRepository;
 
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomUtilizationAggregator roomUtilizationAggregator;
+
+    @Autowired
+    private UserBookingIntervalCache userBookingIntervalCache;
+
+    @Autowired
+    private TransactionalOutbox outbox;
+
     @Transactional
     public ClassResponse createClass(CreateClassRequest request) {
         if (request.getEndTime().isBefore(request.getStartTime()) ||
             request.getEndTime().isEqual(request.getStartTime())) {
             throw new BookingException("End time must be after start time");
         }
+        ensureWithinMaxDuration(request.getStartTime(), request.getEndTime());
 
         ClassSchedule classSchedule = new ClassSchedule();
         classSchedule.setName(request.getName());
@@ -46,10 +70,19 @@ public class ClassScheduleService {
         if (request.getInstructorId() != null) {
             Instructor instructor = instructorRepository.findById(request.getInstructorId())
                     .orElseThrow(() -> new ResourceNotFoundException("Instructor not found"));
+            ensureInstructorAvailable(instructor.getId(), request.getStartTime(), request.getEndTime(), null);
             classSchedule.setInstructor(instructor);
         }
 
+        Room room = roomService.resolveRoom(request.getLocation());
+        if (room != null) {
+            roomService.ensureRoomAvailable(room.getId(), request.getStartTime(), request.getEndTime(), null);
+            classSchedule.setRoomId(room.getId());
+        }
+
         classSchedule = classScheduleRepository.save(classSchedule);
+        roomUtilizationAggregator.record(classSchedule.getRoomId(), classSchedule.getStartTime(),
+            classSchedule.getEndTime());
         return convertToResponse(classSchedule);
     }
 
@@ -90,6 +123,36 @@ public class ClassScheduleService {
         ClassSchedule classSchedule = classScheduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + id));
 
+        // 在修改托管实体之前按更新后的讲师和时间检查冲突，避免查询前的自动flush写入未校验的值
+        boolean timeChanged = request.getStartTime() != null || request.getEndTime() != null;
+        LocalDateTime startTime = request.getStartTime() != null ? request.getStartTime() : classSchedule.getStartTime();
+        LocalDateTime endTime = request.getEndTime() != null ? request.getEndTime() : classSchedule.getEndTime();
+        Long instructorId = request.getInstructorId() != null ? request.getInstructorId()
+                : classSchedule.getInstructor() != null ? classSchedule.getInstructor().getId() : null;
+        String status = request.getStatus() != null ? request.getStatus() : classSchedule.getStatus();
+        if (timeChanged) {
+            ensureWithinMaxDuration(startTime, endTime);
+        }
+        if (instructorId != null && !"CANCELLED".equals(status)
+                && (timeChanged || request.getInstructorId() != null || request.getStatus() != null)) {
+            ensureInstructorAvailable(instructorId, startTime, endTime, id);
+        }
+
+        Long previousRoomId = classSchedule.getRoomId();
+        LocalDateTime previousStartTime = classSchedule.getStartTime();
+        LocalDateTime previousEndTime = classSchedule.getEndTime();
+        boolean previouslyCounted = !"CANCELLED".equals(classSchedule.getStatus());
+        Long roomId = previousRoomId;
+        if (request.getLocation() != null) {
+            Room room = roomService.resolveRoom(request.getLocation());
+            roomId = room != null ? room.getId() : null;
+        }
+        boolean counted = !"CANCELLED".equals(status);
+        if (roomId != null && counted
+                && (timeChanged || request.getLocation() != null || request.getStatus() != null)) {
+            roomService.ensureRoomAvailable(roomId, startTime, endTime, id);
+        }
+
         if (request.getName() != null) {
             classSchedule.setName(request.getName());
         }
@@ -119,8 +182,29 @@ public class ClassScheduleService {
                     .orElseThrow(() -> new ResourceNotFoundException("Instructor not found"));
             classSchedule.setInstructor(instructor);
         }
+        classSchedule.setRoomId(roomId);
 
         classSchedule = classScheduleRepository.save(classSchedule);
+
+        // 占用的场地、时间或是否计入发生变化时，先撤销旧占用再计入新占用
+        if (previouslyCounted != counted || !Objects.equals(previousRoomId, roomId)
+                || !previousStartTime.equals(startTime) || !previousEndTime.equals(endTime)) {
+            if (previouslyCounted) {
+                roomUtilizationAggregator.retract(previousRoomId, previousStartTime, previousEndTime);
+            }
+            if (counted) {
+                roomUtilizationAggregator.record(roomId, startTime, endTime);
+            }
+        }
+        if ((timeChanged || request.getStatus() != null) && classSchedule.getCurrentBookings() > 0) {
+            userBookingIntervalCache.invalidateClass(id);
+        }
+        if (previouslyCounted && !counted) {
+            appendCancelledEvent(classSchedule);
+        } else if (counted && !previousStartTime.equals(startTime)) {
+            outbox.append("ClassSchedule", id, List.of(
+                new ClassRescheduledEvent(id, classSchedule.getName(), startTime)));
+        }
         return convertToResponse(classSchedule);
     }
 
@@ -129,14 +213,118 @@ public class ClassScheduleService {
         ClassSchedule classSchedule = classScheduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + id));
 
+        boolean previouslyCancelled = "CANCELLED".equals(classSchedule.getStatus());
+        if (!previouslyCancelled) {
+            roomUtilizationAggregator.retract(classSchedule.getRoomId(), classSchedule.getStartTime(),
+                classSchedule.getEndTime());
+        }
         if (classSchedule.getCurrentBookings() > 0) {
             classSchedule.setStatus("CANCELLED");
             classScheduleRepository.save(classSchedule);
+            userBookingIntervalCache.invalidateClass(id);
+            if (!previouslyCancelled) {
+                appendCancelledEvent(classSchedule);
+            }
         } else {
             classScheduleRepository.delete(classSchedule);
         }
     }
 
+    /**
+     * 取消一节课程：锁定课程行后再修改，与并发的预订和取消预订串行执行。
+     * 撤销场地占用，清除已预订用户的时间段缓存，有预订时写入取消事件；课程已不是SCHEDULED时不做修改
+     *
+     * @return 是否取消了课程
+     */
+    @Transactional
+    public boolean cancelClass(Long id, String reason) {
+        ClassSchedule classSchedule = classScheduleRepository.findByIdWithLock(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Class not found with id: " + id));
+        if (!"SCHEDULED".equals(classSchedule.getStatus())) {
+            return false;
+        }
+        classSchedule.setStatus("CANCELLED");
+        classScheduleRepository.save(classSchedule);
+        roomUtilizationAggregator.retract(classSchedule.getRoomId(), classSchedule.getStartTime(),
+            classSchedule.getEndTime());
+        if (classSchedule.getCurrentBookings() > 0) {
+            userBookingIntervalCache.invalidateClass(id);
+            appendCancelledEvent(classSchedule, reason);
+        }
+        return true;
+    }
+
+    /**
+     * 讲师在时间范围内的冲突报告
+     * 按开始时间排序后扫描一遍，活动集合按结束时间组成堆：
+     * 每节课先移出已结束的课程，剩余的都与它重叠，复杂度O(n log n + 冲突数)
+     */
+    public List<ScheduleConflictResponse> getInstructorConflicts(Long instructorId, LocalDateTime from,
+                                                                 LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BookingException("Range end must be after range start");
+        }
+        if (!instructorRepository.existsById(instructorId)) {
+            throw new ResourceNotFoundException("Instructor not found");
+        }
+
+        List<ScheduleConflictResponse> conflicts = new ArrayList<>();
+        PriorityQueue<ClassSchedule> active = new PriorityQueue<>(Comparator.comparing(ClassSchedule::getEndTime));
+        for (ClassSchedule current
+                : classScheduleRepository.findActiveByInstructorIdAndStartTimeRange(instructorId, from, to)) {
+            while (!active.isEmpty() && !active.peek().getEndTime().isAfter(current.getStartTime())) {
+                active.poll();
+            }
+            for (ClassSchedule earlier : active) {
+                conflicts.add(new ScheduleConflictResponse(instructorId,
+                    earlier.getId(), earlier.getName(), earlier.getStartTime(), earlier.getEndTime(),
+                    current.getId(), current.getName(), current.getStartTime(), current.getEndTime()));
+            }
+            active.add(current);
+        }
+        return conflicts;
+    }
+
+    /**
+     * 有预订的课程被取消时写入发件箱，由通知处理器通知已预订的用户
+     */
+    private void appendCancelledEvent(ClassSchedule classSchedule) {
+        appendCancelledEvent(classSchedule, null);
+    }
+
+    private void appendCancelledEvent(ClassSchedule classSchedule, String reason) {
+        if (classSchedule.getCurrentBookings() > 0) {
+            outbox.append("ClassSchedule", classSchedule.getId(), List.of(new ClassCancelledEvent(
+                classSchedule.getId(), classSchedule.getName(), classSchedule.getCurrentBookings(), reason)));
+        }
+    }
+
+    /**
+     * 课程时长不超过TimeRange.MAX_DURATION，讲师、场地和用户时间段的重叠查询都依赖这一上界
+     */
+    static void ensureWithinMaxDuration(LocalDateTime startTime, LocalDateTime endTime) {
+        if (Duration.between(startTime, endTime).compareTo(TimeRange.MAX_DURATION) > 0) {
+            throw new BookingException("Class duration cannot exceed " + TimeRange.MAX_DURATION.toHours() + " hours");
+        }
+    }
+
+    /**
+     * 检查讲师在时间范围内是否已有其他未取消的课程
+     * 先锁定讲师行，使同一讲师的并发排课串行执行，检查与写入之间不会插入其他课程；
+     * 在调用方事务中执行，冲突异常不会把调用方事务标记为仅回滚
+     */
+    public void ensureInstructorAvailable(Long instructorId, LocalDateTime startTime, LocalDateTime endTime,
+                                          Long excludeClassId) {
+        instructorRepository.findByIdWithLock(instructorId);
+        List<ClassSchedule> conflicts = classScheduleRepository.findInstructorConflicts(instructorId,
+            startTime.minus(TimeRange.MAX_DURATION), startTime, endTime, excludeClassId);
+        if (!conflicts.isEmpty()) {
+            ClassSchedule conflict = conflicts.get(0);
+            throw new BookingException("Instructor is already teaching class " + conflict.getId()
+                + " from " + conflict.getStartTime() + " to " + conflict.getEndTime());
+        }
+    }
+
     private ClassResponse convertToResponse(ClassSchedule classSchedule) {
         ClassResponse response = new ClassResponse();
         response.setId(classSchedule.getId());
@@ -148,6 +336,7 @@ public class ClassScheduleService {
         response.setCurrentBookings(classSchedule.getCurrentBookings());
         response.setAvailableSpots(classSchedule.getCapacity() - classSchedule.getCurrentBookings());
         response.setLocation(classSchedule.getLocation());
+        response.setRoomId(classSchedule.getRoomId());
         response.setStatus(classSchedule.getStatus());
         response.setCreatedAt(classSchedule.getCreatedAt());
 
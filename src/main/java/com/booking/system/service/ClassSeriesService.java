@@ -0,0 +1,292 @@
+package com.booking.system.service;
+
+import com.booking.system.domain.model.shared.RecurrenceRule;
+import com.booking.system.dto.request.CreateClassSeriesRequest;
+import com.booking.system.dto.response.ClassOccurrenceResponse;
+import com.booking.system.dto.response.ClassSeriesResponse;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.ClassSeries;
+import com.booking.system.entity.Instructor;
+import com.booking.system.entity.Room;
+import com.booking.system.exception.BookingException;
+import com.booking.system.exception.ResourceNotFoundException;
+import com.booking.system.infrastructure.lease.SchedulerLeaseManager;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.ClassSeriesRepository;
+import com.booking.system.repository.InstructorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 周期课程系列服务
+ * 创建系列时只物化滚动窗口（horizon）内的发生，窗口由定时任务每日向前推进；
+ * 窗口之外的范围查询直接从重复规则推算，无需预先生成课程。
+ * 物化的每次发生都经过加锁的讲师和场地冲突检查：创建系列时有冲突则整个系列被拒绝，定时推进窗口时跳过冲突的发生并记录日志。
+ * 推进窗口在租约下运行，集群中同一时间只有一个实例推进，避免重复物化同一段发生
+ */
+@Service
+public class ClassSeriesService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassSeriesService.class);
+
+    static final String LEASE_NAME = "class-series-horizon";
+
+    @Autowired
+    private ClassSeriesRepository classSeriesRepository;
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private ClassScheduleService classScheduleService;
+
+    @Autowired
+    private RoomUtilizationAggregator roomUtilizationAggregator;
+
+    @Autowired
+    private SchedulerLeaseManager leaseManager;
+
+    @Value("${class-series.horizon:56d}")
+    private Duration horizon;
+
+    @Value("${class-series.max-query-range:366d}")
+    private Duration maxQueryRange;
+
+    @Value("${class-series.lease:5m}")
+    private Duration lease;
+
+    @Transactional
+    public ClassSeriesResponse createSeries(CreateClassSeriesRequest request) {
+        RecurrenceRule rule = parseRule(request.getRecurrenceRule());
+        ClassScheduleService.ensureWithinMaxDuration(request.getFirstStartTime(),
+            request.getFirstStartTime().plusMinutes(request.getDurationMinutes()));
+
+        ClassSeries series = new ClassSeries();
+        series.setName(request.getName());
+        series.setDescription(request.getDescription());
+        series.setFirstStartTime(request.getFirstStartTime());
+        series.setDurationMinutes(request.getDurationMinutes());
+        series.setCapacity(request.getCapacity());
+        series.setLocation(request.getLocation());
+        series.setRecurrenceRule(rule.toString());
+        series.setMaterializedUntil(request.getFirstStartTime());
+        series.setStatus("ACTIVE");
+
+        if (request.getInstructorId() != null) {
+            Instructor instructor = instructorRepository.findById(request.getInstructorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Instructor not found"));
+            series.setInstructor(instructor);
+        }
+
+        series = classSeriesRepository.save(series);
+        materialize(series, rule, LocalDateTime.now().plus(horizon), true);
+        return convertToResponse(series);
+    }
+
+    public ClassSeriesResponse getSeriesById(Long id) {
+        return convertToResponse(findSeries(id));
+    }
+
+    /**
+     * 查询开始时间落在[from, to)内的发生
+     * 已物化部分读取课程表（反映单次课程的修改和取消），其余部分从规则推算
+     */
+    @Transactional(readOnly = true)
+    public List<ClassOccurrenceResponse> getOccurrences(Long id, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BookingException("Range end must be after range start");
+        }
+        if (Duration.between(from, to).compareTo(maxQueryRange) > 0) {
+            throw new BookingException("Range cannot exceed " + maxQueryRange.toDays() + " days");
+        }
+        ClassSeries series = findSeries(id);
+        LocalDateTime materializedUntil = series.getMaterializedUntil();
+
+        List<ClassOccurrenceResponse> occurrences = new ArrayList<>();
+        if (from.isBefore(materializedUntil)) {
+            LocalDateTime materializedTo = to.isBefore(materializedUntil) ? to : materializedUntil;
+            for (ClassSchedule classSchedule
+                    : classScheduleRepository.findBySeriesIdAndStartTimeRange(id, from, materializedTo)) {
+                occurrences.add(new ClassOccurrenceResponse(classSchedule.getId(), classSchedule.getStartTime(),
+                    classSchedule.getEndTime(), true, classSchedule.getStatus()));
+            }
+        }
+        if ("ACTIVE".equals(series.getStatus()) && to.isAfter(materializedUntil)) {
+            LocalDateTime projectedFrom = from.isAfter(materializedUntil) ? from : materializedUntil;
+            RecurrenceRule rule = RecurrenceRule.parse(series.getRecurrenceRule());
+            for (LocalDateTime start : rule.occurrencesBetween(series.getFirstStartTime(), projectedFrom, to)) {
+                occurrences.add(new ClassOccurrenceResponse(null, start,
+                    start.plusMinutes(series.getDurationMinutes()), false, "SCHEDULED"));
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * 取消系列：不再物化新的发生，尚未开始的已物化课程逐节走单节课程的取消流程，
+     * 与该课程的并发预订串行执行，并在同一事务中撤销场地占用、清除预订用户的时间段缓存和写入取消事件
+     */
+    @Transactional
+    public void cancelSeries(Long id) {
+        ClassSeries series = findSeries(id);
+        if ("CANCELLED".equals(series.getStatus())) {
+            return;
+        }
+        series.setStatus("CANCELLED");
+        classSeriesRepository.save(series);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isBefore(series.getMaterializedUntil())) {
+            List<ClassSchedule> upcoming = classScheduleRepository
+                .findBySeriesIdAndStartTimeRange(id, now, series.getMaterializedUntil());
+            for (ClassSchedule classSchedule : upcoming) {
+                if ("SCHEDULED".equals(classSchedule.getStatus())) {
+                    classScheduleService.cancelClass(classSchedule.getId(), "Series cancelled");
+                }
+            }
+        }
+    }
+
+    /**
+     * 将所有活跃系列的物化窗口推进到now + horizon
+     * 每个系列在独立事务中处理，单个系列失败不影响其他系列；系列之间续期租约，续期失败时停止
+     *
+     * @return 新物化的课程数量；未取得租约时返回0
+     */
+    @Scheduled(cron = "${class-series.extend-cron:0 0 3 * * *}")
+    public int extendHorizons() {
+        if (!leaseManager.tryAcquire(LEASE_NAME, lease)) {
+            return 0;
+        }
+        try {
+            LocalDateTime until = LocalDateTime.now().plus(horizon);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            int created = 0;
+            for (Long seriesId : classSeriesRepository.findActiveIdsMaterializedBefore(until)) {
+                if (!leaseManager.tryAcquire(LEASE_NAME, lease)) {
+                    break;
+                }
+                Integer count = transactionTemplate.execute(status -> classSeriesRepository.findById(seriesId)
+                    .filter(series -> "ACTIVE".equals(series.getStatus()))
+                    .map(series -> materialize(series, RecurrenceRule.parse(series.getRecurrenceRule()), until, false))
+                    .orElse(0));
+                created += count == null ? 0 : count;
+            }
+            return created;
+        } finally {
+            leaseManager.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * 物化[materializedUntil, until)内的发生，一次saveAll交由JDBC批处理写入
+     *
+     * @param rejectConflicts 为true时讲师或场地冲突抛出BookingException，否则跳过冲突的发生
+     */
+    private int materialize(ClassSeries series, RecurrenceRule rule, LocalDateTime until, boolean rejectConflicts) {
+        LocalDateTime from = series.getMaterializedUntil();
+        if (!until.isAfter(from)) {
+            return 0;
+        }
+
+        Room room = roomService.resolveRoom(series.getLocation());
+        List<ClassSchedule> occurrences = new ArrayList<>();
+        for (LocalDateTime start : rule.occurrencesBetween(series.getFirstStartTime(), from, until)) {
+            LocalDateTime end = start.plusMinutes(series.getDurationMinutes());
+            try {
+                if (series.getInstructor() != null) {
+                    classScheduleService.ensureInstructorAvailable(series.getInstructor().getId(), start, end, null);
+                }
+                if (room != null) {
+                    roomService.ensureRoomAvailable(room.getId(), start, end, null);
+                }
+            } catch (BookingException e) {
+                if (rejectConflicts) {
+                    throw new BookingException("Series occurrence at " + start + " conflicts: " + e.getMessage());
+                }
+                log.warn("Skipping occurrence of series {} at {}: {}", series.getId(), start, e.getMessage());
+                continue;
+            }
+            ClassSchedule classSchedule = new ClassSchedule();
+            classSchedule.setName(series.getName());
+            classSchedule.setDescription(series.getDescription());
+            classSchedule.setInstructor(series.getInstructor());
+            classSchedule.setStartTime(start);
+            classSchedule.setEndTime(end);
+            classSchedule.setCapacity(series.getCapacity());
+            classSchedule.setCurrentBookings(0);
+            classSchedule.setLocation(series.getLocation());
+            classSchedule.setRoomId(room != null ? room.getId() : null);
+            classSchedule.setStatus("SCHEDULED");
+            classSchedule.setSeriesId(series.getId());
+            occurrences.add(classSchedule);
+        }
+        classScheduleRepository.saveAll(occurrences);
+        roomUtilizationAggregator.recordAll(occurrences);
+
+        series.setMaterializedUntil(until);
+        classSeriesRepository.save(series);
+        return occurrences.size();
+    }
+
+    private RecurrenceRule parseRule(String rule) {
+        try {
+            return RecurrenceRule.parse(rule);
+        } catch (IllegalArgumentException e) {
+            throw new BookingException(e.getMessage());
+        }
+    }
+
+    private ClassSeries findSeries(Long id) {
+        return classSeriesRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Class series not found with id: " + id));
+    }
+
+    private ClassSeriesResponse convertToResponse(ClassSeries series) {
+        ClassSeriesResponse response = new ClassSeriesResponse();
+        response.setId(series.getId());
+        response.setName(series.getName());
+        response.setDescription(series.getDescription());
+        response.setFirstStartTime(series.getFirstStartTime());
+        response.setDurationMinutes(series.getDurationMinutes());
+        response.setCapacity(series.getCapacity());
+        response.setLocation(series.getLocation());
+        response.setRecurrenceRule(series.getRecurrenceRule());
+        response.setMaterializedUntil(series.getMaterializedUntil());
+        response.setStatus(series.getStatus());
+        response.setCreatedAt(series.getCreatedAt());
+
+        if (series.getInstructor() != null) {
+            response.setInstructorId(series.getInstructor().getId());
+            if (series.getInstructor().getUser() != null) {
+                response.setInstructorName(
+                    series.getInstructor().getUser().getFirstName() + " " +
+                    series.getInstructor().getUser().getLastName()
+                );
+            }
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,155 @@
+package com.booking.system.service;
+
+import com.booking.system.entity.RefreshToken;
+import com.booking.system.entity.User;
+import com.booking.system.exception.AuthenticationException;
+import com.booking.system.repository.RefreshTokenRepository;
+import com.booking.system.security.TokenRevocationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * 刷新令牌服务
+ * 刷新令牌为不透明随机串，数据库只保存其SHA-256摘要；每次刷新都会轮换，
+ * 已轮换的令牌再次出现视为被盗用，吊销该用户的全部令牌。
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+
+    /**
+     * 为用户签发新的刷新令牌
+     */
+    @Transactional
+    public IssuedToken issue(User user) {
+        String rawToken = generateRawToken();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(refreshExpiration));
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUser(user);
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setExpiresAt(expiresAt);
+        refreshTokenRepository.save(refreshToken);
+
+        return new IssuedToken(rawToken, user, expiresAt);
+    }
+
+    /**
+     * 轮换刷新令牌：旧令牌作废并签发新令牌
+     */
+    @Transactional(noRollbackFor = AuthenticationException.class)
+    public IssuedToken rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithLock(hash(rawToken))
+                .orElseThrow(() -> new AuthenticationException("Invalid refresh token"));
+
+        User user = current.getUser();
+        if (current.getRevokedAt() != null) {
+            // 已作废的令牌被重放，视为泄露
+            revokeAllForUser(user);
+            throw new AuthenticationException("Refresh token has been revoked");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new AuthenticationException("Refresh token has expired");
+        }
+
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new AuthenticationException("User account is not active");
+        }
+
+        IssuedToken next = issue(user);
+        current.setRevokedAt(now);
+        current.setReplacedByHash(hash(next.getToken()));
+        refreshTokenRepository.save(current);
+        return next;
+    }
+
+    /**
+     * 作废单个刷新令牌（登出）
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken)).ifPresent(token -> {
+            if (token.getRevokedAt() == null) {
+                token.setRevokedAt(LocalDateTime.now());
+                refreshTokenRepository.save(token);
+            }
+        });
+    }
+
+    /**
+     * 作废用户的全部刷新令牌和已签发的访问令牌
+     */
+    @Transactional
+    public void revokeAllForUser(User user) {
+        refreshTokenRepository.revokeAllByUserId(user.getId(), LocalDateTime.now());
+        tokenRevocationService.revokeSubject(user.getEmail());
+    }
+
+    private String generateRawToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 签发结果，令牌原文只在此处返回给客户端
+     */
+    public static class IssuedToken {
+
+        private final String token;
+        private final User user;
+        private final LocalDateTime expiresAt;
+
+        public IssuedToken(String token, User user, LocalDateTime expiresAt) {
+            this.token = token;
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
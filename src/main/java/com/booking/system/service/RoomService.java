@@ -0,0 +1,82 @@
+package com.booking.system.service;
+
+import com.booking.system.domain.model.shared.Location;
+import com.booking.system.domain.model.shared.TimeRange;
+import com.booking.system.dto.response.RoomResponse;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.Room;
+import com.booking.system.exception.BookingException;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 场地服务
+ * 把课程的自由文本地点规范化为场地，并检查同一场地的时间冲突
+ */
+@Service
+public class RoomService {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    /**
+     * 解析地点对应的场地，首次出现的线下地点自动登记
+     *
+     * @return 场地；地点为空或为线上地点时返回null
+     */
+    @Transactional
+    public Room resolveRoom(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        Location value;
+        try {
+            value = Location.of(location);
+        } catch (IllegalArgumentException e) {
+            throw new BookingException(e.getMessage());
+        }
+        if (value.isVirtual()) {
+            return null;
+        }
+        return roomRepository.findByRoomKey(value.getKey()).orElseGet(() -> {
+            Room room = new Room();
+            room.setRoomKey(value.getKey());
+            room.setName(value.getValue());
+            return roomRepository.save(room);
+        });
+    }
+
+    /**
+     * 检查场地在时间范围内是否已被其他未取消的课程占用
+     * 先锁定场地行，使同一场地的并发排课串行执行，检查与写入之间不会插入其他课程；
+     * 在调用方事务中执行，冲突异常不会把调用方事务标记为仅回滚
+     */
+    public void ensureRoomAvailable(Long roomId, LocalDateTime startTime, LocalDateTime endTime,
+                                    Long excludeClassId) {
+        roomRepository.findByIdWithLock(roomId);
+        List<ClassSchedule> conflicts = classScheduleRepository.findRoomConflicts(roomId,
+            startTime.minus(TimeRange.MAX_DURATION), startTime, endTime, excludeClassId);
+        if (!conflicts.isEmpty()) {
+            ClassSchedule conflict = conflicts.get(0);
+            throw new BookingException("Room is already booked by class " + conflict.getId()
+                + " from " + conflict.getStartTime() + " to " + conflict.getEndTime());
+        }
+    }
+
+    public List<RoomResponse> getAllRooms() {
+        return roomRepository.findAll().stream()
+                .map(room -> new RoomResponse(room.getId(), room.getRoomKey(), room.getName(),
+                    room.getWeeklyOpenMinutes()))
+                .collect(Collectors.toList());
+    }
+}
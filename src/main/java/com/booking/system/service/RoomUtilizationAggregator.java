@@ -0,0 +1,124 @@
+package com.booking.system.service;
+
+import com.booking.system.dto.response.RoomUtilizationResponse;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.RoomWeeklyUtilization;
+import com.booking.system.exception.BookingException;
+import com.booking.system.repository.RoomRepository;
+import com.booking.system.repository.RoomWeeklyUtilizationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 场地利用率增量汇总
+ * 课程新增、改期、换场地、取消或删除时按差值更新(场地, 周)汇总行，
+ * 利用率报表只读取汇总表，不扫描课程表；课程计入其开始时间所在的ISO周
+ */
+@Service
+public class RoomUtilizationAggregator {
+
+    @Autowired
+    private RoomWeeklyUtilizationRepository utilizationRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    /**
+     * 计入一节占用场地的课程，roomId为空时忽略
+     */
+    @Transactional
+    public void record(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId != null) {
+            apply(roomId, weekStart(startTime), Duration.between(startTime, endTime).toMinutes(), 1);
+        }
+    }
+
+    /**
+     * 撤销一节课程此前计入的占用，roomId为空时忽略
+     */
+    @Transactional
+    public void retract(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (roomId != null) {
+            apply(roomId, weekStart(startTime), -Duration.between(startTime, endTime).toMinutes(), -1);
+        }
+    }
+
+    /**
+     * 批量计入课程，先在内存中按(场地, 周)合并，每个汇总行只更新一次
+     */
+    @Transactional
+    public void recordAll(Collection<ClassSchedule> classSchedules) {
+        applyAll(classSchedules, 1);
+    }
+
+    /**
+     * 批量撤销课程的占用
+     */
+    @Transactional
+    public void retractAll(Collection<ClassSchedule> classSchedules) {
+        applyAll(classSchedules, -1);
+    }
+
+    /**
+     * 查询[from, to]内各周的场地利用率
+     *
+     * @param roomId 为空时返回所有场地
+     */
+    @Transactional(readOnly = true)
+    public List<RoomUtilizationResponse> getWeeklyUtilization(LocalDate from, LocalDate to, Long roomId) {
+        if (to.isBefore(from)) {
+            throw new BookingException("Range end must not be before range start");
+        }
+        LocalDate firstWeek = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return utilizationRepository.findWeeklyUtilization(firstWeek, to, roomId).stream()
+                .map(view -> new RoomUtilizationResponse(view.getRoomId(), view.getRoomName(), view.getWeekStart(),
+                    view.getClassCount(), view.getScheduledMinutes(), view.getWeeklyOpenMinutes(),
+                    Math.round(view.getScheduledMinutes() * 1000.0 / view.getWeeklyOpenMinutes()) / 10.0))
+                .collect(Collectors.toList());
+    }
+
+    static LocalDate weekStart(LocalDateTime startTime) {
+        return startTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private void applyAll(Collection<ClassSchedule> classSchedules, int sign) {
+        Map<WeekKey, long[]> deltas = new LinkedHashMap<>();
+        for (ClassSchedule classSchedule : classSchedules) {
+            if (classSchedule.getRoomId() == null || "CANCELLED".equals(classSchedule.getStatus())) {
+                continue;
+            }
+            long[] delta = deltas.computeIfAbsent(
+                new WeekKey(classSchedule.getRoomId(), weekStart(classSchedule.getStartTime())), key -> new long[2]);
+            delta[0] += Duration.between(classSchedule.getStartTime(), classSchedule.getEndTime()).toMinutes();
+            delta[1]++;
+        }
+        deltas.forEach((key, delta) ->
+            apply(key.roomId(), key.weekStart(), sign * delta[0], sign * (int) delta[1]));
+    }
+
+    private void apply(Long roomId, LocalDate weekStart, long minutes, int classes) {
+        if (utilizationRepository.addToWeek(roomId, weekStart, minutes, classes) > 0 || classes < 0) {
+            return;
+        }
+        // 该周尚无汇总行：锁定场地行后重试，避免并发插入同一(场地, 周)
+        roomRepository.findByIdWithLock(roomId);
+        if (utilizationRepository.addToWeek(roomId, weekStart, minutes, classes) == 0) {
+            utilizationRepository.saveAndFlush(new RoomWeeklyUtilization(null, roomId, weekStart, minutes, classes));
+        }
+    }
+
+    private record WeekKey(Long roomId, LocalDate weekStart) {
+    }
+}
@@ -0,0 +1,376 @@
+package com.booking.system.service;
+
+import com.booking.system.domain.model.shared.TimeRange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * 用户已预订时间段缓存
+ * 按用户缓存未结束的已确认预订，按开始时间有序存放，重叠检查只需一次有界的范围查找（O(log n)）。
+ * 写入方（预订、取消）持有用户行锁，增删在事务提交后才应用到缓存，回滚的写入不会被其他请求看到；
+ * 同一事务内对某用户有未提交写入后，该事务再读取此用户时绕过缓存直接加载，能看到自己的写入。
+ * 每次增删在用户锁内取得递增的序号：加载时已包含的写入跳过，晚于已应用写入到达的旧写入改为失效该用户。
+ * 课程时间或状态变化会影响所有已预订的用户，此时通过课程到用户的索引按课程失效。
+ */
+@Component
+public class UserBookingIntervalCache {
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * 课程 -> 缓存中预订了该课程的用户，是实际包含关系的超集；与entries的增删在structureLock内同步
+     */
+    private final Map<Long, Set<Long>> usersByClass = new HashMap<>();
+    private final Object structureLock = new Object();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong tickets = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public UserBookingIntervalCache(@Value("${user-booking-cache.max-size:10000}") int maxSize,
+                                    @Value("${user-booking-cache.ttl:10m}") Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    UserBookingIntervalCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 读取用户的时间段，未命中时通过loader加载并回填
+     * 调用方必须持有该用户的行锁，保证加载结果不会被并发的预订覆盖
+     */
+    public BookedIntervals get(Long userId, Function<Long, Collection<Interval>> loader) {
+        if (hasPendingWrites(userId)) {
+            // 加载结果包含本事务未提交的写入，不能回填
+            misses.increment();
+            return new BookedIntervals(loader.apply(userId));
+        }
+        long now = nanoClock.getAsLong();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.loadedAtNanos < ttlNanos) {
+            hits.increment();
+            return entry.intervals;
+        }
+
+        misses.increment();
+        long epoch = invalidations.get();
+        long ticket = tickets.get();
+        BookedIntervals loaded = new BookedIntervals(loader.apply(userId));
+        if (maxSize > 0) {
+            synchronized (structureLock) {
+                // 加载期间发生过失效则不回填
+                if (invalidations.get() == epoch) {
+                    removeEntry(userId);
+                    index(userId, loaded.set);
+                    entries.put(userId, new Entry(loaded, now, ticket));
+                    if (entries.size() > maxSize) {
+                        evictOverflow(now);
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 读取用户时间段的副本，不回填缓存；用于不持有用户锁的只读校验
+     */
+    public BookedIntervals snapshot(Long userId, Function<Long, Collection<Interval>> loader) {
+        Entry entry = entries.get(userId);
+        if (entry != null && !hasPendingWrites(userId) && nanoClock.getAsLong() - entry.loadedAtNanos < ttlNanos) {
+            return new BookedIntervals(entry.intervals.set);
+        }
+        return new BookedIntervals(loader.apply(userId));
+    }
+
+    /**
+     * 记录新预订的时间段，事务提交后生效
+     */
+    public void add(Long userId, Interval interval) {
+        applyAfterCommit(userId, interval, true);
+    }
+
+    /**
+     * 移除已取消预订的时间段，事务提交后生效
+     */
+    public void remove(Long userId, Interval interval) {
+        applyAfterCommit(userId, interval, false);
+    }
+
+    /**
+     * 失效指定用户的缓存
+     */
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        synchronized (structureLock) {
+            removeEntry(userId);
+        }
+    }
+
+    /**
+     * 课程时间或状态变化后，失效所有包含该课程的用户；事务结束后再失效一次，
+     * 避免并发预订在提交前把旧的时间重新加载进缓存
+     */
+    public void invalidateClass(Long classScheduleId) {
+        removeEntriesContaining(classScheduleId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    removeEntriesContaining(classScheduleId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void applyAfterCommit(Long userId, Interval interval, boolean add) {
+        // 调用方持有用户行锁，同一用户的序号顺序即写入的提交顺序
+        long ticket = tickets.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, interval, add, ticket);
+            return;
+        }
+        pendingUsers(true).add(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(userId, interval, add, ticket);
+            }
+        });
+    }
+
+    private boolean hasPendingWrites(Long userId) {
+        Set<Long> pending = pendingUsers(false);
+        return pending != null && pending.contains(userId);
+    }
+
+    /**
+     * 当前事务中有未提交写入的用户，绑定在事务资源上，事务结束时解绑
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> pendingUsers(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            pending = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(UserBookingIntervalCache.this);
+                }
+            });
+        }
+        return pending;
+    }
+
+    private void apply(Long userId, Interval interval, boolean add, long ticket) {
+        synchronized (structureLock) {
+            Entry entry = entries.get(userId);
+            if (entry == null || ticket <= entry.loadedTicket) {
+                // 未缓存，或加载时数据库中已包含该写入
+                return;
+            }
+            if (ticket < entry.appliedTicket) {
+                // 提交后的回调乱序到达，无法确定先后，交给下次加载
+                invalidations.incrementAndGet();
+                removeEntry(userId);
+                return;
+            }
+            entry.appliedTicket = ticket;
+            if (add) {
+                entry.intervals.set.add(interval);
+                usersByClass.computeIfAbsent(interval.classScheduleId(), id -> new HashSet<>()).add(userId);
+            } else {
+                entry.intervals.set.remove(interval);
+                if (!entry.intervals.contains(interval.classScheduleId())) {
+                    unindex(userId, interval.classScheduleId());
+                }
+            }
+        }
+    }
+
+    private void removeEntriesContaining(Long classScheduleId) {
+        invalidations.incrementAndGet();
+        synchronized (structureLock) {
+            Set<Long> userIds = usersByClass.remove(classScheduleId);
+            if (userIds != null) {
+                userIds.forEach(this::removeEntry);
+            }
+        }
+    }
+
+    private void clear() {
+        invalidations.incrementAndGet();
+        synchronized (structureLock) {
+            entries.clear();
+            usersByClass.clear();
+        }
+    }
+
+    /**
+     * 移除用户条目及其索引，调用方持有structureLock
+     */
+    private void removeEntry(Long userId) {
+        Entry entry = entries.remove(userId);
+        if (entry != null) {
+            entry.intervals.set.forEach(interval -> unindex(userId, interval.classScheduleId()));
+        }
+    }
+
+    private void index(Long userId, Collection<Interval> intervals) {
+        for (Interval interval : intervals) {
+            usersByClass.computeIfAbsent(interval.classScheduleId(), id -> new HashSet<>()).add(userId);
+        }
+    }
+
+    private void unindex(Long userId, Long classScheduleId) {
+        Set<Long> userIds = usersByClass.get(classScheduleId);
+        if (userIds != null && userIds.remove(userId) && userIds.isEmpty()) {
+            usersByClass.remove(classScheduleId);
+        }
+    }
+
+    private void evictOverflow(long now) {
+        // 先清理过期条目，仍超限时按迭代顺序淘汰
+        List<Long> expired = new ArrayList<>();
+        entries.forEach((userId, entry) -> {
+            if (now - entry.loadedAtNanos >= ttlNanos) {
+                expired.add(userId);
+            }
+        });
+        expired.forEach(this::removeEntry);
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (iterator.hasNext() && entries.size() > maxSize) {
+            removeEntry(iterator.next());
+        }
+    }
+
+    /**
+     * 一次预订占用的时间段
+     */
+    public record Interval(Long classScheduleId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        private static final Comparator<Interval> ORDER = Comparator
+            .comparing(Interval::startTime)
+            .thenComparing(Interval::classScheduleId);
+    }
+
+    /**
+     * 单个用户按开始时间排序的时间段集合
+     */
+    public static final class BookedIntervals {
+
+        private final ConcurrentSkipListSet<Interval> set = new ConcurrentSkipListSet<>(Interval.ORDER);
+
+        public BookedIntervals(Collection<Interval> intervals) {
+            set.addAll(intervals);
+        }
+
+        /**
+         * 查找与[startTime, endTime)重叠的时间段
+         * 课程时长不超过TimeRange.MAX_DURATION，只需检查开始时间落在(startTime - 最大时长, endTime)内的时间段
+         */
+        public Optional<Interval> findOverlap(LocalDateTime startTime, LocalDateTime endTime) {
+            Interval from = new Interval(Long.MIN_VALUE, startTime.minus(TimeRange.MAX_DURATION), null);
+            Interval to = new Interval(Long.MIN_VALUE, endTime, null);
+            for (Interval candidate : set.subSet(from, false, to, false)) {
+                if (candidate.endTime().isAfter(startTime)) {
+                    return Optional.of(candidate);
+                }
+            }
+            return Optional.empty();
+        }
+
+        public void add(Interval interval) {
+            set.add(interval);
+        }
+
+        public boolean contains(Long classScheduleId) {
+            return set.stream().anyMatch(interval -> interval.classScheduleId().equals(classScheduleId));
+        }
+
+        public int size() {
+            return set.size();
+        }
+    }
+
+    private static final class Entry {
+
+        private final BookedIntervals intervals;
+        private final long loadedAtNanos;
+        /**
+         * 开始加载时的写入序号，不大于它的写入已包含在加载结果中
+         */
+        private final long loadedTicket;
+        /**
+         * 最后应用的写入序号，由structureLock保护
+         */
+        private long appliedTicket;
+
+        private Entry(BookedIntervals intervals, long loadedAtNanos, long loadedTicket) {
+            this.intervals = intervals;
+            this.loadedAtNanos = loadedAtNanos;
+            this.loadedTicket = loadedTicket;
+            this.appliedTicket = loadedTicket;
+        }
+    }
+}
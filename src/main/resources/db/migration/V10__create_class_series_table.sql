@@ -0,0 +1,26 @@
+-- Recurring class series: the rule is the source of truth, class_schedules rows are
+-- materialized occurrences up to materialized_until.
+CREATE TABLE class_series (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(200) NOT NULL,
+    description TEXT,
+    instructor_id BIGINT,
+    first_start_time TIMESTAMP NOT NULL,
+    duration_minutes INT NOT NULL CHECK (duration_minutes > 0),
+    capacity INT NOT NULL CHECK (capacity > 0),
+    location VARCHAR(200),
+    recurrence_rule VARCHAR(255) NOT NULL,
+    materialized_until TIMESTAMP NOT NULL,
+    status VARCHAR(20) DEFAULT 'ACTIVE',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT DEFAULT 0 NOT NULL,
+    FOREIGN KEY (instructor_id) REFERENCES instructors(id) ON DELETE SET NULL
+);
+
+CREATE INDEX idx_series_status_materialized ON class_series(status, materialized_until);
+
+ALTER TABLE class_schedules ADD COLUMN series_id BIGINT;
+ALTER TABLE class_schedules ADD CONSTRAINT fk_class_series
+    FOREIGN KEY (series_id) REFERENCES class_series(id) ON DELETE SET NULL;
+CREATE INDEX idx_class_series_start ON class_schedules(series_id, start_time);
@@ -0,0 +1,3 @@
+-- Instructor overlap checks scan (instructor_id, start_time) within [start - 8h, end).
+-- idx_class_instructor stays: H2 uses it to back the instructor foreign key.
+CREATE INDEX idx_class_instructor_start ON class_schedules(instructor_id, start_time);
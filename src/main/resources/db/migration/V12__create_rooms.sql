@@ -0,0 +1,51 @@
+-- Physical locations become keyed rooms (lower-cased, whitespace collapsed) so room
+-- double-booking can be checked on (room_id, start_time). Online locations get no room.
+CREATE TABLE rooms (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    room_key VARCHAR(200) NOT NULL UNIQUE,
+    name VARCHAR(200) NOT NULL,
+    weekly_open_minutes INT DEFAULT 5040 NOT NULL CHECK (weekly_open_minutes > 0),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Incrementally maintained weekly totals; a class counts towards the ISO week it starts in.
+CREATE TABLE room_weekly_utilization (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    room_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    scheduled_minutes BIGINT DEFAULT 0 NOT NULL,
+    class_count INT DEFAULT 0 NOT NULL,
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE,
+    CONSTRAINT uk_room_week UNIQUE (room_id, week_start)
+);
+
+ALTER TABLE class_schedules ADD COLUMN room_id BIGINT;
+ALTER TABLE class_schedules ADD CONSTRAINT fk_class_room
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE SET NULL;
+CREATE INDEX idx_class_room_start ON class_schedules(room_id, start_time);
+
+INSERT INTO rooms (room_key, name)
+SELECT room_key, MIN(location) FROM (
+    SELECT LOWER(REGEXP_REPLACE(TRIM(location), '\s+', ' ')) AS room_key, TRIM(location) AS location
+    FROM class_schedules
+    WHERE location IS NOT NULL AND TRIM(location) <> ''
+      AND LOWER(location) NOT LIKE '%online%' AND LOWER(location) NOT LIKE '%virtual%'
+      AND LOWER(location) NOT LIKE '%zoom%' AND LOWER(location) NOT LIKE '%webinar%'
+      AND LOWER(location) NOT LIKE '%meet.google%' AND LOWER(location) NOT LIKE '%teams%'
+      AND LOWER(location) NOT LIKE '%skype%'
+) physical
+GROUP BY room_key;
+
+UPDATE class_schedules SET room_id = (
+    SELECT r.id FROM rooms r WHERE r.room_key = LOWER(REGEXP_REPLACE(TRIM(class_schedules.location), '\s+', ' '))
+) WHERE location IS NOT NULL;
+
+INSERT INTO room_weekly_utilization (room_id, week_start, scheduled_minutes, class_count)
+SELECT room_id, week_start, SUM(minutes), COUNT(*) FROM (
+    SELECT room_id,
+           DATEADD(DAY, 1 - ISO_DAY_OF_WEEK(start_time), CAST(start_time AS DATE)) AS week_start,
+           DATEDIFF(SECOND, start_time, end_time) / 60 AS minutes
+    FROM class_schedules
+    WHERE room_id IS NOT NULL AND status <> 'CANCELLED'
+) classes
+GROUP BY room_id, week_start;
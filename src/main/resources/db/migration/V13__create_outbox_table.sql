@@ -0,0 +1,23 @@
+-- Transactional outbox: aggregate events are written in the same transaction as the
+-- aggregate and relayed to in-process listeners afterwards.
+CREATE SEQUENCE outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox (
+    id BIGINT PRIMARY KEY,
+    event_id VARCHAR(64) NOT NULL UNIQUE,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    occurred_on TIMESTAMP NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    claimed_by VARCHAR(100),
+    last_error VARCHAR(1000),
+    published_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_status_available ON outbox(status, available_at, id);
+CREATE INDEX idx_outbox_aggregate ON outbox(aggregate_type, aggregate_id, id);
@@ -0,0 +1,8 @@
+-- Time-bounded ownership of cluster-wide scheduled jobs: only the node holding an
+-- unexpired lease runs the job; a crashed holder's lease simply runs out.
+CREATE TABLE scheduler_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    lease_until TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
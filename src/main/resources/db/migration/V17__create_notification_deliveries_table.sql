@@ -0,0 +1,20 @@
+-- Notification deliveries: one row per message and recipient, written by the event handlers and
+-- sent by the dispatcher. The unique key makes a redelivered event a no-op for recipients it already has.
+CREATE SEQUENCE notification_delivery_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE notification_deliveries (
+    id BIGINT PRIMARY KEY,
+    dedupe_key VARCHAR(100) NOT NULL,
+    user_id BIGINT NOT NULL,
+    recipient VARCHAR(100) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    line VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) DEFAULT 'PENDING' NOT NULL,
+    attempts INT DEFAULT 0 NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE UNIQUE INDEX idx_notification_deliveries_dedupe ON notification_deliveries(dedupe_key, user_id);
+CREATE INDEX idx_notification_deliveries_status_available ON notification_deliveries(status, available_at, user_id);
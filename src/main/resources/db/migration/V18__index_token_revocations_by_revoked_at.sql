@@ -0,0 +1,2 @@
+-- Every node syncs its revocation bloom filter incrementally by revocation time.
+CREATE INDEX idx_token_revocation_revoked_at ON token_revocations(revoked_at);
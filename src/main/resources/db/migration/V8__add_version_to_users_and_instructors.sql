@@ -0,0 +1,4 @@
+-- Optimistic locking columns for the user and instructor aggregates,
+-- which are now mapped directly onto these tables
+ALTER TABLE users ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE instructors ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
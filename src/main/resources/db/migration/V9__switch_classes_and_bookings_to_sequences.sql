@@ -0,0 +1,8 @@
+-- Sequence-based ids for class_schedules and bookings so Hibernate can batch inserts.
+-- Increment matches the pooled optimizer's allocationSize; the H2 database is in-memory,
+-- so the sequences start from scratch together with the tables.
+CREATE SEQUENCE class_schedules_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE class_schedules ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,4 @@
+-- Instructor overlap checks scan (instructor_id, start_time) within [start - 8h, end);
+-- the composite index also serves plain instructor lookups.
+CREATE INDEX idx_class_instructor_start ON class_schedules(instructor_id, start_time);
+DROP INDEX idx_class_instructor;
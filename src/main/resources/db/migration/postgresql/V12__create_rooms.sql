@@ -0,0 +1,53 @@
+-- Physical locations become keyed rooms (lower-cased, whitespace collapsed) so room
+-- double-booking can be checked on (room_id, start_time). Online locations get no room.
+CREATE SEQUENCE IF NOT EXISTS rooms_id_seq;
+
+CREATE TABLE rooms (
+    id BIGINT PRIMARY KEY DEFAULT nextval('rooms_id_seq'),
+    room_key VARCHAR(200) NOT NULL UNIQUE,
+    name VARCHAR(200) NOT NULL,
+    weekly_open_minutes INT NOT NULL DEFAULT 5040 CHECK (weekly_open_minutes > 0),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Incrementally maintained weekly totals; a class counts towards the ISO week it starts in.
+CREATE SEQUENCE IF NOT EXISTS room_weekly_utilization_id_seq;
+
+CREATE TABLE room_weekly_utilization (
+    id BIGINT PRIMARY KEY DEFAULT nextval('room_weekly_utilization_id_seq'),
+    room_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    scheduled_minutes BIGINT NOT NULL DEFAULT 0,
+    class_count INT NOT NULL DEFAULT 0,
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE CASCADE,
+    CONSTRAINT uk_room_week UNIQUE (room_id, week_start)
+);
+
+ALTER TABLE class_schedules ADD COLUMN room_id BIGINT;
+ALTER TABLE class_schedules ADD CONSTRAINT fk_class_room
+    FOREIGN KEY (room_id) REFERENCES rooms(id) ON DELETE SET NULL;
+CREATE INDEX idx_class_room_start ON class_schedules(room_id, start_time);
+
+INSERT INTO rooms (room_key, name)
+SELECT room_key, MIN(location) FROM (
+    SELECT LOWER(REGEXP_REPLACE(TRIM(location), '\s+', ' ', 'g')) AS room_key, TRIM(location) AS location
+    FROM class_schedules
+    WHERE location IS NOT NULL AND TRIM(location) <> ''
+      AND LOWER(location) NOT LIKE '%online%' AND LOWER(location) NOT LIKE '%virtual%'
+      AND LOWER(location) NOT LIKE '%zoom%' AND LOWER(location) NOT LIKE '%webinar%'
+      AND LOWER(location) NOT LIKE '%meet.google%' AND LOWER(location) NOT LIKE '%teams%'
+      AND LOWER(location) NOT LIKE '%skype%'
+) physical
+GROUP BY room_key;
+
+UPDATE class_schedules cs SET room_id = r.id
+FROM rooms r
+WHERE cs.location IS NOT NULL
+  AND r.room_key = LOWER(REGEXP_REPLACE(TRIM(cs.location), '\s+', ' ', 'g'));
+
+INSERT INTO room_weekly_utilization (room_id, week_start, scheduled_minutes, class_count)
+SELECT room_id, CAST(date_trunc('week', start_time) AS DATE),
+       SUM(FLOOR(EXTRACT(EPOCH FROM (end_time - start_time)) / 60)), COUNT(*)
+FROM class_schedules
+WHERE room_id IS NOT NULL AND status <> 'CANCELLED'
+GROUP BY room_id, CAST(date_trunc('week', start_time) AS DATE);
@@ -0,0 +1,25 @@
+-- Transactional outbox: aggregate events are written in the same transaction as the
+-- aggregate and relayed to in-process listeners afterwards.
+CREATE SEQUENCE IF NOT EXISTS outbox_seq INCREMENT BY 50;
+
+CREATE TABLE outbox (
+    id BIGINT PRIMARY KEY,
+    event_id VARCHAR(64) NOT NULL UNIQUE,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    occurred_on TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    available_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    claimed_by VARCHAR(100),
+    last_error VARCHAR(1000),
+    published_at TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The relay only scans pending rows; published rows stay out of the index.
+CREATE INDEX idx_outbox_pending ON outbox(available_at, id) WHERE status = 'PENDING';
+CREATE INDEX idx_outbox_aggregate ON outbox(aggregate_type, aggregate_id, id);
+CREATE INDEX idx_outbox_status_published ON outbox(status, published_at);
@@ -0,0 +1,7 @@
+-- Progress markers for scheduled jobs, so a restarted instance resumes where the
+-- previous one stopped instead of skipping or repeating work.
+CREATE TABLE scheduler_checkpoints (
+    name VARCHAR(100) PRIMARY KEY,
+    checkpoint_time TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,25 @@
+-- Per-aggregate outbox ordering: the outbox id comes from a pooled sequence, so it
+-- follows neither commit order nor instance order. Appenders lock the aggregate's
+-- stream row to take the next sequence number, and relays claim whole aggregates
+-- under the same row lock.
+CREATE TABLE outbox_aggregates (
+    aggregate_key VARCHAR(100) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+ALTER TABLE outbox ADD COLUMN aggregate_sequence BIGINT;
+
+UPDATE outbox o SET aggregate_sequence = (
+    SELECT COUNT(*) FROM outbox p
+    WHERE p.aggregate_type = o.aggregate_type AND p.aggregate_id = o.aggregate_id AND p.id <= o.id
+);
+
+ALTER TABLE outbox ALTER COLUMN aggregate_sequence SET NOT NULL;
+
+INSERT INTO outbox_aggregates (aggregate_key, last_sequence)
+SELECT aggregate_type || ':' || CAST(aggregate_id AS VARCHAR(20)), MAX(aggregate_sequence)
+FROM outbox
+GROUP BY aggregate_type, aggregate_id;
+
+DROP INDEX idx_outbox_aggregate;
+CREATE UNIQUE INDEX idx_outbox_aggregate_sequence ON outbox(aggregate_type, aggregate_id, aggregate_sequence);
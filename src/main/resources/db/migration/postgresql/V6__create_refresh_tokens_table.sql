@@ -0,0 +1,14 @@
+CREATE SEQUENCE IF NOT EXISTS refresh_tokens_id_seq;
+
+CREATE TABLE refresh_tokens (
+    id BIGINT PRIMARY KEY DEFAULT nextval('refresh_tokens_id_seq'),
+    user_id BIGINT NOT NULL,
+    token_hash VARCHAR(64) UNIQUE NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP,
+    replaced_by_hash VARCHAR(64),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_user ON refresh_tokens(user_id);
@@ -0,0 +1,12 @@
+CREATE SEQUENCE IF NOT EXISTS token_revocations_id_seq;
+
+CREATE TABLE token_revocations (
+    id BIGINT PRIMARY KEY DEFAULT nextval('token_revocations_id_seq'),
+    revocation_key VARCHAR(255) NOT NULL,
+    revocation_type VARCHAR(20) NOT NULL,
+    revoked_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_token_revocation_key ON token_revocations(revocation_key, revocation_type);
+CREATE INDEX idx_token_revocation_expires ON token_revocations(expires_at);
@@ -0,0 +1,13 @@
+-- Sequence-based ids for class_schedules and bookings so Hibernate can batch inserts.
+-- Increment matches the pooled optimizer's allocationSize; each sequence is positioned
+-- past the existing ids, and the per-row defaults are dropped so every id comes from
+-- the pooled ranges.
+CREATE SEQUENCE IF NOT EXISTS class_schedules_seq INCREMENT BY 50;
+SELECT setval('class_schedules_seq', COALESCE((SELECT MAX(id) FROM class_schedules), 0) + 1);
+ALTER TABLE class_schedules ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS class_schedules_id_seq;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+SELECT setval('bookings_seq', COALESCE((SELECT MAX(id) FROM bookings), 0) + 1);
+ALTER TABLE bookings ALTER COLUMN id DROP DEFAULT;
+DROP SEQUENCE IF EXISTS bookings_id_seq;
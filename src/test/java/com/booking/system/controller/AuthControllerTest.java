@@ -1,6 +1,7 @@
 package com.booking.system.controller;
 
 import com.booking.system.dto.request.LoginRequest;
+import com.booking.system.dto.request.RefreshTokenRequest;
 import com.booking.system.dto.request.RegisterRequest;
 import com.booking.system.dto.response.AuthResponse;
 import com.booking.system.service.AuthService;
@@ -16,6 +17,8 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import com.booking.system.security.JwtTokenProvider;
 import com.booking.system.security.JwtAuthenticationFilter;
+import com.booking.system.security.ClientIpResolver;
+import com.booking.system.security.RateLimiter;
 import com.booking.system.security.UserDetailsServiceImpl;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -25,7 +28,8 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(AuthController.class)
+@WebMvcTest(controllers = AuthController.class,
+    properties = {"tracing.exporter=memory", "notifications.channel=memory"})
 @AutoConfigureMockMvc(addFilters = false)
 @MockitoSettings(strictness = Strictness.LENIENT)
 @DisplayName("AuthController Unit Tests")
@@ -49,6 +53,12 @@ class AuthControllerTest {
     @MockBean
     private UserDetailsServiceImpl userDetailsService;
 
+    @MockBean
+    private RateLimiter rateLimiter;
+
+    @MockBean
+    private ClientIpResolver clientIpResolver;
+
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
     private AuthResponse authResponse;
@@ -116,7 +126,7 @@ class AuthControllerTest {
     @Test
     @DisplayName("Should login successfully with valid credentials")
     void shouldLoginSuccessfullyWithValidCredentials() throws Exception {
-        when(authService.login(any(LoginRequest.class))).thenReturn(authResponse);
+        when(authService.login(any(LoginRequest.class), any())).thenReturn(authResponse);
 
         mockMvc.perform(post("/api/v1/auth/login")
             .contentType(MediaType.APPLICATION_JSON)
@@ -127,7 +137,7 @@ class AuthControllerTest {
             .andExpect(jsonPath("$.username").value("testuser"))
             .andExpect(jsonPath("$.role").value("ROLE_USER"));
 
-        verify(authService).login(any(LoginRequest.class));
+        verify(authService).login(any(LoginRequest.class), any());
     }
 
     @Test
@@ -140,7 +150,7 @@ class AuthControllerTest {
             .content(objectMapper.writeValueAsString(loginRequest)))
             .andExpect(status().isBadRequest());
 
-        verify(authService, never()).login(any(LoginRequest.class));
+        verify(authService, never()).login(any(LoginRequest.class), any());
     }
 
     @Test
@@ -154,13 +164,13 @@ class AuthControllerTest {
             .content(objectMapper.writeValueAsString(incompleteRequest)))
             .andExpect(status().isBadRequest());
 
-        verify(authService, never()).login(any(LoginRequest.class));
+        verify(authService, never()).login(any(LoginRequest.class), any());
     }
 
     @Test
     @DisplayName("Should return 500 when login with invalid credentials")
     void shouldReturn500WhenLoginWithInvalidCredentials() throws Exception {
-        when(authService.login(any(LoginRequest.class)))
+        when(authService.login(any(LoginRequest.class), any()))
             .thenThrow(new RuntimeException("Invalid credentials"));
 
         mockMvc.perform(post("/api/v1/auth/login")
@@ -168,7 +178,7 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(loginRequest)))
             .andExpect(status().isInternalServerError());
 
-        verify(authService).login(any(LoginRequest.class));
+        verify(authService).login(any(LoginRequest.class), any());
     }
 
     @Test
@@ -233,4 +243,45 @@ class AuthControllerTest {
 
         verify(authService, never()).register(any(RegisterRequest.class));
     }
+
+    @Test
+    @DisplayName("Should refresh token successfully")
+    void shouldRefreshTokenSuccessfully() throws Exception {
+        AuthResponse refreshed = new AuthResponse("new-jwt-token", "test@example.com", "testuser", "ROLE_USER",
+            "rotated-token", 900L);
+        when(authService.refresh("refresh-token")).thenReturn(refreshed);
+
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").value("new-jwt-token"))
+            .andExpect(jsonPath("$.refreshToken").value("rotated-token"))
+            .andExpect(jsonPath("$.expiresIn").value(900));
+
+        verify(authService).refresh("refresh-token");
+    }
+
+    @Test
+    @DisplayName("Should return 400 when refresh token is blank")
+    void shouldReturn400WhenRefreshTokenIsBlank() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(""))))
+            .andExpect(status().isBadRequest());
+
+        verify(authService, never()).refresh(anyString());
+    }
+
+    @Test
+    @DisplayName("Should logout with bearer token and refresh token")
+    void shouldLogoutWithBearerTokenAndRefreshToken() throws Exception {
+        mockMvc.perform(post("/api/v1/auth/logout")
+                .header("Authorization", "Bearer jwt-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+            .andExpect(status().isNoContent());
+
+        verify(authService).logout("jwt-token", "refresh-token");
+    }
 }
@@ -32,7 +32,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"tracing.exporter=memory", "notifications.channel=memory"})
 @AutoConfigureMockMvc
 @MockitoSettings(strictness = Strictness.LENIENT)
 @DisplayName("ClassController Unit Tests")
@@ -24,7 +24,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"tracing.exporter=memory", "notifications.channel=memory"})
 @AutoConfigureMockMvc
 @MockitoSettings(strictness = Strictness.LENIENT)
 @DisplayName("UserController Unit Tests")
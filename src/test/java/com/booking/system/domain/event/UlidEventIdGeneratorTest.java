@@ -0,0 +1,127 @@
+package com.booking.system.domain.event;
+
+import com.booking.system.domain.shared.DomainClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UlidEventIdGenerator Tests")
+class UlidEventIdGeneratorTest {
+
+    private final Instant instant = Instant.parse("2027-03-01T09:00:00Z");
+
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+        EventIds.reset();
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids within the same millisecond")
+    void shouldBeMonotonicWithinMillisecond() {
+        // Given
+        UlidEventIdGenerator generator = new UlidEventIdGenerator(Clock.fixed(instant, ZoneOffset.UTC));
+
+        // When
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(generator.nextId());
+        }
+
+        // Then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(ids).allSatisfy(id -> {
+            assertThat(id).hasSize(26).matches("[0-9A-HJKMNP-TV-Z]+");
+            assertThat(UlidEventIdGenerator.timestampOf(id)).isEqualTo(instant.toEpochMilli());
+        });
+    }
+
+    @Test
+    @DisplayName("Should sort ids by time and never go backwards when the clock does")
+    void shouldSortByTime() {
+        // Given
+        MutableClock clock = new MutableClock(instant);
+        UlidEventIdGenerator generator = new UlidEventIdGenerator(clock);
+
+        // When
+        String first = generator.nextId();
+        clock.instant = instant.plusMillis(5);
+        String later = generator.nextId();
+        clock.instant = instant;
+        String afterRollback = generator.nextId();
+
+        // Then
+        assertThat(first).isLessThan(later);
+        assertThat(later).isLessThan(afterRollback);
+        assertThat(UlidEventIdGenerator.timestampOf(afterRollback)).isEqualTo(instant.plusMillis(5).toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("Should generate unique ids across threads")
+    void shouldBeUniqueAcrossThreads() {
+        // Given
+        UlidEventIdGenerator generator = new UlidEventIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                ids.add(generator.nextId());
+            }
+        });
+
+        // Then
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    @DisplayName("Should take event ids and timestamps from the installed generator and clock")
+    void shouldUseInstalledGeneratorAndClock() {
+        // Given
+        DomainClock.use(Clock.fixed(instant, ZoneOffset.UTC));
+        EventIds.use(() -> "EVENT-1");
+
+        // When
+        ClassBookedEvent event = new ClassBookedEvent(1L, "Yoga", 1, 10);
+
+        // Then
+        assertThat(event.getEventId()).isEqualTo("EVENT-1");
+        assertThat(event.getOccurredOn()).isEqualTo(LocalDateTime.of(2027, 3, 1, 9, 0));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
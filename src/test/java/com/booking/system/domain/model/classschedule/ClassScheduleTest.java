@@ -1,19 +1,24 @@
 package com.booking.system.domain.model.classschedule;
 
+import com.booking.system.domain.event.ClassRescheduledEvent;
 import com.booking.system.domain.model.shared.Capacity;
 import com.booking.system.domain.model.shared.TimeRange;
 import com.booking.system.domain.model.shared.Location;
 import com.booking.system.domain.model.instructor.Instructor;
 import com.booking.system.domain.model.user.User;
 import com.booking.system.domain.model.shared.Email;
+import com.booking.system.domain.shared.DomainClock;
 import com.booking.system.domain.shared.DomainException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.lang.reflect.Field;
 
 import static org.assertj.core.api.Assertions.*;
@@ -54,6 +59,27 @@ class ClassScheduleTest {
         location = Location.of("Room 101, Building A");
     }
 
+    @AfterEach
+    void tearDown() {
+        DomainClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should read time from the domain clock")
+    void shouldReadTimeFromDomainClock() {
+        // Given - the clock is moved past the end of a future class
+        ClassSchedule classSchedule = ClassSchedule.create("Yoga Class", "Description", instructor,
+            futureTimeRange, capacity, location);
+        LocalDateTime later = now.plusHours(5);
+        DomainClock.use(Clock.fixed(later.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+
+        // When & Then
+        assertThat(classSchedule.hasStarted()).isTrue();
+        assertThatThrownBy(classSchedule::book).isInstanceOf(DomainException.class);
+        classSchedule.complete();
+        assertThat(classSchedule.getUpdatedAt()).isEqualTo(later);
+    }
+
     @Test
     @DisplayName("Should create class schedule successfully")
     void shouldCreateClassScheduleSuccessfully() {
@@ -257,6 +283,9 @@ class ClassScheduleTest {
         // Then
         assertThat(classSchedule.getTimeRange()).isEqualTo(newTimeRange);
         assertThat(classSchedule.getUpdatedAt()).isAfter(originalUpdatedAt);
+        assertThat(classSchedule.getEvents()).singleElement()
+            .isInstanceOfSatisfying(ClassRescheduledEvent.class,
+                event -> assertThat(event.getStartTime()).isEqualTo(now.plusHours(5)));
     }
 
     @Test
@@ -0,0 +1,72 @@
+package com.booking.system.domain.model.instructor;
+
+import com.booking.system.domain.model.shared.Email;
+import com.booking.system.domain.model.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("InstructorRef Value Object Tests")
+class InstructorRefTest {
+
+    private Instructor newInstructor() {
+        User user = User.create("instructor_user", Email.of("instructor@example.com"),
+            "Jane", "Doe", "hashedPassword", "ROLE_INSTRUCTOR");
+        Instructor instructor = Instructor.create(user, "Experienced instructor", "Yoga");
+        instructor.setId(7L);
+        return instructor;
+    }
+
+    @Test
+    @DisplayName("Should not load the instructor until hydrated")
+    void shouldLoadInstructorLazily() {
+        // Given
+        Instructor instructor = newInstructor();
+        AtomicInteger loads = new AtomicInteger();
+        InstructorRef ref = InstructorRef.of(7L, "Jane Doe", () -> {
+            loads.incrementAndGet();
+            return instructor;
+        });
+
+        // Then
+        assertThat(ref.getId()).isEqualTo(7L);
+        assertThat(ref.getDisplayName()).isEqualTo("Jane Doe");
+        assertThat(ref.isHydrated()).isFalse();
+        assertThat(loads).hasValue(0);
+
+        // When
+        Instructor first = ref.hydrate();
+        Instructor second = ref.hydrate();
+
+        // Then
+        assertThat(first).isSameAs(instructor).isSameAs(second);
+        assertThat(ref.isHydrated()).isTrue();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should build a hydrated reference from a loaded instructor")
+    void shouldCreateFromLoadedInstructor() {
+        // When
+        InstructorRef ref = InstructorRef.of(newInstructor());
+
+        // Then
+        assertThat(ref.isHydrated()).isTrue();
+        assertThat(ref).isEqualTo(InstructorRef.of(7L, "Jane Doe", () -> null));
+    }
+
+    @Test
+    @DisplayName("Should throw exception for missing id or loader")
+    void shouldRejectInvalidArguments() {
+        // When & Then
+        assertThatThrownBy(() -> InstructorRef.of(null, "Jane Doe", () -> null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Instructor id cannot be null");
+        assertThatThrownBy(() -> InstructorRef.of(7L, "Jane Doe", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Loader cannot be null");
+    }
+}
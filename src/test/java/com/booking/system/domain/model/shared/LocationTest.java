@@ -228,4 +228,13 @@ class LocationTest {
         // When & Then
         assertThat(location.toString()).isEqualTo("Room 101, Building A");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should derive the same room key for differently formatted locations")
+    void shouldNormalizeRoomKey() {
+        // When & Then
+        assertThat(Location.of("  Studio   A ").getKey()).isEqualTo("studio a");
+        assertThat(Location.of("STUDIO A").getKey()).isEqualTo(Location.of("studio\ta").getKey());
+        assertThat(Location.of("Studio B").getKey()).isNotEqualTo(Location.of("Studio A").getKey());
+    }
+}
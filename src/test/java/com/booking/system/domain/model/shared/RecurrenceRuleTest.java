@@ -0,0 +1,110 @@
+package com.booking.system.domain.model.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RecurrenceRule Value Object Tests")
+class RecurrenceRuleTest {
+
+    // 2027-01-04 is a Monday
+    private final LocalDateTime monday7am = LocalDateTime.of(2027, 1, 4, 7, 0);
+
+    @Test
+    @DisplayName("Should parse and normalize a weekly rule")
+    void shouldParseWeeklyRule() {
+        // When
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:freq=weekly;byday=FR,MO,WE;until=20270630");
+
+        // Then
+        assertThat(rule.getFrequency()).isEqualTo(RecurrenceRule.Frequency.WEEKLY);
+        assertThat(rule.getByDay()).containsExactly(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+        assertThat(rule.getUntil()).isEqualTo(LocalDateTime.of(2027, 6, 30, 23, 59, 59));
+        assertThat(rule.toString()).isEqualTo("FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20270630T235959");
+        assertThat(RecurrenceRule.parse(rule.toString())).isEqualTo(rule);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "BYDAY=MO", "FREQ=MONTHLY", "FREQ=DAILY;BYDAY=MO", "FREQ=WEEKLY;INTERVAL=0",
+        "FREQ=WEEKLY;COUNT=3;UNTIL=20270101", "FREQ=WEEKLY;BYDAY=XX", "FREQ=WEEKLY;BYSETPOS=1"})
+    @DisplayName("Should reject unsupported or invalid rules")
+    void shouldRejectInvalidRules(String rule) {
+        // When & Then
+        assertThatThrownBy(() -> RecurrenceRule.parse(rule))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should list Mon/Wed/Fri occurrences within a range")
+    void shouldListWeeklyOccurrencesInRange() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+
+        // When
+        List<LocalDateTime> occurrences = rule.occurrencesBetween(monday7am,
+            monday7am.plusWeeks(10).plusHours(1), monday7am.plusWeeks(11));
+
+        // Then
+        assertThat(occurrences).containsExactly(
+            monday7am.plusWeeks(10).plusDays(2),
+            monday7am.plusWeeks(10).plusDays(4));
+    }
+
+    @Test
+    @DisplayName("Should honour COUNT when jumping into a later range")
+    void shouldHonourCountAfterJump() {
+        // Given - starts on a Wednesday, so the Monday of the first week does not count
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=9");
+        LocalDateTime wednesday = monday7am.plusDays(2);
+
+        // When
+        List<LocalDateTime> all = rule.occurrencesBetween(wednesday, wednesday, wednesday.plusYears(1));
+        List<LocalDateTime> later = rule.occurrencesBetween(wednesday, wednesday.plusWeeks(2), wednesday.plusYears(1));
+
+        // Then
+        assertThat(all).hasSize(9).startsWith(wednesday).endsWith(monday7am.plusWeeks(3));
+        assertThat(later).containsExactly(
+            monday7am.plusWeeks(2).plusDays(2),
+            monday7am.plusWeeks(2).plusDays(4),
+            monday7am.plusWeeks(3));
+    }
+
+    @Test
+    @DisplayName("Should match full expansion for interval rules queried far from the start")
+    void shouldMatchFullExpansionForIntervals() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=3;BYDAY=TU,SA;COUNT=200");
+        LocalDateTime from = monday7am.plusDays(400);
+        LocalDateTime to = from.plusDays(120);
+
+        // When
+        List<LocalDateTime> expanded = rule.occurrencesBetween(monday7am, monday7am, to).stream()
+            .filter(occurrence -> !occurrence.isBefore(from))
+            .toList();
+
+        // Then
+        assertThat(rule.occurrencesBetween(monday7am, from, to)).isNotEmpty().isEqualTo(expanded);
+    }
+
+    @Test
+    @DisplayName("Should stop daily occurrences at UNTIL")
+    void shouldStopDailyAtUntil() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;UNTIL=20270110T070000");
+
+        // When
+        List<LocalDateTime> occurrences = rule.occurrencesBetween(monday7am, monday7am.minusDays(5),
+            monday7am.plusMonths(1));
+
+        // Then
+        assertThat(occurrences).containsExactly(monday7am, monday7am.plusDays(2),
+            monday7am.plusDays(4), monday7am.plusDays(6));
+    }
+}
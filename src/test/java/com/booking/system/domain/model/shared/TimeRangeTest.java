@@ -154,6 +154,18 @@ class TimeRangeTest {
         assertThat(range1.overlaps(range4)).isTrue();
     }
 
+    @Test
+    @DisplayName("Should not treat back-to-back time ranges as overlapping")
+    void shouldNotTreatBackToBackRangesAsOverlapping() {
+        // Given
+        TimeRange first = TimeRange.of(now.plusHours(1), now.plusHours(2));
+        TimeRange second = TimeRange.of(now.plusHours(2), now.plusHours(3));
+
+        // When & Then
+        assertThat(first.overlaps(second)).isFalse();
+        assertThat(second.overlaps(first)).isFalse();
+    }
+
     @Test
     @DisplayName("Should check if has started")
     void shouldCheckIfHasStarted() {
@@ -1,5 +1,6 @@
 package com.booking.system.domain.service;
 
+import com.booking.system.domain.exception.DuplicateResourceException;
 import com.booking.system.domain.model.user.User;
 import com.booking.system.domain.model.shared.Email;
 import com.booking.system.domain.repository.UserRepository;
@@ -60,8 +61,6 @@ class AuthDomainServiceTest {
     @DisplayName("Should register new user successfully")
     void shouldRegisterNewUserSuccessfully() {
         // Given
-        when(userRepository.existsByEmail(email)).thenReturn(false);
-        when(userRepository.existsByUsername(username)).thenReturn(false);
         when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
@@ -76,45 +75,43 @@ class AuthDomainServiceTest {
         assertThat(result.getLastName()).isEqualTo(lastName);
         assertThat(result.getRole()).isEqualTo("ROLE_USER");
 
-        verify(userRepository).existsByEmail(email);
-        verify(userRepository).existsByUsername(username);
+        // 唯一性由数据库约束保证，不再预先查询
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).existsByUsername(anyString());
         verify(passwordEncoder).encode(password);
         verify(userRepository).save(any(User.class));
     }
 
     @Test
-    @DisplayName("Should throw exception when email already exists during registration")
-    void shouldThrowExceptionWhenEmailExistsDuringRegistration() {
+    @DisplayName("Should propagate duplicate email reported by repository")
+    void shouldPropagateDuplicateEmailReportedByRepository() {
         // Given
-        when(userRepository.existsByEmail(email)).thenReturn(true);
+        when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
+        when(userRepository.save(any(User.class)))
+            .thenThrow(new DuplicateResourceException("Email already exists"));
 
         // When & Then
         assertThatThrownBy(() -> authDomainService.register(username, email, password, firstName, lastName))
             .isInstanceOf(DomainException.class)
             .hasMessageContaining("Email already exists");
 
-        verify(userRepository).existsByEmail(email);
-        verify(userRepository, never()).existsByUsername(anyString());
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @Test
-    @DisplayName("Should throw exception when username already exists during registration")
-    void shouldThrowExceptionWhenUsernameExistsDuringRegistration() {
+    @DisplayName("Should propagate duplicate username reported by repository")
+    void shouldPropagateDuplicateUsernameReportedByRepository() {
         // Given
-        when(userRepository.existsByEmail(email)).thenReturn(false);
-        when(userRepository.existsByUsername(username)).thenReturn(true);
+        when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
+        when(userRepository.save(any(User.class)))
+            .thenThrow(new DuplicateResourceException("Username already exists"));
 
         // When & Then
         assertThatThrownBy(() -> authDomainService.register(username, email, password, firstName, lastName))
             .isInstanceOf(DomainException.class)
             .hasMessageContaining("Username already exists");
 
-        verify(userRepository).existsByEmail(email);
-        verify(userRepository).existsByUsername(username);
-        verify(passwordEncoder, never()).encode(anyString());
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository, never()).existsByUsername(anyString());
     }
 
     @Test
@@ -223,8 +220,6 @@ class AuthDomainServiceTest {
     @DisplayName("Should encode password during registration")
     void shouldEncodePasswordDuringRegistration() {
         // Given
-        when(userRepository.existsByEmail(email)).thenReturn(false);
-        when(userRepository.existsByUsername(username)).thenReturn(false);
         when(passwordEncoder.encode(password)).thenReturn(encodedPassword);
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
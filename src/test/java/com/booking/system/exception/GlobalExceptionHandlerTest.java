@@ -70,6 +70,25 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getPath()).isEqualTo("/api/v1/bookings");
     }
 
+    @Test
+    @DisplayName("Should handle TooManyRequestsException with Retry-After")
+    void shouldHandleTooManyRequestsException() {
+        // Given
+        TooManyRequestsException ex = new TooManyRequestsException("Too many failed login attempts", 30);
+        WebRequest request = mock(WebRequest.class);
+        when(request.getDescription(false)).thenReturn("uri=/api/v1/auth/login");
+
+        // When
+        var response = globalExceptionHandler.handleTooManyRequestsException(ex, request);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("30");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getError()).isEqualTo("Too Many Requests");
+        assertThat(response.getBody().getPath()).isEqualTo("/api/v1/auth/login");
+    }
+
     @Test
     @DisplayName("Should handle AuthenticationException")
     void shouldHandleAuthenticationException() {
@@ -0,0 +1,144 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LockContentionProfiler Unit Tests")
+class LockContentionProfilerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    @Test
+    @DisplayName("Should measure the lock query and return its result")
+    void shouldMeasureLockQuery() {
+        // Given
+        LockContentionProfiler profiler = new LockContentionProfiler(true, 8, 5, nanos::get);
+
+        // When
+        Optional<String> result = profiler.profile(1L, () -> {
+            nanos.addAndGet(3_000_000L);
+            return Optional.of("locked");
+        });
+
+        // Then
+        assertThat(result).contains("locked");
+        LockContentionProfiler.Snapshot snapshot = profiler.snapshot();
+        assertThat(snapshot.acquisitions()).isEqualTo(1);
+        assertThat(snapshot.totalWaitMs()).isEqualTo(3.0);
+        assertThat(snapshot.topContended()).singleElement().satisfies(stats -> {
+            assertThat(stats.classScheduleId()).isEqualTo(1L);
+            assertThat(stats.maxWaitMs()).isEqualTo(3.0);
+            assertThat(stats.p99Ms()).isEqualTo(3.0);
+        });
+    }
+
+    @Test
+    @DisplayName("Should rank classes by accumulated wait time rather than acquisitions")
+    void shouldRankByWaitTime() {
+        // Given
+        LockContentionProfiler profiler = new LockContentionProfiler(true, 8, 5, nanos::get);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            profiler.record(1L, 100_000L);
+        }
+        profiler.record(2L, 50_000_000L);
+        profiler.record(2L, 40_000_000L);
+
+        // Then
+        LockContentionProfiler.Snapshot snapshot = profiler.snapshot();
+        assertThat(snapshot.topContended())
+            .extracting(LockContentionProfiler.ClassLockStats::classScheduleId)
+            .containsExactly(2L, 1L);
+        assertThat(snapshot.topContended().get(0).acquisitions()).isEqualTo(2);
+        assertThat(snapshot.topContended().get(0).p50Ms()).isEqualTo(50.0);
+        assertThat(snapshot.acquisitions()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Should keep every record when threads profile different classes concurrently")
+    void shouldRecordConcurrently() throws Exception {
+        // Given
+        LockContentionProfiler profiler = new LockContentionProfiler(true, 64, 5, nanos::get);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long classId = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    profiler.record(classId, (classId + 1) * 1_000_000L);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        LockContentionProfiler.Snapshot snapshot = profiler.snapshot();
+        assertThat(snapshot.acquisitions()).isEqualTo((long) threads * perThread);
+        assertThat(snapshot.trackedClasses()).isEqualTo(threads);
+        assertThat(snapshot.topContended())
+            .extracting(LockContentionProfiler.ClassLockStats::classScheduleId)
+            .containsExactly(7L, 6L, 5L, 4L, 3L);
+        assertThat(snapshot.topContended().get(0).acquisitions()).isEqualTo(perThread);
+    }
+
+    @Test
+    @DisplayName("Should record failed lock acquisitions")
+    void shouldRecordFailedAcquisitions() {
+        // Given
+        LockContentionProfiler profiler = new LockContentionProfiler(true, 8, 5, nanos::get);
+
+        // When & Then
+        assertThatThrownBy(() -> profiler.profile(1L, () -> {
+            nanos.addAndGet(1_000_000_000L);
+            throw new IllegalStateException("lock timeout");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(profiler.snapshot().maxWaitMs()).isEqualTo(1000.0);
+    }
+
+    @Test
+    @DisplayName("Should pass through without recording when disabled")
+    void shouldPassThroughWhenDisabled() {
+        // Given
+        LockContentionProfiler profiler = new LockContentionProfiler(false, 8, 5, nanos::get);
+
+        // When
+        profiler.profile(1L, () -> Optional.empty());
+
+        // Then
+        assertThat(profiler.snapshot().acquisitions()).isZero();
+        assertThat(profiler.snapshot().topContended()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should clear statistics on reset")
+    void shouldClearOnReset() {
+        // Given
+        LockContentionProfiler profiler = new LockContentionProfiler(true, 8, 5, nanos::get);
+        profiler.record(1L, 1_000_000L);
+
+        // When
+        profiler.reset();
+
+        // Then
+        assertThat(profiler.snapshot().acquisitions()).isZero();
+        assertThat(profiler.snapshot().trackedClasses()).isZero();
+    }
+}
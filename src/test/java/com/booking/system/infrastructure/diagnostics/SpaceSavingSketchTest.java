@@ -0,0 +1,80 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SpaceSavingSketch Unit Tests")
+class SpaceSavingSketchTest {
+
+    @Test
+    @DisplayName("Should count exactly while under capacity")
+    void shouldCountExactlyUnderCapacity() {
+        // Given
+        SpaceSavingSketch<Long, Object> sketch = new SpaceSavingSketch<>(4, Object::new);
+
+        // When
+        sketch.offer(1L, 5);
+        sketch.offer(2L, 3);
+        sketch.offer(1L, 2);
+
+        // Then
+        List<SpaceSavingSketch.Entry<Long, Object>> top = sketch.top(10);
+        assertThat(top).extracting(SpaceSavingSketch.Entry::key).containsExactly(1L, 2L);
+        assertThat(top.get(0).count()).isEqualTo(7);
+        assertThat(top.get(0).error()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace the smallest entry and carry its count as error")
+    void shouldReplaceSmallestEntry() {
+        // Given
+        AtomicInteger created = new AtomicInteger();
+        SpaceSavingSketch<Long, Integer> sketch = new SpaceSavingSketch<>(2, created::incrementAndGet);
+        sketch.offer(1L, 10);
+        sketch.offer(2L, 3);
+
+        // When
+        Integer value = sketch.offer(3L, 1);
+
+        // Then
+        assertThat(value).isEqualTo(3);
+        assertThat(sketch.size()).isEqualTo(2);
+        List<SpaceSavingSketch.Entry<Long, Integer>> top = sketch.top(2);
+        assertThat(top).extracting(SpaceSavingSketch.Entry::key).containsExactly(1L, 3L);
+        assertThat(top.get(1).count()).isEqualTo(4);
+        assertThat(top.get(1).error()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep heavy hitters among a long tail of keys")
+    void shouldKeepHeavyHitters() {
+        // Given
+        SpaceSavingSketch<Long, Object> sketch = new SpaceSavingSketch<>(16, Object::new);
+
+        // When
+        for (long i = 0; i < 10_000; i++) {
+            sketch.offer(1000L + i, 1);
+            if (i % 10 == 0) {
+                sketch.offer(7L, 5);
+            }
+            if (i % 20 == 0) {
+                sketch.offer(42L, 5);
+            }
+        }
+
+        // Then
+        assertThat(sketch.top(2)).extracting(SpaceSavingSketch.Entry::key).containsExactly(7L, 42L);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive capacity")
+    void shouldRejectNonPositiveCapacity() {
+        assertThatThrownBy(() -> new SpaceSavingSketch<Long, Object>(0, Object::new))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package com.booking.system.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SqlStatementStats Unit Tests")
+class SqlStatementStatsTest {
+
+    private final SqlStatementRecorder recorder = new SqlStatementRecorder();
+    private final SqlExecutionTimer timer = new SqlExecutionTimer();
+
+    @AfterEach
+    void tearDown() {
+        SqlStatementRecorder.unbind();
+    }
+
+    @Test
+    @DisplayName("Should count statements only while a request is bound")
+    void shouldCountBoundStatements() {
+        // Given
+        SqlStatementStats stats = new SqlStatementStats(Long.MAX_VALUE, 10);
+        recorder.inspect("select 0");
+
+        // When
+        SqlStatementRecorder.bind(stats);
+        assertThat(recorder.inspect("select 1")).isEqualTo("select 1");
+        recorder.inspect("select 2");
+        SqlStatementRecorder.unbind();
+        recorder.inspect("select 3");
+
+        // Then
+        assertThat(stats.statementCount()).isEqualTo(2);
+        assertThat(stats.statements()).containsExactly("select 1", "select 2");
+    }
+
+    @Test
+    @DisplayName("Should cap captured statement texts but keep counting")
+    void shouldCapCapturedStatements() {
+        // Given
+        SqlStatementStats stats = new SqlStatementStats(Long.MAX_VALUE, 2);
+        SqlStatementRecorder.bind(stats);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            recorder.inspect("select " + i);
+        }
+
+        // Then
+        assertThat(stats.statementCount()).isEqualTo(5);
+        assertThat(stats.statements()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should time executions and attribute slow ones to the last prepared statement")
+    void shouldTimeExecutions() {
+        // Given
+        SqlStatementStats stats = new SqlStatementStats(0L, 10);
+        SqlStatementRecorder.bind(stats);
+
+        // When
+        recorder.inspect("select * from class_schedules where id = ? for update");
+        timer.jdbcExecuteStatementStart();
+        timer.jdbcExecuteStatementEnd();
+        timer.jdbcExecuteBatchEnd();
+
+        // Then
+        assertThat(stats.slowStatements()).singleElement()
+            .extracting(SqlStatementStats.SlowStatement::sql)
+            .isEqualTo("select * from class_schedules where id = ? for update");
+    }
+}
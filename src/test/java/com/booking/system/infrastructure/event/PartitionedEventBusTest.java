@@ -0,0 +1,201 @@
+package com.booking.system.infrastructure.event;
+
+import com.booking.system.domain.event.ClassBookedEvent;
+import com.booking.system.domain.event.ClassCancelledEvent;
+import com.booking.system.domain.event.DomainEvent;
+import com.booking.system.infrastructure.tracing.InMemorySpanExporter;
+import com.booking.system.infrastructure.tracing.Span;
+import com.booking.system.infrastructure.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PartitionedEventBus Unit Tests")
+class PartitionedEventBusTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemorySpanExporter spanExporter = new InMemorySpanExporter(100);
+    private final Tracer tracer = new Tracer(spanExporter, 1.0);
+    private PartitionedEventBus eventBus;
+
+    @AfterEach
+    void tearDown() {
+        eventBus.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep per-aggregate order while handling aggregates in parallel")
+    void shouldKeepPerAggregateOrder() {
+        // Given
+        Map<Long, List<Integer>> seen = new ConcurrentHashMap<>();
+        eventBus = newBus(4, 100, handler(ClassBookedEvent.class, event ->
+            seen.computeIfAbsent(event.getClassScheduleId(), id -> new CopyOnWriteArrayList<>())
+                .add(event.getCurrentBookings())));
+
+        // When
+        for (int booking = 1; booking <= 50; booking++) {
+            for (long classId = 1; classId <= 8; classId++) {
+                eventBus.publish(classId, new ClassBookedEvent(classId, "Class " + classId, booking, 100));
+            }
+        }
+
+        // Then
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(seen).hasSize(8);
+        assertThat(seen.values()).allSatisfy(bookings -> assertThat(bookings).hasSize(50).isSorted());
+        assertThat(meterRegistry.get("domain.events.handler").tag("outcome", "success").timer().count())
+            .isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Should isolate a failing handler from the other handlers")
+    void shouldIsolateFailingHandler() {
+        // Given
+        List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        eventBus = newBus(2, 10,
+            handler(ClassBookedEvent.class, event -> {
+                throw new IllegalStateException("boom");
+            }),
+            handler(DomainEvent.class, received::add));
+
+        // When
+        CompletableFuture<Void> booked = eventBus.publish(1L, new ClassBookedEvent(1L, "Yoga", 1, 10));
+        CompletableFuture<Void> cancelled = eventBus.publish(1L, new ClassCancelledEvent(1L, "Yoga", 1));
+
+        // Then - the failure is reported to the publisher, the other handlers still run
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(received).hasSize(2);
+        assertThat(booked).failsWithin(Duration.ofSeconds(5))
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(EventHandlingException.class)
+            .withMessageContaining("boom");
+        assertThat(cancelled).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(meterRegistry.get("domain.events.handler").tag("outcome", "failure").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject events when a partition queue stays full")
+    void shouldApplyBackpressure() throws InterruptedException {
+        // Given - the single worker is stuck on the first event and the queue holds one more
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        eventBus = newBus(1, 1, handler(ClassBookedEvent.class, event -> {
+            started.countDown();
+            awaitQuietly(release);
+        }));
+        eventBus.publish(1L, new ClassBookedEvent(1L, "Yoga", 1, 10));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        eventBus.publish(1L, new ClassBookedEvent(1L, "Yoga", 2, 10));
+
+        // When & Then
+        assertThat(meterRegistry.get("domain.events.queue.depth").gauge().value()).isEqualTo(1);
+        assertThatThrownBy(() -> eventBus.publish(1L, new ClassBookedEvent(1L, "Yoga", 3, 10)))
+            .isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("domain.events.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should dispatch events published in a transaction only after commit")
+    void shouldDispatchAfterCommitOnly() {
+        // Given
+        List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        eventBus = newBus(2, 10, handler(DomainEvent.class, received::add));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        eventBus.publish(1L, new ClassBookedEvent(1L, "Yoga", 1, 10));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // Then - nothing is dispatched before commit, and a rollback drops the event
+        assertThat(eventBus.pendingCount()).isZero();
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertThat(eventBus.pendingCount()).isZero();
+
+        // When
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        assertThat(received).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should trace each handler call as a child of the publishing span")
+    void shouldTraceHandlersUnderPublisherSpan() {
+        // Given
+        eventBus = newBus(2, 10, handler(ClassBookedEvent.class, event -> { }));
+        String traceId;
+        String publisherSpanId;
+
+        // When
+        try (Span span = tracer.startSpan("publisher")) {
+            traceId = span.context().traceId();
+            publisherSpanId = span.context().spanId();
+            eventBus.publish(1L, new ClassBookedEvent(1L, "Yoga", 1, 10));
+        }
+
+        // Then
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        tracer.flush();
+        assertThat(spanExporter.trace(traceId))
+            .filteredOn(span -> "event-handler".equals(span.attributes().get("component")))
+            .singleElement()
+            .satisfies(span -> {
+                assertThat(span.parentSpanId()).isEqualTo(publisherSpanId);
+                assertThat(span.attributes()).containsEntry("event.type", "ClassBookedEvent");
+            });
+    }
+
+    private PartitionedEventBus newBus(int partitions, int capacity, DomainEventHandler<?>... handlers) {
+        return new PartitionedEventBus(List.of(handlers), meterRegistry, tracer, partitions, capacity,
+            Duration.ofMillis(100));
+    }
+
+    private static <E extends DomainEvent> DomainEventHandler<E> handler(Class<E> type, Consumer<E> body) {
+        return new DomainEventHandler<>() {
+            @Override
+            public Class<E> eventType() {
+                return type;
+            }
+
+            @Override
+            public void handle(E event) {
+                body.accept(event);
+            }
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
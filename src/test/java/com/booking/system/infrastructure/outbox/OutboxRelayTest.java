@@ -0,0 +1,292 @@
+package com.booking.system.infrastructure.outbox;
+
+import com.booking.system.domain.event.ClassBookedEvent;
+import com.booking.system.domain.event.ClassCompletedEvent;
+import com.booking.system.domain.event.DomainEvent;
+import com.booking.system.entity.OutboxAggregate;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.infrastructure.event.DomainEventHandler;
+import com.booking.system.infrastructure.event.PartitionedEventBus;
+import com.booking.system.repository.OutboxAggregateRepository;
+import com.booking.system.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The relay claims and marks rows in its own transactions, so these tests commit and clean up after themselves.
+ */
+@SpringBootTest(properties = {"outbox.relay.max-attempts=2", "outbox.relay.delivery-timeout=500ms"})
+@ActiveProfiles("test")
+@DisplayName("Outbox Relay Integration Tests")
+class OutboxRelayTest {
+
+    @Autowired
+    private TransactionalOutbox outbox;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private OutboxAggregateRepository outboxAggregateRepository;
+
+    @Autowired
+    private PartitionedEventBus eventBus;
+
+    @Autowired
+    private RecordingHandler handler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        outboxMessageRepository.deleteAll();
+        handler.received.clear();
+        handler.failingClasses.clear();
+        handler.blockingClasses.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should relay committed events with their original identity and mark them published")
+    void shouldRelayCommittedEvents() {
+        // Given
+        ClassBookedEvent booked = new ClassBookedEvent(1L, "Yoga", 3, 10);
+        LocalDateTime start = LocalDateTime.of(2027, 3, 1, 9, 0);
+        ClassCompletedEvent completed = new ClassCompletedEvent(2L, "Spin", 8, start, start.plusHours(1));
+        append(1L, booked);
+        append(2L, completed);
+
+        // When
+        int published = relay.drain();
+
+        // Then
+        assertThat(published).isEqualTo(2);
+        assertThat(handler.received).hasSize(2);
+        // Aggregates are handled in parallel on different partitions, so look the events up by type
+        ClassBookedEvent relayed = received(ClassBookedEvent.class);
+        assertThat(relayed.getEventId()).isEqualTo(booked.getEventId());
+        assertThat(relayed.getOccurredOn()).isEqualTo(booked.getOccurredOn());
+        assertThat(relayed.getRemainingSeats()).isEqualTo(7);
+        assertThat(received(ClassCompletedEvent.class).getDurationInMinutes()).isEqualTo(60);
+        assertThat(outboxMessageRepository.findAll()).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(OutboxMessage.PUBLISHED);
+            assertThat(message.getPublishedAt()).isNotNull();
+            assertThat(message.getClaimedBy()).isNull();
+        });
+        assertThat(relay.drain()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should discard events of a rolled back transaction")
+    void shouldDiscardEventsOnRollback() {
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.append("ClassSchedule", 1L, List.of(new ClassBookedEvent(1L, "Yoga", 1, 10)));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(outboxMessageRepository.count()).isZero();
+        assertThatThrownBy(() -> outbox.append("ClassSchedule", 1L, List.of(new ClassBookedEvent(1L, "Yoga", 1, 10))))
+            .isInstanceOf(org.springframework.transaction.IllegalTransactionStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should retry failed events in aggregate order and dead-letter after max attempts")
+    void shouldRetryInOrderAndDeadLetter() {
+        // Given - the listener fails on the first event of aggregate 1, aggregate 2 is unaffected
+        handler.failingClasses.add("Broken");
+        append(1L, new ClassBookedEvent(1L, "Broken", 1, 10));
+        append(1L, new ClassBookedEvent(1L, "Yoga", 2, 10));
+        append(2L, new ClassBookedEvent(2L, "Spin", 1, 10));
+
+        // When
+        relay.drain();
+
+        // Then - the second event of aggregate 1 waits behind the failure
+        assertThat(handler.received).extracting(this::className).containsExactly("Spin");
+        OutboxMessage failed = messageFor("Broken");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getStatus()).isEqualTo(OutboxMessage.PENDING);
+        assertThat(failed.getLastError()).contains("listener failure");
+        assertThat(messageFor("Yoga").getAttempts()).isZero();
+
+        // When - the retry also fails, reaching max attempts
+        makeAllAvailable();
+        relay.drain();
+
+        // Then - the dead letter no longer blocks the aggregate
+        assertThat(messageFor("Broken").getStatus()).isEqualTo(OutboxMessage.FAILED);
+        makeAllAvailable();
+        relay.drain();
+        assertThat(handler.received).extracting(this::className).containsExactly("Spin", "Yoga");
+        assertThat(outboxMessageRepository.countByStatus(OutboxMessage.PUBLISHED)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should number each aggregate's events and relay them in that order rather than by id")
+    void shouldRelayInAggregateSequenceOrder() {
+        // Given
+        append(1L, new ClassBookedEvent(1L, "First", 1, 10));
+        append(1L, new ClassBookedEvent(1L, "Second", 2, 10));
+        append(2L, new ClassBookedEvent(2L, "Other", 1, 10));
+        assertThat(messageFor("First").getAggregateSequence()).isLessThan(messageFor("Second").getAggregateSequence());
+        assertThat(outboxAggregateRepository.findById(OutboxAggregate.keyOf("ClassSchedule", 1L)))
+            .hasValueSatisfying(stream ->
+                assertThat(stream.getLastSequence()).isEqualTo(messageFor("Second").getAggregateSequence()));
+
+        // When - ids no longer match commit order, e.g. pooled ids handed out by another instance
+        transactionTemplate.executeWithoutResult(status -> {
+            OutboxMessage first = messageFor("First");
+            OutboxMessage second = messageFor("Second");
+            Long sequence = first.getAggregateSequence();
+            first.setAggregateSequence(second.getAggregateSequence());
+            second.setAggregateSequence(sequence);
+        });
+        relay.drain();
+
+        // Then
+        assertThat(handler.received).extracting(this::className)
+            .containsSubsequence("Second", "First")
+            .contains("Other");
+    }
+
+    @Test
+    @DisplayName("Should retry events that cannot be decoded")
+    void shouldRetryUndecodableEvents() {
+        // Given
+        append(1L, new ClassBookedEvent(1L, "Broken", 1, 10));
+        transactionTemplate.executeWithoutResult(status -> messageFor("Broken").setEventType("UnknownEvent"));
+
+        // When
+        relay.drain();
+
+        // Then
+        OutboxMessage failed = messageFor("Broken");
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("Unknown outbox event type");
+        assertThat(handler.received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep a message claimed until its handlers finish")
+    void shouldKeepMessageClaimedUntilHandled() {
+        // Given - the handler of aggregate 1 is still running when the delivery timeout expires
+        CountDownLatch release = new CountDownLatch(1);
+        handler.blockingClasses.put("Slow", release);
+        append(1L, new ClassBookedEvent(1L, "Slow", 1, 10));
+        append(1L, new ClassBookedEvent(1L, "Yoga", 2, 10));
+
+        try {
+            // When
+            int published = relay.drain();
+
+            // Then - neither message is acknowledged, the slow one keeps its lease
+            assertThat(published).isZero();
+            OutboxMessage slow = messageFor("Slow");
+            assertThat(slow.getStatus()).isEqualTo(OutboxMessage.PENDING);
+            assertThat(slow.getClaimedBy()).isNotNull();
+            assertThat(slow.getAvailableAt()).isAfter(LocalDateTime.now());
+            assertThat(messageFor("Yoga").getStatus()).isEqualTo(OutboxMessage.PENDING);
+            assertThat(relay.drain()).isZero();
+        } finally {
+            release.countDown();
+        }
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+    }
+
+    private void append(Long aggregateId, DomainEvent event) {
+        transactionTemplate.executeWithoutResult(status -> outbox.append("ClassSchedule", aggregateId, List.of(event)));
+    }
+
+    private void makeAllAvailable() {
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.findAll()
+            .forEach(message -> message.setAvailableAt(LocalDateTime.now().minusSeconds(1))));
+    }
+
+    private OutboxMessage messageFor(String className) {
+        return outboxMessageRepository.findAll().stream()
+            .filter(message -> message.getPayload().contains("\"className\":\"" + className + "\""))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private <E extends DomainEvent> E received(Class<E> type) {
+        return handler.received.stream().filter(type::isInstance).map(type::cast).findFirst().orElseThrow();
+    }
+
+    private String className(DomainEvent event) {
+        return ((ClassBookedEvent) event).getClassName();
+    }
+
+    @TestConfiguration
+    static class HandlerConfig {
+
+        @Bean
+        RecordingHandler recordingHandler() {
+            return new RecordingHandler();
+        }
+    }
+
+    static class RecordingHandler implements DomainEventHandler<DomainEvent> {
+
+        private final List<DomainEvent> received = new CopyOnWriteArrayList<>();
+        private final Set<String> failingClasses = ConcurrentHashMap.newKeySet();
+        private final Map<String, CountDownLatch> blockingClasses = new ConcurrentHashMap<>();
+
+        @Override
+        public Class<DomainEvent> eventType() {
+            return DomainEvent.class;
+        }
+
+        @Override
+        public void handle(DomainEvent event) {
+            if (event instanceof ClassBookedEvent booked) {
+                CountDownLatch latch = blockingClasses.get(booked.getClassName());
+                if (latch != null) {
+                    try {
+                        latch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                if (failingClasses.contains(booked.getClassName())) {
+                    throw new IllegalStateException("listener failure");
+                }
+            }
+            received.add(event);
+        }
+    }
+}
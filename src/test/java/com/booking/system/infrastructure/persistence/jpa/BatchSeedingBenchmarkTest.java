@@ -0,0 +1,188 @@
+package com.booking.system.infrastructure.persistence.jpa;
+
+import com.booking.system.entity.Booking;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 批量写入：默认只用少量数据按JDBC执行次数校验插入确实合并为批处理；
+ * 吞吐量基准只在指定 -Dbenchmark.seed-size 时运行，结果写入日志，不做时间断言。测试结束后随事务回滚
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Batch Seeding Benchmark")
+class BatchSeedingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchSeedingBenchmarkTest.class);
+
+    private static final int USER_COUNT = 100;
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should flush class and booking inserts as JDBC batches")
+    void shouldFlushInsertsInJdbcBatches() {
+        // Given
+        int batchSize = configuredBatchSize();
+        assertThat(batchSize).isGreaterThan(1);
+        int size = batchSize * 20;
+        List<Long> userIds = seedUsers();
+        JdbcCounter counter = countJdbcCalls();
+
+        // When
+        seed(userIds, 0, size);
+
+        // Then - every insert goes out in a full batch; the only single statements are pooled sequence fetches
+        assertThat(counter.batches).isEqualTo(2 * size / batchSize);
+        assertThat(counter.statements).isLessThanOrEqualTo(2 * (size / batchSize + 1));
+        assertThat(count("SELECT COUNT(c) FROM ClassSchedule c")).isEqualTo(size);
+        assertThat(count("SELECT COUNT(b) FROM Booking b")).isEqualTo(size);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @EnabledIfSystemProperty(named = "benchmark.seed-size", matches = "\\d+")
+    @DisplayName("Benchmark seeding row-by-row against JDBC batches")
+    void benchmarkBatchedSeeding() {
+        int seedSize = Integer.getInteger("benchmark.seed-size");
+        int baselineSize = Math.min(seedSize, 10_000);
+        int batchSize = configuredBatchSize();
+        List<Long> userIds = seedUsers();
+        Session session = entityManager.unwrap(Session.class);
+        JdbcCounter counter = countJdbcCalls();
+
+        // When: 逐行执行作为基线
+        session.setJdbcBatchSize(1);
+        long unbatchedNanos = seed(userIds, 0, baselineSize);
+        long unbatchedStatements = counter.statements;
+
+        // When: 使用配置的批大小
+        session.setJdbcBatchSize(null);
+        long batchedNanos = seed(userIds, baselineSize, seedSize);
+
+        log.warn("Seeded {} classes + bookings row-by-row at {} rows/s ({} statements), "
+                + "{} classes + bookings batched (size {}) at {} rows/s ({} batches)",
+            baselineSize, rowsPerSecond(baselineSize, unbatchedNanos), unbatchedStatements,
+            seedSize, batchSize, rowsPerSecond(seedSize, batchedNanos), counter.batches);
+
+        // Then
+        assertThat(unbatchedStatements).isGreaterThanOrEqualTo(2L * baselineSize);
+        assertThat(counter.batches).isGreaterThanOrEqualTo(2L * seedSize / batchSize);
+        assertThat(count("SELECT COUNT(c) FROM ClassSchedule c")).isEqualTo(baselineSize + seedSize);
+        assertThat(count("SELECT COUNT(b) FROM Booking b")).isEqualTo(baselineSize + seedSize);
+    }
+
+    private int configuredBatchSize() {
+        return entityManager.getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getSessionFactoryOptions()
+            .getJdbcBatchSize();
+    }
+
+    /**
+     * 统计当前会话的JDBC执行：单条语句与批处理分别计数
+     */
+    private JdbcCounter countJdbcCalls() {
+        JdbcCounter counter = new JdbcCounter();
+        entityManager.unwrap(SessionImplementor.class).getEventListenerManager().addListener(counter);
+        return counter;
+    }
+
+    private List<Long> seedUsers() {
+        List<Long> userIds = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUsername("seed" + i);
+            user.setEmail("seed" + i + "@example.com");
+            user.setPasswordHash("hash");
+            user.setFirstName("Seed");
+            user.setLastName("User" + i);
+            user.setRole("ROLE_USER");
+            entityManager.persist(user);
+            userIds.add(user.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return userIds;
+    }
+
+    /**
+     * 写入指定数量的课程及各一条预订，每块flush并清空持久化上下文以保持内存平稳
+     */
+    private long seed(List<Long> userIds, int offset, int size) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        long began = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            int n = offset + i;
+            ClassSchedule classSchedule = new ClassSchedule();
+            classSchedule.setName("Seed Class " + n);
+            classSchedule.setStartTime(start.plusMinutes(n));
+            classSchedule.setEndTime(start.plusMinutes(n + 60));
+            classSchedule.setCapacity(20);
+            classSchedule.setCurrentBookings(1);
+            classSchedule.setLocation("Studio " + (n % 10));
+            entityManager.persist(classSchedule);
+
+            Booking booking = new Booking();
+            booking.setUser(entityManager.getReference(User.class, userIds.get(n % userIds.size())));
+            booking.setClassSchedule(classSchedule);
+            entityManager.persist(booking);
+
+            if ((i + 1) % CHUNK_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return System.nanoTime() - began;
+    }
+
+    private long count(String jpql) {
+        return entityManager.createQuery(jpql, Long.class).getSingleResult();
+    }
+
+    private static long rowsPerSecond(int classes, long nanos) {
+        return nanos == 0 ? 0 : (long) (classes * 2 * 1_000_000_000.0 / nanos);
+    }
+
+    private static final class JdbcCounter implements SessionEventListener {
+
+        private long statements;
+        private long batches;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements++;
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches++;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.booking.system.infrastructure.persistence.jpa;
+
+import com.booking.system.domain.model.classschedule.ClassSchedule;
+import com.booking.system.domain.model.instructor.Instructor;
+import com.booking.system.domain.model.shared.Capacity;
+import com.booking.system.domain.model.shared.Email;
+import com.booking.system.domain.model.shared.Location;
+import com.booking.system.domain.model.shared.TimeRange;
+import com.booking.system.domain.model.user.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 领域聚合直接映射的分配量
+ * 按课程统计JpaClassScheduleRepository加载和保存的分配字节数，以读写同一张表的旧实体仓储为基线：
+ * 聚合查询结果即托管实体，不再逐个转换，分配量应与旧实体处于同一量级
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("ClassSchedule Mapping Allocation Benchmark")
+class ClassScheduleMappingAllocationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassScheduleMappingAllocationBenchmarkTest.class);
+
+    private static final int CLASS_COUNT = 200;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+    /**
+     * 聚合路径相对旧实体路径允许的分配倍数，超出说明映射又引入了逐行转换或额外副本
+     */
+    private static final double MAX_RATIO = 1.5;
+
+    @Autowired
+    private JpaClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private JpaInstructorRepository instructorRepository;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private com.booking.system.repository.ClassScheduleRepository legacyClassScheduleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> classIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.create("benchinstructor", Email.of("bench.instructor@example.com"),
+            "Bench", "Instructor", "hash", "ROLE_INSTRUCTOR"));
+        Instructor instructor = instructorRepository.save(Instructor.create(user, "Bio", "Yoga"));
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            classIds.add(classScheduleRepository.save(ClassSchedule.create("Class " + i, "Description", instructor,
+                TimeRange.of(start.plusHours(i), start.plusHours(i).plusMinutes(45)),
+                Capacity.of(20), Location.of("Studio " + (i % 5)))).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Loading aggregates should allocate on par with loading the legacy entities")
+    void loadShouldAllocateOnParWithLegacyEntities() {
+        com.sun.management.ThreadMXBean threadBean = allocationBean();
+        Assumptions.assumeTrue(threadBean != null, "Thread allocation accounting not supported");
+
+        // When
+        long aggregateBytes = measure(threadBean, () ->
+            assertThat(classScheduleRepository.findByStatus("SCHEDULED")).hasSize(CLASS_COUNT));
+        long legacyBytes = measure(threadBean, () ->
+            assertThat(legacyClassScheduleRepository.findByStatus("SCHEDULED")).hasSize(CLASS_COUNT));
+
+        // Then
+        log.warn("Bytes per class load: aggregate={}, legacy={}",
+            aggregateBytes / CLASS_COUNT, legacyBytes / CLASS_COUNT);
+        assertThat((double) aggregateBytes)
+            .as("bytes per load: aggregate=%d, legacy=%d", aggregateBytes, legacyBytes)
+            .isLessThanOrEqualTo(legacyBytes * MAX_RATIO);
+    }
+
+    @Test
+    @DisplayName("Saving aggregates should allocate on par with saving the legacy entities")
+    void saveShouldAllocateOnParWithLegacyEntities() {
+        com.sun.management.ThreadMXBean threadBean = allocationBean();
+        Assumptions.assumeTrue(threadBean != null, "Thread allocation accounting not supported");
+
+        // When - each round loads every class, renames it and flushes the update
+        AtomicInteger round = new AtomicInteger();
+        long aggregateBytes = measure(threadBean, () -> {
+            String suffix = " #" + round.incrementAndGet();
+            for (Long id : classIds) {
+                ClassSchedule classSchedule = classScheduleRepository.findById(id).orElseThrow();
+                classSchedule.updateInfo("Class " + id + suffix, classSchedule.getDescription(),
+                    classSchedule.getLocation());
+                classScheduleRepository.save(classSchedule);
+            }
+            entityManager.flush();
+        });
+        long legacyBytes = measure(threadBean, () -> {
+            String suffix = " #" + round.incrementAndGet();
+            for (Long id : classIds) {
+                com.booking.system.entity.ClassSchedule classSchedule =
+                    legacyClassScheduleRepository.findById(id).orElseThrow();
+                classSchedule.setName("Class " + id + suffix);
+                legacyClassScheduleRepository.save(classSchedule);
+            }
+            entityManager.flush();
+        });
+
+        // Then
+        log.warn("Bytes per class save: aggregate={}, legacy={}",
+            aggregateBytes / CLASS_COUNT, legacyBytes / CLASS_COUNT);
+        assertThat((double) aggregateBytes)
+            .as("bytes per save: aggregate=%d, legacy=%d", aggregateBytes, legacyBytes)
+            .isLessThanOrEqualTo(legacyBytes * MAX_RATIO);
+    }
+
+    /**
+     * 预热后取多轮中的最小分配量，每轮前清空持久化上下文，保证都是冷加载
+     */
+    private long measure(com.sun.management.ThreadMXBean threadBean, Runnable round) {
+        long threadId = Thread.currentThread().getId();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP_ROUNDS + MEASURED_ROUNDS; i++) {
+            entityManager.clear();
+            long before = threadBean.getThreadAllocatedBytes(threadId);
+            round.run();
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+            if (i >= WARMUP_ROUNDS) {
+                best = Math.min(best, allocated);
+            }
+        }
+        return best;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+}
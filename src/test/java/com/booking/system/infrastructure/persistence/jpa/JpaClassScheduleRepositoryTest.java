@@ -0,0 +1,217 @@
+package com.booking.system.infrastructure.persistence.jpa;
+
+import com.booking.system.domain.exception.DuplicateResourceException;
+import com.booking.system.domain.model.classschedule.ClassSchedule;
+import com.booking.system.domain.model.instructor.Instructor;
+import com.booking.system.domain.model.instructor.InstructorRef;
+import com.booking.system.domain.model.shared.Capacity;
+import com.booking.system.domain.model.shared.Email;
+import com.booking.system.domain.model.shared.Location;
+import com.booking.system.domain.model.shared.TimeRange;
+import com.booking.system.domain.model.user.User;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.repository.OutboxMessageRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("JpaClassScheduleRepository Integration Tests")
+class JpaClassScheduleRepositoryTest {
+
+    @Autowired
+    private JpaClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private JpaInstructorRepository instructorRepository;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @Autowired
+    private com.booking.system.repository.ClassScheduleRepository legacyClassScheduleRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Instructor instructor;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.create("repoinstructor", Email.of("repo.instructor@example.com"),
+            "Repo", "Instructor", "hash", "ROLE_INSTRUCTOR"));
+        instructor = instructorRepository.save(Instructor.create(user, "Bio", "Yoga"));
+    }
+
+    @Test
+    @DisplayName("Should persist aggregates into the shared tables and read them back directly")
+    void shouldPersistAndReadBackAggregates() {
+        // Given
+        ClassSchedule saved = classScheduleRepository.save(newClass("Morning Yoga", 2));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ClassSchedule found = classScheduleRepository.findById(saved.getId()).orElseThrow();
+
+        // Then
+        assertThat(found.getName()).isEqualTo("Morning Yoga");
+        assertThat(found.getCapacity().getValue()).isEqualTo(10);
+        assertThat(found.getInstructor().getId()).isEqualTo(instructor.getId());
+        assertThat(found.getInstructor().getUser().getIsActive()).isTrue();
+        assertThat(legacyClassScheduleRepository.findById(saved.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should write changes of a loaded aggregate without an explicit re-read")
+    void shouldUpdateLoadedAggregate() {
+        // Given
+        Long id = classScheduleRepository.save(newClass("Pilates", 2)).getId();
+        entityManager.flush();
+        entityManager.clear();
+        ClassSchedule loaded = classScheduleRepository.findByIdWithLock(id).orElseThrow();
+
+        // When
+        loaded.book();
+        classScheduleRepository.save(loaded);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        com.booking.system.entity.ClassSchedule legacy = legacyClassScheduleRepository.findById(id).orElseThrow();
+        assertThat(legacy.getCurrentBookings()).isEqualTo(1);
+        assertThat(legacy.getVersion()).isEqualTo(1L);
+        assertThat(loaded.getEvents()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should write aggregate events to the outbox in the aggregate's transaction")
+    void shouldWriteEventsToOutbox() {
+        // Given
+        ClassSchedule classSchedule = classScheduleRepository.save(newClass("Barre", 2));
+        classSchedule.book();
+
+        // When
+        classScheduleRepository.save(classSchedule);
+        classSchedule.cancel();
+        classScheduleRepository.save(classSchedule);
+        entityManager.flush();
+
+        // Then
+        List<OutboxMessage> messages = outboxMessageRepository.findAll().stream()
+            .filter(message -> message.getAggregateId().equals(classSchedule.getId()))
+            .toList();
+        assertThat(messages).extracting(OutboxMessage::getEventType)
+            .containsExactly("ClassBookedEvent", "ClassCancelledEvent");
+        assertThat(messages).allSatisfy(message -> {
+            assertThat(message.getAggregateType()).isEqualTo("ClassSchedule");
+            assertThat(message.getStatus()).isEqualTo(OutboxMessage.PENDING);
+            assertThat(message.getPayload()).contains("\"className\":\"Barre\"");
+        });
+    }
+
+    @Test
+    @DisplayName("Should filter and order upcoming classes in the query")
+    void shouldFindUpcomingClassesOrderedByStartTime() {
+        // Given
+        classScheduleRepository.save(newClass("Later", 5));
+        classScheduleRepository.save(newClass("Sooner", 1));
+        ClassSchedule cancelled = classScheduleRepository.save(newClass("Cancelled", 3));
+        cancelled.cancel();
+        classScheduleRepository.save(cancelled);
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<ClassSchedule> upcoming =
+            classScheduleRepository.findUpcomingClassesByStatus("SCHEDULED", LocalDateTime.now());
+
+        // Then
+        assertThat(upcoming).extracting(ClassSchedule::getName).containsExactly("Sooner", "Later");
+        assertThat(classScheduleRepository.findByInstructorId(instructor.getId())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should return list views with instructor references instead of loaded instructors")
+    void shouldAttachLazyInstructorRefsToListResults() {
+        // Given
+        classScheduleRepository.save(newClass("Spin", 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        ClassSchedule listed = classScheduleRepository.findByStatus("SCHEDULED").get(0);
+
+        // Then
+        InstructorRef ref = listed.getInstructorRef();
+        assertThat(ref.getId()).isEqualTo(instructor.getId());
+        assertThat(ref.getDisplayName()).isEqualTo("Repo Instructor");
+        assertThat(Hibernate.isInitialized(listed.getInstructor())).isFalse();
+
+        // When
+        Instructor hydrated = ref.hydrate();
+
+        // Then
+        assertThat(Hibernate.isInitialized(hydrated)).isTrue();
+        assertThat(hydrated.getSpecialization()).isEqualTo("Yoga");
+    }
+
+    @Test
+    @DisplayName("Should find overlapping instructor classes within the bounded index range")
+    void shouldFindInstructorConflicts() {
+        // Given
+        ClassSchedule existing = classScheduleRepository.save(newClass("Existing", 2));
+        ClassSchedule cancelled = classScheduleRepository.save(newClass("Cancelled", 2));
+        cancelled.cancel();
+        classScheduleRepository.save(cancelled);
+        entityManager.flush();
+        entityManager.clear();
+        LocalDateTime start = existing.getTimeRange().getStartTime();
+
+        // When & Then
+        assertThat(classScheduleRepository.findInstructorConflicts(instructor.getId(),
+                TimeRange.of(start.plusMinutes(30), start.plusMinutes(90)), null))
+            .extracting(ClassSchedule::getId).containsExactly(existing.getId());
+        assertThat(classScheduleRepository.findInstructorConflicts(instructor.getId(),
+                TimeRange.of(start.plusHours(1), start.plusHours(2)), null))
+            .isEmpty();
+        assertThat(classScheduleRepository.findInstructorConflicts(instructor.getId(),
+                TimeRange.of(start.minusMinutes(30), start.plusMinutes(30)), existing.getId()))
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should look up users by email and reject duplicates")
+    void shouldFindUserByEmailAndRejectDuplicates() {
+        // Then
+        assertThat(userRepository.findByEmail("repo.instructor@example.com")).isPresent();
+        assertThat(userRepository.existsByUsername("repoinstructor")).isTrue();
+        assertThat(instructorRepository.existsByUserId(instructor.getUser().getId())).isTrue();
+        assertThatThrownBy(() -> userRepository.save(User.create("another", Email.of("repo.instructor@example.com"),
+            "Another", "User", "hash", "ROLE_USER")))
+            .isInstanceOf(DuplicateResourceException.class)
+            .hasMessage("Email already exists");
+    }
+
+    private ClassSchedule newClass(String name, int daysAhead) {
+        LocalDateTime start = LocalDateTime.now().plusDays(daysAhead).withNano(0);
+        return ClassSchedule.create(name, "Description", instructor,
+            TimeRange.of(start, start.plusHours(1)), Capacity.of(10), Location.of("Studio A"));
+    }
+}
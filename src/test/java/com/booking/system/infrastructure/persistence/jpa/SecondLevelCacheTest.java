@@ -0,0 +1,168 @@
+package com.booking.system.infrastructure.persistence.jpa;
+
+import com.booking.system.config.HibernateCacheEndpoint;
+import com.booking.system.entity.User;
+import com.booking.system.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 二级缓存只在事务之间生效，这些测试提交数据并自行清理
+ * 区域直接来自ehcache.xml（missing_cache_strategy: fail），容量与TTL和生产一致；命中计数依赖Hibernate统计，
+ * 只在本测试运行期间打开，不单独建上下文（create-drop会重建共享的内存库，打乱其他上下文缓存的序列段）
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Second-level Cache Integration Tests")
+class SecondLevelCacheTest {
+
+    private static final String EMAIL = "cached.user@example.com";
+
+    @Autowired
+    private UserRepository legacyUserRepository;
+
+    @Autowired
+    private JpaUserRepository domainUserRepository;
+
+    @Autowired
+    private HibernateCacheEndpoint hibernateCacheEndpoint;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        User user = new User();
+        user.setUsername("cacheduser");
+        user.setEmail(EMAIL);
+        user.setPasswordHash("hash");
+        user.setFirstName("Cached");
+        user.setLastName("User");
+        user.setRole("ROLE_USER");
+        userId = legacyUserRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        legacyUserRepository.deleteById(userId);
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated email lookups from the cache without SQL")
+    void shouldServeEmailLookupsFromCache() {
+        // Given - the first lookup warms the natural-id and entity regions
+        assertThat(legacyUserRepository.findByEmail(EMAIL)).isPresent();
+        statistics.clear();
+
+        // When
+        User cached = legacyUserRepository.findByEmail(EMAIL).orElseThrow();
+
+        // Then
+        assertThat(cached.getId()).isEqualTo(userId);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(legacyUserRepository.findByEmail("missing@example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should evict the cached user when the domain aggregate writes the shared table")
+    void shouldEvictOnDomainAggregateWrite() {
+        // Given
+        assertThat(legacyUserRepository.findById(userId).orElseThrow().getIsActive()).isTrue();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            com.booking.system.domain.model.user.User aggregate = domainUserRepository.findById(userId).orElseThrow();
+            aggregate.deactivate();
+            domainUserRepository.save(aggregate);
+        });
+
+        // Then
+        assertThat(legacyUserRepository.findById(userId).orElseThrow().getIsActive()).isFalse();
+        assertThat(legacyUserRepository.findByEmail(EMAIL).orElseThrow().getIsActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report per-region statistics on the actuator endpoint")
+    @SuppressWarnings("unchecked")
+    void shouldReportRegionStatistics() {
+        // Given
+        legacyUserRepository.findById(userId);
+        legacyUserRepository.findById(userId);
+
+        // When
+        Map<String, Object> report = hibernateCacheEndpoint.statistics();
+
+        // Then
+        assertThat(report.get("enabled")).isEqualTo(true);
+        Map<String, Map<String, Object>> regions = (Map<String, Map<String, Object>>) report.get("regions");
+        assertThat(regions).containsKeys("users", "users-by-email", "instructors");
+        assertThat(((Number) regions.get("users").get("hits")).longValue()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should back each region with the capacity and TTL from ehcache.xml")
+    void shouldUseRegionsFromEhcacheXml() {
+        // Given
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory.getServiceRegistry()
+            .getService(RegionFactory.class)).getCacheManager();
+
+        // When
+        CacheRuntimeConfiguration<?, ?> users = runtimeConfiguration(cacheManager, "users");
+        CacheRuntimeConfiguration<?, ?> instructors = runtimeConfiguration(cacheManager, "instructors");
+
+        // Then
+        assertThat(users.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10000);
+        assertThat(users.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit())
+            .isEqualTo(EntryUnit.ENTRIES);
+        assertThat(users.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofMinutes(10));
+        assertThat(instructors.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(2000);
+        assertThat(instructors.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(runtimeConfiguration(cacheManager, "users-by-email").getResourcePools()
+            .getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(10000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheRuntimeConfiguration<?, ?> runtimeConfiguration(CacheManager cacheManager, String region) {
+        Eh107Configuration<Object, Object> configuration =
+            cacheManager.getCache(region).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+}
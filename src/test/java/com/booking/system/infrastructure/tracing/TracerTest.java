@@ -0,0 +1,121 @@
+package com.booking.system.infrastructure.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tracer Unit Tests")
+class TracerTest {
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(100);
+
+    @Test
+    @DisplayName("Should nest spans on the current thread and restore the parent on close")
+    void shouldNestSpans() {
+        // Given
+        Tracer tracer = new Tracer(exporter, 1.0);
+
+        // When
+        try (Span root = tracer.startSpan("root")) {
+            try (Span child = tracer.startSpan("child").tag("component", "service")) {
+                assertThat(tracer.currentContext()).isEqualTo(child.context());
+            }
+            assertThat(tracer.currentContext()).isEqualTo(root.context());
+        }
+        tracer.flush();
+
+        // Then
+        assertThat(tracer.currentContext()).isNull();
+        List<FinishedSpan> spans = exporter.spans();
+        assertThat(spans).extracting(FinishedSpan::name).containsExactly("child", "root");
+        assertThat(spans.get(0).traceId()).isEqualTo(spans.get(1).traceId());
+        assertThat(spans.get(0).parentSpanId()).isEqualTo(spans.get(1).spanId());
+        assertThat(spans.get(1).parentSpanId()).isNull();
+        assertThat(spans.get(0).attributes()).containsEntry("component", "service");
+    }
+
+    @Test
+    @DisplayName("Should let children inherit an unsampled decision and export nothing")
+    void shouldInheritUnsampledDecision() {
+        // Given
+        Tracer tracer = new Tracer(exporter, 0.0);
+
+        // When
+        try (Span root = tracer.startSpan("root")) {
+            try (Span child = tracer.startSpan("child")) {
+                assertThat(child.isSampled()).isFalse();
+                assertThat(child.context().traceId()).isEqualTo(root.context().traceId());
+            }
+        }
+        tracer.flush();
+
+        // Then
+        assertThat(exporter.spans()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should continue a remote trace from a traceparent header")
+    void shouldContinueRemoteTrace() {
+        // Given
+        Tracer tracer = new Tracer(exporter, 0.0);
+        TraceContext remote = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        // When
+        try (Span span = tracer.startSpan("request", remote)) {
+            assertThat(span.context().traceparent()).startsWith("00-4bf92f3577b34da6a3ce929d0e0e4736-");
+        }
+        tracer.flush();
+
+        // Then
+        assertThat(exporter.spans()).singleElement().satisfies(span -> {
+            assertThat(span.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+            assertThat(span.parentSpanId()).isEqualTo("00f067aa0ba902b7");
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject malformed traceparent headers")
+    void shouldRejectMalformedTraceparent() {
+        assertThat(TraceContext.parse(null)).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7")).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").sampled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop spans when the export buffer is full")
+    void shouldDropSpansWhenBufferIsFull() {
+        // Given
+        Tracer tracer = new Tracer(exporter, true, 1.0, 2, 10);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            tracer.startSpan("span-" + i).end();
+        }
+        tracer.flush();
+
+        // Then
+        assertThat(exporter.spans()).hasSize(2);
+        assertThat(tracer.droppedSpans()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should count a failed export as dropped spans")
+    void shouldCountFailedExport() {
+        // Given
+        Tracer tracer = new Tracer(batch -> {
+            throw new IllegalStateException("collector down");
+        }, 1.0);
+        tracer.startSpan("span").end();
+
+        // When
+        tracer.flush();
+
+        // Then
+        assertThat(tracer.droppedSpans()).isEqualTo(1);
+    }
+}
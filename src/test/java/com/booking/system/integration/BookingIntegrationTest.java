@@ -5,6 +5,10 @@ import com.booking.system.dto.request.LoginRequest;
 import com.booking.system.dto.request.RegisterRequest;
 import com.booking.system.dto.response.BookingResponse;
 import com.booking.system.dto.response.ClassResponse;
+import com.booking.system.infrastructure.tracing.FinishedSpan;
+import com.booking.system.infrastructure.tracing.InMemorySpanExporter;
+import com.booking.system.infrastructure.tracing.TraceContext;
+import com.booking.system.infrastructure.tracing.Tracer;
 import com.booking.system.repository.BookingRepository;
 import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.UserRepository;
@@ -25,8 +29,14 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.booking.system.integration.SqlStatementAssertions.maxSqlStatements;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -54,6 +64,12 @@ class BookingIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
     private String authToken;
     private Long testClassId;
     private Long testUserId;
@@ -162,6 +178,7 @@ class BookingIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(bookingRequest)))
             .andExpect(status().isCreated())
+            .andExpect(maxSqlStatements(20))
             .andReturn();
 
         // Then - Verify booking created
@@ -175,6 +192,7 @@ class BookingIntegrationTest {
         ClassScheduleResponse classSchedule = objectMapper.readValue(
             mockMvc.perform(get("/api/v1/classes/" + testClassId))
                 .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(10))
                 .andReturn()
                 .getResponse()
                 .getContentAsString(),
@@ -186,6 +204,7 @@ class BookingIntegrationTest {
         mockMvc.perform(get("/api/v1/bookings/my-bookings")
                 .header("Authorization", "Bearer " + authToken))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$").isArray())
             .andExpect(jsonPath("$[0].id").value(bookingId));
 
@@ -193,18 +212,21 @@ class BookingIntegrationTest {
         mockMvc.perform(delete("/api/v1/bookings/" + bookingId)
                 .header("Authorization", "Bearer " + authToken)
                 .with(csrf()))
-            .andExpect(status().isNoContent());
+            .andExpect(status().isNoContent())
+            .andExpect(maxSqlStatements(20));
 
         // Then - Verify booking cancelled
         mockMvc.perform(get("/api/v1/bookings/" + bookingId)
                 .header("Authorization", "Bearer " + authToken))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$.bookingStatus").value("CANCELLED"));
 
         // Verify class bookings decreased
         ClassScheduleResponse updatedClass = objectMapper.readValue(
             mockMvc.perform(get("/api/v1/classes/" + testClassId))
                 .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(10))
                 .andReturn()
                 .getResponse()
                 .getContentAsString(),
@@ -239,6 +261,104 @@ class BookingIntegrationTest {
             .andExpect(jsonPath("$.message").value("You have already booked this class"));
     }
 
+    @Test
+    @DisplayName("Should reject and flag classes that overlap the user's bookings")
+    void shouldRejectOverlappingBookings() throws Exception {
+        // Given - a second class starting half way through the first one, in another room
+        var user = userRepository.findById(testUserId).get();
+        user.setRole("ROLE_ADMIN");
+        userRepository.save(user);
+        MvcResult adminResult = mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"test@example.com\",\"password\":\"password123\"}"))
+            .andReturn();
+        String adminToken = objectMapper.readTree(adminResult.getResponse().getContentAsString()).get("token").asText();
+
+        MvcResult classResult = mockMvc.perform(post("/api/v1/classes")
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format(
+                    "{\"name\":\"Overlapping Class\",\"startTime\":\"%s\",\"endTime\":\"%s\"," +
+                    "\"capacity\":10,\"location\":\"Studio B\"}",
+                    LocalDateTime.now().plusDays(1).plusMinutes(30),
+                    LocalDateTime.now().plusDays(1).plusMinutes(90))))
+            .andExpect(status().isCreated())
+            .andReturn();
+        Long overlappingClassId = objectMapper.readTree(classResult.getResponse().getContentAsString())
+            .get("id").asLong();
+
+        // When & Then - validating the batch flags the second class
+        mockMvc.perform(post("/api/v1/bookings/validate")
+                .header("Authorization", "Bearer " + authToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"classScheduleIds\":[" + testClassId + "," + overlappingClassId + "]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].bookable").value(true))
+            .andExpect(jsonPath("$[1].bookable").value(false))
+            .andExpect(jsonPath("$[1].conflictingClassId").value(testClassId));
+
+        // When & Then - booking both is rejected on the second
+        BookingRequest bookingRequest = new BookingRequest();
+        bookingRequest.setClassScheduleId(testClassId);
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + authToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+            .andExpect(status().isCreated());
+
+        bookingRequest.setClassScheduleId(overlappingClassId);
+        mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + authToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(startsWith("You have already booked class " + testClassId)));
+    }
+
+    @Test
+    @DisplayName("Should trace a booking from the filter chain down to the repository")
+    void shouldTraceBookingRequest() throws Exception {
+        // Given
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+        String callerSpanId = "00f067aa0ba902b7";
+        BookingRequest bookingRequest = new BookingRequest();
+        bookingRequest.setClassScheduleId(testClassId);
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + authToken)
+                .header("traceparent", "00-" + traceId + "-" + callerSpanId + "-01")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        tracer.flush();
+
+        // Then
+        TraceContext returned = TraceContext.parse(result.getResponse().getHeader("traceparent"));
+        assertThat(returned).isNotNull();
+        assertThat(returned.traceId()).isEqualTo(traceId);
+
+        List<FinishedSpan> spans = spanExporter.trace(traceId);
+        Map<String, FinishedSpan> byName = spans.stream()
+            .collect(Collectors.toMap(FinishedSpan::name, Function.identity(), (first, second) -> first));
+        FinishedSpan root = byName.get("POST /api/v1/bookings");
+        assertThat(root).isNotNull();
+        assertThat(root.parentSpanId()).isEqualTo(callerSpanId);
+        assertThat(root.attributes()).containsEntry("http.status_code", "201");
+        assertThat(byName.get("JwtAuthenticationFilter.authenticate").parentSpanId()).isEqualTo(root.spanId());
+        FinishedSpan controller = byName.get("BookingController.createBooking");
+        FinishedSpan service = byName.get("BookingService.createBooking");
+        assertThat(service.parentSpanId()).isEqualTo(controller.spanId());
+        assertThat(byName.get("ClassScheduleRepository.findByIdWithLock").parentSpanId())
+            .isEqualTo(service.spanId());
+    }
+
     @Test
     @DisplayName("Should require authentication for booking")
     void shouldRequireAuthenticationForBooking() throws Exception {
@@ -0,0 +1,249 @@
+package com.booking.system.integration;
+
+import com.booking.system.dto.request.LoginRequest;
+import com.booking.system.dto.request.RegisterRequest;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.Instructor;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.InstructorRepository;
+import com.booking.system.repository.UserRepository;
+import com.booking.system.service.ClassImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Class Import Integration Tests")
+class ClassImportIntegrationTest {
+
+    private static final String CSV_HEADER = "name,description,instructorId,startTime,endTime,capacity,location\n";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private ClassImportService classImportService;
+
+    private String adminToken;
+    private String userToken;
+    private Long instructorId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminToken = registerAndLogin("importadmin", "import.admin@example.com", "ROLE_ADMIN");
+        userToken = registerAndLogin("importuser", "import.user@example.com", "ROLE_USER");
+
+        Instructor instructor = new Instructor();
+        instructor.setUser(userRepository.findByEmail("import.admin@example.com").get());
+        instructor.setBio("Timetable owner");
+        instructor.setSpecialization("Spin");
+        instructorId = instructorRepository.save(instructor).getId();
+
+        start = LocalDateTime.now().plusDays(2).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(classImportService, "chunkSize", 500);
+    }
+
+    @Test
+    @DisplayName("Should import valid CSV rows and report invalid rows individually")
+    void shouldImportCsvWithPerRowErrors() throws Exception {
+        // Given
+        String csv = CSV_HEADER
+            + csvRow("Spin 1", instructorId, start, start.plusHours(1), "20", "Studio A")
+            + csvRow("Spin 2", instructorId, start.plusDays(1), start.plusDays(1).plusHours(1), "0", "Studio A")
+            + csvRow("Spin 3", 999999L, start, start.plusHours(1), "20", "Studio B")
+            + "\"Spin, \"\"Quoted\"\"\",,," + start + "," + start.plusMinutes(45) + ",15,Studio C\n"
+            + "Spin 5,,," + start + ",not-a-date,15,Studio C\n";
+
+        // When
+        long before = classScheduleRepository.count();
+        MvcResult result = mockMvc.perform(post("/api/v1/classes/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content(csv)
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalRows").value(5))
+            .andExpect(jsonPath("$.importedRows").value(2))
+            .andExpect(jsonPath("$.failedRows").value(3))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].message").value("Capacity must be positive"))
+            .andExpect(jsonPath("$.errors[1].row").value(3))
+            .andExpect(jsonPath("$.errors[1].message").value("Instructor not found: 999999"))
+            .andExpect(jsonPath("$.errors[2].row").value(5))
+            .andExpect(jsonPath("$.errors[2].message").value("Invalid date-time in column endTime: not-a-date"))
+            .andReturn();
+
+        // Then
+        assertThat(result.getResponse().getContentAsString()).contains("\"errorsTruncated\":false");
+        assertThat(classScheduleRepository.count()).isEqualTo(before + 2);
+        assertThat(classScheduleRepository.findAll())
+            .extracting(cs -> cs.getName())
+            .contains("Spin 1", "Spin, \"Quoted\"");
+    }
+
+    @Test
+    @DisplayName("Should import a JSON array across several chunks")
+    void shouldImportJsonAcrossChunks() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(classImportService, "chunkSize", 2);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 5; i++) {
+            json.append(String.format(
+                "{\"name\":\"Chunked %d\",\"instructorId\":%d,\"startTime\":\"%s\",\"endTime\":\"%s\","
+                    + "\"capacity\":10,\"location\":\"Studio A\"},",
+                i, instructorId, start.plusHours(i * 2), start.plusHours(i * 2 + 1)));
+        }
+        json.append("{\"name\":\"Broken\",\"startTime\":\"").append(start)
+            .append("\",\"endTime\":\"").append(start.plusHours(1))
+            .append("\",\"capacity\":\"many\",\"location\":\"Studio A\"}]");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/classes/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json.toString())
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalRows").value(6))
+            .andExpect(jsonPath("$.importedRows").value(5))
+            .andExpect(jsonPath("$.failedRows").value(1))
+            .andExpect(jsonPath("$.errors[0].row").value(6));
+
+        assertThat(classScheduleRepository.findByInstructorId(instructorId)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should reject rows that double-book the instructor")
+    void shouldRejectInstructorOverlaps() throws Exception {
+        // Given - an existing class of the instructor, and two imported rows that overlap each other
+        ClassSchedule existing = new ClassSchedule();
+        existing.setName("Existing Spin");
+        existing.setInstructor(instructorRepository.findById(instructorId).get());
+        existing.setStartTime(start.plusDays(3));
+        existing.setEndTime(start.plusDays(3).plusHours(1));
+        existing.setCapacity(10);
+        Long existingId = classScheduleRepository.saveAndFlush(existing).getId();
+        String csv = CSV_HEADER
+            + csvRow("Spin A", instructorId, start, start.plusHours(1), "20", "Studio A")
+            + csvRow("Spin B", instructorId, start.plusMinutes(30), start.plusMinutes(90), "20", "Studio B")
+            + csvRow("Spin C", instructorId, start.plusDays(3).plusMinutes(30), start.plusDays(3).plusHours(2),
+                "20", "Studio C");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/classes/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content(csv)
+                .with(csrf()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importedRows").value(1))
+            .andExpect(jsonPath("$.failedRows").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].message").value(startsWith("Instructor is already teaching Spin A")))
+            .andExpect(jsonPath("$.errors[1].row").value(3))
+            .andExpect(jsonPath("$.errors[1].message")
+                .value(startsWith("Instructor is already teaching class " + existingId)));
+
+        assertThat(classScheduleRepository.findByInstructorId(instructorId))
+            .extracting(ClassSchedule::getName)
+            .containsExactlyInAnyOrder("Existing Spin", "Spin A");
+    }
+
+    @Test
+    @DisplayName("Should reject CSV uploads without the required columns")
+    void shouldRejectMissingColumns() throws Exception {
+        mockMvc.perform(post("/api/v1/classes/import")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType("text/csv")
+                .content("name,capacity\nSpin,10\n")
+                .with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Missing required CSV column: starttime"));
+    }
+
+    @Test
+    @DisplayName("Should forbid imports by regular users")
+    void shouldForbidRegularUsers() throws Exception {
+        mockMvc.perform(post("/api/v1/classes/import")
+                .header("Authorization", "Bearer " + userToken)
+                .contentType("text/csv")
+                .content(CSV_HEADER)
+                .with(csrf()))
+            .andExpect(status().isForbidden());
+    }
+
+    private String csvRow(String name, Long instructor, LocalDateTime startTime, LocalDateTime endTime,
+                          String capacity, String location) {
+        return String.join(",", name, "", String.valueOf(instructor), startTime.toString(),
+            endTime.toString(), capacity, location) + "\n";
+    }
+
+    private String registerAndLogin(String username, String email, String role) throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setUsername(username);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword("password123");
+        registerRequest.setFirstName("Import");
+        registerRequest.setLastName("Tester");
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+            .andExpect(status().isCreated());
+
+        var user = userRepository.findByEmail(email).get();
+        user.setRole(role);
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword("password123");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
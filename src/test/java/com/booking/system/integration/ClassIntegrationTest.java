@@ -2,6 +2,7 @@ package com.booking.system.integration;
 
 import com.booking.system.dto.request.LoginRequest;
 import com.booking.system.dto.request.RegisterRequest;
+import com.booking.system.entity.ClassSchedule;
 import com.booking.system.entity.Instructor;
 import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.InstructorRepository;
@@ -24,7 +25,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+import static com.booking.system.integration.SqlStatementAssertions.maxSqlStatements;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -346,6 +349,7 @@ class ClassIntegrationTest {
         // When & Then - No authentication required
         mockMvc.perform(get("/api/v1/classes"))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$.length()").value(5)) // All 5 classes created
             .andExpect(jsonPath("$[?(@.name == 'Scheduled Yoga')]").exists())
             .andExpect(jsonPath("$[?(@.name == 'Cancelled Pilates')]").exists())
@@ -361,6 +365,7 @@ class ClassIntegrationTest {
         mockMvc.perform(get("/api/v1/classes")
                 .param("status", "SCHEDULED"))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$.length()").value(4)) // Scheduled Yoga, Past Meditation, Full Zumba, Instructor2 Special
             .andExpect(jsonPath("$[?(@.name == 'Scheduled Yoga')]").exists())
             .andExpect(jsonPath("$[?(@.name == 'Past Meditation')]").exists())
@@ -371,6 +376,7 @@ class ClassIntegrationTest {
         mockMvc.perform(get("/api/v1/classes")
                 .param("status", "CANCELLED"))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$.length()").value(1))
             .andExpect(jsonPath("$[0].name").value("Cancelled Pilates"));
     }
@@ -402,6 +408,7 @@ class ClassIntegrationTest {
         mockMvc.perform(get("/api/v1/classes")
                 .param("availableOnly", "true"))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$.length()").value(2)) // Scheduled Yoga, Instructor2 Special
             .andExpect(jsonPath("$[?(@.name == 'Scheduled Yoga')]").exists())
             .andExpect(jsonPath("$[?(@.name == 'Instructor2 Special')]").exists())
@@ -429,6 +436,7 @@ class ClassIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(newClassJson))
             .andExpect(status().isCreated())
+            .andExpect(maxSqlStatements(20))
             .andExpect(jsonPath("$.name").value("New Aerobics"))
             .andExpect(jsonPath("$.capacity").value(20))
             .andExpect(jsonPath("$.status").value("SCHEDULED"))
@@ -494,6 +502,7 @@ class ClassIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(updateJson))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(20))
             .andExpect(jsonPath("$.name").value("Updated Yoga"))
             .andExpect(jsonPath("$.capacity").value(15))
             .andExpect(jsonPath("$.location").value("Updated Studio"));
@@ -517,6 +526,83 @@ class ClassIntegrationTest {
 
 
 
+    @Test
+    @DisplayName("Should reject overlapping class for the same instructor but allow back-to-back classes")
+    void shouldRejectOverlappingClassForSameInstructor() throws Exception {
+        // Given
+        LocalDateTime start = LocalDateTime.now().plusDays(20).withNano(0);
+        String existingJson = String.format(
+            "{\"name\":\"Existing Spin\",\"instructorId\":%d,\"startTime\":\"%s\",\"endTime\":\"%s\"," +
+            "\"capacity\":10,\"location\":\"Studio C\"}",
+            instructorId1, start, start.plusHours(1));
+        MvcResult existingResult = mockMvc.perform(post("/api/v1/classes")
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(existingJson))
+            .andExpect(status().isCreated())
+            .andReturn();
+        long existingId = objectMapper.readTree(existingResult.getResponse().getContentAsString()).get("id").asLong();
+
+        String overlappingJson = String.format(
+            "{\"name\":\"Overlapping Spin\",\"instructorId\":%d,\"startTime\":\"%s\",\"endTime\":\"%s\"," +
+            "\"capacity\":10,\"location\":\"Studio C\"}",
+            instructorId1, start.plusMinutes(30), start.plusMinutes(90));
+        String backToBackJson = String.format(
+            "{\"name\":\"Back-to-back Spin\",\"instructorId\":%d,\"startTime\":\"%s\",\"endTime\":\"%s\"," +
+            "\"capacity\":10,\"location\":\"Studio C\"}",
+            instructorId1, start.plusHours(1), start.plusHours(2));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/classes")
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(overlappingJson))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(
+                startsWith("Instructor is already teaching class " + existingId)));
+
+        mockMvc.perform(post("/api/v1/classes")
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(backToBackJson))
+            .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("Should report overlapping classes of an instructor for a term")
+    void shouldReportInstructorConflicts() throws Exception {
+        // Given - an overlapping class written directly, bypassing the service check
+        ClassSchedule scheduled = classScheduleRepository.findById(scheduledClassId).get();
+        ClassSchedule overlapping = new ClassSchedule();
+        overlapping.setName("Imported Overlap");
+        overlapping.setInstructor(scheduled.getInstructor());
+        overlapping.setStartTime(scheduled.getStartTime().plusMinutes(15));
+        overlapping.setEndTime(scheduled.getEndTime().plusMinutes(15));
+        overlapping.setCapacity(10);
+        Long overlappingId = classScheduleRepository.save(overlapping).getId();
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/classes/conflicts")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("instructorId", instructorId1.toString())
+                .param("from", LocalDateTime.now().toString())
+                .param("to", LocalDateTime.now().plusDays(90).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].classId").value(scheduledClassId))
+            .andExpect(jsonPath("$[0].conflictingClassId").value(overlappingId));
+
+        mockMvc.perform(get("/api/v1/classes/conflicts")
+                .header("Authorization", "Bearer " + userToken)
+                .param("instructorId", instructorId1.toString())
+                .param("from", LocalDateTime.now().toString())
+                .param("to", LocalDateTime.now().plusDays(90).toString()))
+            .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Regular user should not cancel class")
     void regularUserShouldNotCancelClass() throws Exception {
@@ -533,6 +619,7 @@ class ClassIntegrationTest {
         // When & Then
         mockMvc.perform(get("/api/v1/classes/" + scheduledClassId))
             .andExpect(status().isOk())
+            .andExpect(maxSqlStatements(10))
             .andExpect(jsonPath("$.id").value(scheduledClassId))
             .andExpect(jsonPath("$.name").value("Scheduled Yoga"))
             .andExpect(jsonPath("$.capacity").value(10))
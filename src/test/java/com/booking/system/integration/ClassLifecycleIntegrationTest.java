@@ -0,0 +1,133 @@
+package com.booking.system.integration;
+
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.entity.SchedulerLease;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.OutboxMessageRepository;
+import com.booking.system.repository.SchedulerLeaseRepository;
+import com.booking.system.service.ClassLifecycleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The sweeper commits each chunk in its own transaction, so these tests commit and clean up after themselves.
+ */
+@SpringBootTest(properties = "class-lifecycle.chunk-size=2")
+@ActiveProfiles("test")
+@DisplayName("Class Lifecycle Integration Tests")
+class ClassLifecycleIntegrationTest {
+
+    @Autowired
+    private ClassLifecycleService classLifecycleService;
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final List<Long> classIds = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        schedulerLeaseRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        classScheduleRepository.deleteAllById(classIds);
+        outboxMessageRepository.deleteAll();
+        schedulerLeaseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should complete ended classes in chunks and emit one completed event per class")
+    void shouldCompleteEndedClasses() {
+        // Given
+        Long endedYesterday = createClass("Yoga", now.minusDays(1), "SCHEDULED");
+        Long endedToday = createClass("Spin", now.minusHours(3), "SCHEDULED");
+        Long endedEarlier = createClass("Pilates", now.minusHours(2), "SCHEDULED");
+        Long inProgress = createClass("Boxing", now.minusMinutes(30), "SCHEDULED");
+        Long upcoming = createClass("Dance", now.plusDays(1), "SCHEDULED");
+        Long cancelled = createClass("Barre", now.minusDays(2), "CANCELLED");
+
+        // When
+        int completed = classLifecycleService.completeEndedClasses();
+
+        // Then
+        assertThat(completed).isGreaterThanOrEqualTo(3);
+        assertThat(statusOf(endedYesterday)).isEqualTo("COMPLETED");
+        assertThat(statusOf(endedToday)).isEqualTo("COMPLETED");
+        assertThat(statusOf(endedEarlier)).isEqualTo("COMPLETED");
+        assertThat(statusOf(inProgress)).isEqualTo("SCHEDULED");
+        assertThat(statusOf(upcoming)).isEqualTo("SCHEDULED");
+        assertThat(statusOf(cancelled)).isEqualTo("CANCELLED");
+        assertThat(classScheduleRepository.findById(endedToday).orElseThrow().getVersion()).isEqualTo(1L);
+
+        List<OutboxMessage> messages = outboxMessageRepository.findAll().stream()
+            .filter(message -> classIds.contains(message.getAggregateId()))
+            .toList();
+        assertThat(messages).extracting(OutboxMessage::getEventType).containsOnly("ClassCompletedEvent");
+        assertThat(messages).extracting(OutboxMessage::getAggregateId)
+            .containsExactlyInAnyOrder(endedYesterday, endedToday, endedEarlier);
+        assertThat(classLifecycleService.completeEndedClasses()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip the sweep while another node holds the lease")
+    void shouldSkipWhileLeaseIsHeldElsewhere() {
+        // Given
+        Long ended = createClass("Yoga", now.minusDays(1), "SCHEDULED");
+        schedulerLeaseRepository.save(new SchedulerLease("class-lifecycle", "other-node", now.plusMinutes(5), null));
+
+        // When
+        int completed = classLifecycleService.completeEndedClasses();
+
+        // Then
+        assertThat(completed).isZero();
+        assertThat(statusOf(ended)).isEqualTo("SCHEDULED");
+        assertThat(schedulerLeaseRepository.findById("class-lifecycle").orElseThrow().getOwner())
+            .isEqualTo("other-node");
+
+        // When the other node's lease runs out
+        schedulerLeaseRepository.save(new SchedulerLease("class-lifecycle", "other-node", now.minusSeconds(1), null));
+
+        // Then
+        assertThat(classLifecycleService.completeEndedClasses()).isGreaterThanOrEqualTo(1);
+        assertThat(statusOf(ended)).isEqualTo("COMPLETED");
+    }
+
+    private Long createClass(String name, LocalDateTime startTime, String status) {
+        ClassSchedule classSchedule = new ClassSchedule();
+        classSchedule.setName(name);
+        classSchedule.setStartTime(startTime);
+        classSchedule.setEndTime(startTime.plusHours(1));
+        classSchedule.setCapacity(10);
+        classSchedule.setCurrentBookings(2);
+        classSchedule.setStatus(status);
+        Long id = classScheduleRepository.save(classSchedule).getId();
+        classIds.add(id);
+        return id;
+    }
+
+    private String statusOf(Long id) {
+        return classScheduleRepository.findById(id).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,391 @@
+package com.booking.system.integration;
+
+import com.booking.system.dto.request.CreateClassSeriesRequest;
+import com.booking.system.dto.request.LoginRequest;
+import com.booking.system.dto.request.RegisterRequest;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.ClassSeries;
+import com.booking.system.entity.Instructor;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.entity.SchedulerLease;
+import com.booking.system.exception.BookingException;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.ClassSeriesRepository;
+import com.booking.system.repository.InstructorRepository;
+import com.booking.system.repository.OutboxMessageRepository;
+import com.booking.system.repository.SchedulerLeaseRepository;
+import com.booking.system.repository.UserRepository;
+import com.booking.system.service.ClassSeriesService;
+import com.booking.system.service.RoomService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Class Series Integration Tests")
+class ClassSeriesIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private ClassSeriesRepository classSeriesRepository;
+
+    @Autowired
+    private ClassSeriesService classSeriesService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String adminToken;
+    private Long instructorId;
+    private LocalDateTime nextMonday;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminToken = registerAndLogin("seriesadmin", "series.admin@example.com", "ROLE_ADMIN");
+
+        Instructor instructor = new Instructor();
+        instructor.setUser(userRepository.findByEmail("series.admin@example.com").get());
+        instructor.setBio("Morning classes");
+        instructor.setSpecialization("Bootcamp");
+        instructorId = instructorRepository.save(instructor).getId();
+
+        nextMonday = LocalDateTime.now().plusDays(1)
+            .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY))
+            .withHour(7).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    @DisplayName("Should materialize only the rolling horizon when a series is created")
+    void shouldMaterializeHorizonOnCreate() throws Exception {
+        // When
+        Long seriesId = createSeries("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+
+        // Then
+        ClassSeries series = classSeriesRepository.findById(seriesId).get();
+        List<ClassSchedule> materialized = classScheduleRepository.findBySeriesIdAndStartTimeRange(
+            seriesId, nextMonday, series.getMaterializedUntil());
+        assertThat(materialized).isNotEmpty().hasSizeLessThanOrEqualTo(3 * 9);
+        assertThat(materialized.get(0).getStartTime()).isEqualTo(nextMonday);
+        assertThat(materialized.get(0).getEndTime()).isEqualTo(nextMonday.plusMinutes(45));
+        assertThat(materialized.get(0).getInstructor().getId()).isEqualTo(instructorId);
+        assertThat(materialized).allMatch(cs -> cs.getStartTime().isBefore(series.getMaterializedUntil()));
+    }
+
+    @Test
+    @DisplayName("Should answer range queries beyond the horizon from the rule")
+    void shouldProjectOccurrencesBeyondHorizon() throws Exception {
+        // Given
+        Long seriesId = createSeries("FREQ=WEEKLY;BYDAY=MO,WE,FR");
+        LocalDateTime from = nextMonday.plusWeeks(20);
+
+        // When & Then
+        mockMvc.perform(get("/api/v1/classes/series/" + seriesId + "/occurrences")
+                .param("from", from.toString())
+                .param("to", from.plusWeeks(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].materialized").value(false))
+            .andExpect(jsonPath("$[0].classId").doesNotExist())
+            .andExpect(jsonPath("$[0].startTime").value(from.toString() + ":00"))
+            .andExpect(jsonPath("$[2].startTime").value(from.plusDays(4).toString() + ":00"));
+
+        assertThat(classScheduleRepository.findBySeriesIdAndStartTimeRange(seriesId, from, from.plusWeeks(1)))
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should extend the materialized horizon without duplicating occurrences")
+    void shouldExtendHorizon() throws Exception {
+        // Given
+        Long seriesId = createSeries("FREQ=DAILY");
+        ClassSeries series = classSeriesRepository.findById(seriesId).get();
+        LocalDateTime previousHorizon = series.getMaterializedUntil();
+        series.setMaterializedUntil(previousHorizon.minusDays(3));
+        classSeriesRepository.saveAndFlush(series);
+
+        // Simulate the three most recent days not being materialized yet
+        classScheduleRepository.deleteAll(classScheduleRepository.findBySeriesIdAndStartTimeRange(
+            seriesId, previousHorizon.minusDays(3), previousHorizon));
+
+        // When
+        int created = classSeriesService.extendHorizons();
+
+        // Then
+        assertThat(created).isGreaterThanOrEqualTo(3);
+        List<ClassSchedule> all = classScheduleRepository.findBySeriesIdAndStartTimeRange(
+            seriesId, nextMonday, nextMonday.plusYears(1));
+        assertThat(all).extracting(ClassSchedule::getStartTime).doesNotHaveDuplicates();
+        assertThat(classSeriesRepository.findById(seriesId).get().getMaterializedUntil())
+            .isAfterOrEqualTo(previousHorizon);
+    }
+
+    @Test
+    @DisplayName("Should cancel upcoming occurrences and stop projecting new ones")
+    void shouldCancelSeries() throws Exception {
+        // Given
+        Long seriesId = createSeries("FREQ=WEEKLY;BYDAY=TU,TH;COUNT=6");
+
+        // When
+        mockMvc.perform(delete("/api/v1/classes/series/" + seriesId)
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf()))
+            .andExpect(status().isNoContent());
+
+        // Then
+        assertThat(classScheduleRepository.findBySeriesIdAndStartTimeRange(
+                seriesId, nextMonday, nextMonday.plusYears(1)))
+            .hasSize(6)
+            .allMatch(cs -> "CANCELLED".equals(cs.getStatus()));
+        mockMvc.perform(get("/api/v1/classes/series/" + seriesId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("Should notify attendees of booked occurrences when a series is cancelled")
+    void shouldAppendCancelledEventsForBookedOccurrences() {
+        // Given - only the first occurrence has bookings
+        Long seriesId = classSeriesService.createSeries(seriesRequest("FREQ=WEEKLY;BYDAY=TU,TH;COUNT=4")).getId();
+        List<ClassSchedule> occurrences = classScheduleRepository.findBySeriesIdAndStartTimeRange(
+            seriesId, nextMonday, nextMonday.plusYears(1));
+        ClassSchedule booked = occurrences.get(0);
+        booked.setCurrentBookings(2);
+        classScheduleRepository.saveAndFlush(booked);
+
+        // When
+        classSeriesService.cancelSeries(seriesId);
+
+        // Then
+        List<Long> occurrenceIds = occurrences.stream().map(ClassSchedule::getId).toList();
+        assertThat(classScheduleRepository.findAllById(occurrenceIds))
+            .allMatch(cs -> "CANCELLED".equals(cs.getStatus()));
+        List<OutboxMessage> cancelled = outboxMessageRepository.findAll().stream()
+            .filter(message -> occurrenceIds.contains(message.getAggregateId()))
+            .filter(message -> "ClassCancelledEvent".equals(message.getEventType()))
+            .toList();
+        assertThat(cancelled).singleElement().satisfies(message -> {
+            assertThat(message.getAggregateId()).isEqualTo(booked.getId());
+            assertThat(message.getPayload()).contains("Series cancelled");
+        });
+    }
+
+    @Test
+    @DisplayName("Should reject a series whose occurrence double-books the room")
+    void shouldRejectSeriesWithRoomConflict() throws Exception {
+        // Given - a one-off class already holds the room during the second occurrence
+        Long existing = bookRoom("Park", nextMonday.plusDays(2).plusMinutes(15), 60);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/classes/series")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seriesRequest("FREQ=WEEKLY;BYDAY=MO,WE,FR")))
+                .with(csrf()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(containsString("Room is already booked by class " + existing)));
+    }
+
+    @Test
+    @DisplayName("Should not extend any horizon while another node holds the lease")
+    void shouldSkipExtendWhileLeaseIsHeldElsewhere() throws Exception {
+        // Given - the lease is committed outside the test transaction, like another node would
+        Long seriesId = createSeries("FREQ=DAILY");
+        ClassSeries series = classSeriesRepository.findById(seriesId).get();
+        LocalDateTime previousHorizon = series.getMaterializedUntil();
+        series.setMaterializedUntil(previousHorizon.minusDays(3));
+        classSeriesRepository.saveAndFlush(series);
+        TransactionTemplate newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        newTransaction.executeWithoutResult(status -> schedulerLeaseRepository.save(new SchedulerLease(
+            "class-series-horizon", "other-node", LocalDateTime.now().plusMinutes(5), null)));
+
+        try {
+            // When
+            int created = classSeriesService.extendHorizons();
+
+            // Then
+            assertThat(created).isZero();
+            assertThat(classSeriesRepository.findById(seriesId).get().getMaterializedUntil())
+                .isEqualTo(previousHorizon.minusDays(3));
+        } finally {
+            newTransaction.executeWithoutResult(status -> schedulerLeaseRepository.deleteById("class-series-horizon"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip occurrences that double-book the room when extending the horizon")
+    void shouldSkipConflictingOccurrencesOnExtend() throws Exception {
+        // Given - the last three days are not materialized yet and another class took one of the slots
+        Long seriesId = createSeries("FREQ=DAILY");
+        ClassSeries series = classSeriesRepository.findById(seriesId).get();
+        LocalDateTime previousHorizon = series.getMaterializedUntil();
+        series.setMaterializedUntil(previousHorizon.minusDays(3));
+        classSeriesRepository.saveAndFlush(series);
+        List<ClassSchedule> removed = classScheduleRepository.findBySeriesIdAndStartTimeRange(
+            seriesId, previousHorizon.minusDays(3), previousHorizon);
+        classScheduleRepository.deleteAll(removed);
+        classScheduleRepository.flush();
+        LocalDateTime takenSlot = removed.get(0).getStartTime();
+        Long existing = bookRoom("Park", takenSlot, 45);
+
+        // When
+        classSeriesService.extendHorizons();
+
+        // Then
+        assertThat(classScheduleRepository.findBySeriesIdAndStartTimeRange(
+                seriesId, takenSlot, takenSlot.plusMinutes(1)))
+            .isEmpty();
+        assertThat(classScheduleRepository.findBySeriesIdAndStartTimeRange(
+                seriesId, takenSlot.plusMinutes(1), previousHorizon))
+            .hasSize(removed.size() - 1);
+        assertThat(classScheduleRepository.findById(existing)).get()
+            .extracting(ClassSchedule::getStatus).isEqualTo("SCHEDULED");
+    }
+
+    @Test
+    @DisplayName("Should reject a series whose occurrences exceed the maximum class duration")
+    void shouldRejectSeriesLongerThanMaxDuration() throws Exception {
+        // Given
+        CreateClassSeriesRequest request = seriesRequest("FREQ=DAILY");
+        request.setDurationMinutes(9 * 60);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/classes/series")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))
+                .with(csrf()))
+            .andExpect(status().isBadRequest());
+        assertThatThrownBy(() -> classSeriesService.createSeries(request))
+            .isInstanceOf(BookingException.class)
+            .hasMessageContaining("cannot exceed 8 hours");
+        assertThat(classSeriesRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid recurrence rule")
+    void shouldRejectInvalidRule() throws Exception {
+        mockMvc.perform(post("/api/v1/classes/series")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seriesRequest("FREQ=HOURLY")))
+                .with(csrf()))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Long createSeries(String rule) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/classes/series")
+                .header("Authorization", "Bearer " + adminToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(seriesRequest(rule)))
+                .with(csrf()))
+            .andExpect(status().isCreated())
+            .andReturn();
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        return body.get("id").asLong();
+    }
+
+    private Long bookRoom(String location, LocalDateTime start, int minutes) {
+        ClassSchedule classSchedule = new ClassSchedule();
+        classSchedule.setName("Drop-in");
+        classSchedule.setStartTime(start);
+        classSchedule.setEndTime(start.plusMinutes(minutes));
+        classSchedule.setCapacity(10);
+        classSchedule.setLocation(location);
+        classSchedule.setRoomId(roomService.resolveRoom(location).getId());
+        return classScheduleRepository.saveAndFlush(classSchedule).getId();
+    }
+
+    private CreateClassSeriesRequest seriesRequest(String rule) {
+        CreateClassSeriesRequest request = new CreateClassSeriesRequest();
+        request.setName("Bootcamp");
+        request.setInstructorId(instructorId);
+        request.setFirstStartTime(nextMonday);
+        request.setDurationMinutes(45);
+        request.setCapacity(12);
+        request.setLocation("Park");
+        request.setRecurrenceRule(rule);
+        return request;
+    }
+
+    private String registerAndLogin(String username, String email, String role) throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setUsername(username);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword("password123");
+        registerRequest.setFirstName("Series");
+        registerRequest.setLastName("Tester");
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+            .andExpect(status().isCreated());
+
+        var user = userRepository.findByEmail(email).get();
+        user.setRole(role);
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword("password123");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
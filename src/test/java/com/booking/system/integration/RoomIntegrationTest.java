@@ -0,0 +1,216 @@
+package com.booking.system.integration;
+
+import com.booking.system.dto.request.LoginRequest;
+import com.booking.system.dto.request.RegisterRequest;
+import com.booking.system.repository.RoomRepository;
+import com.booking.system.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Room Integration Tests")
+class RoomIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private String adminToken;
+    private LocalDateTime monday;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminToken = registerAndLogin("roomadmin", "room.admin@example.com", "ROLE_ADMIN");
+        monday = LocalDateTime.now().plusWeeks(1)
+            .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+            .withHour(9).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @Test
+    @DisplayName("Should normalize locations into rooms and leave online classes without a room")
+    void shouldNormalizeLocationsIntoRooms() throws Exception {
+        // When
+        Long first = createClass("Yoga", monday, 60, "Studio  A");
+        Long second = createClass("Pilates", monday.plusDays(1), 60, "studio a");
+        createClass("Webinar", monday, 60, "Online via Zoom");
+
+        // Then
+        Long roomId = roomRepository.findByRoomKey("studio a").orElseThrow().getId();
+        mockMvc.perform(get("/api/v1/classes/" + first))
+            .andExpect(jsonPath("$.roomId").value(roomId));
+        mockMvc.perform(get("/api/v1/classes/" + second))
+            .andExpect(jsonPath("$.roomId").value(roomId));
+        assertThat(roomRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject double-booking a room but allow back-to-back classes")
+    void shouldRejectRoomDoubleBooking() throws Exception {
+        // Given
+        Long existing = createClass("Yoga", monday, 60, "Studio A");
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/classes")
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(classJson("Clash", monday.plusMinutes(30), 60, "STUDIO A")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value(startsWith(
+                "Room is already booked by class " + existing)));
+
+        createClass("Next", monday.plusHours(1), 60, "Studio A");
+        createClass("Elsewhere", monday.plusMinutes(30), 60, "Studio B");
+    }
+
+    @Test
+    @DisplayName("Should keep weekly utilization in step with class changes")
+    void shouldMaintainWeeklyUtilizationIncrementally() throws Exception {
+        // Given
+        Long yoga = createClass("Yoga", monday, 90, "Studio A");
+        Long spin = createClass("Spin", monday.plusDays(2), 60, "Studio A");
+        createClass("Next week", monday.plusWeeks(1), 60, "Studio A");
+
+        // Then
+        expectUtilization(2, 150, 3.0);
+
+        // When - moving a class into the following week and shortening it
+        mockMvc.perform(put("/api/v1/classes/" + yoga)
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"startTime\":\"%s\",\"endTime\":\"%s\"}",
+                    monday.plusWeeks(1).plusHours(2), monday.plusWeeks(1).plusHours(3))))
+            .andExpect(status().isOk());
+
+        // Then
+        expectUtilization(1, 60, 1.2);
+
+        mockMvc.perform(get("/api/v1/rooms/utilization")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("from", monday.toLocalDate().plusWeeks(1).toString())
+                .param("to", monday.toLocalDate().plusWeeks(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].classCount").value(2))
+            .andExpect(jsonPath("$[0].scheduledMinutes").value(120));
+
+        // When - deleting the remaining class of the first week
+        mockMvc.perform(delete("/api/v1/classes/" + spin)
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf()))
+            .andExpect(status().isNoContent());
+
+        // Then
+        mockMvc.perform(get("/api/v1/rooms/utilization")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("from", monday.toLocalDate().toString())
+                .param("to", monday.toLocalDate().plusDays(6).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should restrict utilization reports to admins and instructors")
+    void shouldRestrictUtilizationReport() throws Exception {
+        String userToken = registerAndLogin("roomuser", "room.user@example.com", "ROLE_USER");
+
+        mockMvc.perform(get("/api/v1/rooms/utilization")
+                .header("Authorization", "Bearer " + userToken)
+                .param("from", monday.toLocalDate().toString())
+                .param("to", monday.toLocalDate().toString()))
+            .andExpect(status().isForbidden());
+    }
+
+    private void expectUtilization(int classCount, long minutes, double percent) throws Exception {
+        mockMvc.perform(get("/api/v1/rooms/utilization")
+                .header("Authorization", "Bearer " + adminToken)
+                .param("from", monday.toLocalDate().toString())
+                .param("to", monday.toLocalDate().plusDays(6).toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].weekStart").value(monday.toLocalDate().toString()))
+            .andExpect(jsonPath("$[0].roomName").value("Studio A"))
+            .andExpect(jsonPath("$[0].classCount").value(classCount))
+            .andExpect(jsonPath("$[0].scheduledMinutes").value(minutes))
+            .andExpect(jsonPath("$[0].availableMinutes").value(5040))
+            .andExpect(jsonPath("$[0].occupancyPercent").value(percent));
+    }
+
+    private Long createClass(String name, LocalDateTime start, int minutes, String location) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/classes")
+                .header("Authorization", "Bearer " + adminToken)
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(classJson(name, start, minutes, location)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private String classJson(String name, LocalDateTime start, int minutes, String location) {
+        return String.format(
+            "{\"name\":\"%s\",\"startTime\":\"%s\",\"endTime\":\"%s\",\"capacity\":10,\"location\":\"%s\"}",
+            name, start, start.plusMinutes(minutes), location);
+    }
+
+    private String registerAndLogin(String username, String email, String role) throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setUsername(username);
+        registerRequest.setEmail(email);
+        registerRequest.setPassword("password123");
+        registerRequest.setFirstName("Room");
+        registerRequest.setLastName("Tester");
+
+        mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+            .andExpect(status().isCreated());
+
+        var user = userRepository.findByEmail(email).get();
+        user.setRole(role);
+        userRepository.save(user);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword("password123");
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+}
@@ -7,6 +7,7 @@ import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.InstructorRepository;
 import com.booking.system.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -51,6 +53,9 @@ class SecurityIntegrationTest {
     @Autowired
     private ClassScheduleRepository classScheduleRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private String userToken;
     private String adminToken;
     private String instructorToken;
@@ -291,12 +296,12 @@ class SecurityIntegrationTest {
                 .content(newClassJson))
             .andExpect(status().isCreated());
 
-        // INSTRUCTOR should succeed
+        // INSTRUCTOR should succeed (in another room, the first one is now taken)
         mockMvc.perform(post("/api/v1/classes")
                 .header("Authorization", "Bearer " + instructorToken)
                 .with(csrf())
                 .contentType(MediaType.APPLICATION_JSON)
-                .content(newClassJson))
+                .content(newClassJson.replace("Studio", "Studio B")))
             .andExpect(status().isCreated());
 
         // USER should fail
@@ -602,4 +607,35 @@ class SecurityIntegrationTest {
         mockMvc.perform(get("/api/v1/classes/" + classId))
             .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should record auth, lock-wait and cache meters while keeping metrics admin-only")
+    void shouldRecordHotPathMetricsForAdminsOnly() throws Exception {
+        // Should fail: regular users cannot read metrics
+        mockMvc.perform(get("/actuator/prometheus")
+                .header("Authorization", "Bearer " + userToken))
+            .andExpect(status().isForbidden());
+
+        // The setup logins, authenticated requests and booking have been measured
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count()).isPositive();
+        assertThat(meterRegistry.get("auth.jwt.verify").tag("outcome", "valid").timer().count()).isPositive();
+        assertThat(meterRegistry.get("db.lock.wait").tag("table", "class_schedules").timer().count()).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "user-details").functionCounters()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should report class lock contention to admins only")
+    void shouldReportLockContentionForAdminsOnly() throws Exception {
+        // Should fail: regular users cannot read lock diagnostics
+        mockMvc.perform(get("/actuator/lockcontention")
+                .header("Authorization", "Bearer " + userToken))
+            .andExpect(status().isForbidden());
+
+        // Should succeed: the setup booking locked the class row
+        mockMvc.perform(get("/actuator/lockcontention")
+                .header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true))
+            .andExpect(jsonPath("$.topContended").isArray());
+    }
+}
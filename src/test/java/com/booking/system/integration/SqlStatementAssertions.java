@@ -0,0 +1,28 @@
+package com.booking.system.integration;
+
+import com.booking.system.infrastructure.diagnostics.SqlGuardFilter;
+import com.booking.system.infrastructure.diagnostics.SqlStatementStats;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 端点SQL语句数断言，读取SqlGuardFilter记录在请求上的统计
+ * 集成测试在同一事务中运行，前面请求未刷新的写入可能在本次请求的第一个查询前刷新，上限应留有余量
+ */
+final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    static ResultMatcher maxSqlStatements(int max) {
+        return result -> {
+            SqlStatementStats stats = (SqlStatementStats) result.getRequest().getAttribute(SqlGuardFilter.STATS_ATTRIBUTE);
+            assertThat(stats).as("SQL statement statistics recorded by SqlGuardFilter").isNotNull();
+            assertThat(stats.statementCount())
+                .as("SQL statements issued by %s %s: %s", result.getRequest().getMethod(),
+                    result.getRequest().getRequestURI(), stats.statements())
+                .isLessThanOrEqualTo(max);
+        };
+    }
+}
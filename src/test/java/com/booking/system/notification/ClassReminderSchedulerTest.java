@@ -0,0 +1,276 @@
+package com.booking.system.notification;
+
+import com.booking.system.domain.event.ClassCancelledEvent;
+import com.booking.system.domain.event.ClassRescheduledEvent;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.SchedulerCheckpoint;
+import com.booking.system.infrastructure.lease.SchedulerLeaseManager;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.ClassScheduleRepository.ClassStartView;
+import com.booking.system.repository.SchedulerCheckpointRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ClassReminderScheduler Unit Tests")
+class ClassReminderSchedulerTest {
+
+    private final LocalDateTime nineAm = LocalDateTime.of(2027, 3, 1, 9, 0);
+    private final MutableClock clock = new MutableClock(nineAm.toInstant(ZoneOffset.UTC));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, ClassSchedule> classes = new LinkedHashMap<>();
+
+    @Mock
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Mock
+    private SchedulerCheckpointRepository checkpointRepository;
+
+    @Mock
+    private SchedulerLeaseManager leaseManager;
+
+    @Mock
+    private AttendeeNotifier attendeeNotifier;
+
+    private ClassReminderScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(classScheduleRepository.findScheduledStartsBetween(any(), any())).thenAnswer(invocation -> {
+            LocalDateTime from = invocation.getArgument(0);
+            LocalDateTime to = invocation.getArgument(1);
+            return classes.values().stream()
+                .filter(c -> "SCHEDULED".equals(c.getStatus()))
+                .filter(c -> c.getStartTime().isAfter(from) && !c.getStartTime().isAfter(to))
+                .map(c -> view(c.getId(), c.getName(), c.getStartTime()))
+                .toList();
+        });
+        when(classScheduleRepository.findAllById(any())).thenAnswer(invocation ->
+            ((Collection<Long>) invocation.getArgument(0)).stream()
+                .filter(classes::containsKey)
+                .map(classes::get)
+                .toList());
+        when(attendeeNotifier.notifyConfirmed(anyString(), any(), any(), any())).thenReturn(3);
+        when(leaseManager.tryAcquire(eq(ClassReminderScheduler.LEASE_NAME), any())).thenReturn(true);
+
+        scheduler = newScheduler();
+    }
+
+    @Test
+    @DisplayName("Should send the one-hour reminder on time and skip reminders already past when discovered")
+    void shouldSendDueReminders() {
+        // Given
+        addClass(1L, "Yoga", nineAm.plusMinutes(70));
+        addClass(2L, "Spin", nineAm.plusMinutes(50));
+        when(checkpointRepository.findById(ClassReminderScheduler.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        scheduler.start();
+
+        // When
+        clock.set(nineAm.plusMinutes(10).minusSeconds(1));
+        int early = scheduler.advance();
+        clock.set(nineAm.plusMinutes(10));
+        int due = scheduler.advance();
+
+        // Then
+        assertThat(early).isZero();
+        assertThat(due).isEqualTo(3);
+        verify(attendeeNotifier).notifyConfirmed(anyString(), eq(1L), eq("Class reminder: Yoga"), contains("starts at"));
+        verify(attendeeNotifier, never()).notifyConfirmed(anyString(), eq(2L), any(), any());
+        ArgumentCaptor<SchedulerCheckpoint> checkpoint = ArgumentCaptor.forClass(SchedulerCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().getCheckpointTime()).isEqualTo(nineAm.plusMinutes(10));
+        assertThat(scheduler.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should follow reschedule and cancellation events and re-check the class before sending")
+    void shouldFollowScheduleChanges() {
+        // Given
+        addClass(1L, "Yoga", nineAm.plusMinutes(70));
+        addClass(2L, "Spin", nineAm.plusMinutes(75));
+        addClass(3L, "Pilates", nineAm.plusMinutes(80));
+        when(checkpointRepository.findById(ClassReminderScheduler.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        scheduler.start();
+
+        // When
+        classes.get(1L).setStartTime(nineAm.plusMinutes(85));
+        scheduler.handle(new ClassRescheduledEvent(1L, "Yoga", nineAm.plusMinutes(85)));
+        classes.get(2L).setStatus("CANCELLED");
+        scheduler.handle(new ClassCancelledEvent(2L, "Spin", 4, "Instructor unavailable"));
+        // Cancelled without an event reaching the scheduler
+        classes.get(3L).setStatus("CANCELLED");
+        clock.set(nineAm.plusMinutes(20));
+        scheduler.advance();
+        clock.set(nineAm.plusMinutes(25));
+        scheduler.advance();
+
+        // Then
+        verify(attendeeNotifier).notifyConfirmed(anyString(), eq(1L), any(), any());
+        verify(attendeeNotifier, never()).notifyConfirmed(anyString(), eq(2L), any(), any());
+        verify(attendeeNotifier, never()).notifyConfirmed(anyString(), eq(3L), any(), any());
+        assertThat(meterRegistry.counter("reminders.sent").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("reminders.skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should catch up on reminders due while stopped, sending only the latest one per class")
+    void shouldResumeFromCheckpoint() {
+        // Given - the previous instance stopped 25 hours ago
+        addClass(1L, "Yoga", nineAm.plusMinutes(30));
+        addClass(2L, "Spin", nineAm.plusHours(23));
+        when(checkpointRepository.findById(ClassReminderScheduler.CHECKPOINT_NAME)).thenReturn(Optional.of(
+            new SchedulerCheckpoint(ClassReminderScheduler.CHECKPOINT_NAME, nineAm.minusHours(25), null)));
+        scheduler.start();
+
+        // When
+        scheduler.advance();
+
+        // Then
+        verify(attendeeNotifier, times(1)).notifyConfirmed(anyString(), eq(1L), any(), any());
+        verify(attendeeNotifier, times(1)).notifyConfirmed(anyString(), eq(2L), any(), any());
+        assertThat(meterRegistry.counter("reminders.sent").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("reminders.skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should checkpoint only through the last processed tick so mid-tick reminders survive a restart")
+    void shouldCheckpointThroughProcessedTick() {
+        // Given - Yoga's reminder is due half a second into a tick and rounds up to the next one
+        addClass(1L, "Spin", nineAm.plusMinutes(70));
+        addClass(2L, "Yoga", nineAm.plusMinutes(70).plusNanos(500_000_000));
+        when(checkpointRepository.findById(ClassReminderScheduler.CHECKPOINT_NAME)).thenReturn(Optional.empty());
+        scheduler.start();
+
+        // When - the instance stops after advancing to 700 ms into the tick
+        clock.set(nineAm.plusMinutes(10).plusNanos(700_000_000));
+        scheduler.advance();
+        ArgumentCaptor<SchedulerCheckpoint> checkpoint = ArgumentCaptor.forClass(SchedulerCheckpoint.class);
+        verify(checkpointRepository, atLeastOnce()).save(checkpoint.capture());
+        when(checkpointRepository.findById(ClassReminderScheduler.CHECKPOINT_NAME))
+            .thenReturn(Optional.of(checkpoint.getValue()));
+        clock.set(nineAm.plusMinutes(10).plusSeconds(5));
+        ClassReminderScheduler restarted = newScheduler();
+        restarted.start();
+        restarted.advance();
+
+        // Then
+        assertThat(checkpoint.getValue().getCheckpointTime()).isEqualTo(nineAm.plusMinutes(10));
+        verify(attendeeNotifier, times(1)).notifyConfirmed(anyString(), eq(1L), any(), any());
+        verify(attendeeNotifier, times(1)).notifyConfirmed(anyString(), eq(2L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should only advance while holding the lease and rebuild from the checkpoint when taking over")
+    void shouldAdvanceOnlyWithLease() {
+        // Given - another instance holds the lease
+        addClass(1L, "Yoga", nineAm.plusMinutes(70));
+        when(leaseManager.tryAcquire(eq(ClassReminderScheduler.LEASE_NAME), any())).thenReturn(false);
+        when(checkpointRepository.findById(ClassReminderScheduler.CHECKPOINT_NAME)).thenReturn(Optional.of(
+            new SchedulerCheckpoint(ClassReminderScheduler.CHECKPOINT_NAME, nineAm.plusMinutes(5), null)));
+        scheduler.start();
+
+        // When
+        clock.set(nineAm.plusMinutes(10));
+        int standby = scheduler.advance();
+        when(leaseManager.tryAcquire(eq(ClassReminderScheduler.LEASE_NAME), any())).thenReturn(true);
+        clock.set(nineAm.plusMinutes(11));
+        int takeover = scheduler.advance();
+
+        // Then
+        assertThat(standby).isZero();
+        assertThat(takeover).isEqualTo(3);
+        verify(attendeeNotifier, times(1)).notifyConfirmed(anyString(), eq(1L), any(), any());
+        ArgumentCaptor<SchedulerCheckpoint> checkpoint = ArgumentCaptor.forClass(SchedulerCheckpoint.class);
+        verify(checkpointRepository).save(checkpoint.capture());
+        assertThat(checkpoint.getValue().getCheckpointTime()).isEqualTo(nineAm.plusMinutes(11));
+    }
+
+    private ClassReminderScheduler newScheduler() {
+        return new ClassReminderScheduler(classScheduleRepository, checkpointRepository, leaseManager,
+            attendeeNotifier, clock, meterRegistry, true, List.of(Duration.ofHours(1), Duration.ofHours(24)),
+            Duration.ofSeconds(1), Duration.ofMinutes(30), Duration.ofMinutes(5), Duration.ofMinutes(1));
+    }
+
+    private void addClass(Long id, String name, LocalDateTime startTime) {
+        ClassSchedule classSchedule = new ClassSchedule();
+        classSchedule.setId(id);
+        classSchedule.setName(name);
+        classSchedule.setStartTime(startTime);
+        classSchedule.setEndTime(startTime.plusHours(1));
+        classSchedule.setStatus("SCHEDULED");
+        classes.put(id, classSchedule);
+    }
+
+    private static ClassStartView view(Long id, String name, LocalDateTime startTime) {
+        return new ClassStartView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return startTime;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(LocalDateTime time) {
+            instant = time.toInstant(ZoneOffset.UTC);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
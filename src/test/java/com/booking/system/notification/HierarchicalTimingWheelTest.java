@@ -0,0 +1,118 @@
+package com.booking.system.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HierarchicalTimingWheel Unit Tests")
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    @DisplayName("Should fire items on their tick across every level")
+    void shouldFireOnTimeAcrossLevels() {
+        // Given - deadlines that start out on levels 0, 1, 2 and 3
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        wheel.schedule(5 * TICK, "level0");
+        wheel.schedule(100 * TICK, "level1");
+        wheel.schedule(5_000 * TICK, "level2");
+        wheel.schedule(300_000 * TICK, "level3");
+
+        // When & Then
+        assertThat(wheel.advance(4 * TICK)).isEmpty();
+        assertThat(wheel.advance(5 * TICK)).containsExactly("level0");
+        assertThat(wheel.advance(99 * TICK + 999)).isEmpty();
+        assertThat(wheel.advance(100 * TICK)).containsExactly("level1");
+        assertThat(wheel.advance(4_999 * TICK)).isEmpty();
+        assertThat(wheel.advance(5_000 * TICK)).containsExactly("level2");
+        assertThat(wheel.advance(299_999 * TICK)).isEmpty();
+        assertThat(wheel.advance(300_000 * TICK)).containsExactly("level3");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report processed time only through ticks whose items have fired")
+    void shouldReportProcessedThroughLastTick() {
+        // Given - a deadline inside a tick rounds up to the next tick
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 0);
+        wheel.schedule(5 * TICK + 500, "mid-tick");
+
+        // When
+        List<String> fired = wheel.advance(5 * TICK + 700);
+
+        // Then
+        assertThat(fired).isEmpty();
+        assertThat(wheel.getProcessedThroughMillis()).isEqualTo(5 * TICK);
+        assertThat(wheel.advance(6 * TICK)).containsExactly("mid-tick");
+        assertThat(wheel.getProcessedThroughMillis()).isEqualTo(6 * TICK);
+    }
+
+    @Test
+    @DisplayName("Should fire every item exactly once, never early, and never after cancellation")
+    void shouldFireExactlyOnce() {
+        // Given
+        Random random = new Random(42);
+        long start = 1_234_567 * TICK + 321;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, start);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Set<Integer> cancelled = new HashSet<>();
+        List<HierarchicalTimingWheel.Timeout<Integer>> timeouts = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            long deadline = start + (long) (random.nextDouble() * 200_000 * TICK);
+            deadlines.put(i, deadline);
+            timeouts.add(wheel.schedule(deadline, i));
+        }
+        for (int i = 0; i < 5_000; i += 7) {
+            assertThat(timeouts.get(i).cancel()).isTrue();
+            cancelled.add(i);
+        }
+
+        // When - advance in irregular steps, scheduling more items along the way
+        Set<Integer> fired = new HashSet<>();
+        long now = start;
+        int next = deadlines.size();
+        while (now < start + 210_000 * TICK) {
+            now += random.nextInt(3_000) * TICK / 2;
+            for (Integer item : wheel.advance(now)) {
+                assertThat(fired.add(item)).as("fired twice: %s", item).isTrue();
+                assertThat(deadlines.get(item)).as("fired early: %s", item).isLessThanOrEqualTo(now);
+            }
+            if (now < start + 100_000 * TICK) {
+                deadlines.put(next, now + random.nextInt(50_000) * TICK);
+                wheel.schedule(deadlines.get(next), next++);
+            }
+        }
+
+        // Then
+        assertThat(fired).doesNotContainAnyElementsOf(cancelled);
+        assertThat(fired).hasSize(deadlines.size() - cancelled.size());
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fire overdue items on the next advance and reject deadlines beyond range")
+    void shouldHandleOverdueAndOutOfRange() {
+        // Given
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, 10 * TICK);
+        HierarchicalTimingWheel.Timeout<String> overdue = wheel.schedule(3 * TICK, "overdue");
+
+        // When
+        List<String> fired = wheel.advance(10 * TICK);
+
+        // Then
+        assertThat(fired).containsExactly("overdue");
+        assertThat(overdue.cancel()).isFalse();
+        assertThatThrownBy(() -> wheel.schedule(10 * TICK + 64L * 64 * 64 * 64 * TICK, "too far"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
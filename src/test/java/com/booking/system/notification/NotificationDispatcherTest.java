@@ -0,0 +1,188 @@
+package com.booking.system.notification;
+
+import com.booking.system.entity.NotificationDelivery;
+import com.booking.system.infrastructure.lease.SchedulerLeaseManager;
+import com.booking.system.notification.NotificationDispatcher.Recipient;
+import com.booking.system.repository.NotificationDeliveryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Deliveries are committed by the dispatcher, so the tests clean up after themselves.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("NotificationDispatcher Integration Tests")
+class NotificationDispatcherTest {
+
+    private static final String CANCELLED = "Class cancelled: Yoga";
+    private static final String CANCELLED_LINE = "Yoga is cancelled.";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2027-03-01T09:00:00Z"));
+    private final List<List<Notification>> batches = new ArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Autowired
+    private NotificationDeliveryRepository deliveryRepository;
+
+    @Autowired
+    private SchedulerLeaseManager leaseManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        deliveryRepository.deleteAll();
+        NotificationChannel channel = batch -> {
+            if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                throw new NotificationDeliveryException("channel down", null);
+            }
+            batches.add(List.copyOf(batch));
+        };
+        dispatcher = new NotificationDispatcher(channel, deliveryRepository, leaseManager, transactionManager, clock,
+            meterRegistry, 2, 3, Duration.ofSeconds(1), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        deliveryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should coalesce messages per user and send them in batches")
+    void shouldCoalesceAndBatch() {
+        // Given
+        dispatcher.enqueue("event-1", List.of(recipient(1L), recipient(2L), recipient(3L)), CANCELLED, CANCELLED_LINE);
+        dispatcher.enqueue("event-2", List.of(recipient(1L)), "Booking confirmed: Spin", "You are booked for Spin.");
+
+        // When
+        int sent = dispatcher.flush();
+
+        // Then
+        assertThat(sent).isEqualTo(3);
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).singleElement().satisfies(coalesced -> {
+            assertThat(coalesced.userId()).isEqualTo(1L);
+            assertThat(coalesced.subject()).isEqualTo("You have 2 booking updates");
+            assertThat(coalesced.body()).isEqualTo("Yoga is cancelled.\nYou are booked for Spin.");
+        });
+        assertThat(batches.get(1)).extracting(Notification::userId).containsExactly(2L, 3L);
+        assertThat(dispatcher.pendingCount()).isZero();
+        assertThat(meterRegistry.get("notifications.sent").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should record each recipient once per event, even after the notification was sent")
+    void shouldSkipRecordedRecipients() {
+        // Given
+        assertThat(dispatcher.enqueue("event-1", List.of(recipient(1L), recipient(2L)), CANCELLED, CANCELLED_LINE))
+            .isEqualTo(2);
+
+        // When - the event is redelivered with a longer recipient list, before and after the flush
+        int redelivered = dispatcher.enqueue("event-1", List.of(recipient(1L), recipient(2L), recipient(3L)),
+            CANCELLED, CANCELLED_LINE);
+        dispatcher.flush();
+        int afterSend = dispatcher.enqueue("event-1", List.of(recipient(1L)), CANCELLED, CANCELLED_LINE);
+        dispatcher.flush();
+
+        // Then
+        assertThat(redelivered).isEqualTo(1);
+        assertThat(afterSend).isZero();
+        assertThat(batches.stream().flatMap(List::stream)).extracting(Notification::userId)
+            .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch after the backoff")
+    void shouldRetryAfterBackoff() {
+        // Given
+        failuresLeft.set(1);
+        dispatcher.enqueue("event-1", List.of(recipient(1L)), CANCELLED, CANCELLED_LINE);
+
+        // When
+        assertThat(dispatcher.flush()).isZero();
+        assertThat(dispatcher.flush()).isZero();
+        clock.advance(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(dispatcher.flush()).isEqualTo(1);
+        assertThat(batches).hasSize(1);
+        assertThat(dispatcher.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a notification after the maximum attempts")
+    void shouldDropAfterMaxAttempts() {
+        // Given
+        failuresLeft.set(10);
+        dispatcher.enqueue("event-1", List.of(recipient(1L)), CANCELLED, CANCELLED_LINE);
+
+        // When - attempts 1, 2 and 3 fail, with backoffs of 1s and 2s in between
+        dispatcher.flush();
+        clock.advance(Duration.ofSeconds(1));
+        dispatcher.flush();
+        clock.advance(Duration.ofSeconds(2));
+        dispatcher.flush();
+
+        // Then
+        assertThat(dispatcher.pendingCount()).isZero();
+        assertThat(deliveryRepository.countByStatus(NotificationDelivery.DROPPED)).isEqualTo(1);
+        assertThat(batches).isEmpty();
+        assertThat(meterRegistry.get("notifications.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.failed.attempts").counter().count()).isEqualTo(3);
+    }
+
+    private static Recipient recipient(Long userId) {
+        return new Recipient(userId, "user" + userId + "@example.com");
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.booking.system.notification;
+
+import com.booking.system.dto.request.BookingRequest;
+import com.booking.system.entity.Booking;
+import com.booking.system.entity.ClassSchedule;
+import com.booking.system.entity.OutboxMessage;
+import com.booking.system.entity.User;
+import com.booking.system.infrastructure.event.PartitionedEventBus;
+import com.booking.system.infrastructure.outbox.OutboxRelay;
+import com.booking.system.repository.BookingRepository;
+import com.booking.system.repository.ClassScheduleRepository;
+import com.booking.system.repository.NotificationDeliveryRepository;
+import com.booking.system.repository.OutboxMessageRepository;
+import com.booking.system.repository.UserRepository;
+import com.booking.system.service.BookingService;
+import com.booking.system.service.ClassScheduleService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Drives the whole pipeline: service write, outbox, relay, event bus, notifier, dispatcher, channel.
+ * Every step commits, so the test cleans up after itself.
+ */
+@SpringBootTest(properties = "notifications.recipient-page-size=2")
+@ActiveProfiles("test")
+@DisplayName("Notification Pipeline Integration Tests")
+class NotificationPipelineTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ClassScheduleService classScheduleService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private PartitionedEventBus eventBus;
+
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
+    @Autowired
+    private InMemoryNotificationChannel channel;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassScheduleRepository classScheduleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private NotificationDeliveryRepository notificationDeliveryRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private ClassSchedule classSchedule;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        notificationDeliveryRepository.deleteAll();
+        channel.clear();
+        for (int i = 1; i <= 5; i++) {
+            User user = new User();
+            user.setUsername("notified" + i);
+            user.setEmail("notified" + i + "@example.com");
+            user.setPasswordHash("hash");
+            user.setFirstName("Notified");
+            user.setLastName("User" + i);
+            user.setRole("ROLE_USER");
+            users.add(userRepository.save(user));
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withNano(0);
+        ClassSchedule newClass = new ClassSchedule();
+        newClass.setName("Sunrise Yoga");
+        newClass.setStartTime(start);
+        newClass.setEndTime(start.plusHours(1));
+        newClass.setCapacity(10);
+        newClass.setCurrentBookings(0);
+        newClass.setLocation("Online");
+        newClass.setStatus("SCHEDULED");
+        classSchedule = classScheduleRepository.save(newClass);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll(bookingRepository.findByClassScheduleId(classSchedule.getId()));
+        classScheduleRepository.deleteById(classSchedule.getId());
+        userRepository.deleteAll(users);
+        outboxMessageRepository.deleteAll();
+        notificationDeliveryRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should confirm bookings and notify every attendee once when the class is cancelled")
+    void shouldNotifyAttendeesOfCancellation() {
+        // Given
+        for (User user : users) {
+            BookingRequest request = new BookingRequest();
+            request.setClassScheduleId(classSchedule.getId());
+            bookingService.createBooking(user.getEmail(), request);
+        }
+        relayAndFlush();
+        assertThat(channel.sent()).hasSize(5)
+            .allSatisfy(notification -> assertThat(notification.subject()).isEqualTo("Booking confirmed: Sunrise Yoga"));
+        channel.clear();
+
+        // When
+        classScheduleService.deleteClass(classSchedule.getId());
+        relayAndFlush();
+
+        // Then - recipients are expanded over three pages of two
+        List<Notification> sent = channel.sent();
+        assertThat(sent).extracting(Notification::recipient)
+            .containsExactlyInAnyOrderElementsOf(users.stream().map(User::getEmail).toList());
+        assertThat(sent).allSatisfy(notification ->
+            assertThat(notification.subject()).isEqualTo("Class cancelled: Sunrise Yoga"));
+    }
+
+    @Test
+    @DisplayName("Should not notify again when the outbox redelivers an event")
+    void shouldNotNotifyTwiceOnRedelivery() {
+        // Given
+        BookingRequest request = new BookingRequest();
+        request.setClassScheduleId(classSchedule.getId());
+        bookingService.createBooking(users.get(0).getEmail(), request);
+        relayAndFlush();
+        assertThat(channel.sent()).hasSize(1);
+        channel.clear();
+
+        // When - the published message is delivered a second time
+        List<OutboxMessage> published = outboxMessageRepository.findAll();
+        published.forEach(message -> {
+            message.setStatus(OutboxMessage.PENDING);
+            message.setPublishedAt(null);
+            message.setAvailableAt(LocalDateTime.now().minusSeconds(1));
+        });
+        outboxMessageRepository.saveAll(published);
+        relayAndFlush();
+
+        // Then
+        assertThat(outboxMessageRepository.countByStatus(OutboxMessage.PUBLISHED)).isEqualTo(published.size());
+        assertThat(channel.sent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not notify anyone when the booking is rejected")
+    void shouldNotNotifyRejectedBooking() {
+        // Given - the class is full
+        classSchedule.setCapacity(0);
+        classScheduleRepository.save(classSchedule);
+        BookingRequest request = new BookingRequest();
+        request.setClassScheduleId(classSchedule.getId());
+
+        // When
+        assertThatThrownBy(() -> bookingService.createBooking(users.get(0).getEmail(), request));
+        relayAndFlush();
+
+        // Then
+        assertThat(channel.sent()).isEmpty();
+        assertThat(bookingRepository.findByClassScheduleId(classSchedule.getId())).isEmpty();
+        assertThat(outboxMessageRepository.count()).isZero();
+    }
+
+    private void relayAndFlush() {
+        outboxRelay.drain();
+        assertThat(eventBus.awaitIdle(Duration.ofSeconds(5))).isTrue();
+        notificationDispatcher.flush();
+    }
+}
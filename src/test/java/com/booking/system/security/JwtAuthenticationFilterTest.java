@@ -1,5 +1,7 @@
 package com.booking.system.security;
 
+import com.booking.system.infrastructure.tracing.InMemorySpanExporter;
+import com.booking.system.infrastructure.tracing.Tracer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -34,12 +37,20 @@ import static org.mockito.Mockito.*;
 @DisplayName("JwtAuthenticationFilter Unit Tests")
 class JwtAuthenticationFilterTest {
 
+    private final InMemorySpanExporter spanExporter = new InMemorySpanExporter(100);
+
     @Mock
     private JwtTokenProvider tokenProvider;
 
     @Mock
     private UserDetailsServiceImpl userDetailsService;
 
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private Tracer tracer = new Tracer(spanExporter, 1.0);
+
     @Mock
     private HttpServletRequest request;
 
@@ -71,16 +82,15 @@ class JwtAuthenticationFilterTest {
         );
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
-        when(tokenProvider.getUsernameFromToken(VALID_TOKEN)).thenReturn(TEST_EMAIL);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
         when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(userDetails);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(tokenProvider).validateToken(VALID_TOKEN);
-        verify(tokenProvider).getUsernameFromToken(VALID_TOKEN);
+        verify(tokenProvider).parseToken(VALID_TOKEN);
+        verify(tokenRevocationService).isRevoked(any(AccessTokenClaims.class));
         verify(userDetailsService).loadUserByUsername(TEST_EMAIL);
         verify(filterChain).doFilter(request, response);
 
@@ -99,7 +109,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(tokenProvider, never()).validateToken(anyString());
+        verify(tokenProvider, never()).parseToken(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
 
@@ -116,7 +126,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(tokenProvider, never()).validateToken(anyString());
+        verify(tokenProvider, never()).parseToken(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
 
@@ -130,14 +140,14 @@ class JwtAuthenticationFilterTest {
         String invalidToken = "invalid.token";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + invalidToken);
-        when(tokenProvider.validateToken(invalidToken)).thenReturn(false);
+        when(tokenProvider.parseToken(invalidToken)).thenReturn(null);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(tokenProvider).validateToken(invalidToken);
-        verify(tokenProvider, never()).getUsernameFromToken(anyString());
+        verify(tokenProvider).parseToken(invalidToken);
+        verify(tokenRevocationService, never()).isRevoked(any());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
 
@@ -154,7 +164,7 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(tokenProvider, never()).validateToken(anyString());
+        verify(tokenProvider, never()).parseToken(anyString());
         verify(userDetailsService, never()).loadUserByUsername(anyString());
         verify(filterChain).doFilter(request, response);
 
@@ -166,7 +176,7 @@ class JwtAuthenticationFilterTest {
     void shouldHandleExceptionWhenTokenValidationFails() throws ServletException, IOException {
         // Given
         when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenThrow(new RuntimeException("Token validation failed"));
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenThrow(new RuntimeException("Token validation failed"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -181,8 +191,7 @@ class JwtAuthenticationFilterTest {
     void shouldHandleExceptionWhenUserDetailsServiceFails() throws ServletException, IOException {
         // Given
         when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
-        when(tokenProvider.getUsernameFromToken(VALID_TOKEN)).thenReturn(TEST_EMAIL);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
         when(userDetailsService.loadUserByUsername(TEST_EMAIL))
             .thenThrow(new RuntimeException("User not found"));
 
@@ -205,8 +214,7 @@ class JwtAuthenticationFilterTest {
         );
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
-        when(tokenProvider.getUsernameFromToken(VALID_TOKEN)).thenReturn(TEST_EMAIL);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
         when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(userDetails);
 
         // When
@@ -222,8 +230,7 @@ class JwtAuthenticationFilterTest {
         // Given
         String token = "ey.token.here";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(tokenProvider.validateToken(token)).thenReturn(true);
-        when(tokenProvider.getUsernameFromToken(token)).thenReturn(TEST_EMAIL);
+        when(tokenProvider.parseToken(token)).thenReturn(claimsFor(TEST_EMAIL));
         when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(
             new User(TEST_EMAIL, "pass", Collections.emptyList())
         );
@@ -232,8 +239,8 @@ class JwtAuthenticationFilterTest {
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         // Then
-        verify(tokenProvider).validateToken(token);
-        verify(tokenProvider, never()).validateToken("Bearer " + token);
+        verify(tokenProvider).parseToken(token);
+        verify(tokenProvider, never()).parseToken("Bearer " + token);
     }
 
     @Test
@@ -247,8 +254,7 @@ class JwtAuthenticationFilterTest {
         );
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
-        when(tokenProvider.validateToken(VALID_TOKEN)).thenReturn(true);
-        when(tokenProvider.getUsernameFromToken(VALID_TOKEN)).thenReturn(TEST_EMAIL);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
         when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(userDetails);
 
         // When
@@ -270,7 +276,7 @@ class JwtAuthenticationFilterTest {
         String malformedToken = "not.a.valid.jwt";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + malformedToken);
-        when(tokenProvider.validateToken(malformedToken)).thenReturn(false);
+        when(tokenProvider.parseToken(malformedToken)).thenReturn(null);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -291,7 +297,7 @@ class JwtAuthenticationFilterTest {
         );
 
         when(request.getHeader("Authorization")).thenReturn("Bearer invalid.token");
-        when(tokenProvider.validateToken(anyString())).thenReturn(false);
+        when(tokenProvider.parseToken(anyString())).thenReturn(null);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -300,4 +306,63 @@ class JwtAuthenticationFilterTest {
         // Note: Actually, the filter doesn't clear existing authentication, it just doesn't set a new one
         verify(filterChain).doFilter(request, response);
     }
+
+    @Test
+    @DisplayName("Should not authenticate when token has been revoked")
+    void shouldNotAuthenticateWhenTokenRevoked() throws ServletException, IOException {
+        // Given
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
+        when(tokenRevocationService.isRevoked(any(AccessTokenClaims.class))).thenReturn(true);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a deactivated account with a still valid token")
+    void shouldNotAuthenticateDisabledAccount() throws ServletException, IOException {
+        // Given
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
+        when(userDetailsService.loadUserByUsername(TEST_EMAIL)).thenReturn(
+            new UserPrincipal(1L, TEST_EMAIL, "testuser", "pass", "ROLE_USER", false)
+        );
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should record the authentication outcome on a span")
+    void shouldRecordAuthenticationSpan() throws ServletException, IOException {
+        // Given
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + VALID_TOKEN);
+        when(tokenProvider.parseToken(VALID_TOKEN)).thenReturn(claimsFor(TEST_EMAIL));
+        when(tokenRevocationService.isRevoked(any(AccessTokenClaims.class))).thenReturn(true);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        tracer.flush();
+
+        // Then
+        assertThat(spanExporter.spans()).singleElement().satisfies(span -> {
+            assertThat(span.name()).isEqualTo("JwtAuthenticationFilter.authenticate");
+            assertThat(span.attributes()).containsEntry("outcome", "revoked");
+        });
+    }
+
+    private static AccessTokenClaims claimsFor(String subject) {
+        long now = System.currentTimeMillis();
+        return new AccessTokenClaims(subject, "token-id", now, now + 60_000);
+    }
 }
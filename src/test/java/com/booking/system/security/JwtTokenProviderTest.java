@@ -1,5 +1,6 @@
 package com.booking.system.security;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -29,12 +30,15 @@ class JwtTokenProviderTest {
     private static final long TEST_EXPIRATION = 86400000; // 24 hours
     private static final String TEST_USERNAME = "test@example.com";
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private UsernamePasswordAuthenticationToken authentication;
 
     @BeforeEach
     void setUp() {
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret", TEST_SECRET);
         ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpiration", TEST_EXPIRATION);
+        ReflectionTestUtils.setField(jwtTokenProvider, "meterRegistry", meterRegistry);
+        jwtTokenProvider.registerMetrics();
 
         authentication = new UsernamePasswordAuthenticationToken(
             TEST_USERNAME,
@@ -68,6 +72,17 @@ class JwtTokenProviderTest {
         assertThat(username).isEqualTo(TEST_USERNAME);
     }
 
+    @Test
+    @DisplayName("Should generate token directly from subject")
+    void shouldGenerateTokenDirectlyFromSubject() {
+        // When
+        String token = jwtTokenProvider.generateToken(TEST_USERNAME);
+
+        // Then
+        assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+        assertThat(jwtTokenProvider.getUsernameFromToken(token)).isEqualTo(TEST_USERNAME);
+    }
+
     @Test
     @DisplayName("Should validate correct token")
     void shouldValidateCorrectToken() {
@@ -226,4 +241,21 @@ class JwtTokenProviderTest {
         // Then
         assertThat(extractedUsername).isEqualTo(longUsername);
     }
+
+    @Test
+    @DisplayName("Should time token verification by outcome")
+    void shouldTimeTokenVerification() {
+        // Given
+        String token = jwtTokenProvider.generateToken(authentication);
+
+        // When
+        AccessTokenClaims claims = jwtTokenProvider.parseToken(token);
+        AccessTokenClaims rejected = jwtTokenProvider.parseToken(token + "x");
+
+        // Then
+        assertThat(claims.getSubject()).isEqualTo(TEST_USERNAME);
+        assertThat(rejected).isNull();
+        assertThat(meterRegistry.timer("auth.jwt.verify", "outcome", "valid").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("auth.jwt.verify", "outcome", "invalid").count()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,130 @@
+package com.booking.system.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LoginAttemptTracker Unit Tests")
+class LoginAttemptTrackerTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+    private static final String TEST_IP = "10.0.0.1";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private LoginAttemptTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new LoginAttemptTracker(true, 1_000, 3, 10,
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(15), clock::get);
+    }
+
+    @Test
+    @DisplayName("Should allow attempts below the threshold")
+    void shouldAllowAttemptsBelowThreshold() {
+        // When
+        tracker.recordFailure(TEST_EMAIL, TEST_IP);
+        tracker.recordFailure(TEST_EMAIL, TEST_IP);
+
+        // Then
+        assertThat(tracker.checkBlocked(TEST_EMAIL, TEST_IP)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should lock email once threshold is reached")
+    void shouldLockEmailAtThreshold() {
+        // When
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure(TEST_EMAIL, "10.0.0." + i);
+        }
+
+        // Then
+        assertThat(tracker.checkBlocked(TEST_EMAIL, "10.0.0.99")).isEqualTo(30_000L);
+        assertThat(tracker.checkBlocked("TEST@example.com ", "10.0.0.99")).isPositive();
+        assertThat(tracker.checkBlocked("other@example.com", "10.0.0.99")).isZero();
+        assertThat(tracker.stats().getBlockedAttempts()).isEqualTo(2);
+        assertThat(tracker.stats().getLockedEmails()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should double lockout for each further failure up to the cap")
+    void shouldGrowLockoutExponentially() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure(TEST_EMAIL, null);
+        }
+
+        // When & Then
+        tracker.recordFailure(TEST_EMAIL, null);
+        assertThat(tracker.checkBlocked(TEST_EMAIL, null)).isEqualTo(60_000L);
+        tracker.recordFailure(TEST_EMAIL, null);
+        assertThat(tracker.checkBlocked(TEST_EMAIL, null)).isEqualTo(120_000L);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure(TEST_EMAIL, null);
+        }
+        assertThat(tracker.checkBlocked(TEST_EMAIL, null)).isEqualTo(Duration.ofMinutes(5).toMillis());
+    }
+
+    @Test
+    @DisplayName("Should lock IP spraying many accounts")
+    void shouldLockIpSprayingManyAccounts() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            tracker.recordFailure("user" + i + "@example.com", TEST_IP);
+        }
+
+        // Then
+        assertThat(tracker.checkBlocked("fresh@example.com", TEST_IP)).isPositive();
+        assertThat(tracker.checkBlocked("fresh@example.com", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should release lock after it expires and reset email on success")
+    void shouldReleaseLockAndResetOnSuccess() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure(TEST_EMAIL, TEST_IP);
+        }
+
+        // When
+        clock.addAndGet(30_001L);
+
+        // Then
+        assertThat(tracker.checkBlocked(TEST_EMAIL, TEST_IP)).isZero();
+        tracker.recordSuccess(TEST_EMAIL);
+        tracker.recordFailure(TEST_EMAIL, TEST_IP);
+        assertThat(tracker.checkBlocked(TEST_EMAIL, TEST_IP)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep memory bounded under spoofed keys")
+    void shouldKeepMemoryBounded() {
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            tracker.recordFailure("spoof" + i + "@example.com", "192.168." + (i / 256) + "." + (i % 256));
+        }
+
+        // Then
+        assertThat(tracker.stats().getTrackedKeys()).isLessThanOrEqualTo(2_000);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        LoginAttemptTracker disabled = new LoginAttemptTracker(false, 1_000, 1, 1,
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(15), clock::get);
+
+        // When
+        disabled.recordFailure(TEST_EMAIL, TEST_IP);
+
+        // Then
+        assertThat(disabled.checkBlocked(TEST_EMAIL, TEST_IP)).isZero();
+    }
+}
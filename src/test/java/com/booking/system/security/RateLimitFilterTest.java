@@ -0,0 +1,161 @@
+package com.booking.system.security;
+
+import com.booking.system.config.RateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(1));
+
+        RateLimitProperties.Route auth = new RateLimitProperties.Route();
+        auth.setName("auth");
+        auth.setPattern("/api/v1/auth/**");
+        auth.setMethods(List.of("POST"));
+        auth.setIp(limit(2, 1.0));
+
+        RateLimitProperties.Route api = new RateLimitProperties.Route();
+        api.setName("api");
+        api.setPattern("/api/**");
+        api.setIp(limit(100, 10.0));
+        api.setPrincipal(limit(1, 1.0));
+
+        properties.setRoutes(List.of(auth, api));
+        rateLimiter = new RateLimiter(properties, new ClientIpResolver(properties), clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should reject requests over the IP limit with 429")
+    void shouldRejectOverIpLimit() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, objectMapper);
+
+        // When
+        MockHttpServletResponse first = execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse second = execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse third = execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse otherIp = execute(filter, "POST", "/api/v1/auth/login", "10.0.0.2");
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(third.getStatus()).isEqualTo(429);
+        assertThat(third.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(third.getContentAsString()).contains("Rate limit exceeded");
+        assertThat(otherIp.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should count route groups independently")
+    void shouldCountRouteGroupsIndependently() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, objectMapper);
+        execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+        execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+
+        // When
+        MockHttpServletResponse response = execute(filter, "GET", "/api/v1/classes", "10.0.0.1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should limit authenticated principal and skip anonymous requests")
+    void shouldLimitAuthenticatedPrincipal() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.PRINCIPAL, objectMapper);
+
+        // When
+        MockHttpServletResponse anonymous1 = execute(filter, "GET", "/api/v1/bookings/my-bookings", "10.0.0.1");
+        MockHttpServletResponse anonymous2 = execute(filter, "GET", "/api/v1/bookings/my-bookings", "10.0.0.1");
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken("test@example.com", null, Collections.emptyList()));
+        MockHttpServletResponse user1 = execute(filter, "GET", "/api/v1/bookings/my-bookings", "10.0.0.1");
+        MockHttpServletResponse user2 = execute(filter, "GET", "/api/v1/bookings/my-bookings", "10.0.0.2");
+
+        // Then
+        assertThat(anonymous1.getStatus()).isEqualTo(200);
+        assertThat(anonymous2.getStatus()).isEqualTo(200);
+        assertThat(user1.getStatus()).isEqualTo(200);
+        assertThat(user2.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should admit again after tokens refill")
+    void shouldAdmitAfterRefill() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, objectMapper);
+        execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+        execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+
+        // When
+        clock.addAndGet(1_000_000_000L);
+        MockHttpServletResponse response = execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1");
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should pass everything through when disabled")
+    void shouldPassThroughWhenDisabled() throws Exception {
+        // Given
+        properties.setEnabled(false);
+        RateLimitFilter filter = new RateLimitFilter(rateLimiter, RateLimiter.Scope.IP, objectMapper);
+
+        // When & Then
+        for (int i = 0; i < 5; i++) {
+            assertThat(execute(filter, "POST", "/api/v1/auth/login", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+    }
+
+    private MockHttpServletResponse execute(RateLimitFilter filter, String method, String uri, String ip)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = mock(FilterChain.class);
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static RateLimitProperties.Limit limit(int capacity, double refillPerSecond) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setRefillPerSecond(refillPerSecond);
+        return limit;
+    }
+}
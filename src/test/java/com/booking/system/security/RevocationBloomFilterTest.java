@@ -0,0 +1,80 @@
+package com.booking.system.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RevocationBloomFilter Unit Tests")
+class RevocationBloomFilterTest {
+
+    private static final long GENERATION = 60_000L;
+
+    @Test
+    @DisplayName("Should report inserted keys as possibly revoked")
+    void shouldReportInsertedKeys() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(1 << 16, 5, GENERATION, 0L);
+
+        // When
+        filter.put(RevocationBloomFilter.KIND_TOKEN, "token-1", 0L);
+
+        // Then
+        assertThat(filter.mightContain(RevocationBloomFilter.KIND_TOKEN, "token-1", 0L)).isTrue();
+        assertThat(filter.mightContain(RevocationBloomFilter.KIND_TOKEN, "token-2", 0L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep token and subject keys apart")
+    void shouldKeepKindsApart() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(1 << 16, 5, GENERATION, 0L);
+
+        // When
+        filter.put(RevocationBloomFilter.KIND_SUBJECT, "test@example.com", 0L);
+
+        // Then
+        assertThat(filter.mightContain(RevocationBloomFilter.KIND_SUBJECT, "test@example.com", 0L)).isTrue();
+        assertThat(filter.mightContain(RevocationBloomFilter.KIND_TOKEN, "test@example.com", 0L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should retain keys for at least one generation and drop them after two")
+    void shouldExpireKeysAfterTwoGenerations() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(1 << 16, 5, GENERATION, 0L);
+        filter.put(RevocationBloomFilter.KIND_TOKEN, "token-1", GENERATION - 1);
+
+        // When & Then
+        assertThat(filter.mightContain(RevocationBloomFilter.KIND_TOKEN, "token-1", GENERATION + 1)).isTrue();
+        assertThat(filter.mightContain(RevocationBloomFilter.KIND_TOKEN, "token-1", 2 * GENERATION + 2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep false positive rate low")
+    void shouldKeepFalsePositiveRateLow() {
+        // Given
+        RevocationBloomFilter filter = new RevocationBloomFilter(1 << 16, 5, GENERATION, 0L);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put(RevocationBloomFilter.KIND_TOKEN, "revoked-" + i, 0L);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(RevocationBloomFilter.KIND_TOKEN, "active-" + i, 0L)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive parameters")
+    void shouldRejectNonPositiveParameters() {
+        assertThatThrownBy(() -> new RevocationBloomFilter(0, 5, GENERATION, 0L))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
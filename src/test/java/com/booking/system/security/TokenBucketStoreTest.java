@@ -0,0 +1,101 @@
+package com.booking.system.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBucketStore Unit Tests")
+class TokenBucketStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("Should allow burst up to capacity then reject")
+    void shouldAllowBurstUpToCapacity() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(100, 4, 60 * SECOND);
+
+        // When & Then
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("key", 3, 1.0, 0L)).isZero();
+        }
+        assertThat(store.tryAcquire("key", 3, 1.0, 0L)).isEqualTo(SECOND);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over time")
+    void shouldRefillTokensOverTime() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(100, 4, 60 * SECOND);
+        store.tryAcquire("key", 1, 2.0, 0L);
+
+        // When & Then
+        assertThat(store.tryAcquire("key", 1, 2.0, SECOND / 4)).isPositive();
+        assertThat(store.tryAcquire("key", 1, 2.0, SECOND / 2)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should bound the number of tracked keys")
+    void shouldBoundTrackedKeys() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(64, 4, 60 * SECOND);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            store.tryAcquire("key-" + i, 5, 1.0, i);
+        }
+
+        // Then
+        assertThat(store.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Should evict idle keys")
+    void shouldEvictIdleKeys() {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(1_000, 1, 10 * SECOND);
+        for (int i = 0; i < 100; i++) {
+            store.tryAcquire("key-" + i, 5, 1.0, 0L);
+        }
+
+        // When
+        store.tryAcquire("fresh", 5, 1.0, 11 * SECOND);
+
+        // Then
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not over-admit under concurrent access")
+    void shouldNotOverAdmitUnderConcurrency() throws InterruptedException {
+        // Given
+        TokenBucketStore store = new TokenBucketStore(100, 8, 60 * SECOND);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (store.tryAcquire("shared", 50, 0.0, 0L) == 0L) {
+                    admitted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(admitted.get()).isEqualTo(50);
+    }
+}
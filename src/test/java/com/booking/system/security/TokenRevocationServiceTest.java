@@ -0,0 +1,153 @@
+package com.booking.system.security;
+
+import com.booking.system.entity.TokenRevocation;
+import com.booking.system.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("TokenRevocationService Unit Tests")
+class TokenRevocationServiceTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "bloomBits", 1 << 16);
+        ReflectionTestUtils.setField(tokenRevocationService, "bloomHashes", 5);
+        ReflectionTestUtils.setField(tokenRevocationService, "syncOverlapMillis", 30_000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "maxStalenessMillis", 15_000L);
+        when(tokenProvider.getExpirationMillis()).thenReturn(900000L);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database for tokens that were never revoked")
+    void shouldSkipDatabaseForUnrevokedTokens() {
+        // Given
+        tokenRevocationService.reload();
+        clearInvocations(tokenRevocationRepository);
+
+        // When
+        boolean revoked = tokenRevocationService.isRevoked(claims("token-id", System.currentTimeMillis()));
+
+        // Then
+        assertThat(revoked).isFalse();
+        verifyNoInteractions(tokenRevocationRepository);
+    }
+
+    @Test
+    @DisplayName("Should check the database while the filter has not been synced recently")
+    void shouldCheckDatabaseWhileFilterIsStale() {
+        // Given - never loaded, then loaded but not synced for longer than the staleness bound
+        long now = System.currentTimeMillis();
+        assertThat(tokenRevocationService.isRevoked(claims("token-id", now))).isFalse();
+        verify(tokenRevocationRepository).existsByRevocationKeyAndRevocationType("token-id", TokenRevocation.TYPE_TOKEN);
+
+        tokenRevocationService.reload();
+        ReflectionTestUtils.setField(tokenRevocationService, "syncedAtMillis", now - 60_000);
+        when(tokenRevocationRepository.existsByRevocationKeyAndRevocationType("token-id", TokenRevocation.TYPE_TOKEN))
+            .thenReturn(true);
+
+        // When & Then
+        assertThat(tokenRevocationService.isRevoked(claims("token-id", now))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pick up revocations made on other nodes at the next sync")
+    void shouldSyncRevocationsFromOtherNodes() {
+        // Given
+        tokenRevocationService.reload();
+        LocalDateTime now = LocalDateTime.now();
+        when(tokenRevocationRepository.findByRevokedAtGreaterThanEqual(any(LocalDateTime.class))).thenReturn(List.of(
+            new TokenRevocation(2L, "remote-token", TokenRevocation.TYPE_TOKEN, now, now.plusMinutes(10))));
+        when(tokenRevocationRepository.existsByRevocationKeyAndRevocationType(
+            "remote-token", TokenRevocation.TYPE_TOKEN)).thenReturn(true);
+
+        // When
+        tokenRevocationService.sync();
+
+        // Then
+        assertThat(tokenRevocationService.isRevoked(claims("remote-token", System.currentTimeMillis()))).isTrue();
+        verify(tokenRevocationRepository).findByRevokedAtGreaterThanEqual(argThat(since -> since.isBefore(now)));
+    }
+
+    @Test
+    @DisplayName("Should report revoked token after logout")
+    void shouldReportRevokedToken() {
+        // Given
+        long now = System.currentTimeMillis();
+        tokenRevocationService.revokeToken("token-id", now + 60_000);
+        when(tokenRevocationRepository.existsByRevocationKeyAndRevocationType("token-id", TokenRevocation.TYPE_TOKEN))
+            .thenReturn(true);
+
+        // When & Then
+        assertThat(tokenRevocationService.isRevoked(claims("token-id", now))).isTrue();
+        verify(tokenRevocationRepository).save(argThat(r ->
+            r.getRevocationKey().equals("token-id") && r.getRevocationType().equals(TokenRevocation.TYPE_TOKEN)));
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens issued before subject revocation only")
+    void shouldRevokeTokensIssuedBeforeSubjectRevocation() {
+        // Given
+        LocalDateTime revokedAt = LocalDateTime.now().withNano(0);
+        tokenRevocationService.revokeSubject(TEST_EMAIL);
+        when(tokenRevocationRepository.findTopByRevocationKeyAndRevocationTypeOrderByRevokedAtDesc(
+            TEST_EMAIL, TokenRevocation.TYPE_SUBJECT))
+            .thenReturn(Optional.of(new TokenRevocation(1L, TEST_EMAIL, TokenRevocation.TYPE_SUBJECT,
+                revokedAt, revokedAt.plusMinutes(15))));
+        long revokedAtMillis = revokedAt.atZone(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        // When & Then
+        assertThat(tokenRevocationService.isRevoked(claims("old-token", revokedAtMillis - 5_000))).isTrue();
+        assertThat(tokenRevocationService.isRevoked(claims("new-token", revokedAtMillis + 5_000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild filter from persisted revocations on startup")
+    void shouldRebuildFilterOnReload() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(tokenRevocationRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(
+            new TokenRevocation(1L, "persisted-token", TokenRevocation.TYPE_TOKEN, now, now.plusMinutes(10))));
+        when(tokenRevocationRepository.existsByRevocationKeyAndRevocationType(
+            "persisted-token", TokenRevocation.TYPE_TOKEN)).thenReturn(true);
+
+        // When
+        tokenRevocationService.reload();
+
+        // Then
+        verify(tokenRevocationRepository).deleteExpired(any(LocalDateTime.class));
+        assertThat(tokenRevocationService.isRevoked(claims("persisted-token", System.currentTimeMillis()))).isTrue();
+    }
+
+    private static AccessTokenClaims claims(String tokenId, long issuedAtMillis) {
+        return new AccessTokenClaims(TEST_EMAIL, tokenId, issuedAtMillis, issuedAtMillis + 900_000);
+    }
+}
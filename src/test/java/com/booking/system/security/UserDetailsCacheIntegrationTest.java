@@ -0,0 +1,115 @@
+package com.booking.system.security;
+
+import com.booking.system.entity.User;
+import com.booking.system.infrastructure.persistence.jpa.JpaUserRepository;
+import com.booking.system.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs with the authentication cache enabled; account changes commit, so these tests clean up after themselves.
+ */
+@SpringBootTest(properties = "user-details-cache.max-size=100")
+@ActiveProfiles("test")
+@DisplayName("UserDetailsCache Integration Tests")
+class UserDetailsCacheIntegrationTest {
+
+    private static final String EMAIL = "cached.principal@example.com";
+
+    @Autowired
+    private UserRepository legacyUserRepository;
+
+    @Autowired
+    private JpaUserRepository domainUserRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        User user = new User();
+        user.setUsername("cachedprincipal");
+        user.setEmail(EMAIL);
+        user.setPasswordHash("hash");
+        user.setFirstName("Cached");
+        user.setLastName("Principal");
+        user.setRole("ROLE_USER");
+        userId = legacyUserRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        legacyUserRepository.findById(userId).ifPresent(legacyUserRepository::delete);
+        userDetailsCache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        userDetailsService.loadUserByUsername(EMAIL);
+        long hits = userDetailsCache.stats().getHits();
+
+        // When
+        UserDetails cached = userDetailsService.loadUserByUsername(EMAIL);
+
+        // Then
+        assertThat(userDetailsCache.stats().getHits()).isEqualTo(hits + 1);
+        assertThat(cached.isEnabled()).isTrue();
+        assertThat(((UserPrincipal) cached).getId()).isEqualTo(userId);
+    }
+
+    @Test
+    @DisplayName("Should load a disabled principal after the account is deactivated")
+    void shouldReflectDeactivation() {
+        // Given
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            com.booking.system.domain.model.user.User aggregate = domainUserRepository.findById(userId).orElseThrow();
+            aggregate.deactivate();
+            domainUserRepository.save(aggregate);
+        });
+
+        // Then
+        assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop authenticating a deleted account")
+    void shouldEvictOnDelete() {
+        // Given
+        userDetailsService.loadUserByUsername(EMAIL);
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+            domainUserRepository.delete(domainUserRepository.findById(userId).orElseThrow()));
+
+        // Then
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername(EMAIL))
+            .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
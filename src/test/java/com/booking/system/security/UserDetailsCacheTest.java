@@ -0,0 +1,178 @@
+package com.booking.system.security;
+
+import com.booking.system.domain.event.UserAccountEvent;
+import com.booking.system.domain.model.shared.Email;
+import com.booking.system.domain.model.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UserDetailsCache Unit Tests")
+class UserDetailsCacheTest {
+
+    private static final String TEST_EMAIL = "test@example.com";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UserDetailsCache cache;
+    private Function<String, UserPrincipal> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache(2, Duration.ofMinutes(5), clock::get);
+        loader = email -> {
+            loads.incrementAndGet();
+            return new UserPrincipal(1L, email, "testuser", "encodedPassword", "ROLE_USER");
+        };
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // When
+        cache.get(TEST_EMAIL, loader);
+        UserPrincipal cached = cache.get(TEST_EMAIL, loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cached.getPassword()).isEqualTo("encodedPassword");
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+        assertThat(cache.stats().getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so credential erasure does not poison the cache")
+    void shouldHandOutCopies() {
+        // Given
+        UserPrincipal first = cache.get(TEST_EMAIL, loader);
+
+        // When
+        first.eraseCredentials();
+        UserPrincipal second = cache.get(TEST_EMAIL, loader);
+
+        // Then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPassword()).isEqualTo("encodedPassword");
+    }
+
+    @Test
+    @DisplayName("Should keep the account status on cached copies")
+    void shouldKeepAccountStatusOnCopies() {
+        // Given
+        Function<String, UserPrincipal> disabled = email ->
+            new UserPrincipal(1L, email, "testuser", "encodedPassword", "ROLE_USER", false);
+        cache.get(TEST_EMAIL, disabled);
+
+        // When
+        UserPrincipal cached = cache.get(TEST_EMAIL, loader);
+
+        // Then
+        assertThat(cached.isEnabled()).isFalse();
+        assertThat(loads.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reload after TTL expires")
+    void shouldReloadAfterTtlExpires() {
+        // Given
+        cache.get(TEST_EMAIL, loader);
+
+        // When
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        cache.get(TEST_EMAIL, loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should stay within the configured size")
+    void shouldStayWithinConfiguredSize() {
+        // When
+        cache.get("a@example.com", loader);
+        cache.get("b@example.com", loader);
+        cache.get("c@example.com", loader);
+
+        // Then
+        assertThat(cache.stats().getSize()).isLessThanOrEqualTo(2);
+        assertThat(cache.stats().getEvictions()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should not cache missing users")
+    void shouldNotCacheMissingUsers() {
+        // Given
+        Function<String, UserPrincipal> missing = email -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> cache.get(TEST_EMAIL, missing)).isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> cache.get(TEST_EMAIL, missing)).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not store a value loaded while an invalidation happened")
+    void shouldNotStoreValueLoadedDuringInvalidation() {
+        // Given
+        Function<String, UserPrincipal> racingLoader = email -> {
+            UserPrincipal principal = loader.apply(email);
+            cache.invalidate(email);
+            return principal;
+        };
+
+        // When
+        cache.get(TEST_EMAIL, racingLoader);
+        cache.get(TEST_EMAIL, loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should invalidate on user deactivation event")
+    void shouldInvalidateOnDeactivation() {
+        // Given
+        cache.get(TEST_EMAIL, loader);
+        User user = User.create("testuser", Email.of(TEST_EMAIL), "Test", "User", "encodedPassword", "ROLE_USER");
+        user.setId(1L);
+
+        // When
+        user.deactivate();
+        user.pullEvents().forEach(event -> cache.onUserAccountChanged((UserAccountEvent) event));
+        cache.get(TEST_EMAIL, loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should invalidate both addresses on email change")
+    void shouldInvalidateBothAddressesOnEmailChange() {
+        // Given
+        cache.get(TEST_EMAIL, loader);
+        cache.get("new@example.com", loader);
+        User user = User.create("testuser", Email.of(TEST_EMAIL), "Test", "User", "encodedPassword", "ROLE_USER");
+        user.setId(1L);
+
+        // When
+        user.updateEmail(Email.of("new@example.com"));
+        user.pullEvents().forEach(event -> cache.onUserAccountChanged((UserAccountEvent) event));
+
+        // Then
+        assertThat(cache.stats().getSize()).isZero();
+        assertThat(user.getEvents()).isEmpty();
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -19,6 +20,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -34,6 +36,9 @@ class UserDetailsServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache(0, Duration.ofMinutes(5), System::nanoTime);
+
     @InjectMocks
     private UserDetailsServiceImpl userDetailsService;
 
@@ -80,6 +85,24 @@ class UserDetailsServiceImplTest {
         verify(userRepository).findByEmail("test@example.com");
     }
 
+    @Test
+    @DisplayName("Should carry loaded user data in principal")
+    void shouldCarryLoadedUserDataInPrincipal() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // When
+        UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
+
+        // Then
+        assertThat(userDetails).isInstanceOf(UserPrincipal.class);
+        UserPrincipal principal = (UserPrincipal) userDetails;
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getEmail()).isEqualTo("test@example.com");
+        assertThat(principal.getDisplayUsername()).isEqualTo("testuser");
+        assertThat(principal.getRole()).isEqualTo("ROLE_USER");
+    }
+
     @Test
     @DisplayName("Should throw exception when user not found")
     void shouldThrowExceptionWhenUserNotFound() {
@@ -154,8 +177,8 @@ class UserDetailsServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should load inactive user successfully")
-    void shouldLoadInactiveUserSuccessfully() {
+    @DisplayName("Should load inactive user as disabled")
+    void shouldLoadInactiveUserAsDisabled() {
         // Given
         testUser.setIsActive(false);
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
@@ -164,9 +187,8 @@ class UserDetailsServiceImplTest {
         UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
 
         // Then
-        // Note: Spring Security's User implementation doesn't check isActive by default
-        // The account status checks are all true unless explicitly set
-        assertThat(userDetails.isEnabled()).isTrue();
+        assertThat(userDetails.isEnabled()).isFalse();
+        assertThat(userDetails.isAccountNonLocked()).isTrue();
         verify(userRepository).findByEmail("test@example.com");
     }
 
@@ -5,13 +5,19 @@ import com.booking.system.dto.request.RegisterRequest;
 import com.booking.system.dto.response.AuthResponse;
 import com.booking.system.entity.User;
 import com.booking.system.exception.AuthenticationException;
+import com.booking.system.exception.TooManyRequestsException;
 import com.booking.system.repository.UserRepository;
+import com.booking.system.security.AccessTokenClaims;
 import com.booking.system.security.JwtTokenProvider;
+import com.booking.system.security.LoginAttemptTracker;
+import com.booking.system.security.TokenRevocationService;
+import com.booking.system.security.UserPrincipal;
 import com.booking.system.domain.model.shared.Email;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -21,9 +27,9 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,22 +41,28 @@ import static org.mockito.Mockito.*;
 class AuthServiceTest {
 
     @Mock
-    private UserRepository userRepository;
+    private AuthenticationManager authenticationManager;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private JwtTokenProvider tokenProvider;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private com.booking.system.domain.service.AuthDomainService authDomainService;
 
     @Mock
-    private JwtTokenProvider tokenProvider;
+    private RefreshTokenService refreshTokenService;
 
     @Mock
-    private com.booking.system.domain.service.AuthDomainService authDomainService;
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
 
     @Mock
-    private com.booking.system.infrastructure.adapters.UserAdapter userAdapter;
+    private PlatformTransactionManager transactionManager;
 
     @Mock
     private Authentication authentication;
@@ -60,8 +72,9 @@ class AuthServiceTest {
 
     private RegisterRequest registerRequest;
     private LoginRequest loginRequest;
-    private User testUser;
+    private UserPrincipal testPrincipal;
     private com.booking.system.domain.model.user.User testDomainUser;
+    private User testUser;
 
     @BeforeEach
     void setUp() {
@@ -76,14 +89,7 @@ class AuthServiceTest {
         loginRequest.setEmail("test@example.com");
         loginRequest.setPassword("password123");
 
-        testUser = new User();
-        testUser.setId(1L);
-        testUser.setUsername("testuser");
-        testUser.setEmail("test@example.com");
-        testUser.setFirstName("Test");
-        testUser.setLastName("User");
-        testUser.setRole("ROLE_USER");
-        testUser.setIsActive(true);
+        testPrincipal = new UserPrincipal(1L, "test@example.com", "testuser", "encodedPassword", "ROLE_USER");
 
         // 创建领域用户对象
         testDomainUser = com.booking.system.domain.model.user.User.create(
@@ -96,6 +102,17 @@ class AuthServiceTest {
         );
         // 设置ID
         testDomainUser.setId(1L);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setRole("ROLE_USER");
+
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
+        when(refreshTokenService.issue(any(User.class))).thenReturn(
+            new RefreshTokenService.IssuedToken("refresh-token", testUser, LocalDateTime.now().plusDays(14)));
+        when(tokenProvider.getExpirationMillis()).thenReturn(900000L);
     }
 
     @Test
@@ -110,10 +127,7 @@ class AuthServiceTest {
             eq("User")
         )).thenReturn(testDomainUser);
 
-        when(userAdapter.toLegacy(testDomainUser)).thenReturn(testUser);
-        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
+        when(tokenProvider.generateToken("test@example.com")).thenReturn("jwt-token");
 
         // When
         AuthResponse response = authService.register(registerRequest);
@@ -132,10 +146,13 @@ class AuthServiceTest {
             eq("Test"),
             eq("User")
         );
-        verify(userAdapter).toLegacy(testDomainUser);
-        verify(authenticationManager).authenticate(any(Authentication.class));
-        verify(tokenProvider).generateToken(any(Authentication.class));
-        // 注意：现在不再直接调用userRepository.save
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
+        assertThat(response.getExpiresIn()).isEqualTo(900L);
+
+        verify(tokenProvider).generateToken("test@example.com");
+        verify(refreshTokenService).issue(testUser);
+        // 注册后直接基于保存的聚合签发令牌，不再重新认证
+        verify(authenticationManager, never()).authenticate(any(Authentication.class));
     }
 
     @Test
@@ -201,10 +218,7 @@ class AuthServiceTest {
             eq("Test"),
             eq("User")
         )).thenReturn(testDomainUser);
-        when(userAdapter.toLegacy(testDomainUser)).thenReturn(testUser);
-        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
+        when(tokenProvider.generateToken("test@example.com")).thenReturn("jwt-token");
 
         // When
         authService.register(registerRequest);
@@ -233,10 +247,7 @@ class AuthServiceTest {
             eq("Test"),
             eq("User")
         )).thenReturn(testDomainUser);
-        when(userAdapter.toLegacy(testDomainUser)).thenReturn(testUser);
-        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
+        when(tokenProvider.generateToken("test@example.com")).thenReturn("jwt-token");
 
         // When
         authService.register(registerRequest);
@@ -260,8 +271,8 @@ class AuthServiceTest {
         // Given
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
         when(authentication.getName()).thenReturn("test@example.com");
+        when(authentication.getPrincipal()).thenReturn(testPrincipal);
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
 
         // When
         AuthResponse response = authService.login(loginRequest);
@@ -273,9 +284,44 @@ class AuthServiceTest {
         assertThat(response.getUsername()).isEqualTo("testuser");
         assertThat(response.getRole()).isEqualTo("ROLE_USER");
 
+        assertThat(response.getRefreshToken()).isEqualTo("refresh-token");
+
         verify(authenticationManager).authenticate(any(Authentication.class));
         verify(tokenProvider).generateToken(any(Authentication.class));
-        verify(userRepository).findByEmail("test@example.com");
+        verify(refreshTokenService).issue(testUser);
+    }
+
+    @Test
+    @DisplayName("Should check the password before opening a transaction")
+    void shouldAuthenticateOutsideTransaction() {
+        // Given
+        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(testPrincipal);
+        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
+
+        // When
+        authService.login(loginRequest, "10.0.0.1");
+
+        // Then
+        InOrder inOrder = inOrder(authenticationManager, transactionManager, refreshTokenService);
+        inOrder.verify(authenticationManager).authenticate(any(Authentication.class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(refreshTokenService).issue(any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should not open a transaction for a failed login")
+    void shouldNotOpenTransactionForFailedLogin() {
+        // Given
+        when(authenticationManager.authenticate(any(Authentication.class)))
+            .thenThrow(new BadCredentialsException("Invalid credentials"));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, "10.0.0.1"))
+            .isInstanceOf(BadCredentialsException.class);
+        verify(loginAttemptTracker).recordFailure("test@example.com", "10.0.0.1");
+        verifyNoInteractions(transactionManager);
     }
 
     @Test
@@ -291,17 +337,16 @@ class AuthServiceTest {
             .hasMessageContaining("Invalid credentials");
 
         verify(tokenProvider, never()).generateToken(any(Authentication.class));
-        verify(userRepository, never()).findByEmail(anyString());
     }
 
     @Test
-    @DisplayName("Should throw exception when user not found after successful authentication")
-    void shouldThrowExceptionWhenUserNotFoundAfterAuthentication() {
+    @DisplayName("Should throw exception when authentication result carries no user")
+    void shouldThrowExceptionWhenAuthenticationResultCarriesNoUser() {
         // Given
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
         when(authentication.getName()).thenReturn("test@example.com");
+        when(authentication.getPrincipal()).thenReturn("test@example.com");
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> authService.login(loginRequest))
@@ -320,13 +365,7 @@ class AuthServiceTest {
             eq("Test"),
             eq("User")
         )).thenReturn(testDomainUser);
-        when(userAdapter.toLegacy(testDomainUser)).thenReturn(testUser);
-        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
-
-        // 验证passwordEncoder在AuthDomainService中被调用
-        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(tokenProvider.generateToken("test@example.com")).thenReturn("jwt-token");
 
         // When
         authService.register(registerRequest);
@@ -348,8 +387,8 @@ class AuthServiceTest {
         // Given
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
         when(authentication.getName()).thenReturn("test@example.com");
+        when(authentication.getPrincipal()).thenReturn(testPrincipal);
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(testUser));
 
         // When
         authService.login(loginRequest);
@@ -363,8 +402,8 @@ class AuthServiceTest {
     }
 
     @Test
-    @DisplayName("Should use email for authentication during registration")
-    void shouldUseEmailForAuthenticationDuringRegistration() {
+    @DisplayName("Should use email as token subject during registration")
+    void shouldUseEmailAsTokenSubjectDuringRegistration() {
         // Given
         when(authDomainService.register(
             eq("testuser"),
@@ -373,18 +412,117 @@ class AuthServiceTest {
             eq("Test"),
             eq("User")
         )).thenReturn(testDomainUser);
-        when(userAdapter.toLegacy(testDomainUser)).thenReturn(testUser);
+        when(tokenProvider.generateToken("test@example.com")).thenReturn("jwt-token");
+
+        // When
+        authService.register(registerRequest);
+
+        // Then
+        verify(tokenProvider).generateToken("test@example.com");
+        verify(tokenProvider, never()).generateToken(any(Authentication.class));
+    }
+
+    @Test
+    @DisplayName("Should issue new access token when refreshing")
+    void shouldIssueNewAccessTokenWhenRefreshing() {
+        // Given
+        when(refreshTokenService.rotate("refresh-token")).thenReturn(
+            new RefreshTokenService.IssuedToken("rotated-token", testUser, LocalDateTime.now().plusDays(14)));
+        when(tokenProvider.generateToken("test@example.com")).thenReturn("new-jwt-token");
+
+        // When
+        AuthResponse response = authService.refresh("refresh-token");
+
+        // Then
+        assertThat(response.getToken()).isEqualTo("new-jwt-token");
+        assertThat(response.getRefreshToken()).isEqualTo("rotated-token");
+        assertThat(response.getEmail()).isEqualTo("test@example.com");
+        verify(authenticationManager, never()).authenticate(any(Authentication.class));
+    }
+
+    @Test
+    @DisplayName("Should propagate failure when refresh token is rejected")
+    void shouldPropagateFailureWhenRefreshTokenRejected() {
+        // Given
+        when(refreshTokenService.rotate("stale-token"))
+            .thenThrow(new AuthenticationException("Refresh token has been revoked"));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.refresh("stale-token"))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("revoked");
+        verify(tokenProvider, never()).generateToken(anyString());
+    }
+
+    @Test
+    @DisplayName("Should revoke access and refresh token on logout")
+    void shouldRevokeAccessAndRefreshTokenOnLogout() {
+        // Given
+        when(tokenProvider.parseToken("jwt-token"))
+            .thenReturn(new AccessTokenClaims("test@example.com", "token-id", 1000L, 2000L));
+
+        // When
+        authService.logout("jwt-token", "refresh-token");
+
+        // Then
+        verify(tokenRevocationService).revokeToken("token-id", 2000L);
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    @Test
+    @DisplayName("Should ignore invalid access token on logout")
+    void shouldIgnoreInvalidAccessTokenOnLogout() {
+        // Given
+        when(tokenProvider.parseToken("garbage")).thenReturn(null);
+
+        // When
+        authService.logout("garbage", null);
+
+        // Then
+        verify(tokenRevocationService, never()).revokeToken(anyString(), anyLong());
+        verify(refreshTokenService, never()).revoke(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject locked out login before authenticating")
+    void shouldRejectLockedOutLoginBeforeAuthenticating() {
+        // Given
+        when(loginAttemptTracker.checkBlocked("test@example.com", "10.0.0.1")).thenReturn(29_500L);
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, "10.0.0.1"))
+            .isInstanceOf(TooManyRequestsException.class)
+            .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(30L));
+        verify(authenticationManager, never()).authenticate(any(Authentication.class));
+    }
+
+    @Test
+    @DisplayName("Should record failure when credentials are wrong")
+    void shouldRecordFailureWhenCredentialsAreWrong() {
+        // Given
+        when(authenticationManager.authenticate(any(Authentication.class)))
+            .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(loginRequest, "10.0.0.1"))
+            .isInstanceOf(BadCredentialsException.class);
+        verify(loginAttemptTracker).recordFailure("test@example.com", "10.0.0.1");
+        verify(loginAttemptTracker, never()).recordSuccess(anyString());
+    }
+
+    @Test
+    @DisplayName("Should clear failures after successful login")
+    void shouldClearFailuresAfterSuccessfulLogin() {
+        // Given
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
+        when(authentication.getPrincipal()).thenReturn(testPrincipal);
         when(tokenProvider.generateToken(any(Authentication.class))).thenReturn("jwt-token");
 
         // When
-        authService.register(registerRequest);
+        authService.login(loginRequest, "10.0.0.1");
 
         // Then
-        verify(authenticationManager).authenticate(
-            argThat(auth -> auth instanceof UsernamePasswordAuthenticationToken &&
-                auth.getName().equals("test@example.com"))
-        );
+        verify(loginAttemptTracker).recordSuccess("test@example.com");
+        verify(loginAttemptTracker, never()).recordFailure(anyString(), anyString());
     }
 }
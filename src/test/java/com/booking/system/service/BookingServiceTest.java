@@ -1,25 +1,31 @@
 package com.booking.system.service;
 
 import com.booking.system.dto.request.BookingRequest;
+import com.booking.system.dto.request.BookingValidationRequest;
 import com.booking.system.dto.response.BookingResponse;
+import com.booking.system.dto.response.BookingValidationResponse;
 import com.booking.system.entity.Booking;
 import com.booking.system.entity.ClassSchedule;
 import com.booking.system.entity.User;
 import com.booking.system.exception.BookingException;
 import com.booking.system.exception.ResourceNotFoundException;
+import com.booking.system.infrastructure.outbox.TransactionalOutbox;
 import com.booking.system.repository.BookingRepository;
 import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -43,6 +49,17 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserBookingIntervalCache userBookingIntervalCache = new UserBookingIntervalCache(100, Duration.ofMinutes(5));
+
+    @Mock
+    private TransactionalOutbox outbox;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(meterRegistry);
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -123,6 +140,88 @@ class BookingServiceTest {
         verify(classScheduleRepository).save(argThat(cs -> cs.getCurrentBookings() == 6));
     }
 
+    @Test
+    @DisplayName("Should reject booking a class that overlaps an existing booking")
+    void shouldRejectOverlappingBooking() {
+        // Given
+        BookingRepository.BookedIntervalView booked = bookedInterval(7L,
+            testClassSchedule.getStartTime().minusMinutes(30), testClassSchedule.getStartTime().plusMinutes(30));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(classScheduleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testClassSchedule));
+        when(bookingRepository.existsByUserIdAndClassScheduleId(1L, 1L)).thenReturn(false);
+        when(bookingRepository.findConfirmedIntervalsEndingAfter(eq(1L), any())).thenReturn(List.of(booked));
+
+        // When & Then
+        assertThatThrownBy(() -> bookingService.createBooking("test@example.com", bookingRequest))
+            .isInstanceOf(BookingException.class)
+            .hasMessageStartingWith("You have already booked class 7");
+
+        verify(userRepository).findByIdWithLock(1L);
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the cached intervals in step with bookings and cancellations")
+    void shouldUpdateCachedIntervalsOnBookAndCancel() {
+        // Given
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(classScheduleRepository.findByIdWithLock(1L)).thenReturn(Optional.of(testClassSchedule));
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+        when(bookingRepository.findById(1L)).thenReturn(Optional.of(testBooking));
+        bookingService.createBooking("test@example.com", bookingRequest);
+
+        // When
+        boolean overlapsAfterBooking = userBookingIntervalCache.get(1L, id -> List.of())
+            .findOverlap(testClassSchedule.getStartTime(), testClassSchedule.getEndTime()).isPresent();
+        bookingService.cancelBooking("test@example.com", 1L);
+        boolean overlapsAfterCancel = userBookingIntervalCache.get(1L, id -> List.of())
+            .findOverlap(testClassSchedule.getStartTime(), testClassSchedule.getEndTime()).isPresent();
+
+        // Then
+        assertThat(overlapsAfterBooking).isTrue();
+        assertThat(overlapsAfterCancel).isFalse();
+        verify(bookingRepository, times(1)).findConfirmedIntervalsEndingAfter(eq(1L), any());
+    }
+
+    @Test
+    @DisplayName("Should validate a batch against existing bookings and earlier classes in the batch")
+    void shouldValidateBatch() {
+        // Given
+        ClassSchedule overlapping = new ClassSchedule();
+        overlapping.setId(2L);
+        overlapping.setStartTime(testClassSchedule.getStartTime().plusMinutes(30));
+        overlapping.setEndTime(testClassSchedule.getEndTime().plusMinutes(30));
+        overlapping.setCapacity(10);
+        overlapping.setCurrentBookings(0);
+        overlapping.setStatus("SCHEDULED");
+        ClassSchedule later = new ClassSchedule();
+        later.setId(3L);
+        later.setStartTime(testClassSchedule.getEndTime());
+        later.setEndTime(testClassSchedule.getEndTime().plusHours(1));
+        later.setCapacity(10);
+        later.setCurrentBookings(0);
+        later.setStatus("SCHEDULED");
+        BookingRepository.BookedIntervalView booked = bookedInterval(7L,
+            later.getStartTime().plusMinutes(15), later.getEndTime().plusMinutes(15));
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(classScheduleRepository.findAllById(any())).thenReturn(List.of(testClassSchedule, overlapping, later));
+        when(bookingRepository.findConfirmedIntervalsEndingAfter(eq(1L), any())).thenReturn(List.of(booked));
+
+        // When
+        List<BookingValidationResponse> results = bookingService.validateBookings("test@example.com",
+            new BookingValidationRequest(List.of(1L, 2L, 3L, 99L)));
+
+        // Then
+        assertThat(results).extracting(BookingValidationResponse::isBookable)
+            .containsExactly(true, false, false, false);
+        assertThat(results.get(1).getReason()).isEqualTo("Overlaps with class 1 in this batch");
+        assertThat(results.get(1).getConflictingClassId()).isEqualTo(1L);
+        assertThat(results.get(2).getConflictingClassId()).isEqualTo(7L);
+        assertThat(results.get(3).getReason()).isEqualTo("Class not found");
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
     @Test
     @DisplayName("Should throw exception when user not found")
     void shouldThrowExceptionWhenUserNotFound() {
@@ -201,6 +300,10 @@ class BookingServiceTest {
             .hasMessageContaining("Class is full");
 
         verify(bookingRepository, never()).save(any());
+        assertThat(meterRegistry.counter("booking.rejections", "operation", "create", "reason", "full").count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.timer("booking.requests", "operation", "create", "outcome", "rejected").count())
+            .isEqualTo(1);
     }
 
     @Test
@@ -503,4 +606,24 @@ class BookingServiceTest {
         assertThat(response.getClassStartTime()).isNotNull();
         assertThat(response.getClassStartTime()).isAfter(LocalDateTime.now());
     }
+
+    private BookingRepository.BookedIntervalView bookedInterval(Long classScheduleId, LocalDateTime startTime,
+                                                               LocalDateTime endTime) {
+        return new BookingRepository.BookedIntervalView() {
+            @Override
+            public Long getClassScheduleId() {
+                return classScheduleId;
+            }
+
+            @Override
+            public LocalDateTime getStartTime() {
+                return startTime;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return endTime;
+            }
+        };
+    }
 }
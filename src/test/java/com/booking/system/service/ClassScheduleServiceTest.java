@@ -1,13 +1,16 @@
 package com.booking.system.service;
 
+import com.booking.system.domain.event.ClassCancelledEvent;
 import com.booking.system.dto.request.CreateClassRequest;
 import com.booking.system.dto.request.UpdateClassRequest;
 import com.booking.system.dto.response.ClassResponse;
+import com.booking.system.dto.response.ScheduleConflictResponse;
 import com.booking.system.entity.ClassSchedule;
 import com.booking.system.entity.Instructor;
 import com.booking.system.entity.User;
 import com.booking.system.exception.BookingException;
 import com.booking.system.exception.ResourceNotFoundException;
+import com.booking.system.infrastructure.outbox.TransactionalOutbox;
 import com.booking.system.repository.ClassScheduleRepository;
 import com.booking.system.repository.InstructorRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +43,18 @@ class ClassScheduleServiceTest {
     @Mock
     private InstructorRepository instructorRepository;
 
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private RoomUtilizationAggregator roomUtilizationAggregator;
+
+    @Mock
+    private UserBookingIntervalCache userBookingIntervalCache;
+
+    @Mock
+    private TransactionalOutbox outbox;
+
     @InjectMocks
     private ClassScheduleService classScheduleService;
 
@@ -403,6 +418,69 @@ class ClassScheduleServiceTest {
         verify(classScheduleRepository).save(any(ClassSchedule.class));
     }
 
+    @Test
+    @DisplayName("Should reject class that overlaps another class of the same instructor")
+    void shouldRejectCreateWhenInstructorHasOverlappingClass() {
+        // Given
+        when(instructorRepository.findById(1L)).thenReturn(Optional.of(testInstructor));
+        when(classScheduleRepository.findInstructorConflicts(eq(1L), any(), eq(createClassRequest.getStartTime()),
+                eq(createClassRequest.getEndTime()), isNull()))
+            .thenReturn(List.of(testClassSchedule));
+
+        // When & Then
+        assertThatThrownBy(() -> classScheduleService.createClass(createClassRequest))
+            .isInstanceOf(BookingException.class)
+            .hasMessageContaining("Instructor is already teaching class 1");
+
+        verify(instructorRepository).findByIdWithLock(1L);
+        verify(classScheduleRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should exclude the class itself when checking conflicts on update")
+    void shouldExcludeClassItselfWhenCheckingUpdateConflicts() {
+        // Given
+        LocalDateTime newStart = testClassSchedule.getStartTime().plusMinutes(30);
+        updateClassRequest.setStatus(null);
+        updateClassRequest.setStartTime(newStart);
+        updateClassRequest.setEndTime(newStart.plusHours(1));
+
+        when(classScheduleRepository.findById(1L)).thenReturn(Optional.of(testClassSchedule));
+        when(classScheduleRepository.save(any(ClassSchedule.class))).thenReturn(testClassSchedule);
+
+        // When
+        classScheduleService.updateClass(1L, updateClassRequest);
+
+        // Then
+        verify(classScheduleRepository).findInstructorConflicts(1L, newStart.minusHours(8), newStart,
+            newStart.plusHours(1), 1L);
+        verify(classScheduleRepository).save(any(ClassSchedule.class));
+    }
+
+    @Test
+    @DisplayName("Should report every overlapping pair in an instructor's term")
+    void shouldReportOverlappingClassesInTerm() {
+        // Given
+        LocalDateTime nine = testClassSchedule.getStartTime().withHour(9).withMinute(0);
+        ClassSchedule first = classAt(11L, nine, nine.plusHours(1));
+        ClassSchedule second = classAt(12L, nine.plusMinutes(30), nine.plusMinutes(90));
+        ClassSchedule backToBack = classAt(13L, nine.plusHours(1), nine.plusHours(2));
+        ClassSchedule later = classAt(14L, nine.plusHours(3), nine.plusHours(4));
+
+        when(instructorRepository.existsById(1L)).thenReturn(true);
+        when(classScheduleRepository.findActiveByInstructorIdAndStartTimeRange(1L, nine, nine.plusDays(90)))
+            .thenReturn(List.of(first, second, backToBack, later));
+
+        // When
+        List<ScheduleConflictResponse> conflicts =
+            classScheduleService.getInstructorConflicts(1L, nine, nine.plusDays(90));
+
+        // Then
+        assertThat(conflicts)
+            .extracting(ScheduleConflictResponse::getClassId, ScheduleConflictResponse::getConflictingClassId)
+            .containsExactly(tuple(11L, 12L), tuple(12L, 13L));
+    }
+
     @Test
     @DisplayName("Should throw exception when updating non-existent class")
     void shouldThrowExceptionWhenUpdatingNonExistentClass() {
@@ -446,6 +524,8 @@ class ClassScheduleServiceTest {
         // Then
         verify(classScheduleRepository, never()).delete(any());
         verify(classScheduleRepository).save(argThat(cs -> "CANCELLED".equals(cs.getStatus())));
+        verify(outbox).append(eq("ClassSchedule"), eq(1L), argThat(events -> events.size() == 1
+            && events.get(0) instanceof ClassCancelledEvent cancelled && cancelled.getCurrentBookings() == 5));
     }
 
     @Test
@@ -508,4 +588,15 @@ class ClassScheduleServiceTest {
         // Then
         assertThat(response.getInstructorName()).isNull();
     }
+
+    private ClassSchedule classAt(Long id, LocalDateTime startTime, LocalDateTime endTime) {
+        ClassSchedule classSchedule = new ClassSchedule();
+        classSchedule.setId(id);
+        classSchedule.setName("Class " + id);
+        classSchedule.setStartTime(startTime);
+        classSchedule.setEndTime(endTime);
+        classSchedule.setCapacity(10);
+        classSchedule.setInstructor(testInstructor);
+        return classSchedule;
+    }
 }
@@ -0,0 +1,63 @@
+package com.booking.system.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CsvRecordReader Unit Tests")
+class CsvRecordReaderTest {
+
+    @Test
+    @DisplayName("Should read plain records and skip blank lines")
+    void shouldReadPlainRecords() throws IOException {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,b,c\r\n\n1,,3\n"));
+
+        // Then
+        assertThat(reader.next()).containsExactly("a", "b", "c");
+        assertThat(reader.next()).containsExactly("1", "", "3");
+        assertThat(reader.getRecordStartLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should unescape quoted fields including commas, quotes and line breaks")
+    void shouldReadQuotedFields() throws IOException {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(
+            new StringReader("\"Yoga, Hot\",\"Say \"\"om\"\"\",\"Line 1\nLine 2\"\nnext,row"));
+
+        // Then
+        assertThat(reader.next()).containsExactly("Yoga, Hot", "Say \"om\"", "Line 1\nLine 2");
+        assertThat(reader.next()).containsExactly("next", "row");
+        assertThat(reader.getRecordStartLine()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep trailing empty fields")
+    void shouldKeepTrailingEmptyField() throws IOException {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\n"));
+
+        // Then
+        assertThat(reader.next()).containsExactly("a", "");
+    }
+
+    @Test
+    @DisplayName("Should fail on an unterminated quoted field")
+    void shouldFailOnUnterminatedQuote() {
+        // Given
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("ok\n\"broken,field\n"));
+
+        // When & Then
+        assertThatCode(reader::next).doesNotThrowAnyException();
+        assertThatThrownBy(reader::next)
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("line 2");
+    }
+}
@@ -0,0 +1,148 @@
+package com.booking.system.service;
+
+import com.booking.system.entity.RefreshToken;
+import com.booking.system.entity.User;
+import com.booking.system.exception.AuthenticationException;
+import com.booking.system.repository.RefreshTokenRepository;
+import com.booking.system.security.TokenRevocationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 1209600000L);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setEmail("test@example.com");
+        testUser.setIsActive(true);
+    }
+
+    @Test
+    @DisplayName("Should store only the hash of an issued token")
+    void shouldStoreOnlyHashOfIssuedToken() {
+        // When
+        RefreshTokenService.IssuedToken issued = refreshTokenService.issue(testUser);
+
+        // Then
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertThat(issued.getToken()).isNotBlank();
+        assertThat(captor.getValue().getTokenHash())
+            .hasSize(64)
+            .isEqualTo(RefreshTokenService.hash(issued.getToken()))
+            .isNotEqualTo(issued.getToken());
+        assertThat(captor.getValue().getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+    }
+
+    @Test
+    @DisplayName("Should rotate a valid refresh token")
+    void shouldRotateValidRefreshToken() {
+        // Given
+        RefreshToken current = storedToken("raw-token", LocalDateTime.now().plusDays(1), null);
+
+        // When
+        RefreshTokenService.IssuedToken next = refreshTokenService.rotate("raw-token");
+
+        // Then
+        assertThat(next.getToken()).isNotEqualTo("raw-token");
+        assertThat(next.getUser()).isSameAs(testUser);
+        assertThat(current.getRevokedAt()).isNotNull();
+        assertThat(current.getReplacedByHash()).isEqualTo(RefreshTokenService.hash(next.getToken()));
+    }
+
+    @Test
+    @DisplayName("Should revoke all tokens when a rotated token is replayed")
+    void shouldRevokeAllTokensOnReplay() {
+        // Given
+        storedToken("raw-token", LocalDateTime.now().plusDays(1), LocalDateTime.now().minusMinutes(1));
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw-token"))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("revoked");
+        verify(refreshTokenRepository).revokeAllByUserId(eq(1L), any(LocalDateTime.class));
+        verify(tokenRevocationService).revokeSubject("test@example.com");
+    }
+
+    @Test
+    @DisplayName("Should reject expired refresh token")
+    void shouldRejectExpiredRefreshToken() {
+        // Given
+        storedToken("raw-token", LocalDateTime.now().minusMinutes(1), null);
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw-token"))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("expired");
+        verify(tokenRevocationService, never()).revokeSubject(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject refresh for inactive user")
+    void shouldRejectRefreshForInactiveUser() {
+        // Given
+        testUser.setIsActive(false);
+        storedToken("raw-token", LocalDateTime.now().plusDays(1), null);
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotate("raw-token"))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("not active");
+    }
+
+    @Test
+    @DisplayName("Should reject unknown refresh token")
+    void shouldRejectUnknownRefreshToken() {
+        // Given
+        when(refreshTokenRepository.findByTokenHashWithLock(anyString())).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> refreshTokenService.rotate("unknown"))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("Invalid refresh token");
+    }
+
+    private RefreshToken storedToken(String raw, LocalDateTime expiresAt, LocalDateTime revokedAt) {
+        RefreshToken token = new RefreshToken();
+        token.setUser(testUser);
+        token.setTokenHash(RefreshTokenService.hash(raw));
+        token.setExpiresAt(expiresAt);
+        token.setRevokedAt(revokedAt);
+        when(refreshTokenRepository.findByTokenHashWithLock(RefreshTokenService.hash(raw)))
+            .thenReturn(Optional.of(token));
+        return token;
+    }
+}
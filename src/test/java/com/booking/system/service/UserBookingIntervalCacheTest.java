@@ -0,0 +1,233 @@
+package com.booking.system.service;
+
+import com.booking.system.service.UserBookingIntervalCache.BookedIntervals;
+import com.booking.system.service.UserBookingIntervalCache.Interval;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UserBookingIntervalCache Unit Tests")
+class UserBookingIntervalCacheTest {
+
+    private final LocalDateTime nineAm = LocalDateTime.of(2027, 3, 1, 9, 0);
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private UserBookingIntervalCache cache;
+    private Function<Long, Collection<Interval>> loader;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserBookingIntervalCache(2, Duration.ofMinutes(10), clock::get);
+        loader = userId -> {
+            loads.incrementAndGet();
+            return List.of(new Interval(1L, nineAm, nineAm.plusHours(1)),
+                new Interval(2L, nineAm.plusHours(3), nineAm.plusHours(8)));
+        };
+    }
+
+    @Test
+    @DisplayName("Should find overlaps but allow back-to-back classes")
+    void shouldFindOverlaps() {
+        // Given
+        BookedIntervals booked = cache.get(1L, loader);
+
+        // Then
+        assertThat(booked.findOverlap(nineAm.plusMinutes(30), nineAm.plusMinutes(90)))
+            .map(Interval::classScheduleId).contains(1L);
+        assertThat(booked.findOverlap(nineAm.plusHours(1), nineAm.plusHours(2))).isEmpty();
+        assertThat(booked.findOverlap(nineAm.minusHours(1), nineAm)).isEmpty();
+        // A long class that started well before the probed range is still found
+        assertThat(booked.findOverlap(nineAm.plusHours(7), nineAm.plusHours(9)))
+            .map(Interval::classScheduleId).contains(2L);
+    }
+
+    @Test
+    @DisplayName("Should apply bookings and cancellations to cached entries")
+    void shouldApplyChangesToCachedEntries() {
+        // Given
+        cache.get(1L, loader);
+        Interval evening = new Interval(3L, nineAm.plusHours(10), nineAm.plusHours(11));
+
+        // When
+        cache.add(1L, evening);
+        cache.remove(1L, new Interval(1L, nineAm, nineAm.plusHours(1)));
+
+        // Then
+        BookedIntervals booked = cache.get(1L, loader);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(booked.findOverlap(evening.startTime(), evening.endTime())).contains(evening);
+        assertThat(booked.findOverlap(nineAm, nineAm.plusHours(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply changes only after the writing transaction commits")
+    void shouldApplyChangesAfterCommit() {
+        // Given
+        cache.get(1L, loader);
+        Interval evening = new Interval(3L, nineAm.plusHours(10), nineAm.plusHours(11));
+
+        // When - one transaction rolls back, another commits
+        List<TransactionSynchronization> rolledBack = inTransaction(() -> cache.add(1L, evening));
+        List<TransactionSynchronization> committed = inTransaction(() ->
+            cache.remove(1L, new Interval(1L, nineAm, nineAm.plusHours(1))));
+
+        // Then - nothing is visible before commit
+        assertThat(cache.get(1L, loader).findOverlap(nineAm, nineAm.plusHours(1))).isPresent();
+
+        rolledBack.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        committed.forEach(TransactionSynchronization::afterCommit);
+        BookedIntervals booked = cache.get(1L, loader);
+        assertThat(booked.findOverlap(evening.startTime(), evening.endTime())).isEmpty();
+        assertThat(booked.findOverlap(nineAm, nineAm.plusHours(1))).isEmpty();
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let a transaction see its own uncommitted bookings")
+    void shouldSeeOwnUncommittedWrites() {
+        // Given
+        Interval evening = new Interval(3L, nineAm.plusHours(10), nineAm.plusHours(11));
+        List<Interval> database = new ArrayList<>(loader.apply(1L));
+        Function<Long, Collection<Interval>> transactionalLoader = userId -> List.copyOf(database);
+        cache.get(1L, transactionalLoader);
+
+        // When - the same transaction books and then checks again
+        AtomicReference<BookedIntervals> seen = new AtomicReference<>();
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> {
+            cache.add(1L, evening);
+            database.add(evening);
+            seen.set(cache.get(1L, transactionalLoader));
+        });
+
+        // Then - the overlap is found, and the uncommitted load is not cached
+        assertThat(seen.get().findOverlap(evening.startTime(), evening.endTime())).contains(evening);
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        database.remove(evening);
+        assertThat(cache.get(1L, transactionalLoader).findOverlap(evening.startTime(), evening.endTime())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should drop a user whose committed changes arrive out of order")
+    void shouldInvalidateOnOutOfOrderCommits() {
+        // Given
+        cache.get(1L, loader);
+        Interval evening = new Interval(3L, nineAm.plusHours(10), nineAm.plusHours(11));
+        List<TransactionSynchronization> booked = inTransaction(() -> cache.add(1L, evening));
+        List<TransactionSynchronization> cancelled = inTransaction(() -> cache.remove(1L, evening));
+
+        // When - the cancellation's callback runs before the booking's
+        cancelled.forEach(TransactionSynchronization::afterCommit);
+        booked.forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should skip changes already contained in a reload")
+    void shouldSkipChangesLoadedFromDatabase() {
+        // Given - a booking commits, then the entry is reloaded before the callback runs
+        Interval evening = new Interval(3L, nineAm.plusHours(10), nineAm.plusHours(11));
+        List<TransactionSynchronization> booked = inTransaction(() -> cache.add(1L, evening));
+        cache.get(1L, userId -> List.of(evening));
+
+        // When
+        booked.forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        assertThat(cache.get(1L, loader).size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop users holding a changed class and leave others cached")
+    void shouldInvalidateByClass() {
+        // Given
+        cache.get(1L, loader);
+        cache.get(2L, userId -> List.of(new Interval(9L, nineAm, nineAm.plusHours(1))));
+
+        // When
+        cache.invalidateClass(2L);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get(1L, loader);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache snapshots or results loaded during an invalidation")
+    void shouldNotBackfillStaleLoads() {
+        // When
+        BookedIntervals snapshot = cache.snapshot(1L, loader);
+        snapshot.add(new Interval(5L, nineAm.plusHours(12), nineAm.plusHours(13)));
+        cache.get(2L, userId -> {
+            cache.invalidateAll();
+            return List.of();
+        });
+
+        // Then
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get(1L, loader).size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should index classes added after loading and forget users once evicted")
+    void shouldKeepClassIndexInSync() {
+        // Given
+        cache.get(1L, loader);
+        cache.add(1L, new Interval(7L, nineAm.plusDays(1), nineAm.plusDays(1).plusHours(1)));
+
+        // When
+        cache.invalidateClass(7L);
+
+        // Then - the class booked after loading still evicts the user
+        assertThat(cache.size()).isZero();
+        cache.get(1L, loader);
+        cache.invalidate(1L);
+        cache.get(2L, userId -> List.of(new Interval(1L, nineAm, nineAm.plusHours(1))));
+        cache.invalidateClass(2L);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload entries after the TTL expires")
+    void shouldReloadAfterTtl() {
+        // Given
+        cache.get(1L, loader);
+
+        // When
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        cache.get(1L, loader);
+
+        // Then
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private List<TransactionSynchronization> inTransaction(Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+        }
+    }
+}